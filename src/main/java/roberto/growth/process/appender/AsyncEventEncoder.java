@@ -0,0 +1,157 @@
+/**
+ * FileName: AsyncEventEncoder
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 异步日志事件编码.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.appender;
+
+import cn.hutool.core.thread.NamedThreadFactory;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.status.StatusLogger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 〈异步日志事件编码.〉
+ * <p>
+ * 业务线程只对LogEvent做不可变快照并放入有界交接队列, 布局渲染、LogMessage构建和序列化由编码线程池完成.
+ * 交接队列已满时由业务线程同步编码, 不丢日志.
+ * 被采样的事件与采样率一起包装为 {@link SampledEvent} 交接, 未采样的事件直接交接, 不额外创建对象
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+final class AsyncEventEncoder {
+    private static final Logger LOGGER = StatusLogger.getLogger();
+    private static final String ENCODER_THREAD_NAME = "log-appender-encoder";
+    private static final long POLL_TIMEOUT_MS = 100L;
+
+    private final CustomLog4j2Appender appender;
+    private final int encoderThreads;
+    private final BlockingQueue<Object> handoffQueue;
+    private final ExecutorService encoderExecutor;
+    private final CountDownLatch terminated;
+    private volatile boolean running = true;
+
+    /**
+     * 构造函数
+     *
+     * @param appender       the appender
+     * @param encoderThreads 编码线程数
+     * @param bufferSize     交接队列容量
+     * @author HuangTaiHong
+     * @since 2026.10.18 19:10:22
+     */
+    AsyncEventEncoder(final CustomLog4j2Appender appender, final int encoderThreads, final int bufferSize) {
+        this.appender = appender;
+        this.encoderThreads = encoderThreads;
+        this.handoffQueue = new ArrayBlockingQueue<>(bufferSize);
+        this.encoderExecutor = Executors.newFixedThreadPool(encoderThreads, new NamedThreadFactory(ENCODER_THREAD_NAME, true));
+        this.terminated = new CountDownLatch(encoderThreads);
+    }
+
+    void start() {
+        for (int i = 0; i < this.encoderThreads; i++) {
+            this.encoderExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    AsyncEventEncoder.this.encodeLoop();
+                }
+            });
+        }
+    }
+
+    /**
+     * 业务线程调用: 快照事件并交给编码线程
+     *
+     * @param event      the event
+     * @param sampleRate 采样率
+     * @return true :已交接;  false: 交接队列已满, 调用方需同步编码
+     * @author HuangTaiHong
+     * @since 2026.10.18 19:10:22
+     */
+    boolean offer(final LogEvent event, final int sampleRate) {
+        // 线程名和调用位置只能在业务线程上取得, 快照前先触发计算
+        event.getThreadName();
+        if (event.isIncludeLocation()) {
+            event.getSource();
+        }
+        if (!this.running) {
+            return false;
+        }
+        final LogEvent snapshot = event.toImmutable();
+        return this.handoffQueue.offer(sampleRate > 1 ? new SampledEvent(snapshot, sampleRate) : snapshot);
+    }
+
+    /**
+     * 停止接收新事件, 并在超时时间内编码完交接队列中的剩余事件
+     *
+     * @param timeoutMs the timeout ms
+     * @return true :全部编码完成;  false: 超时
+     * @author HuangTaiHong
+     * @since 2026.10.18 19:10:22
+     */
+    boolean stop(final long timeoutMs) {
+        this.running = false;
+        try {
+            return this.terminated.await(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            this.encoderExecutor.shutdownNow();
+        }
+    }
+
+    private void encodeLoop() {
+        try {
+            while (this.running || !this.handoffQueue.isEmpty()) {
+                final Object handoff = this.handoffQueue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (handoff == null) {
+                    continue;
+                }
+                final LogEvent event;
+                final int sampleRate;
+                if (handoff instanceof SampledEvent) {
+                    event = ((SampledEvent) handoff).event;
+                    sampleRate = ((SampledEvent) handoff).sampleRate;
+                } else {
+                    event = (LogEvent) handoff;
+                    sampleRate = 1;
+                }
+                try {
+                    this.appender.formatMessage(event, sampleRate);
+                } catch (RuntimeException e) {
+                    LOGGER.error("日志事件编码失败: logger={}", event.getLoggerName(), e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.terminated.countDown();
+        }
+    }
+
+    /**
+     * 携带采样率的事件快照
+     */
+    private static final class SampledEvent {
+        private final LogEvent event;
+        private final int sampleRate;
+
+        private SampledEvent(final LogEvent event, final int sampleRate) {
+            this.event = event;
+            this.sampleRate = sampleRate;
+        }
+    }
+}
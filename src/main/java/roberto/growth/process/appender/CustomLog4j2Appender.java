@@ -9,8 +9,10 @@
  */
 package roberto.growth.process.appender;
 
+import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.AbstractLifeCycle;
 import org.apache.logging.log4j.core.Appender;
@@ -22,19 +24,36 @@ import org.apache.logging.log4j.core.config.Node;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.layout.AbstractStringLayout;
 import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
 import roberto.growth.process.core.CommonOps;
+import roberto.growth.process.core.DropAccounting;
 import roberto.growth.process.core.LogContext;
 import roberto.growth.process.core.LogMessage;
+import roberto.growth.process.core.LogRateLimiter;
 import roberto.growth.process.core.LogSender;
+import roberto.growth.process.core.ReusableLogMessage;
 import roberto.growth.process.core.SenderStatusReporter;
+import roberto.growth.process.core.enums.CompressionTypeEnum;
+import roberto.growth.process.core.enums.DropReasonEnum;
 import roberto.growth.process.core.enums.LogTypeEnum;
+import roberto.growth.process.core.enums.OverflowPolicyEnum;
+import roberto.growth.process.core.enums.PartitionKeyEnum;
+import roberto.growth.process.core.enums.QueueTypeEnum;
+import roberto.growth.process.core.enums.RateLimitKeyEnum;
+import roberto.growth.process.core.enums.RecordFormatEnum;
+import roberto.growth.process.core.enums.WaitStrategyEnum;
 import roberto.growth.process.core.exception.LogParameterErrorException;
+import roberto.growth.process.core.queue.impl.DiskQueue;
 import roberto.growth.process.core.utils.ProjectUtils;
 
 import java.io.Serializable;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -45,16 +64,33 @@ import java.util.concurrent.TimeUnit;
  */
 @Plugin(name = "CustomLog4j2Appender", category = Node.CATEGORY, elementType = Appender.ELEMENT_TYPE, printObject = true)
 public class CustomLog4j2Appender extends AbstractAppender {
+    private static final long ASYNC_ENCODER_STOP_TIMEOUT_MS = 10000L;
     private static final String DEFAULT_FULL_MESSAGE_PATTERN = "%date{yyyy-MM-dd HH:mm:ss} [%-5level] [%thread] %class{1.}.%method(%file:%line) - %msg%n";
 
     private final LogContext logContext;
     private LogSender logSender;
+    private AsyncEventEncoder asyncEventEncoder;
+    private LogRateLimiter logRateLimiter;
+    private DuplicateAggregator duplicateAggregator;
     private static final ThreadLocal<Boolean> RECURSIVE_CHECK = new ThreadLocal<>();
     private static final String IGNORE_PACKAGE_NAME = "roberto.growth.process.mq";
 
+    // 日志级别小写名称缓存, 避免每条日志都toLowerCase
+    private static final ConcurrentMap<Level, String> LEVEL_NAMES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ReusableLogMessage> REUSABLE_LOG_MESSAGE = new ThreadLocal<ReusableLogMessage>() {
+        @Override
+        protected ReusableLogMessage initialValue() {
+            return new ReusableLogMessage();
+        }
+    };
+
+    // 无GC模式下直接渲染到StringBuilder的序列化器, 布局不支持时为null
+    private final AbstractStringLayout.Serializer2 fullMessageSerializer;
+
     public CustomLog4j2Appender(final String name, final Layout<? extends Serializable> layout, final Filter filter, final boolean ignoreExceptions, final LogContext logContext) {
         super(name, filter, layout, ignoreExceptions);
         this.logContext = logContext;
+        this.fullMessageSerializer = logContext != null && logContext.isGarbageFree() ? createFullMessageSerializer(layout) : null;
     }
 
     @PluginBuilderFactory
@@ -70,7 +106,7 @@ public class CustomLog4j2Appender extends AbstractAppender {
         }
         final SenderStatusReporter reporter = new LogStatusReporter(LOGGER);
         final LogSender.Builder builder = LogSender.builder().logContext(logContext).reporter(reporter);
-        if (!CommonOps.initQueue(builder)) {
+        if (!CommonOps.initQueue(builder) || !CommonOps.initTransport(builder)) {
             return;
         }
         try {
@@ -80,6 +116,20 @@ public class CustomLog4j2Appender extends AbstractAppender {
             return;
         }
         logSender.start();
+        if (logContext.isJmxEnabled()) {
+            logSender.registerMBeans(this.getName());
+        }
+        if (logContext.getRateLimitPermitsPerSecond() > 0D) {
+            logRateLimiter = new LogRateLimiter(logContext.getRateLimitPermitsPerSecond(), logContext.getRateLimitBurst(), logContext.isAdaptiveSampling(), logContext.getRateLimitMaxKeys());
+        }
+        if (logContext.isAggregateDuplicates()) {
+            duplicateAggregator = new DuplicateAggregator(this, logContext.getAggregationWindowMs(), logContext.getAggregationMaxKeys());
+            duplicateAggregator.start();
+        }
+        if (logContext.isAsyncCapture()) {
+            asyncEventEncoder = new AsyncEventEncoder(this, logContext.getEncoderThreads(), logContext.getCaptureBufferSize());
+            asyncEventEncoder.start();
+        }
         super.start();
     }
 
@@ -94,8 +144,16 @@ public class CustomLog4j2Appender extends AbstractAppender {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Recursive logging in appender {}: logger={}, level={}, message={}, exception={}", this.getName(), event.getLoggerName(), event.getLevel(), event.getMessage(), ExceptionUtils.getStackTrace(event.getThrown()), new RuntimeException("here is recursive call stack; Please Ignore It !!!"));
             }
-        } else {
-            this.formatMessage(event);
+            return;
+        }
+        if (duplicateAggregator != null && duplicateAggregator.absorb(event)) {
+            return;
+        }
+        final int sampleRate = logRateLimiter == null ? LogRateLimiter.NOT_SAMPLED : logRateLimiter.acquire(rateLimitKey(event));
+        if (sampleRate == LogRateLimiter.REJECTED) {
+            logSender.getDropAccounting().record(DropReasonEnum.RATE_LIMITED, 0L);
+        } else if (asyncEventEncoder == null || !asyncEventEncoder.offer(event, sampleRate)) {
+            this.formatMessage(event, sampleRate);
         }
     }
 
@@ -104,6 +162,13 @@ public class CustomLog4j2Appender extends AbstractAppender {
         LOGGER.info("开始Stop CustomLog4j2Appender");
         this.setStopping();
         final boolean stopped = super.stop(timeout, timeUnit, false);
+        if (duplicateAggregator != null) {
+            duplicateAggregator.stop();
+        }
+        final long encoderStopTimeoutMs = timeout > 0 ? timeUnit.toMillis(timeout) : ASYNC_ENCODER_STOP_TIMEOUT_MS;
+        if (asyncEventEncoder != null && !asyncEventEncoder.stop(encoderStopTimeoutMs)) {
+            LOGGER.warn("等待异步编码线程超时, 部分日志未能写入队列");
+        }
         if (logSender != null) {
             logSender.stop();
         }
@@ -119,8 +184,92 @@ public class CustomLog4j2Appender extends AbstractAppender {
         return event.getLoggerName() != null && (event.getLoggerName().startsWith(IGNORE_PACKAGE_NAME));
     }
 
-    private void formatMessage(final LogEvent logEvent) {
-        final LogMessage logMessage = new LogMessage();
+    /**
+     * 限流key: logger名称和/或消息模板, 模板取参数化消息的格式串, 不做格式化
+     *
+     * @param event the event
+     * @return the string
+     * @author HuangTaiHong
+     * @since 2026.10.18 21:48:16
+     */
+    private String rateLimitKey(final LogEvent event) {
+        final String loggerName = StringUtils.defaultString(event.getLoggerName());
+        final RateLimitKeyEnum rateLimitKey = logContext.getRateLimitKey();
+        if (rateLimitKey == RateLimitKeyEnum.LOGGER) {
+            return loggerName;
+        }
+        final Message message = event.getMessage();
+        final String template = message == null ? StringUtils.EMPTY : StringUtils.defaultString(message.getFormat());
+        return rateLimitKey == RateLimitKeyEnum.TEMPLATE ? template : loggerName + '|' + template;
+    }
+
+    /**
+     * 为PatternLayout创建可直接写入StringBuilder的序列化器
+     *
+     * @param layout the layout
+     * @return the serializer, 不支持时返回null
+     * @author HuangTaiHong
+     * @since 2026.10.18 15:48:03
+     */
+    private static AbstractStringLayout.Serializer2 createFullMessageSerializer(final Layout<? extends Serializable> layout) {
+        if (!(layout instanceof PatternLayout)) {
+            LOGGER.warn("garbageFree模式只支持PatternLayout直接渲染, 当前布局{}将按普通方式渲染fullMessage", layout);
+            return null;
+        }
+        final PatternLayout patternLayout = (PatternLayout) layout;
+        final AbstractStringLayout.Serializer serializer = PatternLayout.newSerializerBuilder()
+                .setConfiguration(patternLayout.getConfiguration())
+                .setPattern(patternLayout.getConversionPattern())
+                .setDefaultPattern(DEFAULT_FULL_MESSAGE_PATTERN)
+                .setAlwaysWriteExceptions(true)
+                .build();
+        return serializer instanceof AbstractStringLayout.Serializer2 ? (AbstractStringLayout.Serializer2) serializer : null;
+    }
+
+    private static String levelName(final Level level) {
+        String levelName = LEVEL_NAMES.get(level);
+        if (levelName == null) {
+            levelName = level.toString().toLowerCase(Locale.getDefault());
+            LEVEL_NAMES.putIfAbsent(level, levelName);
+        }
+        return levelName;
+    }
+
+    /**
+     * 构建LogMessage并写入队列, 同步模式下由业务线程调用, 异步采集模式下由编码线程调用
+     *
+     * @param logEvent   the log event
+     * @param sampleRate 采样率, 大于1时写入LogMessage供下游还原条数
+     * @author HuangTaiHong
+     * @since 2019.11.11 19:29:07
+     */
+    void formatMessage(final LogEvent logEvent, final int sampleRate) {
+        this.formatMessage(logEvent, sampleRate, 1, 0L, 0L);
+    }
+
+    /**
+     * 构建聚合后的LogMessage并写入队列, 由聚合线程调用
+     *
+     * @param logEvent       窗口内第一条重复日志
+     * @param repeatCount    重复次数
+     * @param firstTimestamp 第一条重复日志的时间
+     * @param lastTimestamp  最后一条重复日志的时间
+     * @author HuangTaiHong
+     * @since 2026.10.18 22:20:37
+     */
+    void formatRepeatedMessage(final LogEvent logEvent, final int repeatCount, final long firstTimestamp, final long lastTimestamp) {
+        this.formatMessage(logEvent, LogRateLimiter.NOT_SAMPLED, repeatCount, firstTimestamp, lastTimestamp);
+    }
+
+    private void formatMessage(final LogEvent logEvent, final int sampleRate, final int repeatCount, final long firstTimestamp, final long lastTimestamp) {
+        final LogMessage logMessage;
+        if (this.logContext.isGarbageFree()) {
+            logMessage = this.captureReusableLogMessage(logEvent);
+        } else {
+            logMessage = new LogMessage();
+            logMessage.setMessage(logEvent.getMessage().getFormattedMessage());
+            logMessage.setFullMessage(super.getLayout().toSerializable(logEvent).toString());
+        }
         final ReadOnlyStringMap mdcProperties = logEvent.getContextData();
         if (mdcProperties != null) {
             final String zeusMessageId = mdcProperties.getValue("zeusMessageId");
@@ -133,9 +282,7 @@ public class CustomLog4j2Appender extends AbstractAppender {
             }
         }
         logMessage.setTimestamp(logEvent.getTimeMillis());
-        logMessage.setLevel(logEvent.getLevel().toString().toLowerCase(Locale.getDefault()));
-        logMessage.setMessage(logEvent.getMessage().getFormattedMessage());
-        logMessage.setFullMessage(super.getLayout().toSerializable(logEvent).toString());
+        logMessage.setLevel(levelName(logEvent.getLevel()));
         logMessage.setLogger(logEvent.getLoggerName());
         logMessage.setThreadName(logEvent.getThreadName());
         logMessage.setIp(logContext.getIp());
@@ -143,6 +290,25 @@ public class CustomLog4j2Appender extends AbstractAppender {
         logMessage.setLogType(LogTypeEnum.JAVA);
         logMessage.setEnv(ProjectUtils.getEnv());
         logMessage.setProjectName(logContext.projectName());
+        if (logMessage instanceof ReusableLogMessage) {
+            // 无GC模式下以基本类型写入, 不装箱
+            final ReusableLogMessage reusable = (ReusableLogMessage) logMessage;
+            if (sampleRate > LogRateLimiter.NOT_SAMPLED) {
+                reusable.setSampleRateValue(sampleRate);
+            }
+            if (repeatCount > 1) {
+                reusable.setRepetition(repeatCount, firstTimestamp, lastTimestamp);
+            }
+        } else {
+            if (sampleRate > LogRateLimiter.NOT_SAMPLED) {
+                logMessage.setSampleRate(sampleRate);
+            }
+            if (repeatCount > 1) {
+                logMessage.setRepeatCount(repeatCount);
+                logMessage.setFirstTimestamp(firstTimestamp);
+                logMessage.setLastTimestamp(lastTimestamp);
+            }
+        }
         if (logEvent.getSource() != null) {
             logMessage.setFileName(logEvent.getSource().getFileName());
             logMessage.setLineNum(logEvent.getSource().getLineNumber());
@@ -151,8 +317,36 @@ public class CustomLog4j2Appender extends AbstractAppender {
             RECURSIVE_CHECK.set(Boolean.TRUE);
             logSender.writeQueue(logMessage);
         } finally {
-            RECURSIVE_CHECK.remove();
+            // 复用ThreadLocal条目, 不remove
+            RECURSIVE_CHECK.set(Boolean.FALSE);
+            if (logMessage instanceof ReusableLogMessage) {
+                ((ReusableLogMessage) logMessage).clear();
+            }
+        }
+    }
+
+    /**
+     * 无GC模式: 复用当前线程的日志消息对象, message和fullMessage直接渲染到其StringBuilder中
+     *
+     * @param logEvent the log event
+     * @return the reusable log message
+     * @author HuangTaiHong
+     * @since 2026.10.18 15:48:03
+     */
+    private ReusableLogMessage captureReusableLogMessage(final LogEvent logEvent) {
+        final ReusableLogMessage logMessage = REUSABLE_LOG_MESSAGE.get();
+        final Message message = logEvent.getMessage();
+        if (message instanceof StringBuilderFormattable) {
+            ((StringBuilderFormattable) message).formatTo(logMessage.getMessageBuffer());
+        } else {
+            logMessage.getMessageBuffer().append(message.getFormattedMessage());
+        }
+        if (this.fullMessageSerializer != null) {
+            this.fullMessageSerializer.toSerializable(logEvent, logMessage.getFullMessageBuffer());
+        } else {
+            logMessage.getFullMessageBuffer().append(super.getLayout().toSerializable(logEvent).toString());
         }
+        return logMessage;
     }
 
     @Override
@@ -178,6 +372,12 @@ public class CustomLog4j2Appender extends AbstractAppender {
         @PluginBuilderAttribute
         private boolean usedMemoryQueue = false;
 
+        /**
+         * 缓冲队列类型: MEMORY / STRIPED_MEMORY / OFF_HEAP_MEMORY / DISK / RING_BUFFER / SPILLOVER(内存优先, 写满后溢写磁盘), 未配置时根据 {@usedMemoryQueue} 参数决定
+         */
+        @PluginBuilderAttribute
+        private String queueType;
+
         /**
          * 默认JVM内存队列容量大小:100MB
          */
@@ -191,19 +391,62 @@ public class CustomLog4j2Appender extends AbstractAppender {
         private long memoryLogCountCapacity = -1;
 
         /**
-         * 文件队列存放路径
+         * 堆外内存队列分片大小, 默认1MB. 容量仍由 {@memoryQueueCapacityBytes} 和 {@memoryLogCountCapacity} 控制
+         */
+        @PluginBuilderAttribute
+        private int offHeapSlabSizeBytes = 1024 * 1024;
+
+        /**
+         * 分段内存队列的分段数, 向上取整为2的幂, 默认0表示按CPU核数的2倍. 容量仍由 {@memoryQueueCapacityBytes} 和 {@memoryLogCountCapacity} 控制
+         */
+        @PluginBuilderAttribute
+        private int memoryQueueStripes = 0;
+
+        /**
+         * 环形队列槽位数, 向上取整为2的幂, 默认65536
+         */
+        @PluginBuilderAttribute
+        private int ringBufferSize = 65536;
+
+        /**
+         * 文件队列存放路径, 多个路径(如多块磁盘的挂载点)用逗号分隔, 分区按顺序轮流分布到各路径
          */
         @PluginBuilderAttribute
         private String queueDir;
 
         /**
-         * 文件系统阈值百分百, 超过阈值时直接丢弃日志, 防止系统不可用
+         * 队列分区数(DISK/MEMORY队列), 大于1时日志按 partitionKey 的哈希写入各分区, 每个分区独立消费, 同一key的日志保持顺序.
+         * MEMORY队列的分区数至少为 senderThreads, 容量按分区均分
+         */
+        @PluginBuilderAttribute
+        private int queuePartitions = 1;
+
+        /**
+         * 分区维度: TRACE_ID(默认, 没有traceId时按logger名称) / LOGGER
+         */
+        @PluginBuilderAttribute
+        private String partitionKey = PartitionKeyEnum.TRACE_ID.name();
+
+        /**
+         * 文件系统阈值百分百, 超过阈值时直接丢弃日志, 防止系统不可用. 配置了 diskQueueCapacityBytes 时作为兜底检查
          */
         @PluginBuilderAttribute
         private int fsPercentThreshold = 85;
 
         /**
-         * 默认任务持久化间隔，单位MS
+         * 文件队列占用磁盘的字节数上限(分区时各分区均分), 达到上限后丢弃新日志, 回落到低水位后恢复写入; -1(默认): 只按文件系统使用率限制
+         */
+        @PluginBuilderAttribute
+        private long diskQueueCapacityBytes = -1;
+
+        /**
+         * 文件队列恢复写入的低水位, diskQueueCapacityBytes 的百分比
+         */
+        @PluginBuilderAttribute
+        private int diskQueueLowWatermarkPercent = DiskQueue.DEFAULT_LOW_WATERMARK_PERCENT;
+
+        /**
+         * 默认任务持久化间隔，单位MS. 已确认的段文件在消费越过整段时立即回收, 该间隔只作为兜底
          */
         @PluginBuilderAttribute
         private int gcQueueDataIntervalMs = 3000;
@@ -214,6 +457,208 @@ public class CustomLog4j2Appender extends AbstractAppender {
         @PluginBuilderAttribute
         private int checkDiskSpaceIntervalMs = 1000;
 
+        /**
+         * 缓冲队列为空时消费线程的等待策略: BLOCKING(默认, 空闲不占CPU) / SPIN_YIELD(延迟最低) / TIMED_BACKOFF(写入路径无唤醒开销)
+         */
+        @PluginBuilderAttribute
+        private String waitStrategy = WaitStrategyEnum.BLOCKING.name();
+
+        /**
+         * 启用 / 禁用 按日志级别分道: {@priorityLaneLevel} 及以上级别写入独立容量的JVM内存通道, 积压时优先发送
+         */
+        @PluginBuilderAttribute
+        private boolean priorityLanes = false;
+
+        /**
+         * 进入高优先级通道的最低级别, 默认WARN
+         */
+        @PluginBuilderAttribute
+        private String priorityLaneLevel = Level.WARN.name();
+
+        /**
+         * 高优先级通道的出队权重, 普通通道为1, 默认4
+         */
+        @PluginBuilderAttribute
+        private int priorityLaneWeight = 4;
+
+        /**
+         * 高优先级通道容量, 默认10MB
+         */
+        @PluginBuilderAttribute
+        private long priorityLaneCapacityBytes = 10 * 1024 * 1024;
+
+        /**
+         * 高优先级通道日志条数容量，-1表示不限制条数
+         */
+        @PluginBuilderAttribute
+        private long priorityLaneLogCountCapacity = -1;
+
+        /**
+         * 缓冲队列已满时的溢出策略: DROP_NEWEST(默认, 丢弃新日志) / BLOCK(阻塞调用线程) / DROP_OLDEST(移除最早日志)
+         * / LEVEL_PRIORITY(先舍弃低级别日志) / PROBABILISTIC(接近上限时按比例随机舍弃)
+         */
+        @PluginBuilderAttribute
+        private String overflowPolicy = OverflowPolicyEnum.DROP_NEWEST.name();
+
+        /**
+         * BLOCK策略的最长等待时间, 默认100ms
+         */
+        @PluginBuilderAttribute
+        private long overflowBlockTimeoutMs = 100;
+
+        /**
+         * LEVEL_PRIORITY / PROBABILISTIC策略开始舍弃日志的队列使用率, 默认0.8
+         */
+        @PluginBuilderAttribute
+        private double overflowShedRatio = 0.8D;
+
+        /**
+         * LEVEL_PRIORITY策略优先保留的最低级别, 默认WARN
+         */
+        @PluginBuilderAttribute
+        private String overflowPriorityLevel = Level.WARN.name();
+
+        /**
+         * 单个发送批次的最大字节数, 默认256KB
+         */
+        @PluginBuilderAttribute
+        private int batchSizeBytes = 256 * 1024;
+
+        /**
+         * 启用 / 禁用 无GC采集模式
+         * <p>
+         * 启用后每个线程复用日志消息对象和渲染缓冲区, fullMessage由PatternLayout的转换模式直接渲染到缓冲区
+         */
+        @PluginBuilderAttribute
+        private boolean garbageFree = false;
+
+        /**
+         * 启用 / 禁用 异步采集: 业务线程只做事件快照, 布局渲染和序列化由编码线程完成
+         */
+        @PluginBuilderAttribute
+        private boolean asyncCapture = false;
+
+        /**
+         * 异步采集的编码线程数
+         */
+        @PluginBuilderAttribute
+        private int encoderThreads = 1;
+
+        /**
+         * 异步采集交接队列容量, 队列满时由业务线程同步编码
+         */
+        @PluginBuilderAttribute
+        private int captureBufferSize = 8192;
+
+        /**
+         * 日志丢弃汇总的输出间隔, 默认60秒. 丢弃时只计数, 不逐条输出告警
+         */
+        @PluginBuilderAttribute
+        private long dropReportIntervalMs = 60000;
+
+        /**
+         * 每个限流key每秒允许的日志条数, 默认0表示不限流. 超过速率的日志在进入队列前丢弃
+         */
+        @PluginBuilderAttribute
+        private double rateLimitPermitsPerSecond = 0D;
+
+        /**
+         * 每个限流key允许的突发条数, 默认0表示与每秒条数相同
+         */
+        @PluginBuilderAttribute
+        private int rateLimitBurst = 0;
+
+        /**
+         * 限流维度: LOGGER(默认, 按logger名称) / TEMPLATE(按消息模板) / LOGGER_AND_TEMPLATE
+         */
+        @PluginBuilderAttribute
+        private String rateLimitKey = RateLimitKeyEnum.LOGGER.name();
+
+        /**
+         * 最多保留的限流key数量, 超过时清理冷key, 仍无空位的新key共用一个令牌桶
+         */
+        @PluginBuilderAttribute
+        private int rateLimitMaxKeys = 10000;
+
+        /**
+         * 启用 / 禁用 自适应采样: 超过速率的key按比例采样而不是直接丢弃, 采样率写入日志的sampleRate字段
+         */
+        @PluginBuilderAttribute
+        private boolean adaptiveSampling = false;
+
+        /**
+         * 启用 / 禁用 重复日志聚合: logger、level、文件、行号和消息模板都相同的日志在窗口内合并为一条, 携带重复次数和首末时间
+         */
+        @PluginBuilderAttribute
+        private boolean aggregateDuplicates = false;
+
+        /**
+         * 重复日志聚合窗口, 默认1000ms
+         */
+        @PluginBuilderAttribute
+        private long aggregationWindowMs = 1000;
+
+        /**
+         * 最多同时聚合的key数量, 超过时新的日志不聚合
+         */
+        @PluginBuilderAttribute
+        private int aggregationMaxKeys = 10000;
+
+        /**
+         * 日志记录格式: JSON(默认) / BINARY(静态字段每批次只写一次, 需服务端使用LogBatchDecoder解码)
+         */
+        @PluginBuilderAttribute
+        private String recordFormat = RecordFormatEnum.JSON.name();
+
+        /**
+         * 批次压缩算法: NONE(默认) / DEFLATE(压缩率高) / LZ4(速度快)
+         */
+        @PluginBuilderAttribute
+        private String compressionType = CompressionTypeEnum.NONE.name();
+
+        /**
+         * 压缩级别, DEFLATE为0-9, LZ4大于0时使用高压缩率模式, -1 使用默认级别
+         */
+        @PluginBuilderAttribute
+        private int compressionLevel = -1;
+
+        /**
+         * 启用 / 禁用 磁盘队列分段压缩, 使用compressionType指定的算法
+         */
+        @PluginBuilderAttribute
+        private boolean diskQueueCompressed = false;
+
+        /**
+         * 批次未满时的最长等待时间, 单位MS
+         */
+        @PluginBuilderAttribute
+        private int lingerMs = 20;
+
+        /**
+         * 单个连接上允许未确认的最大批次数, 每个发送线程一个连接
+         */
+        @PluginBuilderAttribute
+        private int maxInFlightRequests = 5;
+
+        /**
+         * 发送线程数, 每个线程独立连接, 队列分区按顺序轮流分配给各线程, 同一分区的日志由同一线程按顺序发送.
+         * 0(默认): 与分区数相同; 未启用缓冲队列时日志按 partitionKey 直接分配给各线程
+         */
+        @PluginBuilderAttribute
+        private int senderThreads = 0;
+
+        /**
+         * 已聚合但尚未确认的日志最大字节数, 默认32MB
+         */
+        @PluginBuilderAttribute
+        private long sendBufferMemoryBytes = 32 * 1024 * 1024;
+
+        /**
+         * 启用 / 禁用 JMX指标: 以appender名称注册 roberto.growth.process:type=LogSenderMetrics 的MBean, 默认启用
+         */
+        @PluginBuilderAttribute
+        private boolean jmxEnabled = true;
+
         @Override
         public CustomLog4j2Appender build() {
             Layout<? extends Serializable> layout = this.getLayout();
@@ -227,10 +672,110 @@ public class CustomLog4j2Appender extends AbstractAppender {
             logContext.setGcQueueDataIntervalMs(gcQueueDataIntervalMs);
             logContext.setMemoryQueueCapacityBytes(memoryQueueCapacityBytes);
             logContext.setMemoryLogCountCapacity(memoryLogCountCapacity);
+            logContext.setOffHeapSlabSizeBytes(offHeapSlabSizeBytes);
+            logContext.setMemoryQueueStripes(memoryQueueStripes);
+            logContext.setRingBufferSize(ringBufferSize);
+            if (StringUtils.isBlank(queueType)) {
+                logContext.setQueueType(usedMemoryQueue ? QueueTypeEnum.MEMORY : QueueTypeEnum.DISK);
+            } else {
+                final QueueTypeEnum queueTypeEnum = EnumUtils.getEnum(QueueTypeEnum.class, StringUtils.upperCase(queueType));
+                if (queueTypeEnum == null) {
+                    LOGGER.warn("Unknown queueType: {}; Used Default {}", queueType, QueueTypeEnum.DISK);
+                } else {
+                    logContext.setQueueType(queueTypeEnum);
+                }
+            }
 
             logContext.setQueueDir(queueDir);
+            logContext.setQueuePartitions(queuePartitions > 0 ? queuePartitions : 1);
+            final PartitionKeyEnum partitionKeyEnum = EnumUtils.getEnum(PartitionKeyEnum.class, StringUtils.upperCase(partitionKey));
+            if (partitionKeyEnum == null) {
+                LOGGER.warn("Unknown partitionKey: {}; Used Default {}", partitionKey, PartitionKeyEnum.TRACE_ID);
+            } else {
+                logContext.setPartitionKey(partitionKeyEnum);
+            }
             logContext.setFsPercentThreshold(fsPercentThreshold);
+            logContext.setDiskQueueCapacityBytes(diskQueueCapacityBytes);
+            logContext.setDiskQueueLowWatermarkPercent(diskQueueLowWatermarkPercent);
             logContext.setCheckDiskSpaceIntervalMs(checkDiskSpaceIntervalMs);
+            final WaitStrategyEnum waitStrategyEnum = EnumUtils.getEnum(WaitStrategyEnum.class, StringUtils.upperCase(waitStrategy));
+            if (waitStrategyEnum == null) {
+                LOGGER.warn("Unknown waitStrategy: {}; Used Default {}", waitStrategy, WaitStrategyEnum.BLOCKING);
+            } else {
+                logContext.setWaitStrategy(waitStrategyEnum);
+            }
+
+            logContext.setPriorityLanes(priorityLanes);
+            if (Level.getLevel(StringUtils.upperCase(priorityLaneLevel)) == null) {
+                LOGGER.warn("Unknown priorityLaneLevel: {}; Used Default {}", priorityLaneLevel, Level.WARN);
+                priorityLaneLevel = Level.WARN.name();
+            }
+            logContext.setPriorityLaneLevel(levelName(Level.getLevel(StringUtils.upperCase(priorityLaneLevel))));
+            logContext.setPriorityLaneWeight(priorityLaneWeight);
+            logContext.setPriorityLaneCapacityBytes(priorityLaneCapacityBytes);
+            logContext.setPriorityLaneLogCountCapacity(priorityLaneLogCountCapacity);
+
+            final OverflowPolicyEnum overflowPolicyEnum = EnumUtils.getEnum(OverflowPolicyEnum.class, StringUtils.upperCase(overflowPolicy));
+            if (overflowPolicyEnum == null) {
+                LOGGER.warn("Unknown overflowPolicy: {}; Used Default {}", overflowPolicy, OverflowPolicyEnum.DROP_NEWEST);
+            } else {
+                logContext.setOverflowPolicy(overflowPolicyEnum);
+            }
+            logContext.setOverflowBlockTimeoutMs(overflowBlockTimeoutMs);
+            if (overflowShedRatio <= 0D || overflowShedRatio >= 1D) {
+                LOGGER.warn("Unknown overflowShedRatio: {}; Used Default {}", overflowShedRatio, 0.8D);
+                overflowShedRatio = 0.8D;
+            }
+            logContext.setOverflowShedRatio(overflowShedRatio);
+            if (Level.getLevel(StringUtils.upperCase(overflowPriorityLevel)) == null) {
+                LOGGER.warn("Unknown overflowPriorityLevel: {}; Used Default {}", overflowPriorityLevel, Level.WARN);
+                overflowPriorityLevel = Level.WARN.name();
+            }
+            logContext.setOverflowPriorityLevel(levelName(Level.getLevel(StringUtils.upperCase(overflowPriorityLevel))));
+
+            logContext.setGarbageFree(garbageFree);
+            logContext.setAsyncCapture(asyncCapture);
+            if (encoderThreads < 1 || captureBufferSize < 1) {
+                LOGGER.warn("encoderThreads和captureBufferSize必须大于0; Used Default 1 / 8192");
+                encoderThreads = 1;
+                captureBufferSize = 8192;
+            }
+            logContext.setEncoderThreads(encoderThreads);
+            logContext.setCaptureBufferSize(captureBufferSize);
+            logContext.setDropReportIntervalMs(dropReportIntervalMs > 0 ? dropReportIntervalMs : DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+            logContext.setRateLimitPermitsPerSecond(rateLimitPermitsPerSecond);
+            logContext.setRateLimitBurst(rateLimitBurst);
+            final RateLimitKeyEnum rateLimitKeyEnum = EnumUtils.getEnum(RateLimitKeyEnum.class, StringUtils.upperCase(rateLimitKey));
+            if (rateLimitKeyEnum == null) {
+                LOGGER.warn("Unknown rateLimitKey: {}; Used Default {}", rateLimitKey, RateLimitKeyEnum.LOGGER);
+            } else {
+                logContext.setRateLimitKey(rateLimitKeyEnum);
+            }
+            logContext.setRateLimitMaxKeys(rateLimitMaxKeys > 0 ? rateLimitMaxKeys : 10000);
+            logContext.setAdaptiveSampling(adaptiveSampling);
+            logContext.setAggregateDuplicates(aggregateDuplicates);
+            logContext.setAggregationWindowMs(aggregationWindowMs > 0 ? aggregationWindowMs : 1000);
+            logContext.setAggregationMaxKeys(aggregationMaxKeys > 0 ? aggregationMaxKeys : 10000);
+            final RecordFormatEnum recordFormatEnum = EnumUtils.getEnum(RecordFormatEnum.class, StringUtils.upperCase(recordFormat));
+            if (recordFormatEnum == null) {
+                LOGGER.warn("Unknown recordFormat: {}; Used Default {}", recordFormat, RecordFormatEnum.JSON);
+            } else {
+                logContext.setRecordFormat(recordFormatEnum);
+            }
+            final CompressionTypeEnum compressionTypeEnum = EnumUtils.getEnum(CompressionTypeEnum.class, StringUtils.upperCase(compressionType));
+            if (compressionTypeEnum == null) {
+                LOGGER.warn("Unknown compressionType: {}; Used Default {}", compressionType, CompressionTypeEnum.NONE);
+            } else {
+                logContext.setCompressionType(compressionTypeEnum);
+            }
+            logContext.setCompressionLevel(compressionLevel);
+            logContext.setDiskQueueCompressed(diskQueueCompressed);
+            logContext.setBatchSizeBytes(batchSizeBytes);
+            logContext.setLingerMs(lingerMs);
+            logContext.setMaxInFlightRequests(maxInFlightRequests);
+            logContext.setSenderThreads(senderThreads > 0 ? senderThreads : 0);
+            logContext.setSendBufferMemoryBytes(sendBufferMemoryBytes);
+            logContext.setJmxEnabled(jmxEnabled);
             if (ProjectUtils.UNKNOWN.equals(logContext.projectName())) {
                 LOGGER.warn("Can`t find project name. Please config it;");
                 return new CustomLog4j2Appender(this.getName(), layout, this.getFilter(), this.isIgnoreExceptions(), null);
@@ -254,6 +799,10 @@ public class CustomLog4j2Appender extends AbstractAppender {
             this.usedMemoryQueue = usedMemoryQueue;
         }
 
+        public void setQueueType(String queueType) {
+            this.queueType = queueType;
+        }
+
         public void setMemoryQueueCapacityBytes(long memoryQueueCapacityBytes) {
             this.memoryQueueCapacityBytes = memoryQueueCapacityBytes;
         }
@@ -262,14 +811,42 @@ public class CustomLog4j2Appender extends AbstractAppender {
             this.memoryLogCountCapacity = memoryLogCountCapacity;
         }
 
+        public void setOffHeapSlabSizeBytes(int offHeapSlabSizeBytes) {
+            this.offHeapSlabSizeBytes = offHeapSlabSizeBytes;
+        }
+
+        public void setMemoryQueueStripes(int memoryQueueStripes) {
+            this.memoryQueueStripes = memoryQueueStripes;
+        }
+
+        public void setRingBufferSize(int ringBufferSize) {
+            this.ringBufferSize = ringBufferSize;
+        }
+
         public void setQueueDir(String queueDir) {
             this.queueDir = queueDir;
         }
 
+        public void setQueuePartitions(int queuePartitions) {
+            this.queuePartitions = queuePartitions;
+        }
+
+        public void setPartitionKey(String partitionKey) {
+            this.partitionKey = partitionKey;
+        }
+
         public void setFsPercentThreshold(int fsPercentThreshold) {
             this.fsPercentThreshold = fsPercentThreshold;
         }
 
+        public void setDiskQueueCapacityBytes(long diskQueueCapacityBytes) {
+            this.diskQueueCapacityBytes = diskQueueCapacityBytes;
+        }
+
+        public void setDiskQueueLowWatermarkPercent(int diskQueueLowWatermarkPercent) {
+            this.diskQueueLowWatermarkPercent = diskQueueLowWatermarkPercent;
+        }
+
         public void setGcQueueDataIntervalMs(int gcQueueDataIntervalMs) {
             this.gcQueueDataIntervalMs = gcQueueDataIntervalMs;
         }
@@ -278,6 +855,138 @@ public class CustomLog4j2Appender extends AbstractAppender {
             this.checkDiskSpaceIntervalMs = checkDiskSpaceIntervalMs;
         }
 
+        public void setWaitStrategy(String waitStrategy) {
+            this.waitStrategy = waitStrategy;
+        }
+
+        public void setPriorityLanes(boolean priorityLanes) {
+            this.priorityLanes = priorityLanes;
+        }
+
+        public void setPriorityLaneLevel(String priorityLaneLevel) {
+            this.priorityLaneLevel = priorityLaneLevel;
+        }
+
+        public void setPriorityLaneWeight(int priorityLaneWeight) {
+            this.priorityLaneWeight = priorityLaneWeight;
+        }
+
+        public void setPriorityLaneCapacityBytes(long priorityLaneCapacityBytes) {
+            this.priorityLaneCapacityBytes = priorityLaneCapacityBytes;
+        }
+
+        public void setPriorityLaneLogCountCapacity(long priorityLaneLogCountCapacity) {
+            this.priorityLaneLogCountCapacity = priorityLaneLogCountCapacity;
+        }
+
+        public void setOverflowPolicy(String overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public void setOverflowBlockTimeoutMs(long overflowBlockTimeoutMs) {
+            this.overflowBlockTimeoutMs = overflowBlockTimeoutMs;
+        }
+
+        public void setOverflowShedRatio(double overflowShedRatio) {
+            this.overflowShedRatio = overflowShedRatio;
+        }
+
+        public void setOverflowPriorityLevel(String overflowPriorityLevel) {
+            this.overflowPriorityLevel = overflowPriorityLevel;
+        }
+
+        public void setGarbageFree(boolean garbageFree) {
+            this.garbageFree = garbageFree;
+        }
+
+        public void setAsyncCapture(boolean asyncCapture) {
+            this.asyncCapture = asyncCapture;
+        }
+
+        public void setEncoderThreads(int encoderThreads) {
+            this.encoderThreads = encoderThreads;
+        }
+
+        public void setCaptureBufferSize(int captureBufferSize) {
+            this.captureBufferSize = captureBufferSize;
+        }
+
+        public void setDropReportIntervalMs(long dropReportIntervalMs) {
+            this.dropReportIntervalMs = dropReportIntervalMs;
+        }
+
+        public void setRateLimitPermitsPerSecond(double rateLimitPermitsPerSecond) {
+            this.rateLimitPermitsPerSecond = rateLimitPermitsPerSecond;
+        }
+
+        public void setRateLimitBurst(int rateLimitBurst) {
+            this.rateLimitBurst = rateLimitBurst;
+        }
+
+        public void setRateLimitKey(String rateLimitKey) {
+            this.rateLimitKey = rateLimitKey;
+        }
+
+        public void setRateLimitMaxKeys(int rateLimitMaxKeys) {
+            this.rateLimitMaxKeys = rateLimitMaxKeys;
+        }
+
+        public void setAdaptiveSampling(boolean adaptiveSampling) {
+            this.adaptiveSampling = adaptiveSampling;
+        }
+
+        public void setAggregateDuplicates(boolean aggregateDuplicates) {
+            this.aggregateDuplicates = aggregateDuplicates;
+        }
+
+        public void setAggregationWindowMs(long aggregationWindowMs) {
+            this.aggregationWindowMs = aggregationWindowMs;
+        }
+
+        public void setAggregationMaxKeys(int aggregationMaxKeys) {
+            this.aggregationMaxKeys = aggregationMaxKeys;
+        }
+
+        public void setRecordFormat(String recordFormat) {
+            this.recordFormat = recordFormat;
+        }
+
+        public void setCompressionType(String compressionType) {
+            this.compressionType = compressionType;
+        }
+
+        public void setCompressionLevel(int compressionLevel) {
+            this.compressionLevel = compressionLevel;
+        }
+
+        public void setDiskQueueCompressed(boolean diskQueueCompressed) {
+            this.diskQueueCompressed = diskQueueCompressed;
+        }
+
+        public void setBatchSizeBytes(int batchSizeBytes) {
+            this.batchSizeBytes = batchSizeBytes;
+        }
+
+        public void setLingerMs(int lingerMs) {
+            this.lingerMs = lingerMs;
+        }
+
+        public void setMaxInFlightRequests(int maxInFlightRequests) {
+            this.maxInFlightRequests = maxInFlightRequests;
+        }
+
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        public void setSendBufferMemoryBytes(long sendBufferMemoryBytes) {
+            this.sendBufferMemoryBytes = sendBufferMemoryBytes;
+        }
+
+        public void setJmxEnabled(boolean jmxEnabled) {
+            this.jmxEnabled = jmxEnabled;
+        }
+
         public static PatternLayout initPatternLayout() {
             return PatternLayout.newBuilder().withPattern(CustomLog4j2Appender.DEFAULT_FULL_MESSAGE_PATTERN).build();
         }
@@ -0,0 +1,253 @@
+/**
+ * FileName: DuplicateAggregator
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 重复日志聚合.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.appender;
+
+import cn.hutool.core.thread.NamedThreadFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.status.StatusLogger;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 〈重复日志聚合.〉
+ * <p>
+ * logger、level、文件、行号和消息模板都相同的日志视为重复日志. 窗口内第一条日志照常写入队列并打开聚合窗口,
+ * 之后的重复日志只计数, 窗口结束时合并为一条日志写入队列, 携带 repeatCount、firstTimestamp、lastTimestamp,
+ * 内容取窗口内第一条重复日志
+ * <p>
+ * 聚合key数量达到上限时新的日志不聚合, 直接写入队列. 查找时使用线程复用的key, 只有打开新窗口时才复制一个key放入map,
+ * 重复日志计数不分配对象
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+final class DuplicateAggregator {
+    private static final Logger LOGGER = StatusLogger.getLogger();
+    private static final String FLUSHER_THREAD_NAME = "log-appender-aggregator";
+    private static final long MIN_FLUSH_INTERVAL_MS = 10L;
+    private static final ThreadLocal<AggregationKey> LOOKUP_KEY = new ThreadLocal<AggregationKey>() {
+        @Override
+        protected AggregationKey initialValue() {
+            return new AggregationKey();
+        }
+    };
+
+    private final CustomLog4j2Appender appender;
+    private final long windowMs;
+    private final int maxKeys;
+    private final ConcurrentMap<AggregationKey, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private final AtomicInteger keyCount = new AtomicInteger();
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * 构造函数
+     *
+     * @param appender the appender
+     * @param windowMs 聚合窗口, 单位MS
+     * @param maxKeys  最多同时聚合的key数量
+     * @author HuangTaiHong
+     * @since 2026.10.18 22:20:37
+     */
+    DuplicateAggregator(final CustomLog4j2Appender appender, final long windowMs, final int maxKeys) {
+        this.appender = appender;
+        this.windowMs = windowMs;
+        this.maxKeys = maxKeys;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory(FLUSHER_THREAD_NAME, true));
+    }
+
+    void start() {
+        final long flushIntervalMs = Math.max(MIN_FLUSH_INTERVAL_MS, this.windowMs / 4);
+        this.flusher.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                DuplicateAggregator.this.flushExpired(false);
+            }
+        }, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 业务线程调用: 聚合窗口内的重复日志只计数
+     *
+     * @param event the event
+     * @return true :已被聚合, 调用方无需再写入;  false: 调用方照常写入
+     * @author HuangTaiHong
+     * @since 2026.10.18 22:20:37
+     */
+    boolean absorb(final LogEvent event) {
+        final AggregationKey lookupKey = LOOKUP_KEY.get().set(event);
+        final Aggregate aggregate = this.aggregates.get(lookupKey);
+        if (aggregate != null) {
+            // 窗口已关闭时按新窗口处理
+            return aggregate.add(event);
+        }
+        if (this.keyCount.get() >= this.maxKeys) {
+            return false;
+        }
+        final Aggregate created = new Aggregate(System.currentTimeMillis() + this.windowMs);
+        final Aggregate previous = this.aggregates.putIfAbsent(lookupKey.copy(), created);
+        if (previous != null) {
+            return previous.add(event);
+        }
+        this.keyCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * 停止定时刷新, 并写出所有未结束窗口中的聚合日志
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 22:20:37
+     */
+    void stop() {
+        this.flusher.shutdownNow();
+        try {
+            this.flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.flushExpired(true);
+    }
+
+    private void flushExpired(final boolean all) {
+        final long now = System.currentTimeMillis();
+        final Iterator<Map.Entry<AggregationKey, Aggregate>> iterator = this.aggregates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<AggregationKey, Aggregate> entry = iterator.next();
+            final Aggregate aggregate = entry.getValue();
+            if (!all && now < aggregate.windowEndMs) {
+                continue;
+            }
+            if (this.aggregates.remove(entry.getKey(), aggregate)) {
+                this.keyCount.decrementAndGet();
+            }
+            // 先移除再关闭, 关闭之后到达的重复日志会打开新窗口
+            if (aggregate.close() > 0) {
+                try {
+                    this.appender.formatRepeatedMessage(aggregate.firstDuplicate, aggregate.count, aggregate.firstTimestamp, aggregate.lastTimestamp);
+                } catch (RuntimeException e) {
+                    LOGGER.error("聚合日志写入失败: logger={}", aggregate.firstDuplicate.getLoggerName(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 一个聚合窗口, 同一个key的业务线程之间竞争很短的锁
+     */
+    private static final class Aggregate {
+        private final long windowEndMs;
+        private LogEvent firstDuplicate;
+        private int count;
+        private long firstTimestamp;
+        private long lastTimestamp;
+        private boolean closed;
+
+        private Aggregate(final long windowEndMs) {
+            this.windowEndMs = windowEndMs;
+        }
+
+        private synchronized boolean add(final LogEvent event) {
+            if (this.closed) {
+                return false;
+            }
+            if (this.count == 0) {
+                // 线程名和调用位置只能在业务线程上取得, 快照前先触发计算
+                event.getThreadName();
+                if (event.isIncludeLocation()) {
+                    event.getSource();
+                }
+                this.firstDuplicate = event.toImmutable();
+                this.firstTimestamp = event.getTimeMillis();
+            }
+            this.count++;
+            this.lastTimestamp = event.getTimeMillis();
+            return true;
+        }
+
+        /**
+         * 关闭窗口
+         *
+         * @return 窗口内的重复日志条数
+         */
+        private synchronized int close() {
+            this.closed = true;
+            return this.count;
+        }
+    }
+
+    /**
+     * 聚合key: logger + level + 文件 + 行号 + 消息模板. 线程复用的查找key通过 set 重新赋值, 放入map的key是其副本, 不再修改
+     */
+    private static final class AggregationKey {
+        private String loggerName;
+        private Level level;
+        private String fileName;
+        private int lineNumber;
+        private String template;
+        private int hash;
+
+        private AggregationKey set(final LogEvent event) {
+            this.loggerName = StringUtils.defaultString(event.getLoggerName());
+            this.level = event.getLevel();
+            final StackTraceElement source = event.isIncludeLocation() ? event.getSource() : null;
+            this.fileName = source == null ? StringUtils.EMPTY : StringUtils.defaultString(source.getFileName());
+            this.lineNumber = source == null ? 0 : source.getLineNumber();
+            final Message message = event.getMessage();
+            this.template = message == null ? StringUtils.EMPTY : StringUtils.defaultString(message.getFormat());
+            int result = this.loggerName.hashCode();
+            result = 31 * result + (this.level == null ? 0 : this.level.hashCode());
+            result = 31 * result + this.fileName.hashCode();
+            result = 31 * result + this.lineNumber;
+            result = 31 * result + this.template.hashCode();
+            this.hash = result;
+            return this;
+        }
+
+        private AggregationKey copy() {
+            final AggregationKey copy = new AggregationKey();
+            copy.loggerName = this.loggerName;
+            copy.level = this.level;
+            copy.fileName = this.fileName;
+            copy.lineNumber = this.lineNumber;
+            copy.template = this.template;
+            copy.hash = this.hash;
+            return copy;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AggregationKey)) {
+                return false;
+            }
+            final AggregationKey that = (AggregationKey) o;
+            return this.hash == that.hash && this.lineNumber == that.lineNumber && this.level == that.level
+                    && this.loggerName.equals(that.loggerName) && this.fileName.equals(that.fileName) && this.template.equals(that.template);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * FileName: AcknowledgementTracker
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 批次确认跟踪.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core;
+
+import roberto.growth.process.core.queue.AcknowledgedQueue;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 〈批次确认跟踪.〉
+ * <p>
+ * 批次号由 {@link roberto.growth.process.core.transport.RecordAccumulator} 连续分配. 消费线程每次出队并追加到发送缓冲后登记
+ * (最后一条记录所在的批次号, 队列读位置), 某个批次及之前的所有批次都确认后, 提交该批次登记的最大读位置.
+ * 中间有批次失败时不再提交, 由消费线程回退队列并从新的批次号重新开始跟踪
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+final class AcknowledgementTracker {
+    private final AcknowledgedQueue queue;
+    // 此前的批次都已确认
+    private long nextUnacknowledgedBatchId;
+    // 先于前面批次确认的批次
+    private final Set<Long> acknowledgedAhead = new HashSet<>();
+    // 登记的 [批次号, 读位置], 批次号递增
+    private final Deque<long[]> marks = new ArrayDeque<>();
+
+    AcknowledgementTracker(final AcknowledgedQueue queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * 登记读位置: 该位置之前出队的记录都在batchId及之前的批次中
+     *
+     * @param batchId  最后一条记录所在的批次号
+     * @param position 队列读位置
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    synchronized void mark(final long batchId, final long position) {
+        if (batchId < this.nextUnacknowledgedBatchId) {
+            this.queue.commit(position);
+            return;
+        }
+        final long[] last = this.marks.peekLast();
+        if (last != null && last[0] == batchId) {
+            last[1] = position;
+        } else {
+            this.marks.addLast(new long[]{batchId, position});
+        }
+    }
+
+    /**
+     * 批次已确认
+     *
+     * @param batchId the batch id
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    synchronized void acknowledged(final long batchId) {
+        if (batchId < this.nextUnacknowledgedBatchId) {
+            return;
+        }
+        if (batchId != this.nextUnacknowledgedBatchId) {
+            this.acknowledgedAhead.add(batchId);
+            return;
+        }
+        this.nextUnacknowledgedBatchId++;
+        while (this.acknowledgedAhead.remove(this.nextUnacknowledgedBatchId)) {
+            this.nextUnacknowledgedBatchId++;
+        }
+        long position = AcknowledgedQueue.NO_POSITION;
+        while (!this.marks.isEmpty() && this.marks.peekFirst()[0] < this.nextUnacknowledgedBatchId) {
+            position = this.marks.pollFirst()[1];
+        }
+        if (position != AcknowledgedQueue.NO_POSITION) {
+            this.queue.commit(position);
+        }
+    }
+
+    /**
+     * 批次是否仍在跟踪中, 重新开始跟踪之前的批次失败时无需再次回退
+     *
+     * @param batchId the batch id
+     * @return the boolean
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    synchronized boolean isTracked(final long batchId) {
+        return batchId >= this.nextUnacknowledgedBatchId;
+    }
+
+    /**
+     * 队列回退后从新的批次号重新开始跟踪, 之前批次的确认和失败都忽略
+     *
+     * @param nextBatchId 下一个分配的批次号
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    synchronized void reset(final long nextBatchId) {
+        this.nextUnacknowledgedBatchId = nextBatchId;
+        this.acknowledgedAhead.clear();
+        this.marks.clear();
+    }
+}
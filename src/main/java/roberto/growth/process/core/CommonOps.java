@@ -11,9 +11,29 @@ package roberto.growth.process.core;
 
 import cn.hutool.core.thread.NamedThreadFactory;
 import org.apache.commons.lang3.StringUtils;
+import roberto.growth.process.core.codec.LogBatchCodec;
+import roberto.growth.process.core.compress.CompressionCodec;
+import roberto.growth.process.core.compress.CompressionCodecs;
+import roberto.growth.process.core.enums.LogTypeEnum;
+import roberto.growth.process.core.enums.QueueTypeEnum;
+import roberto.growth.process.core.enums.WaitStrategyEnum;
+import roberto.growth.process.core.overflow.BlockingOverflowPolicy;
+import roberto.growth.process.core.overflow.DropNewestOverflowPolicy;
+import roberto.growth.process.core.overflow.DropOldestOverflowPolicy;
+import roberto.growth.process.core.overflow.LevelPriorityOverflowPolicy;
+import roberto.growth.process.core.overflow.OverflowPolicy;
+import roberto.growth.process.core.overflow.ProbabilisticOverflowPolicy;
+import roberto.growth.process.core.utils.ProjectUtils;
+import roberto.growth.process.core.wait.BlockingWaitStrategy;
+import roberto.growth.process.core.wait.SpinYieldWaitStrategy;
+import roberto.growth.process.core.wait.TimedBackoffWaitStrategy;
+import roberto.growth.process.core.wait.WaitStrategy;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 〈CommonOps.〉
@@ -24,6 +44,12 @@ import java.util.concurrent.Executors;
 public class CommonOps {
     private static final int TASK_THREAD_NUM = 3;
     private static final String TASK_THREAD_NAME = "log-appender-task";
+    private static final String SENDER_THREAD_NAME = "log-appender-sender";
+    private static final int CONNECT_TIMEOUT_MS = 3000;
+    private static final int REQUEST_TIMEOUT_MS = 30000;
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int DISK_SEGMENT_SIZE_BYTES = 64 * 1024;
 
     /**
      * Instantiates a new Common ops.
@@ -45,12 +71,145 @@ public class CommonOps {
      */
     public static boolean initQueue(final LogSender.Builder builder) {
         if (builder.getLogContext().isEnabledBufferQueue()) {
-            if (builder.getLogContext().isUsedMemoryQueue()) {
-                return activeMemoryQueue(builder);
-            } else {
-                return activeDiskQueue(builder);
+            builder.waitStrategy(newWaitStrategy(builder.getLogContext().getWaitStrategy()));
+            builder.overflowPolicy(newOverflowPolicy(builder.getLogContext(), builder.getReporter()));
+            if (builder.getLogContext().getQueuePartitions() > 1 && getQueuePartitions(builder.getLogContext()) == 1) {
+                builder.getReporter().warn("QueuePartitions 只对未启用PriorityLanes的DISK/MEMORY队列生效, 不分区");
             }
+            final boolean queueActivated;
+            switch (builder.getLogContext().getQueueType()) {
+                case MEMORY:
+                    queueActivated = activeMemoryQueue(builder);
+                    break;
+                case STRIPED_MEMORY:
+                    queueActivated = activeStripedMemoryQueue(builder);
+                    break;
+                case OFF_HEAP_MEMORY:
+                    queueActivated = activeOffHeapMemoryQueue(builder);
+                    break;
+                case RING_BUFFER:
+                    queueActivated = activeRingBufferQueue(builder);
+                    break;
+                case SPILLOVER:
+                    queueActivated = activeSpilloverQueue(builder);
+                    break;
+                default:
+                    queueActivated = activeDiskQueue(builder);
+                    break;
+            }
+            return queueActivated && activePriorityLanes(builder);
+        }
+        return true;
+    }
+
+    /**
+     * 启用按级别分道时, 在已配置的队列前增加独立容量的高优先级通道
+     *
+     * @param builder the builder
+     * @return the boolean
+     * @author HuangTaiHong
+     * @since 2026.10.18 21:10:44
+     */
+    private static boolean activePriorityLanes(final LogSender.Builder builder) {
+        final LogContext logContext = builder.getLogContext();
+        if (!logContext.isPriorityLanes()) {
+            return true;
+        }
+        if (logContext.getPriorityLaneWeight() <= 0) {
+            builder.getReporter().error("PriorityLaneWeight 只能设置为正整数");
+            return false;
+        }
+        if (logContext.getPriorityLaneCapacityBytes() <= 0 && logContext.getPriorityLaneCapacityBytes() != -1) {
+            builder.getReporter().error("PriorityLaneCapacityBytes 只能设置为正整数或-1");
+            return false;
+        }
+        builder.withPriorityLaneQueueBuilder()
+                .priorityLevel(logContext.getPriorityLaneLevel())
+                .priorityWeight(logContext.getPriorityLaneWeight())
+                .priorityCapacityInBytes(logContext.getPriorityLaneCapacityBytes())
+                .priorityLogCountLimit(logContext.getPriorityLaneLogCountCapacity())
+                .endPriorityLaneQueue();
+        return true;
+    }
+
+    /**
+     * 创建消费线程等待策略
+     *
+     * @param waitStrategy the wait strategy
+     * @return the wait strategy
+     * @author HuangTaiHong
+     * @since 2026.10.18 13:52:31
+     */
+    private static WaitStrategy newWaitStrategy(final WaitStrategyEnum waitStrategy) {
+        switch (waitStrategy) {
+            case SPIN_YIELD:
+                return new SpinYieldWaitStrategy();
+            case TIMED_BACKOFF:
+                return new TimedBackoffWaitStrategy(MIN_BACKOFF_NANOS, MAX_BACKOFF_NANOS);
+            default:
+                return new BlockingWaitStrategy();
         }
+    }
+
+    /**
+     * 创建队列溢出策略
+     *
+     * @param logContext the log context
+     * @param reporter   the reporter
+     * @return the overflow policy
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:52:10
+     */
+    private static OverflowPolicy newOverflowPolicy(final LogContext logContext, final SenderStatusReporter reporter) {
+        // 文件队列(及溢写队列的磁盘层)的容量由磁盘使用率决定, 出队不能立即释放空间, 不能通过移除最早日志腾出空间
+        final boolean evictable = logContext.getQueueType() != QueueTypeEnum.DISK && logContext.getQueueType() != QueueTypeEnum.SPILLOVER;
+        switch (logContext.getOverflowPolicy()) {
+            case BLOCK:
+                return new BlockingOverflowPolicy(logContext.getOverflowBlockTimeoutMs());
+            case DROP_OLDEST:
+                if (!evictable) {
+                    reporter.warn("文件队列不支持DROP_OLDEST溢出策略, 使用DROP_NEWEST");
+                    return new DropNewestOverflowPolicy();
+                }
+                return new DropOldestOverflowPolicy();
+            case LEVEL_PRIORITY:
+                return new LevelPriorityOverflowPolicy(logContext.getOverflowPriorityLevel(), logContext.getOverflowShedRatio(), evictable);
+            case PROBABILISTIC:
+                return new ProbabilisticOverflowPolicy(logContext.getOverflowShedRatio());
+            default:
+                return new DropNewestOverflowPolicy();
+        }
+    }
+
+    /**
+     * 初始化发送通道逻辑
+     *
+     * @param builder the builder
+     * @return boolean boolean
+     * @author HuangTaiHong
+     * @since 2026.10.18 11:20:05
+     */
+    public static boolean initTransport(final LogSender.Builder builder) {
+        final LogContext logContext = builder.getLogContext();
+        if (!validateBatchParameters(logContext, builder.getReporter())) {
+            return false;
+        }
+        final int senderThreads = getSenderThreads(logContext);
+        if (logContext.getSenderThreads() > senderThreads) {
+            builder.getReporter().warn(String.format("SenderThreads 大于队列分区数, 使用%d个发送线程", senderThreads));
+        }
+        builder.senderThreads(senderThreads)
+                .senderExecutor(Executors.newFixedThreadPool(senderThreads, new NamedThreadFactory(SENDER_THREAD_NAME, true)))
+                .withTransportBuilder()
+                .bootstrapServers(logContext.getBootstrapServers())
+                .topic(logContext.getTopic())
+                .maxInFlightRequests(logContext.getMaxInFlightRequests())
+                .connectTimeoutMs(CONNECT_TIMEOUT_MS)
+                .requestTimeoutMs(REQUEST_TIMEOUT_MS)
+                .recordFormat(logContext.getRecordFormat())
+                .batchCodec(new LogBatchCodec(ProjectUtils.getEnv(), logContext.getIp(), logContext.getHostName(), logContext.projectName(), LogTypeEnum.JAVA))
+                .compressionCodec(CompressionCodecs.create(logContext.getCompressionType(), logContext.getCompressionLevel()))
+                .endTransport();
         return true;
     }
 
@@ -68,11 +227,93 @@ public class CommonOps {
         if (!validateQueueCapacity(logContext, builder.getReporter())) {
             return false;
         }
-        builder.tasksExecutor(Executors.newScheduledThreadPool(1, new NamedThreadFactory(TASK_THREAD_NAME, true)))
+        // 容量按分区均分, 每个分区一个消费线程
+        final int partitions = getQueuePartitions(logContext);
+        builder.tasksExecutor(Executors.newScheduledThreadPool(partitions, new NamedThreadFactory(TASK_THREAD_NAME, true)))
                 .withMemoryQueueBuilder()
+                .capacityInBytes(logContext.getMemoryQueueCapacityBytes() == -1 ? -1 : Math.max(1, logContext.getMemoryQueueCapacityBytes() / partitions))
+                .logCountLimit(logContext.getMemoryLogCountCapacity() == -1 ? -1 : Math.max(1, logContext.getMemoryLogCountCapacity() / partitions))
+                .endMemoryQueue();
+        if (partitions > 1) {
+            builder.withPartitionedQueueBuilder()
+                    .partitionCount(partitions)
+                    .partitionKey(logContext.getPartitionKey())
+                    .endPartitionedQueue();
+        }
+        return true;
+    }
+
+    /**
+     * Active striped memory queue.
+     *
+     * @param builder the builder
+     * @return the boolean
+     * @author HuangTaiHong
+     * @since 2026.10.18 19:40:12
+     */
+    @SuppressWarnings("PMD")
+    private static boolean activeStripedMemoryQueue(final LogSender.Builder builder) {
+        final LogContext logContext = builder.getLogContext();
+        if (!validateQueueCapacity(logContext, builder.getReporter())) {
+            return false;
+        }
+        // 未配置时按核数的2倍分段
+        final int stripeCount = logContext.getMemoryQueueStripes() > 0 ? logContext.getMemoryQueueStripes() : Runtime.getRuntime().availableProcessors() * 2;
+        builder.tasksExecutor(Executors.newScheduledThreadPool(1, new NamedThreadFactory(TASK_THREAD_NAME, true)))
+                .withStripedMemoryQueueBuilder()
+                .stripeCount(stripeCount)
                 .capacityInBytes(logContext.getMemoryQueueCapacityBytes())
                 .logCountLimit(logContext.getMemoryLogCountCapacity())
-                .endMemoryQueue();
+                .endStripedMemoryQueue();
+        return true;
+    }
+
+    /**
+     * Active off heap memory queue.
+     *
+     * @param builder the builder
+     * @return the boolean
+     * @author HuangTaiHong
+     * @since 2026.10.18 15:14:26
+     */
+    @SuppressWarnings("PMD")
+    private static boolean activeOffHeapMemoryQueue(final LogSender.Builder builder) {
+        final LogContext logContext = builder.getLogContext();
+        if (!validateQueueCapacity(logContext, builder.getReporter())) {
+            return false;
+        }
+        if (logContext.getOffHeapSlabSizeBytes() <= 0) {
+            builder.getReporter().error("OffHeapSlabSizeBytes 只能设置为正整数");
+            return false;
+        }
+        builder.tasksExecutor(Executors.newScheduledThreadPool(1, new NamedThreadFactory(TASK_THREAD_NAME, true)))
+                .withOffHeapMemoryQueueBuilder()
+                .slabSizeBytes(logContext.getOffHeapSlabSizeBytes())
+                .capacityInBytes(logContext.getMemoryQueueCapacityBytes())
+                .logCountLimit(logContext.getMemoryLogCountCapacity())
+                .endOffHeapMemoryQueue();
+        return true;
+    }
+
+    /**
+     * Active ring buffer queue.
+     *
+     * @param builder the builder
+     * @return the boolean
+     * @author HuangTaiHong
+     * @since 2026.10.18 14:30:52
+     */
+    @SuppressWarnings("PMD")
+    private static boolean activeRingBufferQueue(final LogSender.Builder builder) {
+        final LogContext logContext = builder.getLogContext();
+        if (logContext.getRingBufferSize() <= 0) {
+            builder.getReporter().error("RingBufferSize 只能设置为正整数");
+            return false;
+        }
+        builder.tasksExecutor(Executors.newScheduledThreadPool(1, new NamedThreadFactory(TASK_THREAD_NAME, true)))
+                .withRingBufferQueueBuilder()
+                .capacity(logContext.getRingBufferSize())
+                .endRingBufferQueue();
         return true;
     }
 
@@ -91,17 +332,85 @@ public class CommonOps {
             return false;
         }
         final SenderStatusReporter reporter = builder.getReporter();
-        final File queueDirFile = getQueueDirFile(logContext, reporter);
-        if (queueDirFile == null) {
+        if (logContext.getDiskQueueCapacityBytes() <= 0 && logContext.getDiskQueueCapacityBytes() != -1) {
+            reporter.error("DiskQueueCapacityBytes 只能设置为正整数或-1");
             return false;
         }
-        builder.tasksExecutor(Executors.newScheduledThreadPool(TASK_THREAD_NUM, new NamedThreadFactory(TASK_THREAD_NAME, true)))
+        if (logContext.getDiskQueueLowWatermarkPercent() < 1 || logContext.getDiskQueueLowWatermarkPercent() > 99) {
+            reporter.error("DiskQueueLowWatermarkPercent 只能设置为1-99之间的整数");
+            return false;
+        }
+        final int partitions = logContext.getQueueType() == QueueTypeEnum.DISK ? getQueuePartitions(logContext) : 1;
+        final File queueDirFile;
+        final List<File> partitionDirs;
+        if (partitions > 1) {
+            queueDirFile = null;
+            partitionDirs = getPartitionDirs(logContext, reporter, partitions);
+            if (partitionDirs == null) {
+                return false;
+            }
+        } else {
+            partitionDirs = null;
+            queueDirFile = getQueueDirFile(logContext, reporter);
+            if (queueDirFile == null) {
+                return false;
+            }
+        }
+        CompressionCodec compressionCodec = null;
+        if (logContext.isDiskQueueCompressed()) {
+            compressionCodec = CompressionCodecs.create(logContext.getCompressionType(), logContext.getCompressionLevel());
+            if (compressionCodec == null) {
+                reporter.warn("未指定compressionType, 磁盘队列不压缩");
+            }
+        }
+        // 字节数上限由各分区均分
+        final long capacityInBytes = logContext.getDiskQueueCapacityBytes() == -1 ? -1L : Math.max(1L, logContext.getDiskQueueCapacityBytes() / partitions);
+        // 每个分区一个消费线程
+        builder.tasksExecutor(Executors.newScheduledThreadPool(TASK_THREAD_NUM + partitions - 1, new NamedThreadFactory(TASK_THREAD_NAME, true)))
                 .withDiskQueueBuilder()
                 .queueDir(queueDirFile)
                 .fsPercentThreshold(logContext.getFsPercentThreshold())
                 .gcQueueDataIntervalMs(logContext.getGcQueueDataIntervalMs())
                 .checkDiskSpaceInterval(logContext.getCheckDiskSpaceIntervalMs())
+                .compression(compressionCodec, DISK_SEGMENT_SIZE_BYTES)
+                .capacity(capacityInBytes, logContext.getDiskQueueLowWatermarkPercent())
                 .endDiskQueue();
+        if (partitions > 1) {
+            builder.withPartitionedQueueBuilder()
+                    .partitionDirs(partitionDirs)
+                    .partitionKey(logContext.getPartitionKey())
+                    .endPartitionedQueue();
+        }
+        return true;
+    }
+
+    /**
+     * Active spillover queue: 内存层使用JVM内存队列的容量配置, 磁盘层使用文件队列的配置
+     *
+     * @param builder the builder
+     * @return the boolean
+     * @author HuangTaiHong
+     * @since 2026.10.18 22:50:14
+     */
+    @SuppressWarnings("PMD")
+    private static boolean activeSpilloverQueue(final LogSender.Builder builder) {
+        final LogContext logContext = builder.getLogContext();
+        if (!validateQueueCapacity(logContext, builder.getReporter())) {
+            return false;
+        }
+        if (logContext.getMemoryQueueCapacityBytes() == -1 && logContext.getMemoryLogCountCapacity() == -1) {
+            builder.getReporter().error("溢写队列的 MemoryQueueCapacityBytes 和 MemoryLogCountCapacity 不能同时为-1");
+            return false;
+        }
+        if (!activeDiskQueue(builder)) {
+            return false;
+        }
+        builder.withMemoryQueueBuilder()
+                .capacityInBytes(logContext.getMemoryQueueCapacityBytes())
+                .logCountLimit(logContext.getMemoryLogCountCapacity())
+                .endMemoryQueue()
+                .withSpilloverQueueBuilder()
+                .endSpilloverQueue();
         return true;
     }
 
@@ -127,6 +436,31 @@ public class CommonOps {
         return true;
     }
 
+    /**
+     * Validate batch parameters.
+     *
+     * @param logContext the log context
+     * @param reporter   the reporter
+     * @return the boolean
+     * @author HuangTaiHong
+     * @since 2026.10.18 11:20:05
+     */
+    private static boolean validateBatchParameters(final LogContext logContext, final SenderStatusReporter reporter) {
+        if (logContext.getBatchSizeBytes() <= 0 || logContext.getLingerMs() < 0) {
+            reporter.error("BatchSizeBytes 必须大于0, LingerMs 不能小于0");
+            return false;
+        }
+        if (logContext.getMaxInFlightRequests() <= 0) {
+            reporter.error("MaxInFlightRequests 必须大于0");
+            return false;
+        }
+        if (logContext.getSendBufferMemoryBytes() < logContext.getBatchSizeBytes()) {
+            reporter.error("SendBufferMemoryBytes 不能小于 BatchSizeBytes");
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Validate file system full percent threshold.
      *
@@ -144,33 +478,127 @@ public class CommonOps {
     }
 
     /**
-     * Gets queue dir file.
+     * 实际的分区数: 只有未启用按级别分道的文件队列和JVM内存队列支持分区, JVM内存队列至少按发送线程数分区;
+     * 未启用缓冲队列时按发送线程数分区
+     *
+     * @param logContext the log context
+     * @return the int
+     * @author HuangTaiHong
+     * @since 2026.10.18 00:40:15
+     */
+    private static int getQueuePartitions(final LogContext logContext) {
+        if (!logContext.isEnabledBufferQueue()) {
+            return Math.max(1, logContext.getSenderThreads());
+        }
+        if (logContext.isPriorityLanes()) {
+            return 1;
+        }
+        switch (logContext.getQueueType()) {
+            case DISK:
+                return Math.max(1, logContext.getQueuePartitions());
+            case MEMORY:
+                return Math.max(Math.max(1, logContext.getQueuePartitions()), logContext.getSenderThreads());
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * 实际的发送线程数, 不超过分区数, 未配置时与分区数相同
+     *
+     * @param logContext the log context
+     * @return the int
+     * @author HuangTaiHong
+     * @since 2026.10.18 01:25:10
+     */
+    private static int getSenderThreads(final LogContext logContext) {
+        final int partitions = getQueuePartitions(logContext);
+        return logContext.getSenderThreads() > 0 ? Math.min(logContext.getSenderThreads(), partitions) : partitions;
+    }
+
+    /**
+     * 各分区的目录: queueDir按逗号分隔为多个挂载点, 分区依次轮流分布在各挂载点下的 partition-N 目录
      *
      * @param logContext the log context
      * @param reporter   the reporter
-     * @return the queue dir file
+     * @param partitions 分区数
+     * @return the partition dirs, 挂载点不可用时返回null
      * @author HuangTaiHong
-     * @since 2019.11.11 23:08:47
+     * @since 2026.10.18 00:40:15
      */
-    private static File getQueueDirFile(final LogContext logContext, final SenderStatusReporter reporter) {
-        final String queueDirPath;
+    private static List<File> getPartitionDirs(final LogContext logContext, final SenderStatusReporter reporter, final int partitions) {
+        final List<File> mountDirs = new ArrayList<>();
         if (StringUtils.isNotBlank(logContext.getQueueDir())) {
-            queueDirPath = logContext.getQueueDir();
-            final File queueFile = new File(queueDirPath);
-            if (queueFile.exists()) {
-                if (!queueFile.canWrite()) {
-                    reporter.error("无权限往队列文件写入数据: file=" + queueFile);
-                    return null;
+            for (String queueDirPath : StringUtils.split(logContext.getQueueDir(), ',')) {
+                if (StringUtils.isBlank(queueDirPath)) {
+                    continue;
                 }
-            } else {
-                if (!queueFile.mkdir()) {
-                    reporter.error("无法创建队列文件：" + queueFile);
+                final File mountDir = new File(queueDirPath.trim());
+                if (!validateQueueDir(mountDir, reporter)) {
                     return null;
                 }
+                mountDirs.add(mountDir);
+            }
+        }
+        if (mountDirs.isEmpty()) {
+            mountDirs.add(defaultQueueDir());
+        }
+        final List<File> partitionDirs = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            partitionDirs.add(new File(mountDirs.get(i % mountDirs.size()), "partition-" + i));
+        }
+        return partitionDirs;
+    }
+
+    /**
+     * 队列目录不存在时创建, 并检查写权限
+     *
+     * @param queueFile the queue file
+     * @param reporter  the reporter
+     * @return the boolean
+     * @author HuangTaiHong
+     * @since 2026.10.18 00:40:15
+     */
+    private static boolean validateQueueDir(final File queueFile, final SenderStatusReporter reporter) {
+        if (queueFile.exists()) {
+            if (!queueFile.canWrite()) {
+                reporter.error("无权限往队列文件写入数据: file=" + queueFile);
+                return false;
             }
         } else {
-            queueDirPath = System.getProperty("JAVA.io.tmpdir") + File.separator + "log-log4j2-buffer";
+            if (!queueFile.mkdir()) {
+                reporter.error("无法创建队列文件：" + queueFile);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets queue dir file.
+     *
+     * @param logContext the log context
+     * @param reporter   the reporter
+     * @return the queue dir file
+     * @author HuangTaiHong
+     * @since 2019.11.11 23:08:47
+     */
+    private static File getQueueDirFile(final LogContext logContext, final SenderStatusReporter reporter) {
+        if (StringUtils.isNotBlank(logContext.getQueueDir())) {
+            final File queueDir = new File(logContext.getQueueDir());
+            return validateQueueDir(queueDir, reporter) ? queueDir : null;
         }
-        return new File(queueDirPath);
+        return defaultQueueDir();
+    }
+
+    /**
+     * 未配置队列目录时使用系统临时目录
+     *
+     * @return the file
+     * @author HuangTaiHong
+     * @since 2026.10.18 00:40:15
+     */
+    private static File defaultQueueDir() {
+        return new File(System.getProperty("java.io.tmpdir"), "log-log4j2-buffer");
     }
 }
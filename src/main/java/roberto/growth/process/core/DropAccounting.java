@@ -0,0 +1,166 @@
+/**
+ * FileName: DropAccounting
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志丢弃统计.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core;
+
+import roberto.growth.process.core.enums.DropReasonEnum;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 〈日志丢弃统计.〉
+ * <p>
+ * 按丢弃原因累计条数和字节数, 丢弃时只做计数, 不格式化也不输出日志.
+ * 汇总信息最多每 reportIntervalMs 输出一次, 只包含上次汇总之后新增的丢弃
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class DropAccounting {
+    public static final long DEFAULT_REPORT_INTERVAL_MS = 60000L;
+    private static final DropReasonEnum[] REASONS = DropReasonEnum.values();
+
+    private final AtomicLongArray droppedCounts = new AtomicLongArray(REASONS.length);
+    private final AtomicLongArray droppedBytes = new AtomicLongArray(REASONS.length);
+
+    // 上次汇总时的累计值, 只在持有对象锁时访问
+    private final long[] reportedCounts = new long[REASONS.length];
+    private final long[] reportedBytes = new long[REASONS.length];
+    private long lastReportTimeMs;
+
+    private final long reportIntervalMs;
+    private final AtomicLong nextReportTimeMs;
+    private final SenderStatusReporter reporter;
+
+    /**
+     * 构造函数
+     *
+     * @param reporter         the reporter
+     * @param reportIntervalMs 汇总输出的最小间隔
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:05:31
+     */
+    public DropAccounting(final SenderStatusReporter reporter, final long reportIntervalMs) {
+        this.reporter = reporter;
+        this.reportIntervalMs = reportIntervalMs;
+        this.lastReportTimeMs = System.currentTimeMillis();
+        this.nextReportTimeMs = new AtomicLong(this.lastReportTimeMs + reportIntervalMs);
+    }
+
+    /**
+     * 记录一条被丢弃的日志
+     *
+     * @param reason the reason
+     * @param bytes  日志字节数
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:05:31
+     */
+    public void record(final DropReasonEnum reason, final long bytes) {
+        this.record(reason, 1L, bytes);
+    }
+
+    /**
+     * 记录一批被丢弃的日志
+     *
+     * @param reason the reason
+     * @param count  条数
+     * @param bytes  总字节数
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:05:31
+     */
+    public void record(final DropReasonEnum reason, final long count, final long bytes) {
+        this.droppedCounts.addAndGet(reason.ordinal(), count);
+        this.droppedBytes.addAndGet(reason.ordinal(), bytes);
+        this.reportIfDue();
+    }
+
+    /**
+     * 距上次汇总超过间隔时输出汇总, 同一时刻只有一个线程会输出
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:05:31
+     */
+    public void reportIfDue() {
+        final long next = this.nextReportTimeMs.get();
+        final long now = System.currentTimeMillis();
+        if (now >= next && this.nextReportTimeMs.compareAndSet(next, now + this.reportIntervalMs)) {
+            this.report();
+        }
+    }
+
+    /**
+     * 立即输出上次汇总之后新增的丢弃, 没有新增时不输出
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:05:31
+     */
+    public synchronized void report() {
+        final long now = System.currentTimeMillis();
+        final StringBuilder detail = new StringBuilder();
+        long deltaCount = 0L;
+        long deltaBytes = 0L;
+        for (DropReasonEnum reason : REASONS) {
+            final long count = this.droppedCounts.get(reason.ordinal());
+            final long bytes = this.droppedBytes.get(reason.ordinal());
+            final long reasonCount = count - this.reportedCounts[reason.ordinal()];
+            final long reasonBytes = bytes - this.reportedBytes[reason.ordinal()];
+            this.reportedCounts[reason.ordinal()] = count;
+            this.reportedBytes[reason.ordinal()] = bytes;
+            if (reasonCount > 0) {
+                detail.append(detail.length() == 0 ? "" : ", ").append(reason).append('=').append(reasonCount).append('(').append(reasonBytes).append("字节)");
+                deltaCount += reasonCount;
+                deltaBytes += reasonBytes;
+            }
+        }
+        final long elapsedMs = now - this.lastReportTimeMs;
+        this.lastReportTimeMs = now;
+        if (deltaCount > 0) {
+            this.reporter.warn(String.format("过去 %d 秒丢弃日志 %d 条, 共 %d 字节: %s; 累计丢弃 %d 条", elapsedMs / 1000, deltaCount, deltaBytes, detail, this.getDroppedCount()));
+        }
+    }
+
+    public long getDroppedCount(final DropReasonEnum reason) {
+        return this.droppedCounts.get(reason.ordinal());
+    }
+
+    public long getDroppedBytes(final DropReasonEnum reason) {
+        return this.droppedBytes.get(reason.ordinal());
+    }
+
+    /**
+     * 所有原因的累计丢弃条数
+     *
+     * @return the dropped count
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:05:31
+     */
+    public long getDroppedCount() {
+        long total = 0L;
+        for (int i = 0; i < REASONS.length; i++) {
+            total += this.droppedCounts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * 所有原因的累计丢弃字节数
+     *
+     * @return the dropped bytes
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:05:31
+     */
+    public long getDroppedBytes() {
+        long total = 0L;
+        for (int i = 0; i < REASONS.length; i++) {
+            total += this.droppedBytes.get(i);
+        }
+        return total;
+    }
+}
@@ -9,6 +9,13 @@
  */
 package roberto.growth.process.core;
 
+import roberto.growth.process.core.enums.CompressionTypeEnum;
+import roberto.growth.process.core.enums.OverflowPolicyEnum;
+import roberto.growth.process.core.enums.PartitionKeyEnum;
+import roberto.growth.process.core.enums.QueueTypeEnum;
+import roberto.growth.process.core.enums.RateLimitKeyEnum;
+import roberto.growth.process.core.enums.RecordFormatEnum;
+import roberto.growth.process.core.enums.WaitStrategyEnum;
 import roberto.growth.process.core.utils.InternetUtils;
 import roberto.growth.process.core.utils.ProjectUtils;
 
@@ -40,6 +47,11 @@ public class LogContext {
      */
     private boolean usedMemoryQueue = false;
 
+    /**
+     * 缓冲队列类型
+     */
+    private QueueTypeEnum queueType = QueueTypeEnum.DISK;
+
     /**
      * 内存队列最大容量
      */
@@ -51,15 +63,50 @@ public class LogContext {
     private long memoryLogCountCapacity;
 
     /**
-     * 文件队列存放路径
+     * 堆外内存队列分片大小
+     */
+    private int offHeapSlabSizeBytes;
+
+    /**
+     * 分段内存队列的分段数
+     */
+    private int memoryQueueStripes;
+
+    /**
+     * 环形队列槽位数
+     */
+    private int ringBufferSize;
+
+    /**
+     * 文件队列存放路径, 多个路径用逗号分隔
      */
     private String queueDir;
 
+    /**
+     * 队列分区数
+     */
+    private int queuePartitions;
+
+    /**
+     * 分区维度
+     */
+    private PartitionKeyEnum partitionKey = PartitionKeyEnum.TRACE_ID;
+
     /**
      * 文件系统阈值百分百, 超过阈值时直接丢弃日志，防止系统不可用
      */
     private int fsPercentThreshold;
 
+    /**
+     * 文件队列占用磁盘的字节数上限, -1:不限制
+     */
+    private long diskQueueCapacityBytes;
+
+    /**
+     * 文件队列恢复写入的低水位百分比
+     */
+    private int diskQueueLowWatermarkPercent;
+
     /**
      * 默认任务持久化间隔，单位MS
      */
@@ -70,6 +117,172 @@ public class LogContext {
      */
     private int checkDiskSpaceIntervalMs;
 
+    /**
+     * 缓冲队列为空时消费线程的等待策略
+     */
+    private WaitStrategyEnum waitStrategy = WaitStrategyEnum.BLOCKING;
+
+    /**
+     * 是否按日志级别分道
+     */
+    private boolean priorityLanes;
+
+    /**
+     * 进入高优先级通道的最低级别
+     */
+    private String priorityLaneLevel;
+
+    /**
+     * 高优先级通道的出队权重
+     */
+    private int priorityLaneWeight;
+
+    /**
+     * 高优先级通道容量
+     */
+    private long priorityLaneCapacityBytes;
+
+    /**
+     * 高优先级通道日志条数容量
+     */
+    private long priorityLaneLogCountCapacity;
+
+    /**
+     * 缓冲队列已满时的溢出策略
+     */
+    private OverflowPolicyEnum overflowPolicy = OverflowPolicyEnum.DROP_NEWEST;
+
+    /**
+     * BLOCK策略的最长等待时间
+     */
+    private long overflowBlockTimeoutMs;
+
+    /**
+     * LEVEL_PRIORITY / PROBABILISTIC策略开始舍弃日志的队列使用率
+     */
+    private double overflowShedRatio;
+
+    /**
+     * LEVEL_PRIORITY策略优先保留的最低级别
+     */
+    private String overflowPriorityLevel;
+
+    /**
+     * 是否启用无GC的日志采集模式. 日志消息、编码缓冲区和重复日志聚合的查找key均按线程复用,
+     * 每条日志仍会分配交给队列持有的编码结果byte[]; rateLimitKey为LOGGER_AND_TEMPLATE时限流key的拼接也会分配
+     */
+    private boolean garbageFree;
+
+    /**
+     * 是否启用异步采集
+     */
+    private boolean asyncCapture;
+
+    /**
+     * 异步采集的编码线程数
+     */
+    private int encoderThreads;
+
+    /**
+     * 异步采集交接队列容量
+     */
+    private int captureBufferSize;
+
+    /**
+     * 丢弃统计汇总输出间隔
+     */
+    private long dropReportIntervalMs;
+
+    /**
+     * 每个限流key每秒允许的日志条数, 不大于0表示不限流
+     */
+    private double rateLimitPermitsPerSecond;
+
+    /**
+     * 每个限流key允许的突发条数
+     */
+    private int rateLimitBurst;
+
+    /**
+     * 限流维度
+     */
+    private RateLimitKeyEnum rateLimitKey = RateLimitKeyEnum.LOGGER;
+
+    /**
+     * 最多保留的限流key数量
+     */
+    private int rateLimitMaxKeys;
+
+    /**
+     * 是否启用自适应采样
+     */
+    private boolean adaptiveSampling;
+
+    /**
+     * 是否启用重复日志聚合
+     */
+    private boolean aggregateDuplicates;
+
+    /**
+     * 重复日志聚合窗口
+     */
+    private long aggregationWindowMs;
+
+    /**
+     * 最多同时聚合的key数量
+     */
+    private int aggregationMaxKeys;
+
+    /**
+     * 日志记录格式
+     */
+    private RecordFormatEnum recordFormat = RecordFormatEnum.JSON;
+
+    /**
+     * 批次压缩算法
+     */
+    private CompressionTypeEnum compressionType = CompressionTypeEnum.NONE;
+
+    /**
+     * 压缩级别, -1 使用算法默认级别
+     */
+    private int compressionLevel = -1;
+
+    /**
+     * 磁盘队列是否按分段压缩存储
+     */
+    private boolean diskQueueCompressed;
+
+    /**
+     * 单个发送批次的最大字节数
+     */
+    private int batchSizeBytes;
+
+    /**
+     * 批次未满时的最长等待时间, 单位MS
+     */
+    private int lingerMs;
+
+    /**
+     * 单个连接上允许未确认的最大批次数
+     */
+    private int maxInFlightRequests;
+
+    /**
+     * 发送线程数, 0:与分区数相同
+     */
+    private int senderThreads;
+
+    /**
+     * 已聚合但尚未确认的日志最大字节数
+     */
+    private long sendBufferMemoryBytes;
+
+    /**
+     * 是否注册JMX指标
+     */
+    private boolean jmxEnabled;
+
     public LogContext() {
         this.projectName = ProjectUtils.getProjectName();
         this.ip = InternetUtils.getLocalIpAddress();
@@ -92,10 +305,18 @@ public class LogContext {
         this.projectName = projectName;
     }
 
+    public String getBootstrapServers() {
+        return bootstrapServers;
+    }
+
     public void setBootstrapServers(String bootstrapServers) {
         this.bootstrapServers = bootstrapServers;
     }
 
+    public String getTopic() {
+        return topic;
+    }
+
     public void setTopic(String topic) {
         this.topic = topic;
     }
@@ -116,6 +337,14 @@ public class LogContext {
         this.usedMemoryQueue = usedMemoryQueue;
     }
 
+    public QueueTypeEnum getQueueType() {
+        return queueType;
+    }
+
+    public void setQueueType(QueueTypeEnum queueType) {
+        this.queueType = queueType;
+    }
+
     public long getMemoryQueueCapacityBytes() {
         return memoryQueueCapacityBytes;
     }
@@ -132,6 +361,30 @@ public class LogContext {
         this.memoryLogCountCapacity = memoryLogCountCapacity;
     }
 
+    public int getOffHeapSlabSizeBytes() {
+        return offHeapSlabSizeBytes;
+    }
+
+    public void setOffHeapSlabSizeBytes(int offHeapSlabSizeBytes) {
+        this.offHeapSlabSizeBytes = offHeapSlabSizeBytes;
+    }
+
+    public int getMemoryQueueStripes() {
+        return memoryQueueStripes;
+    }
+
+    public void setMemoryQueueStripes(int memoryQueueStripes) {
+        this.memoryQueueStripes = memoryQueueStripes;
+    }
+
+    public int getRingBufferSize() {
+        return ringBufferSize;
+    }
+
+    public void setRingBufferSize(int ringBufferSize) {
+        this.ringBufferSize = ringBufferSize;
+    }
+
     public String getQueueDir() {
         return queueDir;
     }
@@ -140,6 +393,22 @@ public class LogContext {
         this.queueDir = queueDir;
     }
 
+    public int getQueuePartitions() {
+        return queuePartitions;
+    }
+
+    public void setQueuePartitions(int queuePartitions) {
+        this.queuePartitions = queuePartitions;
+    }
+
+    public PartitionKeyEnum getPartitionKey() {
+        return partitionKey;
+    }
+
+    public void setPartitionKey(PartitionKeyEnum partitionKey) {
+        this.partitionKey = partitionKey;
+    }
+
     public int getFsPercentThreshold() {
         return fsPercentThreshold;
     }
@@ -148,6 +417,22 @@ public class LogContext {
         this.fsPercentThreshold = fsPercentThreshold;
     }
 
+    public long getDiskQueueCapacityBytes() {
+        return diskQueueCapacityBytes;
+    }
+
+    public void setDiskQueueCapacityBytes(long diskQueueCapacityBytes) {
+        this.diskQueueCapacityBytes = diskQueueCapacityBytes;
+    }
+
+    public int getDiskQueueLowWatermarkPercent() {
+        return diskQueueLowWatermarkPercent;
+    }
+
+    public void setDiskQueueLowWatermarkPercent(int diskQueueLowWatermarkPercent) {
+        this.diskQueueLowWatermarkPercent = diskQueueLowWatermarkPercent;
+    }
+
     public int getGcQueueDataIntervalMs() {
         return gcQueueDataIntervalMs;
     }
@@ -163,4 +448,268 @@ public class LogContext {
     public void setCheckDiskSpaceIntervalMs(int checkDiskSpaceIntervalMs) {
         this.checkDiskSpaceIntervalMs = checkDiskSpaceIntervalMs;
     }
+
+    public WaitStrategyEnum getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public void setWaitStrategy(WaitStrategyEnum waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    public boolean isPriorityLanes() {
+        return priorityLanes;
+    }
+
+    public void setPriorityLanes(boolean priorityLanes) {
+        this.priorityLanes = priorityLanes;
+    }
+
+    public String getPriorityLaneLevel() {
+        return priorityLaneLevel;
+    }
+
+    public void setPriorityLaneLevel(String priorityLaneLevel) {
+        this.priorityLaneLevel = priorityLaneLevel;
+    }
+
+    public int getPriorityLaneWeight() {
+        return priorityLaneWeight;
+    }
+
+    public void setPriorityLaneWeight(int priorityLaneWeight) {
+        this.priorityLaneWeight = priorityLaneWeight;
+    }
+
+    public long getPriorityLaneCapacityBytes() {
+        return priorityLaneCapacityBytes;
+    }
+
+    public void setPriorityLaneCapacityBytes(long priorityLaneCapacityBytes) {
+        this.priorityLaneCapacityBytes = priorityLaneCapacityBytes;
+    }
+
+    public long getPriorityLaneLogCountCapacity() {
+        return priorityLaneLogCountCapacity;
+    }
+
+    public void setPriorityLaneLogCountCapacity(long priorityLaneLogCountCapacity) {
+        this.priorityLaneLogCountCapacity = priorityLaneLogCountCapacity;
+    }
+
+    public OverflowPolicyEnum getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicyEnum overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public long getOverflowBlockTimeoutMs() {
+        return overflowBlockTimeoutMs;
+    }
+
+    public void setOverflowBlockTimeoutMs(long overflowBlockTimeoutMs) {
+        this.overflowBlockTimeoutMs = overflowBlockTimeoutMs;
+    }
+
+    public double getOverflowShedRatio() {
+        return overflowShedRatio;
+    }
+
+    public void setOverflowShedRatio(double overflowShedRatio) {
+        this.overflowShedRatio = overflowShedRatio;
+    }
+
+    public String getOverflowPriorityLevel() {
+        return overflowPriorityLevel;
+    }
+
+    public void setOverflowPriorityLevel(String overflowPriorityLevel) {
+        this.overflowPriorityLevel = overflowPriorityLevel;
+    }
+
+    public boolean isGarbageFree() {
+        return garbageFree;
+    }
+
+    public void setGarbageFree(boolean garbageFree) {
+        this.garbageFree = garbageFree;
+    }
+
+    public boolean isAsyncCapture() {
+        return asyncCapture;
+    }
+
+    public void setAsyncCapture(boolean asyncCapture) {
+        this.asyncCapture = asyncCapture;
+    }
+
+    public int getEncoderThreads() {
+        return encoderThreads;
+    }
+
+    public void setEncoderThreads(int encoderThreads) {
+        this.encoderThreads = encoderThreads;
+    }
+
+    public int getCaptureBufferSize() {
+        return captureBufferSize;
+    }
+
+    public void setCaptureBufferSize(int captureBufferSize) {
+        this.captureBufferSize = captureBufferSize;
+    }
+
+    public long getDropReportIntervalMs() {
+        return dropReportIntervalMs;
+    }
+
+    public void setDropReportIntervalMs(long dropReportIntervalMs) {
+        this.dropReportIntervalMs = dropReportIntervalMs;
+    }
+
+    public double getRateLimitPermitsPerSecond() {
+        return rateLimitPermitsPerSecond;
+    }
+
+    public void setRateLimitPermitsPerSecond(double rateLimitPermitsPerSecond) {
+        this.rateLimitPermitsPerSecond = rateLimitPermitsPerSecond;
+    }
+
+    public int getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+
+    public void setRateLimitBurst(int rateLimitBurst) {
+        this.rateLimitBurst = rateLimitBurst;
+    }
+
+    public RateLimitKeyEnum getRateLimitKey() {
+        return rateLimitKey;
+    }
+
+    public void setRateLimitKey(RateLimitKeyEnum rateLimitKey) {
+        this.rateLimitKey = rateLimitKey;
+    }
+
+    public int getRateLimitMaxKeys() {
+        return rateLimitMaxKeys;
+    }
+
+    public void setRateLimitMaxKeys(int rateLimitMaxKeys) {
+        this.rateLimitMaxKeys = rateLimitMaxKeys;
+    }
+
+    public boolean isAdaptiveSampling() {
+        return adaptiveSampling;
+    }
+
+    public void setAdaptiveSampling(boolean adaptiveSampling) {
+        this.adaptiveSampling = adaptiveSampling;
+    }
+
+    public boolean isAggregateDuplicates() {
+        return aggregateDuplicates;
+    }
+
+    public void setAggregateDuplicates(boolean aggregateDuplicates) {
+        this.aggregateDuplicates = aggregateDuplicates;
+    }
+
+    public long getAggregationWindowMs() {
+        return aggregationWindowMs;
+    }
+
+    public void setAggregationWindowMs(long aggregationWindowMs) {
+        this.aggregationWindowMs = aggregationWindowMs;
+    }
+
+    public int getAggregationMaxKeys() {
+        return aggregationMaxKeys;
+    }
+
+    public void setAggregationMaxKeys(int aggregationMaxKeys) {
+        this.aggregationMaxKeys = aggregationMaxKeys;
+    }
+
+    public RecordFormatEnum getRecordFormat() {
+        return recordFormat;
+    }
+
+    public void setRecordFormat(RecordFormatEnum recordFormat) {
+        this.recordFormat = recordFormat;
+    }
+
+    public CompressionTypeEnum getCompressionType() {
+        return compressionType;
+    }
+
+    public void setCompressionType(CompressionTypeEnum compressionType) {
+        this.compressionType = compressionType;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public boolean isDiskQueueCompressed() {
+        return diskQueueCompressed;
+    }
+
+    public void setDiskQueueCompressed(boolean diskQueueCompressed) {
+        this.diskQueueCompressed = diskQueueCompressed;
+    }
+
+    public int getBatchSizeBytes() {
+        return batchSizeBytes;
+    }
+
+    public void setBatchSizeBytes(int batchSizeBytes) {
+        this.batchSizeBytes = batchSizeBytes;
+    }
+
+    public int getLingerMs() {
+        return lingerMs;
+    }
+
+    public void setLingerMs(int lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    public int getMaxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+    public void setMaxInFlightRequests(int maxInFlightRequests) {
+        this.maxInFlightRequests = maxInFlightRequests;
+    }
+
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+
+    public long getSendBufferMemoryBytes() {
+        return sendBufferMemoryBytes;
+    }
+
+    public void setSendBufferMemoryBytes(long sendBufferMemoryBytes) {
+        this.sendBufferMemoryBytes = sendBufferMemoryBytes;
+    }
+
+    public boolean isJmxEnabled() {
+        return jmxEnabled;
+    }
+
+    public void setJmxEnabled(boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+    }
 }
@@ -96,6 +96,26 @@ public class LogMessage {private long timestamp;
      */
     private List<String> tags;
 
+    /**
+     * 采样率: 该条日志代表的原始日志条数, 为空表示未采样
+     */
+    private Integer sampleRate;
+
+    /**
+     * 重复次数: 聚合窗口内相同日志合并为一条时, 该条日志代表的原始日志条数, 为空表示未聚合
+     */
+    private Integer repeatCount;
+
+    /**
+     * 聚合窗口内第一条重复日志的时间
+     */
+    private Long firstTimestamp;
+
+    /**
+     * 聚合窗口内最后一条重复日志的时间
+     */
+    private Long lastTimestamp;
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -223,4 +243,36 @@ public class LogMessage {private long timestamp;
     public void setTags(List<String> tags) {
         this.tags = tags;
     }
+
+    public Integer getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(Integer sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Integer getRepeatCount() {
+        return repeatCount;
+    }
+
+    public void setRepeatCount(Integer repeatCount) {
+        this.repeatCount = repeatCount;
+    }
+
+    public Long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    public void setFirstTimestamp(Long firstTimestamp) {
+        this.firstTimestamp = firstTimestamp;
+    }
+
+    public Long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public void setLastTimestamp(Long lastTimestamp) {
+        this.lastTimestamp = lastTimestamp;
+    }
 }
@@ -0,0 +1,207 @@
+/**
+ * FileName: LogRateLimiter
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 按key限流和自适应采样.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 〈按key限流和自适应采样.〉
+ * <p>
+ * 每个key(logger名称或消息模板)一个令牌桶, 令牌桶按GCRA实现, 状态只有一个long, 通过CAS更新, 不加锁.
+ * <p>
+ * 启用自适应采样时按1秒窗口统计每个key的日志条数, 上一窗口的速率超过限定速率时, 下一窗口按 1/N 采样,
+ * N = ceil(上一窗口速率 / 限定速率), 放行的日志携带采样率N, 下游按N还原条数. 速率回落后N自动恢复为1
+ * <p>
+ * key数量不超过maxKeys: 达到上限时清理冷key(令牌已补满且超过两个窗口无日志, 清理后与新建的桶等价),
+ * 清理后仍无空位时新key共用一个溢出桶
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class LogRateLimiter {
+    /**
+     * 丢弃
+     */
+    public static final int REJECTED = 0;
+
+    /**
+     * 放行且未采样
+     */
+    public static final int NOT_SAMPLED = 1;
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double permitsPerSecond;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final boolean adaptiveSampling;
+    private final int maxKeys;
+    private final ConcurrentMap<String, Bucket> buckets;
+    private final AtomicInteger keyCount = new AtomicInteger();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final AtomicLong nextEvictNanos;
+    private final Bucket overflowBucket;
+
+    /**
+     * 构造函数
+     *
+     * @param permitsPerSecond 每个key每秒允许的日志条数
+     * @param burst            每个key允许的突发条数, 小于1时取每秒条数
+     * @param adaptiveSampling 是否启用自适应采样
+     * @param maxKeys          最多保留的key数量
+     * @author HuangTaiHong
+     * @since 2026.10.18 21:48:16
+     */
+    public LogRateLimiter(final double permitsPerSecond, final int burst, final boolean adaptiveSampling, final int maxKeys) {
+        if (permitsPerSecond <= 0D) {
+            throw new IllegalArgumentException("permitsPerSecond必须大于0");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.emissionIntervalNanos = Math.max(1L, (long) (WINDOW_NANOS / permitsPerSecond));
+        this.burstNanos = this.emissionIntervalNanos * (burst < 1 ? Math.max(1L, (long) Math.ceil(permitsPerSecond)) : burst);
+        this.adaptiveSampling = adaptiveSampling;
+        this.maxKeys = Math.max(1, maxKeys);
+        this.buckets = new ConcurrentHashMap<>(Math.min(this.maxKeys, 1024));
+        final long now = System.nanoTime();
+        this.nextEvictNanos = new AtomicLong(now);
+        this.overflowBucket = new Bucket(now);
+    }
+
+    /**
+     * 申请一条日志的发送许可
+     *
+     * @param key 限流key, 不能为null
+     * @return {@link #REJECTED}: 丢弃; 大于0: 放行, 返回值为该条日志代表的原始日志条数(采样率)
+     * @author HuangTaiHong
+     * @since 2026.10.18 21:48:16
+     */
+    public int acquire(final String key) {
+        final long now = System.nanoTime();
+        Bucket bucket = this.buckets.get(key);
+        if (bucket == null) {
+            bucket = this.createBucket(key, now);
+        }
+        return this.adaptiveSampling ? this.acquireSampled(bucket, now) : (this.tryAcquire(bucket, now) ? NOT_SAMPLED : REJECTED);
+    }
+
+    /**
+     * 当前保留的key数量
+     */
+    public int keyCount() {
+        return this.keyCount.get();
+    }
+
+    private Bucket createBucket(final String key, final long now) {
+        if (this.keyCount.get() >= this.maxKeys && !this.evictColdKeys(now)) {
+            return this.overflowBucket;
+        }
+        final Bucket bucket = new Bucket(now);
+        final Bucket previous = this.buckets.putIfAbsent(key, bucket);
+        if (previous != null) {
+            return previous;
+        }
+        this.keyCount.incrementAndGet();
+        return bucket;
+    }
+
+    /**
+     * 清理冷key, 每个窗口最多扫描一次, 同一时刻只有一个线程扫描
+     *
+     * @return true: 有空位
+     */
+    private boolean evictColdKeys(final long now) {
+        final long next = this.nextEvictNanos.get();
+        if (now - next >= 0 && this.nextEvictNanos.compareAndSet(next, now + WINDOW_NANOS) && this.evicting.compareAndSet(false, true)) {
+            try {
+                final Iterator<Map.Entry<String, Bucket>> iterator = this.buckets.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    final Map.Entry<String, Bucket> entry = iterator.next();
+                    if (entry.getValue().isCold(now) && this.buckets.remove(entry.getKey(), entry.getValue())) {
+                        this.keyCount.decrementAndGet();
+                    }
+                }
+            } finally {
+                this.evicting.set(false);
+            }
+        }
+        return this.keyCount.get() < this.maxKeys;
+    }
+
+    /**
+     * GCRA: 理论到达时间超出当前时间不超过突发容量时放行
+     */
+    private boolean tryAcquire(final Bucket bucket, final long now) {
+        while (true) {
+            final long tat = bucket.tat;
+            final long newTat = (tat - now > 0 ? tat : now) + this.emissionIntervalNanos;
+            if (newTat - now > this.burstNanos) {
+                return false;
+            }
+            if (Bucket.TAT.compareAndSet(bucket, tat, newTat)) {
+                return true;
+            }
+        }
+    }
+
+    private int acquireSampled(final Bucket bucket, final long now) {
+        this.rollWindow(bucket, now);
+        final int count = Bucket.WINDOW_COUNT.incrementAndGet(bucket);
+        final int sampleRate = bucket.sampleRate;
+        if (sampleRate > NOT_SAMPLED) {
+            return count % sampleRate == 0 ? sampleRate : REJECTED;
+        }
+        // 突发的第一个窗口还没有采样率, 由令牌桶限流
+        return this.tryAcquire(bucket, now) ? NOT_SAMPLED : REJECTED;
+    }
+
+    private void rollWindow(final Bucket bucket, final long now) {
+        final long windowStart = bucket.windowStart;
+        final long elapsed = now - windowStart;
+        if (elapsed < WINDOW_NANOS || !Bucket.WINDOW_START.compareAndSet(bucket, windowStart, now)) {
+            return;
+        }
+        final int count = Bucket.WINDOW_COUNT.getAndSet(bucket, 0);
+        final double rate = count * (double) WINDOW_NANOS / elapsed;
+        bucket.sampleRate = rate > this.permitsPerSecond ? (int) Math.min(Integer.MAX_VALUE, Math.ceil(rate / this.permitsPerSecond)) : NOT_SAMPLED;
+    }
+
+    /**
+     * 单个key的限流状态, 使用字段更新器避免每个key额外的Atomic对象
+     */
+    private static final class Bucket {
+        private static final AtomicLongFieldUpdater<Bucket> TAT = AtomicLongFieldUpdater.newUpdater(Bucket.class, "tat");
+        private static final AtomicLongFieldUpdater<Bucket> WINDOW_START = AtomicLongFieldUpdater.newUpdater(Bucket.class, "windowStart");
+        private static final AtomicIntegerFieldUpdater<Bucket> WINDOW_COUNT = AtomicIntegerFieldUpdater.newUpdater(Bucket.class, "windowCount");
+
+        // 理论到达时间, 不晚于当前时间表示令牌已补满
+        private volatile long tat;
+        private volatile long windowStart;
+        private volatile int windowCount;
+        private volatile int sampleRate = NOT_SAMPLED;
+
+        private Bucket(final long now) {
+            this.tat = now;
+            this.windowStart = now;
+        }
+
+        private boolean isCold(final long now) {
+            return this.tat - now <= 0 && now - this.windowStart >= 2 * WINDOW_NANOS;
+        }
+    }
+}
@@ -9,28 +9,81 @@
  */
 package roberto.growth.process.core;
 
-import com.alibaba.fastjson.JSON;
+import roberto.growth.process.core.codec.BinaryLogMessageCodec;
+import roberto.growth.process.core.codec.LogMessageEncoder;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.enums.RecordFormatEnum;
 import roberto.growth.process.core.exception.LogParameterErrorException;
+import roberto.growth.process.core.metrics.LogSenderMetrics;
+import roberto.growth.process.core.metrics.MBeanRegistry;
+import roberto.growth.process.core.metrics.SenderMetrics;
+import roberto.growth.process.core.overflow.OverflowPolicy;
+import roberto.growth.process.core.queue.AcknowledgedQueue;
 import roberto.growth.process.core.queue.LogDataQueue;
+import roberto.growth.process.core.queue.ResizableQueue;
 import roberto.growth.process.core.queue.impl.DiskQueue;
 import roberto.growth.process.core.queue.impl.MemoryQueue;
+import roberto.growth.process.core.queue.impl.OffHeapMemoryQueue;
+import roberto.growth.process.core.queue.impl.PartitionedQueue;
+import roberto.growth.process.core.queue.impl.PriorityLaneQueue;
+import roberto.growth.process.core.queue.impl.RingBufferQueue;
+import roberto.growth.process.core.queue.impl.SpilloverQueue;
+import roberto.growth.process.core.queue.impl.StripedMemoryQueue;
+import roberto.growth.process.core.transport.BatchCallback;
+import roberto.growth.process.core.transport.BatchDispatcher;
+import roberto.growth.process.core.transport.LogBatch;
+import roberto.growth.process.core.transport.LogTransport;
+import roberto.growth.process.core.transport.RecordAccumulator;
+import roberto.growth.process.core.transport.SocketLogTransport;
+import roberto.growth.process.core.wait.BlockingWaitStrategy;
+import roberto.growth.process.core.wait.WaitStrategy;
 
+import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import javax.management.ObjectName;
 
 /**
  * 〈日志发送器.〉
+ * <p>
+ * 缓冲队列支持确认(磁盘队列)时按至少一次发送: 出队不删除记录, 批次确认后才提交队列位置, 批次失败时队列回退到已提交位置重新发送,
+ * 进程崩溃后从已提交位置继续发送
+ * <p>
+ * 分区队列的每个分区有独立的消费线程和发送缓冲, 批次不会跨分区. 发送线程各自使用独立的连接, 分区按顺序轮流分配给发送线程,
+ * 同一分区的批次由同一线程按顺序发送; 未启用缓冲队列时日志按分区维度直接分配给各发送线程
+ * <p>
+ * 运行中可通过 {@link LogSenderMBean} 刷新、暂停/恢复消费、限制消费速率以及调整队列容量, 不需要重建队列
  *
  * @author HuangTaiHong
  * @since 2019-11-11
  */
-public class LogSender {
+public class LogSender implements LogSenderMBean {
+    private static final int SEND_RETRIES = 3;
+    private static final long SEND_RETRY_BACKOFF_MS = 100L;
+    private static final long SHUTDOWN_TIMEOUT_MS = 20000L;
+    // 缓冲队列模式下发送缓冲区满时每次等待的时间
+    private static final long APPEND_BLOCK_MS = 1000L;
+    // 每次从缓冲队列批量取出的最大条数
+    private static final int DRAIN_MAX_RECORDS = 1024;
+    // 消费线程单次等待的最长时间, 防止唤醒信号异常丢失
+    private static final long MAX_IDLE_WAIT_MS = 1000L;
+    // 限速等待时单次休眠的最长时间, 期间可响应关闭和解除限速
+    private static final long MAX_THROTTLE_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+    // flush等待队列清空时的检查间隔
+    private static final long FLUSH_POLL_INTERVAL_MS = 10L;
+    private static final String MBEAN_TYPE = "LogSender";
+    // 入队时(或因入队)被丢弃的原因, 这些日志不在队列中或已被移出队列
+    private static final DropReasonEnum[] ADMISSION_DROP_REASONS = {DropReasonEnum.COUNT_LIMIT, DropReasonEnum.BYTE_LIMIT, DropReasonEnum.DISK_THRESHOLD, DropReasonEnum.EVICTED, DropReasonEnum.SHED};
+
     /**
      * Builder.
      *
@@ -43,28 +96,94 @@ public class LogSender {
     }
 
     final LogDataQueue logDataQueue;
+    // 启用按级别分道时与logDataQueue是同一个对象, 否则为null
+    private final PriorityLaneQueue priorityLaneQueue;
+    // 启用分区时与logDataQueue是同一个对象, 否则为null
+    private final PartitionedQueue partitionedQueue;
+    private final OverflowPolicy overflowPolicy;
     volatile boolean shutdown = false;
+    // 每个分区一条流水线, 未分区时只有一条
+    private final SendPipeline[] pipelines;
+    // 每个发送线程一个, 与logTransports下标一一对应
+    private final BatchDispatcher[] batchDispatchers;
 
     private final SenderStatusReporter reporter;
+    private final DropAccounting dropAccounting;
+    private final SenderMetrics metrics = new SenderMetrics();
+    // 缓冲队列中的所有文件队列(包括分区和溢写的磁盘层), 用于读取段文件指标和运行时调整
+    private final List<DiskQueue> diskQueues;
+    // 缓冲队列中容量可调整的JVM内存队列(包括分区和溢写的内存层)
+    private final List<ResizableQueue> resizableQueues;
+    private LogSenderMetrics metricsMBean;
+    private ObjectName metricsObjectName;
+    private ObjectName controlObjectName;
+
+    // 运行时控制: 暂停消费和消费速率上限(条/秒, 0:不限制)
+    private volatile boolean drainPaused;
+    private volatile double drainRatePerSecond;
+    private final Object pauseLock = new Object();
     private final ExecutorService tasksExecutor;
+    private final ExecutorService senderExecutor;
     private final LogContext logContext;
 
+    private final List<LogTransport> logTransports;
+
     /**
      * Instantiates a new Log sender.
      *
-     * @param logContext    the log context
-     * @param logDataQueue  the log data queue
-     * @param reporter      the reporter
-     * @param tasksExecutor the tasks executor
+     * @param logContext     the log context
+     * @param logDataQueue   the log data queue
+     * @param waitStrategy   消费线程等待策略, 为null时使用 {@link BlockingWaitStrategy}
+     * @param overflowPolicy 缓冲队列溢出策略
+     * @param logTransports  发送通道, 每个发送线程一个
+     * @param reporter       the reporter
+     * @param dropAccounting 丢弃统计, 与队列共用
+     * @param tasksExecutor  the tasks executor
+     * @param senderExecutor the sender executor
      * @author HuangTaiHong
      * @since 2019.11.11 19:29:07
      */
-    public LogSender(final LogContext logContext, final LogDataQueue logDataQueue, final SenderStatusReporter reporter, final ExecutorService tasksExecutor) {
+    public LogSender(final LogContext logContext, final LogDataQueue logDataQueue, final WaitStrategy waitStrategy, final OverflowPolicy overflowPolicy, final List<LogTransport> logTransports, final SenderStatusReporter reporter, final DropAccounting dropAccounting, final ExecutorService tasksExecutor, final ExecutorService senderExecutor) {
         this.logContext = logContext;
         this.logDataQueue = logDataQueue;
+        this.priorityLaneQueue = logDataQueue instanceof PriorityLaneQueue ? (PriorityLaneQueue) logDataQueue : null;
+        this.partitionedQueue = logDataQueue instanceof PartitionedQueue ? (PartitionedQueue) logDataQueue : null;
+        this.overflowPolicy = overflowPolicy;
+        this.logTransports = logTransports;
         this.reporter = reporter;
+        this.dropAccounting = dropAccounting;
+        final List<DiskQueue> collectedDiskQueues = new ArrayList<>();
+        final List<ResizableQueue> collectedResizableQueues = new ArrayList<>();
+        collectQueues(logDataQueue, collectedDiskQueues, collectedResizableQueues);
+        this.diskQueues = Collections.unmodifiableList(collectedDiskQueues);
+        this.resizableQueues = Collections.unmodifiableList(collectedResizableQueues);
         this.tasksExecutor = tasksExecutor;
-        // TODO 需要观察是否需要异步启动
+        this.senderExecutor = senderExecutor;
+        this.batchDispatchers = new BatchDispatcher[logTransports.size()];
+        for (int i = 0; i < this.batchDispatchers.length; i++) {
+            this.batchDispatchers[i] = new BatchDispatcher(logTransports.get(i), reporter, SEND_RETRIES, SEND_RETRY_BACKOFF_MS);
+        }
+        final int pipelineCount;
+        if (this.partitionedQueue != null) {
+            pipelineCount = this.partitionedQueue.getPartitionCount();
+        } else {
+            pipelineCount = logContext.isEnabledBufferQueue() ? 1 : this.batchDispatchers.length;
+        }
+        // 发送缓冲按分区均分, 每个分区至少能容纳一个批次
+        final long sendBufferMemoryBytes = Math.max(logContext.getBatchSizeBytes(), logContext.getSendBufferMemoryBytes() / pipelineCount);
+        this.pipelines = new SendPipeline[pipelineCount];
+        for (int i = 0; i < pipelineCount; i++) {
+            final LogDataQueue queue = this.partitionedQueue == null ? logDataQueue : this.partitionedQueue.getPartition(i);
+            // 等待策略记录挂起的消费线程, 每个分区使用独立的实例
+            final WaitStrategy partitionWaitStrategy;
+            if (waitStrategy == null) {
+                partitionWaitStrategy = new BlockingWaitStrategy();
+            } else {
+                partitionWaitStrategy = i == 0 ? waitStrategy : waitStrategy.copy();
+            }
+            this.pipelines[i] = new SendPipeline(queue, partitionWaitStrategy, sendBufferMemoryBytes);
+            this.batchDispatchers[i % this.batchDispatchers.length].register(this.pipelines[i].recordAccumulator, this.pipelines[i]);
+        }
     }
 
     /**
@@ -74,22 +193,40 @@ public class LogSender {
      * @since 2019.11.11 19:29:07
      */
     public void start() {
-        if (logContext.isEnabledBufferQueue()) {
-            this.tasksExecutor.submit(new Runnable() {
-                @Override
-                public void run() {
-                    while (!shutdown) {
-                        if (LogSender.this.logDataQueue.isEmpty()) {
-                            try {
-                                TimeUnit.SECONDS.sleep(1);
-                            } catch (InterruptedException e) {
-                                break;
+        for (BatchDispatcher batchDispatcher : this.batchDispatchers) {
+            this.senderExecutor.submit(batchDispatcher);
+        }
+        for (final SendPipeline pipeline : this.pipelines) {
+            if (logContext.isEnabledBufferQueue()) {
+                this.tasksExecutor.submit(new Runnable() {
+                    // 批量出队使用的可复用容器, 仅由当前线程访问
+                    private final List<byte[]> drainBuffer = new ArrayList<>(DRAIN_MAX_RECORDS);
+
+                    @Override
+                    public void run() {
+                        while (!shutdown) {
+                            LogSender.this.dropAccounting.reportIfDue();
+                            if (LogSender.this.drainPaused) {
+                                try {
+                                    LogSender.this.awaitResume();
+                                } catch (InterruptedException e) {
+                                    break;
+                                }
+                                continue;
+                            }
+                            if (pipeline.queue.isEmpty() && !pipeline.redeliveryRequested) {
+                                try {
+                                    pipeline.waitStrategy.waitFor(pipeline.queue, MAX_IDLE_WAIT_MS);
+                                } catch (InterruptedException e) {
+                                    break;
+                                }
+                                continue;
                             }
+                            pipeline.drainQueueAndSend(this.drainBuffer);
                         }
-                        LogSender.this.drainQueueAndSend();
                     }
-                }
-            });
+                });
+            }
         }
     }
 
@@ -102,22 +239,56 @@ public class LogSender {
     @SuppressWarnings("PMD")
     public void stop() {
         this.shutdown = true;
+        // 关闭前恢复消费, 尽量清空队列
+        this.resumeDrain();
+        for (SendPipeline pipeline : this.pipelines) {
+            pipeline.waitStrategy.signal();
+        }
         if (logContext.isEnabledBufferQueue() && !this.logDataQueue.isEmpty()) {
-            final ExecutorService executorService = Executors.newSingleThreadExecutor();
+            // 各分区并行清空
+            final ExecutorService executorService = Executors.newFixedThreadPool(this.pipelines.length);
             reporter.info("关闭LogSender前, 提交队列中的任务, 超时时间20秒");
             try {
-                executorService.submit(new Runnable() {
-                    @Override
-                    public void run() {
-                        LogSender.this.drainQueueAndSend();
-                    }
-                }).get(20L, TimeUnit.SECONDS);
+                final List<Future<?>> futures = new ArrayList<>(this.pipelines.length);
+                for (final SendPipeline pipeline : this.pipelines) {
+                    futures.add(executorService.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            pipeline.drainQueueAndSend(new ArrayList<byte[]>(DRAIN_MAX_RECORDS));
+                        }
+                    }));
+                }
+                final long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+                for (Future<?> future : futures) {
+                    future.get(Math.max(0L, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                }
             } catch (InterruptedException | TimeoutException | ExecutionException e) {
                 this.reporter.warn("等待了20秒，但无法完全处理完队列任务。退出");
             } finally {
                 executorService.shutdownNow();
             }
         }
+        try {
+            final long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+            boolean acknowledged = true;
+            for (BatchDispatcher batchDispatcher : this.batchDispatchers) {
+                acknowledged &= batchDispatcher.shutdown(Math.max(0L, deadline - System.currentTimeMillis()));
+            }
+            if (!acknowledged) {
+                this.reporter.warn("等待了20秒，但仍有日志批次未得到确认。退出");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.senderExecutor.shutdownNow();
+            for (LogTransport logTransport : this.logTransports) {
+                try {
+                    logTransport.close();
+                } catch (IOException e) {
+                    this.reporter.error("transport close failure", e);
+                }
+            }
+        }
         if (tasksExecutor != null) {
             tasksExecutor.shutdownNow();
         }
@@ -128,6 +299,341 @@ public class LogSender {
                 this.reporter.error("queue close failure", e);
             }
         }
+        this.dropAccounting.report();
+        MBeanRegistry.unregister(this.metricsObjectName, this.metricsMBean, this.reporter);
+        MBeanRegistry.unregister(this.controlObjectName, this, this.reporter);
+    }
+
+    /**
+     * 以appender名称注册指标MBean和管理MBean, stop时注销
+     *
+     * @param name appender名称
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public void registerMBeans(final String name) {
+        this.metricsMBean = new LogSenderMetrics(this);
+        this.metricsObjectName = MBeanRegistry.register(LogSenderMetrics.MBEAN_TYPE, name, this.metricsMBean, this.reporter);
+        this.controlObjectName = MBeanRegistry.register(MBEAN_TYPE, name, this, this.reporter);
+    }
+
+    @Override
+    public boolean flush(final long timeoutMs) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMs;
+        for (DiskQueue diskQueue : this.diskQueues) {
+            diskQueue.flush();
+        }
+        while (true) {
+            boolean flushed = true;
+            boolean sending = false;
+            final boolean paused = this.drainPaused;
+            for (SendPipeline pipeline : this.pipelines) {
+                if (pipeline.queue != null && !pipeline.queue.isEmpty()) {
+                    flushed = false;
+                    if (!paused) {
+                        pipeline.waitStrategy.signal();
+                    }
+                }
+                // 新出队的日志可能进入新的批次, 每次检查都重新封装
+                pipeline.recordAccumulator.flush();
+                if (pipeline.recordAccumulator.getBufferedBytes() > 0) {
+                    flushed = false;
+                    sending = true;
+                }
+            }
+            if (flushed) {
+                return true;
+            }
+            // 暂停消费时缓冲队列中剩余的日志不会发送, 已出队的日志发送完后不再等待
+            if ((paused && !sending) || this.shutdown || System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(FLUSH_POLL_INTERVAL_MS);
+        }
+    }
+
+    @Override
+    public boolean pauseDrain() {
+        if (!this.logContext.isEnabledBufferQueue() || this.shutdown) {
+            return false;
+        }
+        if (!this.drainPaused) {
+            this.drainPaused = true;
+            this.reporter.info("暂停从缓冲队列消费");
+        }
+        return true;
+    }
+
+    @Override
+    public void resumeDrain() {
+        synchronized (this.pauseLock) {
+            if (!this.drainPaused) {
+                return;
+            }
+            this.drainPaused = false;
+            this.pauseLock.notifyAll();
+        }
+        for (SendPipeline pipeline : this.pipelines) {
+            pipeline.waitStrategy.signal();
+        }
+        this.reporter.info("恢复从缓冲队列消费");
+    }
+
+    @Override
+    public boolean isDrainPaused() {
+        return this.drainPaused;
+    }
+
+    @Override
+    public double getDrainRatePerSecond() {
+        return this.drainRatePerSecond;
+    }
+
+    @Override
+    public void setDrainRatePerSecond(final double drainRatePerSecond) {
+        if (Double.isNaN(drainRatePerSecond)) {
+            throw new IllegalArgumentException("DrainRatePerSecond 只能设置为数字");
+        }
+        final double rate = Math.max(0D, drainRatePerSecond);
+        this.reporter.info(String.format("运行时调整 DrainRatePerSecond: %s -> %s", this.drainRatePerSecond, rate));
+        this.drainRatePerSecond = rate;
+    }
+
+    @Override
+    public long getMemoryQueueCapacityBytes() {
+        return this.logContext.getMemoryQueueCapacityBytes();
+    }
+
+    @Override
+    public void setMemoryQueueCapacityBytes(final long memoryQueueCapacityBytes) {
+        if (memoryQueueCapacityBytes <= 0 && memoryQueueCapacityBytes != -1) {
+            throw new IllegalArgumentException("MemoryQueueCapacityBytes 只能设置为非0整数或-1值");
+        }
+        this.validateSpilloverCapacity(memoryQueueCapacityBytes, this.logContext.getMemoryLogCountCapacity());
+        final List<ResizableQueue> queues = this.requireResizableQueues();
+        for (ResizableQueue queue : queues) {
+            queue.setCapacityInBytes(splitCapacity(memoryQueueCapacityBytes, queues.size()));
+        }
+        this.reporter.info(String.format("运行时调整 MemoryQueueCapacityBytes: %d -> %d", this.logContext.getMemoryQueueCapacityBytes(), memoryQueueCapacityBytes));
+        this.logContext.setMemoryQueueCapacityBytes(memoryQueueCapacityBytes);
+    }
+
+    @Override
+    public long getMemoryLogCountCapacity() {
+        return this.logContext.getMemoryLogCountCapacity();
+    }
+
+    @Override
+    public void setMemoryLogCountCapacity(final long memoryLogCountCapacity) {
+        if (memoryLogCountCapacity <= 0 && memoryLogCountCapacity != -1) {
+            throw new IllegalArgumentException("MemoryLogCountCapacity 只能设置为非0整数或-1值");
+        }
+        this.validateSpilloverCapacity(this.logContext.getMemoryQueueCapacityBytes(), memoryLogCountCapacity);
+        final List<ResizableQueue> queues = this.requireResizableQueues();
+        for (ResizableQueue queue : queues) {
+            queue.setLogCountLimit(splitCapacity(memoryLogCountCapacity, queues.size()));
+        }
+        this.reporter.info(String.format("运行时调整 MemoryLogCountCapacity: %d -> %d", this.logContext.getMemoryLogCountCapacity(), memoryLogCountCapacity));
+        this.logContext.setMemoryLogCountCapacity(memoryLogCountCapacity);
+    }
+
+    @Override
+    public int getFsPercentThreshold() {
+        return this.logContext.getFsPercentThreshold();
+    }
+
+    @Override
+    public void setFsPercentThreshold(final int fsPercentThreshold) {
+        if ((fsPercentThreshold < 1 || fsPercentThreshold > 100) && fsPercentThreshold != -1) {
+            throw new IllegalArgumentException("FsPercentThreshold 只能设置为1-100之间的整数或-1");
+        }
+        for (DiskQueue diskQueue : this.requireDiskQueues()) {
+            diskQueue.setFsPercentThreshold(fsPercentThreshold);
+        }
+        this.reporter.info(String.format("运行时调整 FsPercentThreshold: %d -> %d", this.logContext.getFsPercentThreshold(), fsPercentThreshold));
+        this.logContext.setFsPercentThreshold(fsPercentThreshold);
+    }
+
+    @Override
+    public long getDiskQueueCapacityBytes() {
+        return this.logContext.getDiskQueueCapacityBytes();
+    }
+
+    @Override
+    public void setDiskQueueCapacityBytes(final long diskQueueCapacityBytes) {
+        if (diskQueueCapacityBytes <= 0 && diskQueueCapacityBytes != -1) {
+            throw new IllegalArgumentException("DiskQueueCapacityBytes 只能设置为正整数或-1");
+        }
+        final List<DiskQueue> queues = this.requireDiskQueues();
+        for (DiskQueue diskQueue : queues) {
+            diskQueue.setCapacity(splitCapacity(diskQueueCapacityBytes, queues.size()), this.logContext.getDiskQueueLowWatermarkPercent());
+        }
+        this.reporter.info(String.format("运行时调整 DiskQueueCapacityBytes: %d -> %d", this.logContext.getDiskQueueCapacityBytes(), diskQueueCapacityBytes));
+        this.logContext.setDiskQueueCapacityBytes(diskQueueCapacityBytes);
+    }
+
+    /**
+     * 暂停期间消费线程在此等待, 恢复或超时后返回
+     *
+     * @throws InterruptedException the interrupted exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    private void awaitResume() throws InterruptedException {
+        synchronized (this.pauseLock) {
+            if (this.drainPaused && !this.shutdown) {
+                this.pauseLock.wait(MAX_IDLE_WAIT_MS);
+            }
+        }
+    }
+
+    private List<ResizableQueue> requireResizableQueues() {
+        if (this.resizableQueues.isEmpty()) {
+            throw new IllegalStateException(String.format("当前队列类型不支持运行时调整JVM内存队列容量: %s", this.logContext.getQueueType()));
+        }
+        return this.resizableQueues;
+    }
+
+    private List<DiskQueue> requireDiskQueues() {
+        if (this.diskQueues.isEmpty()) {
+            throw new IllegalStateException(String.format("当前队列类型没有文件队列: %s", this.logContext.getQueueType()));
+        }
+        return this.diskQueues;
+    }
+
+    /**
+     * 溢写队列的内存层不能同时不限制字节数和条数, 否则永远不会溢写
+     */
+    private void validateSpilloverCapacity(final long capacityInBytes, final long logCountLimit) {
+        final LogDataQueue bufferQueue = this.priorityLaneQueue == null ? this.logDataQueue : this.priorityLaneQueue.getNormalLane();
+        if (bufferQueue instanceof SpilloverQueue && capacityInBytes == -1 && logCountLimit == -1) {
+            throw new IllegalArgumentException("溢写队列的 MemoryQueueCapacityBytes 和 MemoryLogCountCapacity 不能同时为-1");
+        }
+    }
+
+    private static long splitCapacity(final long capacity, final int parts) {
+        return capacity == -1 ? -1L : Math.max(1L, capacity / parts);
+    }
+
+    public DropAccounting getDropAccounting() {
+        return this.dropAccounting;
+    }
+
+    public SenderMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    public List<DiskQueue> getDiskQueues() {
+        return this.diskQueues;
+    }
+
+    /**
+     * 缓冲队列中的日志条数: 入队 - 入队时丢弃 - 离开队列, 未启用缓冲队列时为0
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public long getQueueDepthRecords() {
+        if (!this.logContext.isEnabledBufferQueue()) {
+            return 0L;
+        }
+        // 先读取离开队列的数量, 并发入队只会使结果偏大
+        final long removed = this.metrics.getRemovedRecords();
+        long dropped = 0L;
+        for (DropReasonEnum reason : ADMISSION_DROP_REASONS) {
+            dropped += this.dropAccounting.getDroppedCount(reason);
+        }
+        return Math.max(0L, this.metrics.getEnqueuedRecords() - dropped - removed);
+    }
+
+    /**
+     * 缓冲队列中的日志字节数, 计算方式同 {@link #getQueueDepthRecords()}
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public long getQueueDepthBytes() {
+        if (!this.logContext.isEnabledBufferQueue()) {
+            return 0L;
+        }
+        final long removed = this.metrics.getRemovedBytes();
+        long dropped = 0L;
+        for (DropReasonEnum reason : ADMISSION_DROP_REASONS) {
+            dropped += this.dropAccounting.getDroppedBytes(reason);
+        }
+        return Math.max(0L, this.metrics.getEnqueuedBytes() - dropped - removed);
+    }
+
+    /**
+     * 缓冲队列中最早一条日志的等待时间: 各分区中, 最近一次出队的最后一条日志之后的日志都不早于它,
+     * 以它的时间戳估算上界; 出队至队列为空时以当时的时间为准
+     *
+     * @return 毫秒, 队列为空时为0
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public long getOldestRecordAgeMs() {
+        if (!this.logContext.isEnabledBufferQueue()) {
+            return 0L;
+        }
+        final long now = System.currentTimeMillis();
+        long ageMs = 0L;
+        for (SendPipeline pipeline : this.pipelines) {
+            if (!pipeline.queue.isEmpty()) {
+                ageMs = Math.max(ageMs, now - pipeline.drainedUpToMs);
+            }
+        }
+        return ageMs;
+    }
+
+    /**
+     * 各分区发送缓冲中尚未确认的字节数
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public long getSendBufferBytes() {
+        long bytes = 0L;
+        for (SendPipeline pipeline : this.pipelines) {
+            bytes += pipeline.recordAccumulator.getBufferedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * 展开组合队列, 收集其中的文件队列和容量可调整的内存队列; 高优先级通道有独立的容量配置, 不收集
+     */
+    private static void collectQueues(final LogDataQueue queue, final List<DiskQueue> diskQueues, final List<ResizableQueue> resizableQueues) {
+        if (queue instanceof DiskQueue) {
+            diskQueues.add((DiskQueue) queue);
+        } else if (queue instanceof ResizableQueue) {
+            resizableQueues.add((ResizableQueue) queue);
+        } else if (queue instanceof PartitionedQueue) {
+            final PartitionedQueue partitionedQueue = (PartitionedQueue) queue;
+            for (int i = 0; i < partitionedQueue.getPartitionCount(); i++) {
+                collectQueues(partitionedQueue.getPartition(i), diskQueues, resizableQueues);
+            }
+        } else if (queue instanceof SpilloverQueue) {
+            collectQueues(((SpilloverQueue) queue).getMemoryTier(), diskQueues, resizableQueues);
+            collectQueues(((SpilloverQueue) queue).getDiskTier(), diskQueues, resizableQueues);
+        } else if (queue instanceof PriorityLaneQueue) {
+            collectQueues(((PriorityLaneQueue) queue).getNormalLane(), diskQueues, resizableQueues);
+        }
+    }
+
+    /**
+     * 读取编码后日志的时间戳
+     *
+     * @param record the record
+     * @return 时间戳, 无法读取时返回-1
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    private static long recordTimestamp(final byte[] record) {
+        return BinaryLogMessageCodec.isBinaryRecord(record) ? BinaryLogMessageCodec.readTimestamp(record) : LogMessageEncoder.readTimestamp(record);
     }
 
     /**
@@ -138,35 +644,296 @@ public class LogSender {
      * @since 2019.11.11 19:29:07
      */
     public void writeQueue(final LogMessage logMessage) {
-        final String message = JSON.toJSONString(logMessage);
+        final long encodeStartNanos = System.nanoTime();
+        final byte[] message = logContext.getRecordFormat() == RecordFormatEnum.BINARY ? BinaryLogMessageCodec.encode(logMessage) : LogMessageEncoder.encode(logMessage);
+        this.metrics.recordEnqueue(message.length, System.nanoTime() - encodeStartNanos);
         if (logContext.isEnabledBufferQueue()) {
-            this.logDataQueue.enqueue(message.getBytes(StandardCharsets.UTF_8));
+            final SendPipeline pipeline;
+            final LogDataQueue targetQueue;
+            if (this.partitionedQueue != null) {
+                pipeline = this.pipelines[this.partitionedQueue.partitionOf(logMessage.getTraceId(), logMessage.getLogger())];
+                targetQueue = pipeline.queue;
+            } else {
+                pipeline = this.pipelines[0];
+                targetQueue = this.priorityLaneQueue == null ? this.logDataQueue : this.priorityLaneQueue.laneFor(logMessage.getLevel());
+            }
+            this.overflowPolicy.enqueue(targetQueue, message, logMessage.getLevel(), this.dropAccounting);
+            pipeline.waitStrategy.signal();
         } else {
-            System.out.println("从MQ发送消息:" + logMessage);
+            try {
+                // 未启用缓冲队列时不阻塞业务线程, 发送缓冲区满则直接丢弃
+                final SendPipeline pipeline = this.pipelines[PartitionedQueue.partitionOf(logContext.getPartitionKey(), logMessage.getTraceId(), logMessage.getLogger(), this.pipelines.length)];
+                if (!pipeline.recordAccumulator.append(message, 0L)) {
+                    this.dropAccounting.record(DropReasonEnum.BYTE_LIMIT, message.length);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
     /**
-     * Drain queue and send.
-     *
-     * @author HuangTaiHong
-     * @since 2019.11.11 19:29:07
+     * 〈发送流水线.〉
+     * <p>
+     * 一个队列(分区)的消费、聚合和发送结果处理, 批次由分配的发送线程发出. 发送结果回调时释放发送缓冲额度, 确认时提交队列位置,
+     * 失败时上报或请求重新发送
      */
-    void drainQueueAndSend() {
-        while (!this.logDataQueue.isEmpty()) {
-            final byte[] bytes = this.logDataQueue.dequeue();
-            if (bytes == null || bytes.length < 1) {
+    private final class SendPipeline implements BatchCallback {
+        // 未启用缓冲队列时为null
+        private final LogDataQueue queue;
+        // 未设置等待策略时为BlockingWaitStrategy, 不为null
+        private final WaitStrategy waitStrategy;
+        // 缓冲队列不支持确认时为null
+        private final AcknowledgedQueue acknowledgedQueue;
+        private final AcknowledgementTracker acknowledgementTracker;
+        // 有跟踪中的批次失败, 等待消费线程回退队列
+        private volatile boolean redeliveryRequested;
+        // 出队、追加和登记读位置需要串行, 关闭时的清空任务与消费线程共用
+        private final Object drainLock = new Object();
+        // 限速时下一次允许出队的时间, 只由持有drainLock的线程访问
+        private long nextDrainNanos;
+        // 最近一次出队的最后一条日志的时间戳, 出队至队列为空时为当时的时间; 用于估算最早日志的等待时间
+        private volatile long drainedUpToMs = System.currentTimeMillis();
+
+        private final RecordAccumulator recordAccumulator;
+
+        SendPipeline(final LogDataQueue queue, final WaitStrategy waitStrategy, final long sendBufferMemoryBytes) {
+            this.queue = queue;
+            this.waitStrategy = waitStrategy;
+            final boolean acknowledged = queue instanceof AcknowledgedQueue && ((AcknowledgedQueue) queue).readPosition() != AcknowledgedQueue.NO_POSITION;
+            this.acknowledgedQueue = acknowledged ? (AcknowledgedQueue) queue : null;
+            this.acknowledgementTracker = acknowledged ? new AcknowledgementTracker(this.acknowledgedQueue) : null;
+            this.recordAccumulator = new RecordAccumulator(LogSender.this.logContext.getBatchSizeBytes(), LogSender.this.logContext.getLingerMs(), sendBufferMemoryBytes);
+        }
+
+        /**
+         * Drain queue and send.
+         *
+         * @param drainBuffer 批量出队使用的可复用容器
+         * @author HuangTaiHong
+         * @since 2019.11.11 19:29:07
+         */
+        void drainQueueAndSend(final List<byte[]> drainBuffer) {
+            synchronized (this.drainLock) {
+                drain:
+                while (true) {
+                    if (LogSender.this.drainPaused) {
+                        return;
+                    }
+                    if (this.redeliveryRequested) {
+                        this.rewindForRedelivery();
+                    }
+                    if (this.queue.isEmpty()) {
+                        this.drainedUpToMs = System.currentTimeMillis();
+                        return;
+                    }
+                    drainBuffer.clear();
+                    if (this.queue.drainTo(drainBuffer, this.drainLimit(), LogSender.this.logContext.getBatchSizeBytes()) < 1) {
+                        return;
+                    }
+                    this.recordDrained(drainBuffer);
+                    // 开头的这些日志来自不支持确认的内存通道, 回退后不会重新出队
+                    final int untrackedCount = this.acknowledgedQueue == null ? drainBuffer.size() : this.acknowledgedQueue.untrackedDrainedCount();
+                    try {
+                        for (int i = 0; i < drainBuffer.size(); i++) {
+                            final byte[] bytes = drainBuffer.get(i);
+                            if (bytes == null || bytes.length < 1) {
+                                continue;
+                            }
+                            // 缓冲队列中的日志在发送缓冲区满时等待, 直到发送器关闭
+                            while (!this.recordAccumulator.append(bytes, APPEND_BLOCK_MS, i >= untrackedCount)) {
+                                if (this.recordAccumulator.isClosed()) {
+                                    this.recordUnsentDrops(DropReasonEnum.SHUTDOWN, drainBuffer, i, untrackedCount);
+                                    return;
+                                }
+                                if (this.redeliveryRequested) {
+                                    // 本批出队的记录未登记读位置, 回退后重新出队
+                                    this.recordUnsentDrops(DropReasonEnum.SEND_FAILURE, drainBuffer, i, untrackedCount);
+                                    continue drain;
+                                }
+                            }
+                        }
+                        if (this.acknowledgementTracker != null) {
+                            this.acknowledgementTracker.mark(this.recordAccumulator.getNextBatchId() - 1, this.acknowledgedQueue.readPosition());
+                        }
+                        this.throttle(drainBuffer.size());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } finally {
+                        drainBuffer.clear();
+                    }
+                }
+            }
+        }
+
+        /**
+         * 单次出队的最大条数, 限速时每次最多取约100ms的额度, 避免突发
+         *
+         * @return the int
+         * @author HuangTaiHong
+         * @since 2026.10.18 03:55:40
+         */
+        private int drainLimit() {
+            final double rate = LogSender.this.drainRatePerSecond / LogSender.this.pipelines.length;
+            if (rate <= 0D || LogSender.this.shutdown) {
+                return DRAIN_MAX_RECORDS;
+            }
+            return (int) Math.max(1D, Math.min(DRAIN_MAX_RECORDS, rate / 10D));
+        }
+
+        /**
+         * 按消费速率上限等待, 速率上限由各分区均分; 空闲期间不累积额度. 关闭或解除限速时立即返回
+         *
+         * @param drainedCount 本次出队的条数
+         * @throws InterruptedException the interrupted exception
+         * @author HuangTaiHong
+         * @since 2026.10.18 03:55:40
+         */
+        private void throttle(final int drainedCount) throws InterruptedException {
+            final double rate = LogSender.this.drainRatePerSecond / LogSender.this.pipelines.length;
+            if (rate <= 0D || LogSender.this.shutdown) {
+                return;
+            }
+            final long now = System.nanoTime();
+            if (this.nextDrainNanos - now < 0) {
+                this.nextDrainNanos = now;
+            }
+            this.nextDrainNanos += (long) (drainedCount * (double) TimeUnit.SECONDS.toNanos(1L) / rate);
+            while (!LogSender.this.shutdown && LogSender.this.drainRatePerSecond > 0D) {
+                final long waitNanos = this.nextDrainNanos - System.nanoTime();
+                if (waitNanos <= 0) {
+                    return;
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.min(waitNanos, MAX_THROTTLE_SLEEP_NANOS));
+            }
+        }
+
+        /**
+         * 记录出队进度; 不支持确认的队列中日志出队即离开队列, 支持确认的队列在批次确认时计入
+         *
+         * @param drainBuffer 本次出队的日志
+         * @author HuangTaiHong
+         * @since 2026.10.18 03:20:10
+         */
+        private void recordDrained(final List<byte[]> drainBuffer) {
+            final byte[] last = drainBuffer.get(drainBuffer.size() - 1);
+            final long timestamp = last == null ? -1L : recordTimestamp(last);
+            if (timestamp > 0) {
+                this.drainedUpToMs = timestamp;
+            }
+            if (this.acknowledgementTracker == null) {
+                long bytes = 0L;
+                for (int i = 0; i < drainBuffer.size(); i++) {
+                    bytes += drainBuffer.get(i) == null ? 0 : drainBuffer.get(i).length;
+                }
+                LogSender.this.metrics.recordRemoved(drainBuffer.size(), bytes);
+            }
+        }
+
+        /**
+         * 队列回退到已提交位置, 调用方需持有drainLock. 发送缓冲中尚未发出的批次直接丢弃, 回退后会重新出队;
+         * 已发出的批次不受影响, 其中的记录可能重复发送. 内存通道中的记录不会重新出队, 丢弃时计入发送失败
+         *
+         * @author HuangTaiHong
+         * @since 2026.10.18 23:58:40
+         */
+        private void rewindForRedelivery() {
+            this.redeliveryRequested = false;
+            for (LogBatch batch : this.recordAccumulator.discardUnsentBatches()) {
+                this.recordLost(DropReasonEnum.SEND_FAILURE, batch.getUntrackedRecordCount(), batch.getUntrackedSizeInBytes());
+            }
+            // 之后出队的记录从新的批次开始, 与回退前的批次分开跟踪
+            this.acknowledgementTracker.reset(this.recordAccumulator.getNextBatchId());
+            this.acknowledgedQueue.rewind();
+        }
+
+        /**
+         * 已出队但未追加到发送缓冲的日志中, 无法重新出队的部分计入丢弃统计; 支持确认的队列中其余日志未提交, 回退或下次启动后重新发送
+         *
+         * @param reason         丢弃原因
+         * @param drainBuffer    the drain buffer
+         * @param fromIndex      第一条未追加日志的下标
+         * @param untrackedCount 开头不支持确认的日志条数
+         * @author HuangTaiHong
+         * @since 2026.10.18 20:05:31
+         */
+        private void recordUnsentDrops(final DropReasonEnum reason, final List<byte[]> drainBuffer, final int fromIndex, final int untrackedCount) {
+            long droppedBytes = 0L;
+            for (int i = fromIndex; i < untrackedCount; i++) {
+                droppedBytes += drainBuffer.get(i) == null ? 0 : drainBuffer.get(i).length;
+            }
+            this.recordLost(reason, untrackedCount - fromIndex, droppedBytes);
+        }
+
+        /**
+         * 记录丢失的日志; 支持确认的队列中这些日志在确认时才计入移出, 丢失时同样计入
+         *
+         * @param reason  丢弃原因
+         * @param records 条数
+         * @param bytes   字节数
+         * @author HuangTaiHong
+         * @since 2026.10.18 23:58:40
+         */
+        private void recordLost(final DropReasonEnum reason, final int records, final long bytes) {
+            if (records < 1) {
                 return;
             }
-            System.out.println("从MQ发送消息:" + new String(bytes, StandardCharsets.UTF_8));
+            LogSender.this.dropAccounting.record(reason, records, bytes);
+            if (this.acknowledgementTracker != null) {
+                LogSender.this.metrics.recordRemoved(records, bytes);
+            }
+        }
+
+        @Override
+        public void onAcknowledged(final LogBatch batch) {
+            this.recordAccumulator.release(batch);
+            LogSender.this.metrics.recordBatch(batch.getRecordCount(), batch.getSizeInBytes(), sendNanos(batch), true);
+            if (this.acknowledgementTracker != null) {
+                this.acknowledgementTracker.acknowledged(batch.getBatchId());
+                LogSender.this.metrics.recordRemoved(batch.getRecordCount(), batch.getSizeInBytes());
+            }
+        }
+
+        @Override
+        public void onFailure(final LogBatch batch, final Throwable throwable) {
+            this.recordAccumulator.release(batch);
+            LogSender.this.metrics.recordBatch(batch.getRecordCount(), batch.getSizeInBytes(), sendNanos(batch), false);
+            if (this.acknowledgementTracker != null) {
+                // 来自内存通道的日志不会重新出队, 无论批次是否仍在跟踪中都已丢失
+                this.recordLost(DropReasonEnum.SEND_FAILURE, batch.getUntrackedRecordCount(), batch.getUntrackedSizeInBytes());
+                if (this.acknowledgementTracker.isTracked(batch.getBatchId())) {
+                    this.redeliveryRequested = true;
+                    this.waitStrategy.signal();
+                    LogSender.this.reporter.warn(String.format("日志批次发送失败, 从已确认位置重新发送, 其中 %d 条来自内存通道无法重新发送: %s", batch.getUntrackedRecordCount(), batch), throwable);
+                }
+                return;
+            }
+            LogSender.this.dropAccounting.record(DropReasonEnum.SEND_FAILURE, batch.getRecordCount(), batch.getSizeInBytes());
+            LogSender.this.reporter.error(String.format("日志批次发送失败, 丢弃 %d 条日志", batch.getRecordCount()), throwable);
+        }
+
+        private long sendNanos(final LogBatch batch) {
+            return batch.getSentNanos() == 0L ? -1L : System.nanoTime() - batch.getSentNanos();
         }
     }
 
     public static class Builder {
         private SenderStatusReporter reporter;
         private ScheduledExecutorService tasksExecutor;
+        private ExecutorService senderExecutor;
+        private int senderThreads = 1;
+        private WaitStrategy waitStrategy;
+        private OverflowPolicy overflowPolicy;
+        private SocketLogTransport.Builder transportBuilder;
         private MemoryQueue.Builder memoryQueueBuilder;
         private DiskQueue.Builder diskQueueBuilder;
+        private RingBufferQueue.Builder ringBufferQueueBuilder;
+        private OffHeapMemoryQueue.Builder offHeapMemoryQueueBuilder;
+        private StripedMemoryQueue.Builder stripedMemoryQueueBuilder;
+        private PriorityLaneQueue.Builder priorityLaneQueueBuilder;
+        private SpilloverQueue.Builder spilloverQueueBuilder;
+        private PartitionedQueue.Builder partitionedQueueBuilder;
         private LogContext logContext;
 
         /**
@@ -182,6 +949,58 @@ public class LogSender {
             return this;
         }
 
+        /**
+         * Sender executor.
+         *
+         * @param senderExecutor the sender executor
+         * @return the builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 11:26:40
+         */
+        public Builder senderExecutor(final ExecutorService senderExecutor) {
+            this.senderExecutor = senderExecutor;
+            return this;
+        }
+
+        /**
+         * Sender threads.
+         *
+         * @param senderThreads 发送线程数, 每个线程一个发送通道
+         * @return the builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 01:25:10
+         */
+        public Builder senderThreads(final int senderThreads) {
+            this.senderThreads = senderThreads;
+            return this;
+        }
+
+        /**
+         * Wait strategy.
+         *
+         * @param waitStrategy the wait strategy
+         * @return the builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 13:52:31
+         */
+        public Builder waitStrategy(final WaitStrategy waitStrategy) {
+            this.waitStrategy = waitStrategy;
+            return this;
+        }
+
+        /**
+         * Overflow policy.
+         *
+         * @param overflowPolicy the overflow policy
+         * @return the builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 20:52:10
+         */
+        public Builder overflowPolicy(final OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
         /**
          * Log context.
          *
@@ -236,6 +1055,181 @@ public class LogSender {
             return this.diskQueueBuilder;
         }
 
+        /**
+         * With ring buffer queue builder.
+         *
+         * @return the ring buffer queue.builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 14:30:52
+         */
+        public RingBufferQueue.Builder withRingBufferQueueBuilder() {
+            if (this.ringBufferQueueBuilder == null) {
+                this.ringBufferQueueBuilder = RingBufferQueue.builder(this);
+            }
+            return this.ringBufferQueueBuilder;
+        }
+
+        /**
+         * With off heap memory queue builder.
+         *
+         * @return the off heap memory queue.builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 15:14:26
+         */
+        public OffHeapMemoryQueue.Builder withOffHeapMemoryQueueBuilder() {
+            if (this.offHeapMemoryQueueBuilder == null) {
+                this.offHeapMemoryQueueBuilder = OffHeapMemoryQueue.builder(this);
+            }
+            return this.offHeapMemoryQueueBuilder;
+        }
+
+        /**
+         * With striped memory queue builder.
+         *
+         * @return the striped memory queue.builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 19:40:12
+         */
+        public StripedMemoryQueue.Builder withStripedMemoryQueueBuilder() {
+            if (this.stripedMemoryQueueBuilder == null) {
+                this.stripedMemoryQueueBuilder = StripedMemoryQueue.builder(this);
+            }
+            return this.stripedMemoryQueueBuilder;
+        }
+
+        /**
+         * With priority lane queue builder.
+         *
+         * @return the priority lane queue.builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 21:10:44
+         */
+        public PriorityLaneQueue.Builder withPriorityLaneQueueBuilder() {
+            if (this.priorityLaneQueueBuilder == null) {
+                this.priorityLaneQueueBuilder = PriorityLaneQueue.builder(this);
+            }
+            return this.priorityLaneQueueBuilder;
+        }
+
+        /**
+         * With transport builder.
+         *
+         * @return the socket log transport.builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 11:26:40
+         */
+        public SocketLogTransport.Builder withTransportBuilder() {
+            if (this.transportBuilder == null) {
+                this.transportBuilder = SocketLogTransport.builder(this);
+            }
+            return this.transportBuilder;
+        }
+
+        /**
+         * With spillover queue builder.
+         *
+         * @return the spillover queue . builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 22:50:14
+         */
+        public SpilloverQueue.Builder withSpilloverQueueBuilder() {
+            if (this.spilloverQueueBuilder == null) {
+                this.spilloverQueueBuilder = SpilloverQueue.builder(this);
+            }
+            return this.spilloverQueueBuilder;
+        }
+
+        /**
+         * With partitioned queue builder.
+         *
+         * @return the partitioned queue . builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 00:40:15
+         */
+        public PartitionedQueue.Builder withPartitionedQueueBuilder() {
+            if (this.partitionedQueueBuilder == null) {
+                this.partitionedQueueBuilder = PartitionedQueue.builder(this);
+            }
+            return this.partitionedQueueBuilder;
+        }
+
+        /**
+         * Sets ring buffer queue builder.
+         *
+         * @param ringBufferQueueBuilder the ring buffer queue builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 14:30:52
+         */
+        public void setRingBufferQueueBuilder(final RingBufferQueue.Builder ringBufferQueueBuilder) {
+            this.ringBufferQueueBuilder = ringBufferQueueBuilder;
+        }
+
+        /**
+         * Sets striped memory queue builder.
+         *
+         * @param stripedMemoryQueueBuilder the striped memory queue builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 19:40:12
+         */
+        public void setStripedMemoryQueueBuilder(final StripedMemoryQueue.Builder stripedMemoryQueueBuilder) {
+            this.stripedMemoryQueueBuilder = stripedMemoryQueueBuilder;
+        }
+
+        /**
+         * Sets priority lane queue builder.
+         *
+         * @param priorityLaneQueueBuilder the priority lane queue builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 21:10:44
+         */
+        public void setPriorityLaneQueueBuilder(final PriorityLaneQueue.Builder priorityLaneQueueBuilder) {
+            this.priorityLaneQueueBuilder = priorityLaneQueueBuilder;
+        }
+
+        /**
+         * Sets spillover queue builder.
+         *
+         * @param spilloverQueueBuilder the spillover queue builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 22:50:14
+         */
+        public void setSpilloverQueueBuilder(final SpilloverQueue.Builder spilloverQueueBuilder) {
+            this.spilloverQueueBuilder = spilloverQueueBuilder;
+        }
+
+        /**
+         * Sets partitioned queue builder.
+         *
+         * @param partitionedQueueBuilder the partitioned queue builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 00:40:15
+         */
+        public void setPartitionedQueueBuilder(final PartitionedQueue.Builder partitionedQueueBuilder) {
+            this.partitionedQueueBuilder = partitionedQueueBuilder;
+        }
+
+        /**
+         * Sets off heap memory queue builder.
+         *
+         * @param offHeapMemoryQueueBuilder the off heap memory queue builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 15:14:26
+         */
+        public void setOffHeapMemoryQueueBuilder(final OffHeapMemoryQueue.Builder offHeapMemoryQueueBuilder) {
+            this.offHeapMemoryQueueBuilder = offHeapMemoryQueueBuilder;
+        }
+
+        /**
+         * Sets transport builder.
+         *
+         * @param transportBuilder the transport builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 11:26:40
+         */
+        public void setTransportBuilder(final SocketLogTransport.Builder transportBuilder) {
+            this.transportBuilder = transportBuilder;
+        }
+
         /**
          * Sets disk queue builder.
          *
@@ -267,26 +1261,81 @@ public class LogSender {
          * @since 2019.11.11 19:29:07
          */
         public LogSender build() throws LogParameterErrorException {
-            return new LogSender(this.logContext, this.getLogDataQueue(), this.reporter, this.tasksExecutor);
+            if (this.transportBuilder == null || this.senderExecutor == null) {
+                throw new LogParameterErrorException("未初始化发送通道");
+            }
+            final List<LogTransport> logTransports = new ArrayList<>(this.senderThreads);
+            this.transportBuilder.reporter(this.reporter);
+            for (int i = 0; i < Math.max(1, this.senderThreads); i++) {
+                logTransports.add(this.transportBuilder.build());
+            }
+            final DropAccounting dropAccounting = new DropAccounting(this.reporter, this.logContext.getDropReportIntervalMs());
+            return new LogSender(this.logContext, this.getLogDataQueue(dropAccounting), this.waitStrategy, this.overflowPolicy, logTransports, this.reporter, dropAccounting, this.tasksExecutor, this.senderExecutor);
         }
 
         /**
          * Gets log data queue.
          *
+         * @param dropAccounting 丢弃统计
          * @return the log data queue
          * @throws LogParameterErrorException the log parameter error exception
          * @author HuangTaiHong
          * @since 2019.11.11 19:29:07
          */
-        private LogDataQueue getLogDataQueue() throws LogParameterErrorException {
+        private LogDataQueue getLogDataQueue(final DropAccounting dropAccounting) throws LogParameterErrorException {
             if (!logContext.isEnabledBufferQueue()) {
                 return null;
             }
-            if (this.diskQueueBuilder != null) {
-                this.diskQueueBuilder.diskSpaceTasks(this.tasksExecutor).reporter(reporter);
+            final LogDataQueue bufferQueue = this.getBufferQueue(dropAccounting);
+            if (this.priorityLaneQueueBuilder != null) {
+                return this.priorityLaneQueueBuilder.reporter(this.reporter).dropAccounting(dropAccounting).build(bufferQueue);
+            }
+            return bufferQueue;
+        }
+
+        /**
+         * 按queueType创建缓冲队列, 启用按级别分道时作为普通通道
+         *
+         * @param dropAccounting 丢弃统计
+         * @return the log data queue
+         * @throws LogParameterErrorException the log parameter error exception
+         * @author HuangTaiHong
+         * @since 2026.10.18 21:10:44
+         */
+        private LogDataQueue getBufferQueue(final DropAccounting dropAccounting) throws LogParameterErrorException {
+            if (this.spilloverQueueBuilder != null) {
+                this.memoryQueueBuilder.reporter(this.reporter).dropAccounting(dropAccounting);
+                this.diskQueueBuilder.diskSpaceTasks(this.tasksExecutor).reporter(reporter).dropAccounting(dropAccounting);
+                return this.spilloverQueueBuilder.dropAccounting(dropAccounting).build(this.memoryQueueBuilder.build(), this.diskQueueBuilder.build());
+            } else if (this.partitionedQueueBuilder != null) {
+                final List<LogDataQueue> partitions = new ArrayList<>();
+                if (this.diskQueueBuilder != null) {
+                    // 每个分区一个文件队列, 除目录外配置相同
+                    this.diskQueueBuilder.diskSpaceTasks(this.tasksExecutor).reporter(reporter).dropAccounting(dropAccounting);
+                    for (File partitionDir : this.partitionedQueueBuilder.getPartitionDirs()) {
+                        partitions.add(this.diskQueueBuilder.queueDir(partitionDir).build());
+                    }
+                } else {
+                    this.memoryQueueBuilder.reporter(this.reporter).dropAccounting(dropAccounting);
+                    for (int i = 0; i < this.partitionedQueueBuilder.getPartitionCount(); i++) {
+                        partitions.add(this.memoryQueueBuilder.build());
+                    }
+                }
+                return this.partitionedQueueBuilder.build(partitions);
+            } else if (this.diskQueueBuilder != null) {
+                this.diskQueueBuilder.diskSpaceTasks(this.tasksExecutor).reporter(reporter).dropAccounting(dropAccounting);
                 return this.diskQueueBuilder.build();
+            } else if (this.offHeapMemoryQueueBuilder != null) {
+                this.offHeapMemoryQueueBuilder.dropAccounting(dropAccounting);
+                return this.offHeapMemoryQueueBuilder.build();
+            } else if (this.stripedMemoryQueueBuilder != null) {
+                this.stripedMemoryQueueBuilder.dropAccounting(dropAccounting);
+                return this.stripedMemoryQueueBuilder.build();
+            } else if (this.ringBufferQueueBuilder != null) {
+                this.ringBufferQueueBuilder.dropAccounting(dropAccounting);
+                return this.ringBufferQueueBuilder.build();
             } else {
-                this.memoryQueueBuilder.reporter(this.reporter);
+                this.memoryQueueBuilder.reporter(this.reporter).dropAccounting(dropAccounting);
                 return this.memoryQueueBuilder.build();
             }
         }
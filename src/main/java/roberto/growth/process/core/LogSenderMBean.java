@@ -0,0 +1,114 @@
+/**
+ * FileName: LogSenderMBean
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志发送器管理接口.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core;
+
+/**
+ * 〈日志发送器管理接口.〉
+ * <p>
+ * 以 roberto.growth.process:type=LogSender,name=appender名称 注册, 所有操作直接作用于运行中的队列和消费线程, 不重建LogSender.
+ * 调整的配置不写回log4j2配置文件, 重新加载配置后恢复为配置文件中的值. 参数不合法或当前队列类型不支持时抛出异常
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public interface LogSenderMBean {
+    /**
+     * 立即封装所有待发送批次并唤醒消费线程, 等待缓冲队列和发送缓冲清空. 暂停消费时只等待已出队的日志发送完成,
+     * 缓冲队列中仍有日志则返回false
+     *
+     * @param timeoutMs 最长等待时间
+     * @return true :已全部发送并确认;  false: 超时或暂停消费时缓冲队列不为空
+     * @throws InterruptedException the interrupted exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    boolean flush(long timeoutMs) throws InterruptedException;
+
+    /**
+     * 暂停从缓冲队列消费, 新日志继续写入缓冲队列直到达到容量上限; 已出队的日志继续发送
+     *
+     * @return true :已暂停;  false: 未启用缓冲队列
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    boolean pauseDrain();
+
+    /**
+     * 恢复消费
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    void resumeDrain();
+
+    boolean isDrainPaused();
+
+    /**
+     * 从缓冲队列消费的速率上限(各分区合计), 条/秒
+     *
+     * @return 0: 不限制
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    double getDrainRatePerSecond();
+
+    /**
+     * 调整消费速率上限
+     *
+     * @param drainRatePerSecond 条/秒, 小于等于0:不限制
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    void setDrainRatePerSecond(double drainRatePerSecond);
+
+    long getMemoryQueueCapacityBytes();
+
+    /**
+     * 调整JVM内存队列(包括分区和溢写的内存层)的字节数上限, 分区时各分区均分
+     *
+     * @param memoryQueueCapacityBytes 正整数或-1
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    void setMemoryQueueCapacityBytes(long memoryQueueCapacityBytes);
+
+    long getMemoryLogCountCapacity();
+
+    /**
+     * 调整JVM内存队列的日志条数上限, 分区时各分区均分
+     *
+     * @param memoryLogCountCapacity 正整数或-1
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    void setMemoryLogCountCapacity(long memoryLogCountCapacity);
+
+    int getFsPercentThreshold();
+
+    /**
+     * 调整文件队列的文件系统使用率阈值, 立即按新阈值检查
+     *
+     * @param fsPercentThreshold 1 ~ 100, -1:不检查
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    void setFsPercentThreshold(int fsPercentThreshold);
+
+    long getDiskQueueCapacityBytes();
+
+    /**
+     * 调整文件队列占用磁盘的字节数上限, 分区时各分区均分
+     *
+     * @param diskQueueCapacityBytes 正整数或-1
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    void setDiskQueueCapacityBytes(long diskQueueCapacityBytes);
+}
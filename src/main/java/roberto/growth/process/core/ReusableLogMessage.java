@@ -0,0 +1,219 @@
+/**
+ * FileName: ReusableLogMessage
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 可复用的日志消息.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core;
+
+import com.alibaba.fastjson.annotation.JSONField;
+
+/**
+ * 〈可复用的日志消息.〉
+ * <p>
+ * 每个线程持有一个实例, message 和 fullMessage 渲染到复用的StringBuilder中, 编码完成后通过 {@link #clear()} 回收.
+ * sampleRate、repeatCount、firstTimestamp、lastTimestamp 以基本类型保存, 编码器通过 hasXxx/getXxxValue 读取, 不产生装箱;
+ * 继承的包装类型getter只在非编码路径(如fastjson序列化)上装箱
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class ReusableLogMessage extends LogMessage {
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+    // 超过该大小的缓冲区在回收时丢弃, 避免偶发的超长日志长期占用内存
+    private static final int MAX_BUFFER_SIZE = 64 * 1024;
+
+    private StringBuilder messageBuffer = new StringBuilder(DEFAULT_BUFFER_SIZE);
+    private StringBuilder fullMessageBuffer = new StringBuilder(DEFAULT_BUFFER_SIZE);
+    // 基本类型字段及其是否已设置, 未设置时对应包装类型的null
+    private int sampleRateValue;
+    private int repeatCountValue;
+    private long firstTimestampValue;
+    private long lastTimestampValue;
+    private boolean sampleRateSet;
+    private boolean repeatCountSet;
+    private boolean firstTimestampSet;
+    private boolean lastTimestampSet;
+
+    @JSONField(serialize = false)
+    public StringBuilder getMessageBuffer() {
+        return messageBuffer;
+    }
+
+    @JSONField(serialize = false)
+    public StringBuilder getFullMessageBuffer() {
+        return fullMessageBuffer;
+    }
+
+    @Override
+    public String getMessage() {
+        return this.messageBuffer.toString();
+    }
+
+    @Override
+    public void setMessage(final String message) {
+        this.messageBuffer.setLength(0);
+        this.messageBuffer.append(message);
+    }
+
+    @Override
+    public String getFullMessage() {
+        return this.fullMessageBuffer.toString();
+    }
+
+    @Override
+    public void setFullMessage(final String fullMessage) {
+        this.fullMessageBuffer.setLength(0);
+        this.fullMessageBuffer.append(fullMessage);
+    }
+
+    /**
+     * 设置采样率, 不装箱
+     *
+     * @param sampleRate the sample rate
+     * @author HuangTaiHong
+     * @since 2026.10.18 15:48:03
+     */
+    public void setSampleRateValue(final int sampleRate) {
+        this.sampleRateValue = sampleRate;
+        this.sampleRateSet = true;
+    }
+
+    /**
+     * 设置重复日志的聚合信息, 不装箱
+     *
+     * @param repeatCount    重复次数
+     * @param firstTimestamp 第一条重复日志的时间
+     * @param lastTimestamp  最后一条重复日志的时间
+     * @author HuangTaiHong
+     * @since 2026.10.18 15:48:03
+     */
+    public void setRepetition(final int repeatCount, final long firstTimestamp, final long lastTimestamp) {
+        this.repeatCountValue = repeatCount;
+        this.firstTimestampValue = firstTimestamp;
+        this.lastTimestampValue = lastTimestamp;
+        this.repeatCountSet = true;
+        this.firstTimestampSet = true;
+        this.lastTimestampSet = true;
+    }
+
+    public boolean hasSampleRate() {
+        return this.sampleRateSet;
+    }
+
+    public boolean hasRepeatCount() {
+        return this.repeatCountSet;
+    }
+
+    public boolean hasFirstTimestamp() {
+        return this.firstTimestampSet;
+    }
+
+    public boolean hasLastTimestamp() {
+        return this.lastTimestampSet;
+    }
+
+    @JSONField(serialize = false)
+    public int getSampleRateValue() {
+        return this.sampleRateValue;
+    }
+
+    @JSONField(serialize = false)
+    public int getRepeatCountValue() {
+        return this.repeatCountValue;
+    }
+
+    @JSONField(serialize = false)
+    public long getFirstTimestampValue() {
+        return this.firstTimestampValue;
+    }
+
+    @JSONField(serialize = false)
+    public long getLastTimestampValue() {
+        return this.lastTimestampValue;
+    }
+
+    @Override
+    public Integer getSampleRate() {
+        return this.hasSampleRate() ? Integer.valueOf(this.sampleRateValue) : null;
+    }
+
+    @Override
+    public void setSampleRate(final Integer sampleRate) {
+        this.sampleRateSet = sampleRate != null;
+        this.sampleRateValue = this.sampleRateSet ? sampleRate : 0;
+    }
+
+    @Override
+    public Integer getRepeatCount() {
+        return this.hasRepeatCount() ? Integer.valueOf(this.repeatCountValue) : null;
+    }
+
+    @Override
+    public void setRepeatCount(final Integer repeatCount) {
+        this.repeatCountSet = repeatCount != null;
+        this.repeatCountValue = this.repeatCountSet ? repeatCount : 0;
+    }
+
+    @Override
+    public Long getFirstTimestamp() {
+        return this.hasFirstTimestamp() ? Long.valueOf(this.firstTimestampValue) : null;
+    }
+
+    @Override
+    public void setFirstTimestamp(final Long firstTimestamp) {
+        this.firstTimestampSet = firstTimestamp != null;
+        this.firstTimestampValue = this.firstTimestampSet ? firstTimestamp : 0L;
+    }
+
+    @Override
+    public Long getLastTimestamp() {
+        return this.hasLastTimestamp() ? Long.valueOf(this.lastTimestampValue) : null;
+    }
+
+    @Override
+    public void setLastTimestamp(final Long lastTimestamp) {
+        this.lastTimestampSet = lastTimestamp != null;
+        this.lastTimestampValue = this.lastTimestampSet ? lastTimestamp : 0L;
+    }
+
+    /**
+     * 清空所有字段以便下次复用
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 15:48:03
+     */
+    public void clear() {
+        this.messageBuffer = trimOrReset(this.messageBuffer);
+        this.fullMessageBuffer = trimOrReset(this.fullMessageBuffer);
+        this.setTimestamp(0L);
+        this.setEnv(null);
+        this.setLogger(null);
+        this.setLevel(null);
+        this.setThreadName(null);
+        this.setTraceId(null);
+        this.setLogId(null);
+        this.setIp(null);
+        this.setHostname(null);
+        this.setLogType(null);
+        this.setProjectName(null);
+        this.setFileName(null);
+        this.setLineNum(0);
+        this.setTags(null);
+        this.sampleRateSet = false;
+        this.repeatCountSet = false;
+        this.firstTimestampSet = false;
+        this.lastTimestampSet = false;
+    }
+
+    private static StringBuilder trimOrReset(final StringBuilder buffer) {
+        if (buffer.capacity() > MAX_BUFFER_SIZE) {
+            return new StringBuilder(DEFAULT_BUFFER_SIZE);
+        }
+        buffer.setLength(0);
+        return buffer;
+    }
+}
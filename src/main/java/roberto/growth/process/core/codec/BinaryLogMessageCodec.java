@@ -0,0 +1,242 @@
+/**
+ * FileName: BinaryLogMessageCodec
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志消息二进制记录编解码.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.codec;
+
+import roberto.growth.process.core.LogMessage;
+import roberto.growth.process.core.ReusableLogMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 〈日志消息二进制记录编解码.〉
+ * <p>
+ * 记录格式: marker(byte) + logger + threadName + level + timestamp + lineNum + message + fullMessage + traceId + logId + fileName + tags + [extensions]
+ * <p>
+ * extensions 为可选字段: flags(varint) + 按flags位依次写入的字段, 所有可选字段为空时整段省略, 旧版本写入的记录可以直接解码
+ * <p>
+ * env、ip、hostname、projectName、logType 由 {@link roberto.growth.process.core.LogContext} 决定, 不写入记录, 发送时由 {@link LogBatchCodec} 写入批次头.
+ * logger、threadName、level 固定放在记录最前面, 批次编码时无需完整解码即可替换为字典引用
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public final class BinaryLogMessageCodec {
+    /**
+     * 二进制记录首字节, JSON记录总以'{'开头, 据此区分队列中的两种记录
+     */
+    public static final byte RECORD_MARKER = (byte) 0xB1;
+
+    /**
+     * 可选字段: sampleRate
+     */
+    private static final int EXTENSION_SAMPLE_RATE = 1;
+
+    /**
+     * 可选字段: repeatCount + firstTimestamp + lastTimestamp
+     */
+    private static final int EXTENSION_REPEAT = 1 << 1;
+
+    private static final int DEFAULT_BUFFER_SIZE = 512;
+    private static final int MAX_BUFFER_SIZE = 256 * 1024;
+
+    private static final ThreadLocal<ByteArrayWriter> WRITER = new ThreadLocal<ByteArrayWriter>() {
+        @Override
+        protected ByteArrayWriter initialValue() {
+            return new ByteArrayWriter(DEFAULT_BUFFER_SIZE, MAX_BUFFER_SIZE);
+        }
+    };
+
+    private BinaryLogMessageCodec() {
+
+    }
+
+    /**
+     * 是否为二进制记录
+     *
+     * @param record the record
+     * @return true :二进制记录;  false: JSON记录
+     * @author HuangTaiHong
+     * @since 2026.10.18 16:52:10
+     */
+    public static boolean isBinaryRecord(final byte[] record) {
+        return record.length > 0 && record[0] == RECORD_MARKER;
+    }
+
+    /**
+     * 使用当前线程的缓冲区编码日志消息, 返回的数组会被队列持有, 因此每条日志恰好分配一次结果数组
+     *
+     * @param logMessage the log message
+     * @return the byte [ ]
+     * @author HuangTaiHong
+     * @since 2026.10.18 16:52:10
+     */
+    public static byte[] encode(final LogMessage logMessage) {
+        final ByteArrayWriter writer = WRITER.get();
+        writer.reset();
+        writer.writeByte(RECORD_MARKER);
+        writer.writeString(logMessage.getLogger());
+        writer.writeString(logMessage.getThreadName());
+        writer.writeString(logMessage.getLevel());
+        writer.writeZigZagVarlong(logMessage.getTimestamp());
+        writer.writeZigZagVarint(logMessage.getLineNum());
+        if (logMessage instanceof ReusableLogMessage) {
+            writer.writeString(((ReusableLogMessage) logMessage).getMessageBuffer());
+            writer.writeString(((ReusableLogMessage) logMessage).getFullMessageBuffer());
+        } else {
+            writer.writeString(logMessage.getMessage());
+            writer.writeString(logMessage.getFullMessage());
+        }
+        writer.writeString(logMessage.getTraceId());
+        writer.writeString(logMessage.getLogId());
+        writer.writeString(logMessage.getFileName());
+        final List<String> tags = logMessage.getTags();
+        if (tags == null) {
+            writer.writeVarint(0);
+        } else {
+            writer.writeVarint(tags.size() + 1);
+            for (int i = 0, size = tags.size(); i < size; i++) {
+                writer.writeString(tags.get(i));
+            }
+        }
+        writeExtensions(writer, logMessage);
+        return writer.toByteArray();
+    }
+
+    /**
+     * 解码一条二进制记录, 不包含批次头中的字段
+     *
+     * @param record the record
+     * @return the log message
+     * @author HuangTaiHong
+     * @since 2026.10.18 16:52:10
+     */
+    public static LogMessage decode(final byte[] record) {
+        final ByteArrayReader reader = new ByteArrayReader(record);
+        if (reader.readByte() != RECORD_MARKER) {
+            throw new IllegalArgumentException("不是二进制日志记录");
+        }
+        final LogMessage logMessage = new LogMessage();
+        logMessage.setLogger(reader.readString());
+        logMessage.setThreadName(reader.readString());
+        logMessage.setLevel(reader.readString());
+        readBody(reader, logMessage, reader.position() + reader.remaining());
+        return logMessage;
+    }
+
+    /**
+     * 只读取二进制记录中的时间戳, 跳过前面的字段
+     *
+     * @param record the record
+     * @return 时间戳, 不是二进制记录或数据不完整时返回-1
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public static long readTimestamp(final byte[] record) {
+        if (!isBinaryRecord(record)) {
+            return -1L;
+        }
+        try {
+            final ByteArrayReader reader = new ByteArrayReader(record);
+            reader.skip(1);
+            reader.skipString();
+            reader.skipString();
+            reader.skipString();
+            return reader.readZigZagVarlong();
+        } catch (IllegalArgumentException e) {
+            return -1L;
+        }
+    }
+
+    private static void writeExtensions(final ByteArrayWriter writer, final LogMessage logMessage) {
+        if (logMessage instanceof ReusableLogMessage) {
+            writeExtensions(writer, (ReusableLogMessage) logMessage);
+            return;
+        }
+        int flags = 0;
+        if (logMessage.getSampleRate() != null) {
+            flags |= EXTENSION_SAMPLE_RATE;
+        }
+        if (logMessage.getRepeatCount() != null) {
+            flags |= EXTENSION_REPEAT;
+        }
+        if (flags == 0) {
+            return;
+        }
+        writer.writeVarint(flags);
+        if ((flags & EXTENSION_SAMPLE_RATE) != 0) {
+            writer.writeVarint(logMessage.getSampleRate());
+        }
+        if ((flags & EXTENSION_REPEAT) != 0) {
+            writer.writeVarint(logMessage.getRepeatCount());
+            writer.writeZigZagVarlong(logMessage.getFirstTimestamp() == null ? 0L : logMessage.getFirstTimestamp());
+            writer.writeZigZagVarlong(logMessage.getLastTimestamp() == null ? 0L : logMessage.getLastTimestamp());
+        }
+    }
+
+    /**
+     * 复用的日志消息直接读取基本类型字段, 不装箱
+     */
+    private static void writeExtensions(final ByteArrayWriter writer, final ReusableLogMessage logMessage) {
+        int flags = 0;
+        if (logMessage.hasSampleRate()) {
+            flags |= EXTENSION_SAMPLE_RATE;
+        }
+        if (logMessage.hasRepeatCount()) {
+            flags |= EXTENSION_REPEAT;
+        }
+        if (flags == 0) {
+            return;
+        }
+        writer.writeVarint(flags);
+        if ((flags & EXTENSION_SAMPLE_RATE) != 0) {
+            writer.writeVarint(logMessage.getSampleRateValue());
+        }
+        if ((flags & EXTENSION_REPEAT) != 0) {
+            writer.writeVarint(logMessage.getRepeatCountValue());
+            writer.writeZigZagVarlong(logMessage.hasFirstTimestamp() ? logMessage.getFirstTimestampValue() : 0L);
+            writer.writeZigZagVarlong(logMessage.hasLastTimestamp() ? logMessage.getLastTimestampValue() : 0L);
+        }
+    }
+
+    /**
+     * 读取 timestamp 及之后的字段
+     *
+     * @param bodyEnd 记录体的结束位置, 据此判断是否包含可选字段
+     */
+    static void readBody(final ByteArrayReader reader, final LogMessage logMessage, final int bodyEnd) {
+        logMessage.setTimestamp(reader.readZigZagVarlong());
+        logMessage.setLineNum(reader.readZigZagVarint());
+        logMessage.setMessage(reader.readString());
+        logMessage.setFullMessage(reader.readString());
+        logMessage.setTraceId(reader.readString());
+        logMessage.setLogId(reader.readString());
+        logMessage.setFileName(reader.readString());
+        final int tagCount = reader.readVarint() - 1;
+        if (tagCount >= 0) {
+            final List<String> tags = new ArrayList<>(tagCount);
+            for (int i = 0; i < tagCount; i++) {
+                tags.add(reader.readString());
+            }
+            logMessage.setTags(tags);
+        }
+        if (reader.position() < bodyEnd) {
+            final int flags = reader.readVarint();
+            if ((flags & EXTENSION_SAMPLE_RATE) != 0) {
+                logMessage.setSampleRate(reader.readVarint());
+            }
+            if ((flags & EXTENSION_REPEAT) != 0) {
+                logMessage.setRepeatCount(reader.readVarint());
+                logMessage.setFirstTimestamp(reader.readZigZagVarlong());
+                logMessage.setLastTimestamp(reader.readZigZagVarlong());
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * FileName: ByteArrayReader
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 二进制读缓冲区.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 〈二进制读缓冲区.〉
+ * <p>
+ * 与 {@link ByteArrayWriter} 的编码一一对应, 数据不完整时抛出 {@link IllegalArgumentException}
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+final class ByteArrayReader {
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    ByteArrayReader(final byte[] buffer) {
+        this(buffer, 0, buffer.length);
+    }
+
+    ByteArrayReader(final byte[] buffer, final int offset, final int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    byte[] buffer() {
+        return this.buffer;
+    }
+
+    int position() {
+        return this.position;
+    }
+
+    int remaining() {
+        return this.limit - this.position;
+    }
+
+    void skip(final int length) {
+        this.checkAvailable(length);
+        this.position += length;
+    }
+
+    byte readByte() {
+        this.checkAvailable(1);
+        return this.buffer[this.position++];
+    }
+
+    int readVarint() {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = this.readByte();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("varint过长");
+    }
+
+    long readVarlong() {
+        long result = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = this.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("varlong过长");
+    }
+
+    int readZigZagVarint() {
+        final int value = this.readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readZigZagVarlong() {
+        final long value = this.readVarlong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    String readString() {
+        final int length = this.readVarint() - 1;
+        if (length < 0) {
+            return null;
+        }
+        this.checkAvailable(length);
+        final String value = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+        this.position += length;
+        return value;
+    }
+
+    /**
+     * 跳过一个字符串, 返回其内容的UTF-8字节数, null返回-1
+     */
+    int skipString() {
+        final int length = this.readVarint() - 1;
+        if (length > 0) {
+            this.skip(length);
+        }
+        return length;
+    }
+
+    private void checkAvailable(final int length) {
+        if (length < 0 || this.position + length > this.limit) {
+            throw new IllegalArgumentException(String.format("数据不完整: position=%d, limit=%d, 需要%d字节", this.position, this.limit, length));
+        }
+    }
+}
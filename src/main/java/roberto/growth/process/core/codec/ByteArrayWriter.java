@@ -0,0 +1,178 @@
+/**
+ * FileName: ByteArrayWriter
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 可复用的二进制写缓冲区.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * 〈可复用的二进制写缓冲区.〉
+ * <p>
+ * 整数使用varint编码, 字符串使用 varint(UTF-8字节数 + 1) + 内容 编码, 0表示null
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+final class ByteArrayWriter {
+    private final int initialSize;
+    private final int maxRetainedSize;
+    private byte[] buffer;
+    private int position;
+
+    ByteArrayWriter(final int initialSize, final int maxRetainedSize) {
+        this.initialSize = initialSize;
+        this.maxRetainedSize = maxRetainedSize;
+        this.buffer = new byte[initialSize];
+    }
+
+    /**
+     * 清空内容, 超过保留上限的缓冲区会被丢弃
+     */
+    void reset() {
+        this.position = 0;
+        if (this.buffer.length > this.maxRetainedSize) {
+            this.buffer = new byte[this.initialSize];
+        }
+    }
+
+    int size() {
+        return this.position;
+    }
+
+    byte[] array() {
+        return this.buffer;
+    }
+
+    void writeInt(final int value) {
+        this.ensureCapacity(4);
+        this.buffer[this.position++] = (byte) (value >>> 24);
+        this.buffer[this.position++] = (byte) (value >>> 16);
+        this.buffer[this.position++] = (byte) (value >>> 8);
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(this.buffer, this.position);
+    }
+
+    void writeTo(final OutputStream out) throws IOException {
+        out.write(this.buffer, 0, this.position);
+    }
+
+    void writeByte(final int value) {
+        this.ensureCapacity(1);
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    void writeBytes(final byte[] bytes, final int offset, final int length) {
+        this.ensureCapacity(length);
+        System.arraycopy(bytes, offset, this.buffer, this.position, length);
+        this.position += length;
+    }
+
+    void writeVarint(final int value) {
+        this.ensureCapacity(5);
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            this.buffer[this.position++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        this.buffer[this.position++] = (byte) remaining;
+    }
+
+    void writeVarlong(final long value) {
+        this.ensureCapacity(10);
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            this.buffer[this.position++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        this.buffer[this.position++] = (byte) remaining;
+    }
+
+    void writeZigZagVarint(final int value) {
+        this.writeVarint((value << 1) ^ (value >> 31));
+    }
+
+    void writeZigZagVarlong(final long value) {
+        this.writeVarlong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * 写入字符串, 孤立的代理字符与String.getBytes一致输出为'?'
+     */
+    void writeString(final CharSequence value) {
+        if (value == null) {
+            this.writeVarint(0);
+            return;
+        }
+        final int length = value.length();
+        final int utf8Length = utf8Length(value);
+        this.writeVarint(utf8Length + 1);
+        this.ensureCapacity(utf8Length);
+        final byte[] bytes = this.buffer;
+        int pos = this.position;
+        for (int i = 0; i < length; i++) {
+            final char ch = value.charAt(i);
+            if (ch < 0x80) {
+                bytes[pos++] = (byte) ch;
+            } else if (ch < 0x800) {
+                bytes[pos++] = (byte) (0xC0 | (ch >> 6));
+                bytes[pos++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isSurrogate(ch)) {
+                if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+                    bytes[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    bytes[pos++] = '?';
+                }
+            } else {
+                bytes[pos++] = (byte) (0xE0 | (ch >> 12));
+                bytes[pos++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                bytes[pos++] = (byte) (0x80 | (ch & 0x3F));
+            }
+        }
+        this.position = pos;
+    }
+
+    private static int utf8Length(final CharSequence value) {
+        final int length = value.length();
+        int utf8Length = 0;
+        for (int i = 0; i < length; i++) {
+            final char ch = value.charAt(i);
+            if (ch < 0x80) {
+                utf8Length++;
+            } else if (ch < 0x800) {
+                utf8Length += 2;
+            } else if (Character.isSurrogate(ch)) {
+                if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    utf8Length += 4;
+                    i++;
+                } else {
+                    utf8Length++;
+                }
+            } else {
+                utf8Length += 3;
+            }
+        }
+        return utf8Length;
+    }
+
+    private void ensureCapacity(final int additional) {
+        final int required = this.position + additional;
+        if (required > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(required, this.buffer.length << 1));
+        }
+    }
+}
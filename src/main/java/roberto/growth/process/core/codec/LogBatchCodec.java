@@ -0,0 +1,246 @@
+/**
+ * FileName: LogBatchCodec
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志批次编码.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.codec;
+
+import roberto.growth.process.core.LogMessage;
+import roberto.growth.process.core.enums.LogTypeEnum;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 〈日志批次编码.〉
+ * <p>
+ * JSON批次格式: recordCount(int) + [recordLength(int) + record]..., 队列中的二进制记录会先转换为JSON
+ * <p>
+ * 二进制批次格式: version(byte) + env + ip + hostname + projectName + logType + recordCount(varint) + 记录...
+ * <p>
+ * 二进制记录: kind(0) + logger引用 + threadName引用 + level引用 + bodyLength(varint) + body(timestamp及之后的字段)
+ * <p>
+ * JSON记录: kind(1) + length(varint) + 内容, 用于切换格式前已写入队列的记录
+ * <p>
+ * 引用: 0 + 字符串 表示新值并按出现顺序加入批次字典(null除外), n(n>0) 表示字典中第n个值.
+ * 非线程安全, 由发送线程独占使用
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class LogBatchCodec {
+    public static final byte VERSION = 1;
+
+    static final byte KIND_BINARY = 0;
+    static final byte KIND_JSON = 1;
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_BUFFER_SIZE = 4 * 1024 * 1024;
+
+    private final String env;
+    private final String ip;
+    private final String hostname;
+    private final String projectName;
+    private final LogTypeEnum logType;
+
+    private final ByteArrayWriter writer = new ByteArrayWriter(DEFAULT_BUFFER_SIZE, MAX_BUFFER_SIZE);
+    private final Map<ByteSlice, Integer> dictionary = new HashMap<>();
+    // 查找字典时复用的key, 命中时无需分配
+    private final ByteSlice probe = new ByteSlice();
+
+    /**
+     * 构造函数
+     *
+     * @param env         the env
+     * @param ip          the ip
+     * @param hostname    the hostname
+     * @param projectName the project name
+     * @param logType     the log type
+     * @author HuangTaiHong
+     * @since 2026.10.18 17:05:26
+     */
+    public LogBatchCodec(final String env, final String ip, final String hostname, final String projectName, final LogTypeEnum logType) {
+        this.env = env;
+        this.ip = ip;
+        this.hostname = hostname;
+        this.projectName = projectName;
+        this.logType = logType;
+    }
+
+    /**
+     * 创建相同配置的新实例, 编码缓冲区不能并发使用, 每个发送通道使用独立的实例
+     *
+     * @return the log batch codec
+     * @author HuangTaiHong
+     * @since 2026.10.18 01:25:10
+     */
+    public LogBatchCodec copy() {
+        return new LogBatchCodec(this.env, this.ip, this.hostname, this.projectName, this.logType);
+    }
+
+    /**
+     * 将一批记录编码到内部缓冲区, 随后通过 {@link #writeTo(OutputStream)} 写出
+     *
+     * @param records the records
+     * @return 编码后的字节数
+     * @author HuangTaiHong
+     * @since 2026.10.18 17:05:26
+     */
+    public int encode(final List<byte[]> records) {
+        this.writer.reset();
+        this.dictionary.clear();
+        this.writer.writeByte(VERSION);
+        this.writer.writeString(this.env);
+        this.writer.writeString(this.ip);
+        this.writer.writeString(this.hostname);
+        this.writer.writeString(this.projectName);
+        this.writer.writeString(this.logType == null ? null : this.logType.name());
+        this.writer.writeVarint(records.size());
+        for (int i = 0, size = records.size(); i < size; i++) {
+            final byte[] record = records.get(i);
+            if (BinaryLogMessageCodec.isBinaryRecord(record)) {
+                this.writeBinaryRecord(record);
+            } else {
+                this.writer.writeByte(KIND_JSON);
+                this.writer.writeVarint(record.length);
+                this.writer.writeBytes(record, 0, record.length);
+            }
+        }
+        return this.writer.size();
+    }
+
+    /**
+     * 将一批记录按JSON批次格式编码到内部缓冲区
+     *
+     * @param records the records
+     * @return 编码后的字节数
+     * @author HuangTaiHong
+     * @since 2026.10.18 18:20:40
+     */
+    public int encodeJson(final List<byte[]> records) {
+        this.writer.reset();
+        this.writer.writeInt(records.size());
+        for (int i = 0, size = records.size(); i < size; i++) {
+            final byte[] record = this.toJson(records.get(i));
+            this.writer.writeInt(record.length);
+            this.writer.writeBytes(record, 0, record.length);
+        }
+        return this.writer.size();
+    }
+
+    /**
+     * 内部缓冲区, 有效数据为 [0, encode返回值)
+     *
+     * @return the byte [ ]
+     * @author HuangTaiHong
+     * @since 2026.10.18 18:20:40
+     */
+    public byte[] buffer() {
+        return this.writer.array();
+    }
+
+    public void writeTo(final OutputStream out) throws IOException {
+        this.writer.writeTo(out);
+    }
+
+    /**
+     * 将二进制记录补齐批次头字段后转换为JSON记录, JSON记录原样返回
+     *
+     * @param record the record
+     * @return the JSON record
+     * @author HuangTaiHong
+     * @since 2026.10.18 17:05:26
+     */
+    public byte[] toJson(final byte[] record) {
+        if (!BinaryLogMessageCodec.isBinaryRecord(record)) {
+            return record;
+        }
+        final LogMessage logMessage = BinaryLogMessageCodec.decode(record);
+        logMessage.setEnv(this.env);
+        logMessage.setIp(this.ip);
+        logMessage.setHostname(this.hostname);
+        logMessage.setProjectName(this.projectName);
+        logMessage.setLogType(this.logType);
+        return LogMessageEncoder.encode(logMessage);
+    }
+
+    private void writeBinaryRecord(final byte[] record) {
+        final ByteArrayReader reader = new ByteArrayReader(record, 1, record.length - 1);
+        this.writer.writeByte(KIND_BINARY);
+        // logger、threadName、level
+        for (int i = 0; i < 3; i++) {
+            this.writeReference(reader);
+        }
+        final int bodyOffset = reader.position();
+        this.writer.writeVarint(record.length - bodyOffset);
+        this.writer.writeBytes(record, bodyOffset, record.length - bodyOffset);
+    }
+
+    private void writeReference(final ByteArrayReader reader) {
+        final int start = reader.position();
+        final int length = reader.skipString();
+        final int end = reader.position();
+        if (length >= 0) {
+            final Integer index = this.dictionary.get(this.probe.wrap(reader.buffer(), end - length, length));
+            if (index != null) {
+                this.writer.writeVarint(index + 1);
+                return;
+            }
+            this.dictionary.put(new ByteSlice().wrap(Arrays.copyOfRange(reader.buffer(), end - length, end), 0, length), this.dictionary.size());
+        }
+        this.writer.writeVarint(0);
+        this.writer.writeBytes(reader.buffer(), start, end - start);
+    }
+
+    /**
+     * 字节数组片段, 作为字典的key
+     */
+    private static final class ByteSlice {
+        private byte[] bytes;
+        private int offset;
+        private int length;
+        private int hash;
+
+        ByteSlice wrap(final byte[] bytes, final int offset, final int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+            int h = 1;
+            for (int i = offset, end = offset + length; i < end; i++) {
+                h = 31 * h + bytes[i];
+            }
+            this.hash = h;
+            return this;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof ByteSlice)) {
+                return false;
+            }
+            final ByteSlice other = (ByteSlice) obj;
+            if (this.hash != other.hash || this.length != other.length) {
+                return false;
+            }
+            for (int i = 0; i < this.length; i++) {
+                if (this.bytes[this.offset + i] != other.bytes[other.offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
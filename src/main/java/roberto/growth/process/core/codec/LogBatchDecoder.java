@@ -0,0 +1,118 @@
+/**
+ * FileName: LogBatchDecoder
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志批次解码.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.codec;
+
+import com.alibaba.fastjson.JSON;
+import roberto.growth.process.core.LogMessage;
+import roberto.growth.process.core.enums.LogTypeEnum;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 〈日志批次解码.〉
+ * <p>
+ * 供服务端/消费端使用, 将 {@link LogBatchCodec} 编码的批次还原为完整的 {@link LogMessage}
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public final class LogBatchDecoder {
+    private LogBatchDecoder() {
+
+    }
+
+    /**
+     * 解码一个批次
+     *
+     * @param payload the payload
+     * @return the list
+     * @throws IllegalArgumentException 批次数据损坏或版本不支持
+     * @author HuangTaiHong
+     * @since 2026.10.18 17:21:44
+     */
+    public static List<LogMessage> decode(final byte[] payload) {
+        return decode(payload, 0, payload.length);
+    }
+
+    /**
+     * 解码一个批次
+     *
+     * @param payload the payload
+     * @param offset  the offset
+     * @param length  the length
+     * @return the list
+     * @throws IllegalArgumentException 批次数据损坏或版本不支持
+     * @author HuangTaiHong
+     * @since 2026.10.18 17:21:44
+     */
+    public static List<LogMessage> decode(final byte[] payload, final int offset, final int length) {
+        final ByteArrayReader reader = new ByteArrayReader(payload, offset, length);
+        final byte version = reader.readByte();
+        if (version != LogBatchCodec.VERSION) {
+            throw new IllegalArgumentException(String.format("不支持的批次版本: %d", version));
+        }
+        final String env = reader.readString();
+        final String ip = reader.readString();
+        final String hostname = reader.readString();
+        final String projectName = reader.readString();
+        final String logTypeName = reader.readString();
+        final LogTypeEnum logType = logTypeName == null ? null : LogTypeEnum.valueOf(logTypeName);
+
+        final int recordCount = reader.readVarint();
+        final List<LogMessage> logMessages = new ArrayList<>(recordCount);
+        final List<String> dictionary = new ArrayList<>();
+        for (int i = 0; i < recordCount; i++) {
+            final byte kind = reader.readByte();
+            if (kind == LogBatchCodec.KIND_JSON) {
+                final int recordLength = reader.readVarint();
+                final int recordOffset = reader.position();
+                reader.skip(recordLength);
+                logMessages.add(JSON.parseObject(new String(reader.buffer(), recordOffset, recordLength, StandardCharsets.UTF_8), LogMessage.class));
+            } else if (kind == LogBatchCodec.KIND_BINARY) {
+                final LogMessage logMessage = new LogMessage();
+                logMessage.setEnv(env);
+                logMessage.setIp(ip);
+                logMessage.setHostname(hostname);
+                logMessage.setProjectName(projectName);
+                logMessage.setLogType(logType);
+                logMessage.setLogger(readReference(reader, dictionary));
+                logMessage.setThreadName(readReference(reader, dictionary));
+                logMessage.setLevel(readReference(reader, dictionary));
+                final int bodyLength = reader.readVarint();
+                final int bodyEnd = reader.position() + bodyLength;
+                BinaryLogMessageCodec.readBody(reader, logMessage, bodyEnd);
+                if (reader.position() != bodyEnd) {
+                    throw new IllegalArgumentException(String.format("记录长度不一致: 期望结束于%d, 实际%d", bodyEnd, reader.position()));
+                }
+                logMessages.add(logMessage);
+            } else {
+                throw new IllegalArgumentException(String.format("未知的记录类型: %d", kind));
+            }
+        }
+        return logMessages;
+    }
+
+    private static String readReference(final ByteArrayReader reader, final List<String> dictionary) {
+        final int index = reader.readVarint();
+        if (index > 0) {
+            if (index > dictionary.size()) {
+                throw new IllegalArgumentException(String.format("字典引用越界: %d", index));
+            }
+            return dictionary.get(index - 1);
+        }
+        final String value = reader.readString();
+        if (value != null) {
+            dictionary.add(value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,348 @@
+/**
+ * FileName: LogMessageEncoder
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志消息JSON编码器.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.codec;
+
+import roberto.growth.process.core.LogMessage;
+import roberto.growth.process.core.ReusableLogMessage;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 〈日志消息JSON编码器.〉
+ * <p>
+ * 不依赖反射, 将 {@link LogMessage} 一次性转义并以UTF-8写入可复用的字节缓冲区.
+ * 输出与 fastjson 默认配置 JSON.toJSONString 逐字节一致: 字段按名称排序、跳过null字段、枚举输出名称
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class LogMessageEncoder {
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+    // 超过该大小的缓冲区在编码后丢弃, 避免偶发的超长日志长期占用内存
+    private static final int MAX_BUFFER_SIZE = 256 * 1024;
+    private static final byte[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+    private static final byte[] NULL_BYTES = {'n', 'u', 'l', 'l'};
+    private static final byte[] TIMESTAMP_FIELD = {'"', 't', 'i', 'm', 'e', 's', 't', 'a', 'm', 'p', '"', ':'};
+
+    private static final ThreadLocal<LogMessageEncoder> ENCODER = new ThreadLocal<LogMessageEncoder>() {
+        @Override
+        protected LogMessageEncoder initialValue() {
+            return new LogMessageEncoder();
+        }
+    };
+
+    private byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+    private int position;
+    private boolean firstField;
+
+    /**
+     * 使用当前线程的编码器编码日志消息
+     *
+     * @param logMessage the log message
+     * @return UTF-8编码的JSON
+     * @author HuangTaiHong
+     * @since 2026.10.18 16:20:31
+     */
+    public static byte[] encode(final LogMessage logMessage) {
+        return ENCODER.get().toBytes(logMessage);
+    }
+
+    /**
+     * 编码日志消息. 编码在复用的缓冲区中完成, 返回的数组会被队列持有, 因此每条日志恰好分配一次结果数组
+     *
+     * @param logMessage the log message
+     * @return UTF-8编码的JSON
+     * @author HuangTaiHong
+     * @since 2026.10.18 16:20:31
+     */
+    public byte[] toBytes(final LogMessage logMessage) {
+        this.position = 0;
+        this.firstField = true;
+        this.writeByte('{');
+        // 复用的日志消息直接读取StringBuilder和基本类型字段, 避免toString和装箱
+        final ReusableLogMessage reusable = logMessage instanceof ReusableLogMessage ? (ReusableLogMessage) logMessage : null;
+        // 字段顺序必须与fastjson的按名称排序一致
+        this.writeField("env", logMessage.getEnv());
+        this.writeField("fileName", logMessage.getFileName());
+        if (reusable != null) {
+            this.writeField("firstTimestamp", reusable.hasFirstTimestamp(), reusable.getFirstTimestampValue());
+        } else {
+            this.writeField("firstTimestamp", logMessage.getFirstTimestamp());
+        }
+        if (reusable != null) {
+            this.writeField("fullMessage", reusable.getFullMessageBuffer());
+        } else {
+            this.writeField("fullMessage", logMessage.getFullMessage());
+        }
+        this.writeField("hostname", logMessage.getHostname());
+        this.writeField("ip", logMessage.getIp());
+        if (reusable != null) {
+            this.writeField("lastTimestamp", reusable.hasLastTimestamp(), reusable.getLastTimestampValue());
+        } else {
+            this.writeField("lastTimestamp", logMessage.getLastTimestamp());
+        }
+        this.writeField("level", logMessage.getLevel());
+        this.writeFieldName("lineNum");
+        this.writeLong(logMessage.getLineNum());
+        this.writeField("logId", logMessage.getLogId());
+        if (logMessage.getLogType() != null) {
+            this.writeField("logType", logMessage.getLogType().name());
+        }
+        this.writeField("logger", logMessage.getLogger());
+        if (reusable != null) {
+            this.writeField("message", reusable.getMessageBuffer());
+        } else {
+            this.writeField("message", logMessage.getMessage());
+        }
+        this.writeField("projectName", logMessage.getProjectName());
+        if (reusable != null) {
+            this.writeField("repeatCount", reusable.hasRepeatCount(), reusable.getRepeatCountValue());
+            this.writeField("sampleRate", reusable.hasSampleRate(), reusable.getSampleRateValue());
+        } else {
+            this.writeField("repeatCount", logMessage.getRepeatCount());
+            this.writeField("sampleRate", logMessage.getSampleRate());
+        }
+        this.writeTags(logMessage.getTags());
+        this.writeField("threadName", logMessage.getThreadName());
+        this.writeFieldName("timestamp");
+        this.writeLong(logMessage.getTimestamp());
+        this.writeField("traceId", logMessage.getTraceId());
+        this.writeByte('}');
+
+        final byte[] result = Arrays.copyOf(this.buffer, this.position);
+        if (this.buffer.length > MAX_BUFFER_SIZE) {
+            this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+        }
+        return result;
+    }
+
+    /**
+     * 只读取JSON记录中的timestamp字段. timestamp是最后两个字段之一, 从末尾向前查找;
+     * 字符串值中的引号已转义, 不会与字段名混淆
+     *
+     * @param record UTF-8编码的JSON
+     * @return 时间戳, 找不到时返回-1
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public static long readTimestamp(final byte[] record) {
+        search:
+        for (int start = record.length - TIMESTAMP_FIELD.length; start >= 0; start--) {
+            for (int i = 0; i < TIMESTAMP_FIELD.length; i++) {
+                if (record[start + i] != TIMESTAMP_FIELD[i]) {
+                    continue search;
+                }
+            }
+            int position = start + TIMESTAMP_FIELD.length;
+            final boolean negative = position < record.length && record[position] == '-';
+            if (negative) {
+                position++;
+            }
+            long value = 0L;
+            int digits = 0;
+            while (position < record.length && record[position] >= '0' && record[position] <= '9') {
+                value = value * 10 + (record[position++] - '0');
+                digits++;
+            }
+            if (digits == 0) {
+                return -1L;
+            }
+            return negative ? -value : value;
+        }
+        return -1L;
+    }
+
+    private void writeTags(final List<String> tags) {
+        if (tags == null) {
+            return;
+        }
+        this.writeFieldName("tags");
+        this.writeByte('[');
+        for (int i = 0, size = tags.size(); i < size; i++) {
+            if (i > 0) {
+                this.writeByte(',');
+            }
+            final String tag = tags.get(i);
+            if (tag == null) {
+                this.writeBytes(NULL_BYTES);
+            } else {
+                this.writeString(tag);
+            }
+        }
+        this.writeByte(']');
+    }
+
+    private void writeField(final String name, final CharSequence value) {
+        if (value != null) {
+            this.writeFieldName(name);
+            this.writeString(value);
+        }
+    }
+
+    private void writeField(final String name, final Number value) {
+        if (value != null) {
+            this.writeFieldName(name);
+            this.writeLong(value.longValue());
+        }
+    }
+
+    private void writeField(final String name, final boolean present, final long value) {
+        if (present) {
+            this.writeFieldName(name);
+            this.writeLong(value);
+        }
+    }
+
+    private void writeFieldName(final String name) {
+        if (!this.firstField) {
+            this.writeByte(',');
+        }
+        this.firstField = false;
+        // 字段名均为ASCII常量, 无需转义
+        final int length = name.length();
+        this.ensureCapacity(length + 3);
+        this.buffer[this.position++] = '"';
+        for (int i = 0; i < length; i++) {
+            this.buffer[this.position++] = (byte) name.charAt(i);
+        }
+        this.buffer[this.position++] = '"';
+        this.buffer[this.position++] = ':';
+    }
+
+    /**
+     * 一次遍历完成转义和UTF-8编码. 转义规则与fastjson一致:
+     * 控制字符、0x7F-0x9F、U+2028、U+2029 输出为\\uXXXX(\b \t \n \f \r 除外), 孤立的代理字符按String.getBytes的行为输出为'?'
+     */
+    private void writeString(final CharSequence value) {
+        final int length = value.length();
+        // 每个字符最多输出6个字节
+        this.ensureCapacity(length * 6 + 2);
+        final byte[] bytes = this.buffer;
+        int pos = this.position;
+        bytes[pos++] = '"';
+        for (int i = 0; i < length; i++) {
+            final char ch = value.charAt(i);
+            if (ch < 0x80) {
+                if (ch >= 0x20 && ch != '"' && ch != '\\' && ch != 0x7F) {
+                    bytes[pos++] = (byte) ch;
+                    continue;
+                }
+                bytes[pos++] = '\\';
+                switch (ch) {
+                    case '"':
+                        bytes[pos++] = '"';
+                        break;
+                    case '\\':
+                        bytes[pos++] = '\\';
+                        break;
+                    case '\b':
+                        bytes[pos++] = 'b';
+                        break;
+                    case '\t':
+                        bytes[pos++] = 't';
+                        break;
+                    case '\n':
+                        bytes[pos++] = 'n';
+                        break;
+                    case '\f':
+                        bytes[pos++] = 'f';
+                        break;
+                    case '\r':
+                        bytes[pos++] = 'r';
+                        break;
+                    default:
+                        pos = writeUnicodeEscape(bytes, pos, ch);
+                }
+            } else if (ch <= 0x9F || ch == 0x2028 || ch == 0x2029) {
+                bytes[pos++] = '\\';
+                pos = writeUnicodeEscape(bytes, pos, ch);
+            } else if (ch < 0x800) {
+                bytes[pos++] = (byte) (0xC0 | (ch >> 6));
+                bytes[pos++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isSurrogate(ch)) {
+                if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+                    bytes[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    bytes[pos++] = '?';
+                }
+            } else {
+                bytes[pos++] = (byte) (0xE0 | (ch >> 12));
+                bytes[pos++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                bytes[pos++] = (byte) (0x80 | (ch & 0x3F));
+            }
+        }
+        bytes[pos++] = '"';
+        this.position = pos;
+    }
+
+    private static int writeUnicodeEscape(final byte[] bytes, int pos, final char ch) {
+        bytes[pos++] = 'u';
+        bytes[pos++] = HEX_DIGITS[(ch >> 12) & 0xF];
+        bytes[pos++] = HEX_DIGITS[(ch >> 8) & 0xF];
+        bytes[pos++] = HEX_DIGITS[(ch >> 4) & 0xF];
+        bytes[pos++] = HEX_DIGITS[ch & 0xF];
+        return pos;
+    }
+
+    private void writeLong(final long value) {
+        if (value == Long.MIN_VALUE) {
+            this.writeAscii("-9223372036854775808");
+            return;
+        }
+        this.ensureCapacity(20);
+        long remaining = value;
+        if (remaining < 0) {
+            this.buffer[this.position++] = '-';
+            remaining = -remaining;
+        }
+        final int start = this.position;
+        do {
+            this.buffer[this.position++] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        // 逆序写入后翻转
+        for (int i = start, j = this.position - 1; i < j; i++, j--) {
+            final byte temp = this.buffer[i];
+            this.buffer[i] = this.buffer[j];
+            this.buffer[j] = temp;
+        }
+    }
+
+    private void writeAscii(final String value) {
+        final int length = value.length();
+        this.ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            this.buffer[this.position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeBytes(final byte[] bytes) {
+        this.ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+        this.position += bytes.length;
+    }
+
+    private void writeByte(final char ch) {
+        this.ensureCapacity(1);
+        this.buffer[this.position++] = (byte) ch;
+    }
+
+    private void ensureCapacity(final int additional) {
+        final int required = this.position + additional;
+        if (required > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(required, this.buffer.length << 1));
+        }
+    }
+}
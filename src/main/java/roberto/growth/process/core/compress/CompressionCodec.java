@@ -0,0 +1,59 @@
+/**
+ * FileName: CompressionCodec
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 压缩编解码器.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.compress;
+
+import roberto.growth.process.core.enums.CompressionTypeEnum;
+
+import java.io.IOException;
+
+/**
+ * 〈压缩编解码器.〉
+ * <p>
+ * 以整个批次/分段为单位压缩, 实现类必须线程安全
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public interface CompressionCodec {
+    /**
+     * 压缩算法
+     *
+     * @return the type
+     * @author HuangTaiHong
+     * @since 2026.10.18 18:02:15
+     */
+    CompressionTypeEnum getType();
+
+    /**
+     * 压缩
+     *
+     * @param src    the src
+     * @param offset the offset
+     * @param length the length
+     * @return 压缩后的数据
+     * @author HuangTaiHong
+     * @since 2026.10.18 18:02:15
+     */
+    byte[] compress(byte[] src, int offset, int length);
+
+    /**
+     * 解压
+     *
+     * @param src            the src
+     * @param offset         the offset
+     * @param length         the length
+     * @param originalLength 压缩前的字节数
+     * @return 解压后的数据
+     * @throws IOException 数据损坏
+     * @author HuangTaiHong
+     * @since 2026.10.18 18:02:15
+     */
+    byte[] decompress(byte[] src, int offset, int length, int originalLength) throws IOException;
+}
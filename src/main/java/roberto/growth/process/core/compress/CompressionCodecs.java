@@ -0,0 +1,76 @@
+/**
+ * FileName: CompressionCodecs
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 压缩编解码器工厂.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.compress;
+
+import roberto.growth.process.core.enums.CompressionTypeEnum;
+
+import java.io.IOException;
+
+/**
+ * 〈压缩编解码器工厂.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public final class CompressionCodecs {
+    private static final int DEFAULT_LEVEL = -1;
+
+    private static volatile CompressionCodec defaultDeflateCodec;
+    private static volatile CompressionCodec defaultLz4Codec;
+
+    private CompressionCodecs() {
+
+    }
+
+    /**
+     * 创建压缩编解码器
+     *
+     * @param compressionType the compression type
+     * @param level           压缩级别, -1 使用默认级别
+     * @return the compression codec, NONE返回null
+     * @author HuangTaiHong
+     * @since 2026.10.18 18:02:15
+     */
+    public static CompressionCodec create(final CompressionTypeEnum compressionType, final int level) {
+        switch (compressionType) {
+            case DEFLATE:
+                return new DeflateCompressionCodec(level);
+            case LZ4:
+                return new Lz4CompressionCodec(level);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 按id获取用于解压的编解码器, 解压与压缩级别无关
+     *
+     * @param id the id
+     * @return the compression codec
+     * @throws IOException 未知的压缩算法
+     * @author HuangTaiHong
+     * @since 2026.10.18 18:02:15
+     */
+    public static CompressionCodec forDecompression(final byte id) throws IOException {
+        final CompressionTypeEnum compressionType = CompressionTypeEnum.fromId(id);
+        if (compressionType == CompressionTypeEnum.DEFLATE) {
+            if (defaultDeflateCodec == null) {
+                defaultDeflateCodec = create(compressionType, DEFAULT_LEVEL);
+            }
+            return defaultDeflateCodec;
+        } else if (compressionType == CompressionTypeEnum.LZ4) {
+            if (defaultLz4Codec == null) {
+                defaultLz4Codec = create(compressionType, DEFAULT_LEVEL);
+            }
+            return defaultLz4Codec;
+        }
+        throw new IOException(String.format("不支持的压缩算法: %d", id));
+    }
+}
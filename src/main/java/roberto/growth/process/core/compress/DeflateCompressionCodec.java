@@ -0,0 +1,105 @@
+/**
+ * FileName: DeflateCompressionCodec
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: Deflate压缩编解码器.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.compress;
+
+import roberto.growth.process.core.enums.CompressionTypeEnum;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 〈Deflate压缩编解码器.〉
+ * <p>
+ * Deflater / Inflater 持有native内存且非线程安全, 每个线程缓存一份并在使用后reset
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class DeflateCompressionCodec implements CompressionCodec {
+    private final int level;
+    private final ThreadLocal<Deflater> deflater;
+    private final ThreadLocal<Inflater> inflater = new ThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater();
+        }
+    };
+
+    /**
+     * 构造函数
+     *
+     * @param level 压缩级别 0-9, -1 使用默认级别
+     * @author HuangTaiHong
+     * @since 2026.10.18 18:02:15
+     */
+    public DeflateCompressionCodec(final int level) {
+        this.level = level < 0 ? Deflater.DEFAULT_COMPRESSION : Math.min(level, Deflater.BEST_COMPRESSION);
+        this.deflater = new ThreadLocal<Deflater>() {
+            @Override
+            protected Deflater initialValue() {
+                return new Deflater(DeflateCompressionCodec.this.level);
+            }
+        };
+    }
+
+    @Override
+    public CompressionTypeEnum getType() {
+        return CompressionTypeEnum.DEFLATE;
+    }
+
+    @Override
+    public byte[] compress(final byte[] src, final int offset, final int length) {
+        final Deflater deflater = this.deflater.get();
+        try {
+            deflater.setInput(src, offset, length);
+            deflater.finish();
+            // 初始缓冲区按不可压缩数据估算, 不足时扩容
+            byte[] output = new byte[length + (length >> 12) + 64];
+            int outputLength = 0;
+            while (!deflater.finished()) {
+                if (outputLength == output.length) {
+                    output = Arrays.copyOf(output, output.length << 1);
+                }
+                outputLength += deflater.deflate(output, outputLength, output.length - outputLength);
+            }
+            return Arrays.copyOf(output, outputLength);
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    @Override
+    public byte[] decompress(final byte[] src, final int offset, final int length, final int originalLength) throws IOException {
+        final Inflater inflater = this.inflater.get();
+        try {
+            inflater.setInput(src, offset, length);
+            final byte[] output = new byte[originalLength];
+            int outputLength = 0;
+            while (outputLength < originalLength) {
+                final int inflated = inflater.inflate(output, outputLength, originalLength - outputLength);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                outputLength += inflated;
+            }
+            if (outputLength != originalLength || !inflater.finished()) {
+                throw new IOException(String.format("Deflate数据损坏: 期望%d字节, 实际%d字节", originalLength, outputLength));
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new IOException("Deflate数据损坏", e);
+        } finally {
+            inflater.reset();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * FileName: Lz4CompressionCodec
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: LZ4压缩编解码器.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.compress;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import roberto.growth.process.core.enums.CompressionTypeEnum;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 〈LZ4压缩编解码器.〉
+ * <p>
+ * LZ4 block格式, 级别小于等于0时使用快速压缩, 1-17使用高压缩率模式
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class Lz4CompressionCodec implements CompressionCodec {
+    private static final int MAX_HIGH_COMPRESSION_LEVEL = 17;
+
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    /**
+     * 构造函数
+     *
+     * @param level 压缩级别
+     * @author HuangTaiHong
+     * @since 2026.10.18 18:02:15
+     */
+    public Lz4CompressionCodec(final int level) {
+        final LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = level <= 0 ? factory.fastCompressor() : factory.highCompressor(Math.min(level, MAX_HIGH_COMPRESSION_LEVEL));
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    @Override
+    public CompressionTypeEnum getType() {
+        return CompressionTypeEnum.LZ4;
+    }
+
+    @Override
+    public byte[] compress(final byte[] src, final int offset, final int length) {
+        final byte[] output = new byte[this.compressor.maxCompressedLength(length)];
+        final int outputLength = this.compressor.compress(src, offset, length, output, 0, output.length);
+        return Arrays.copyOf(output, outputLength);
+    }
+
+    @Override
+    public byte[] decompress(final byte[] src, final int offset, final int length, final int originalLength) throws IOException {
+        final byte[] output = new byte[originalLength];
+        try {
+            final int readLength = this.decompressor.decompress(src, offset, output, 0, originalLength);
+            if (readLength != length) {
+                throw new IOException(String.format("LZ4数据损坏: 期望读取%d字节, 实际%d字节", length, readLength));
+            }
+        } catch (LZ4Exception e) {
+            throw new IOException("LZ4数据损坏", e);
+        }
+        return output;
+    }
+}
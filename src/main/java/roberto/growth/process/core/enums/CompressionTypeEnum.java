@@ -0,0 +1,62 @@
+/**
+ * FileName: CompressionTypeEnum
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 压缩算法枚举类.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.enums;
+
+/**
+ * 〈压缩算法枚举类.〉
+ * <p>
+ * id 写入传输帧和磁盘分段头, 已有取值不能修改
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public enum CompressionTypeEnum {
+    /**
+     * 不压缩
+     */
+    NONE((byte) 0),
+
+    /**
+     * JDK Deflater, 压缩率高
+     */
+    DEFLATE((byte) 1),
+
+    /**
+     * LZ4, 速度快
+     */
+    LZ4((byte) 2);
+
+    private final byte id;
+
+    CompressionTypeEnum(final byte id) {
+        this.id = id;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    /**
+     * 根据id查找压缩算法
+     *
+     * @param id the id
+     * @return the compression type enum, 未知id返回null
+     * @author HuangTaiHong
+     * @since 2026.10.18 18:02:15
+     */
+    public static CompressionTypeEnum fromId(final byte id) {
+        for (CompressionTypeEnum compressionType : values()) {
+            if (compressionType.id == id) {
+                return compressionType;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * FileName: DropReasonEnum
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志丢弃原因枚举类.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.enums;
+
+/**
+ * 〈日志丢弃原因枚举类.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public enum DropReasonEnum {
+    /**
+     * 队列日志条数(或环形队列槽位)超过阈值
+     */
+    COUNT_LIMIT,
+
+    /**
+     * 队列或发送缓冲区字节数超过阈值
+     */
+    BYTE_LIMIT,
+
+    /**
+     * 磁盘使用率超过阈值
+     */
+    DISK_THRESHOLD,
+
+    /**
+     * 发送器已关闭
+     */
+    SHUTDOWN,
+
+    /**
+     * 重试后仍发送失败
+     */
+    SEND_FAILURE,
+
+    /**
+     * 溢出策略为新日志腾出空间而移除的最早日志
+     */
+    EVICTED,
+
+    /**
+     * 溢出策略在队列接近上限时主动舍弃
+     */
+    SHED,
+
+    /**
+     * 超过按logger / 消息模板限定的速率
+     */
+    RATE_LIMITED,
+
+    /**
+     * 已接收的日志写入磁盘队列失败, 如磁盘写满
+     */
+    WRITE_FAILURE
+}
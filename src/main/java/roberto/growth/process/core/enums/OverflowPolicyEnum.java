@@ -0,0 +1,43 @@
+/**
+ * FileName: OverflowPolicyEnum
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 队列溢出策略枚举类.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.enums;
+
+/**
+ * 〈队列溢出策略枚举类.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public enum OverflowPolicyEnum {
+    /**
+     * 丢弃新日志
+     */
+    DROP_NEWEST,
+
+    /**
+     * 阻塞调用线程直到有空间或超时
+     */
+    BLOCK,
+
+    /**
+     * 移除最早的日志为新日志腾出空间
+     */
+    DROP_OLDEST,
+
+    /**
+     * 按日志级别优先: 低级别日志先被舍弃, 剩余空间留给高级别日志
+     */
+    LEVEL_PRIORITY,
+
+    /**
+     * 队列接近上限时按比例随机舍弃
+     */
+    PROBABILISTIC
+}
@@ -0,0 +1,28 @@
+/**
+ * FileName: PartitionKeyEnum
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 队列分区维度枚举类.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.enums;
+
+/**
+ * 〈队列分区维度枚举类.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public enum PartitionKeyEnum {
+    /**
+     * 按traceId分区, 没有traceId的日志按logger名称分区
+     */
+    TRACE_ID,
+
+    /**
+     * 按logger名称分区
+     */
+    LOGGER
+}
@@ -0,0 +1,48 @@
+/**
+ * FileName: QueueTypeEnum
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 缓冲队列类型枚举类.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.enums;
+
+/**
+ * 〈缓冲队列类型枚举类.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public enum QueueTypeEnum {
+    /**
+     * JVM堆内存队列
+     */
+    MEMORY,
+
+    /**
+     * 按生产线程分段的JVM堆内存队列
+     */
+    STRIPED_MEMORY,
+
+    /**
+     * 堆外内存队列
+     */
+    OFF_HEAP_MEMORY,
+
+    /**
+     * 文件内存映射队列
+     */
+    DISK,
+
+    /**
+     * 预分配的无锁环形队列
+     */
+    RING_BUFFER,
+
+    /**
+     * JVM堆内存队列优先, 写满后溢写到文件内存映射队列
+     */
+    SPILLOVER
+}
@@ -0,0 +1,33 @@
+/**
+ * FileName: RateLimitKeyEnum
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 限流维度枚举类.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.enums;
+
+/**
+ * 〈限流维度枚举类.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public enum RateLimitKeyEnum {
+    /**
+     * 按logger名称限流
+     */
+    LOGGER,
+
+    /**
+     * 按消息模板限流, 如 "user {} login failed"
+     */
+    TEMPLATE,
+
+    /**
+     * 按logger名称 + 消息模板限流
+     */
+    LOGGER_AND_TEMPLATE
+}
@@ -0,0 +1,28 @@
+/**
+ * FileName: RecordFormatEnum
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志记录格式枚举类.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.enums;
+
+/**
+ * 〈日志记录格式枚举类.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public enum RecordFormatEnum {
+    /**
+     * 每条记录为完整的JSON
+     */
+    JSON,
+
+    /**
+     * 长度前缀的二进制记录, 静态字段写入批次头, logger / threadName / level 使用批次内字典
+     */
+    BINARY
+}
@@ -0,0 +1,20 @@
+/**
+ * FileName: WaitStrategyEnum
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 消费线程等待策略枚举类.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.enums;
+
+/**
+ * 〈消费线程等待策略枚举类.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public enum WaitStrategyEnum {
+    BLOCKING, SPIN_YIELD, TIMED_BACKOFF
+}
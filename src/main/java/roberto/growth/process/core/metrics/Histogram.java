@@ -0,0 +1,115 @@
+/**
+ * FileName: Histogram
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 无锁直方图.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 〈无锁直方图.〉
+ * <p>
+ * 按2的幂分档, 每档再等分为4个桶, 相对误差不超过25%. 记录时只做原子加, 不加锁也不分配对象;
+ * 读取时逐桶累加, 不保证与并发记录严格一致
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class Histogram {
+    // 每个2的幂档位内的桶数 = 2 ^ SUB_BUCKET_BITS
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 记录一个值, 负数按0记录
+     *
+     * @param value the value
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public void record(final long value) {
+        final long v = Math.max(0L, value);
+        this.buckets.incrementAndGet(bucketOf(v));
+        this.sum.addAndGet(v);
+        long current = this.max.get();
+        while (v > current && !this.max.compareAndSet(current, v)) {
+            current = this.max.get();
+        }
+    }
+
+    public long getCount() {
+        long count = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += this.buckets.get(i);
+        }
+        return count;
+    }
+
+    public long getSum() {
+        return this.sum.get();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public double getMean() {
+        final long count = this.getCount();
+        return count == 0 ? 0D : (double) this.sum.get() / count;
+    }
+
+    /**
+     * 分位数, 返回所在桶的上界(不超过最大值)
+     *
+     * @param quantile 0 ~ 1
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public long getPercentile(final double quantile) {
+        final long count = this.getCount();
+        if (count == 0) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(Math.min(1D, Math.max(0D, quantile)) * count));
+        long seen = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += this.buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(this.max.get(), upperBoundOf(i));
+            }
+        }
+        return this.max.get();
+    }
+
+    private static int bucketOf(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long upperBoundOf(final int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        final int exponent = bucket / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        final long lowerBound = (long) (SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT) << (exponent - SUB_BUCKET_BITS);
+        final long width = 1L << (exponent - SUB_BUCKET_BITS);
+        // 最高档的上界会溢出
+        return lowerBound + width - 1 < 0 ? Long.MAX_VALUE : lowerBound + width - 1;
+    }
+}
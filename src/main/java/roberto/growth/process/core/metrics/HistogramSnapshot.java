@@ -0,0 +1,82 @@
+/**
+ * FileName: HistogramSnapshot
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 直方图快照.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * 〈直方图快照.〉
+ * <p>
+ * 通过JMX读取时转换为CompositeData, 分位数为所在桶的上界
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class HistogramSnapshot {
+    private final long count;
+    private final double mean;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long max;
+
+    @ConstructorProperties({"count", "mean", "p50", "p90", "p99", "max"})
+    public HistogramSnapshot(final long count, final double mean, final long p50, final long p90, final long p99, final long max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    /**
+     * 读取直方图, 数值按 divisor 换算单位(如纳秒换算为微秒)
+     *
+     * @param histogram the histogram
+     * @param divisor   除数, 1表示不换算
+     * @return the histogram snapshot
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public static HistogramSnapshot of(final Histogram histogram, final long divisor) {
+        return new HistogramSnapshot(histogram.getCount(), histogram.getMean() / divisor, histogram.getPercentile(0.5D) / divisor,
+                histogram.getPercentile(0.9D) / divisor, histogram.getPercentile(0.99D) / divisor, histogram.getMax() / divisor);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{" + "count=" + count + ", mean=" + mean + ", p50=" + p50 + ", p90=" + p90 + ", p99=" + p99 + ", max=" + max + '}';
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * FileName: LogSenderMetrics
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 发送链路指标MBean实现.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.metrics;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.LogSender;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.queue.impl.DiskQueue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 〈发送链路指标MBean实现.〉
+ * <p>
+ * 只在读取时汇总 {@link SenderMetrics}、{@link DropAccounting} 和队列状态, 不影响写入路径
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class LogSenderMetrics implements LogSenderMetricsMXBean {
+    public static final String MBEAN_TYPE = "LogSenderMetrics";
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    private final LogSender logSender;
+    private final SenderMetrics metrics;
+    private final DropAccounting dropAccounting;
+
+    public LogSenderMetrics(final LogSender logSender) {
+        this.logSender = logSender;
+        this.metrics = logSender.getMetrics();
+        this.dropAccounting = logSender.getDropAccounting();
+    }
+
+    @Override
+    public long getEnqueuedRecords() {
+        return this.metrics.getEnqueuedRecords();
+    }
+
+    @Override
+    public long getEnqueuedBytes() {
+        return this.metrics.getEnqueuedBytes();
+    }
+
+    @Override
+    public double getEnqueueRatePerSecond() {
+        return this.metrics.getEnqueueRate();
+    }
+
+    @Override
+    public long getQueueDepthRecords() {
+        return this.logSender.getQueueDepthRecords();
+    }
+
+    @Override
+    public long getQueueDepthBytes() {
+        return this.logSender.getQueueDepthBytes();
+    }
+
+    @Override
+    public long getOldestRecordAgeMs() {
+        return this.logSender.getOldestRecordAgeMs();
+    }
+
+    @Override
+    public long getSendBufferBytes() {
+        return this.logSender.getSendBufferBytes();
+    }
+
+    @Override
+    public long getDroppedRecords() {
+        return this.dropAccounting.getDroppedCount();
+    }
+
+    @Override
+    public long getDroppedBytes() {
+        return this.dropAccounting.getDroppedBytes();
+    }
+
+    @Override
+    public Map<String, Long> getDroppedRecordsByReason() {
+        final Map<String, Long> dropped = new LinkedHashMap<>();
+        for (DropReasonEnum reason : DropReasonEnum.values()) {
+            dropped.put(reason.name(), this.dropAccounting.getDroppedCount(reason));
+        }
+        return dropped;
+    }
+
+    @Override
+    public Map<String, Long> getDroppedBytesByReason() {
+        final Map<String, Long> dropped = new LinkedHashMap<>();
+        for (DropReasonEnum reason : DropReasonEnum.values()) {
+            dropped.put(reason.name(), this.dropAccounting.getDroppedBytes(reason));
+        }
+        return dropped;
+    }
+
+    @Override
+    public long getAcknowledgedBatches() {
+        return this.metrics.getAcknowledgedBatches();
+    }
+
+    @Override
+    public long getFailedBatches() {
+        return this.metrics.getFailedBatches();
+    }
+
+    @Override
+    public HistogramSnapshot getBatchRecords() {
+        return HistogramSnapshot.of(this.metrics.getBatchRecords(), 1L);
+    }
+
+    @Override
+    public HistogramSnapshot getBatchBytes() {
+        return HistogramSnapshot.of(this.metrics.getBatchBytes(), 1L);
+    }
+
+    @Override
+    public HistogramSnapshot getEncodeLatencyMicros() {
+        return HistogramSnapshot.of(this.metrics.getEncodeNanos(), NANOS_PER_MICRO);
+    }
+
+    @Override
+    public HistogramSnapshot getSendLatencyMicros() {
+        return HistogramSnapshot.of(this.metrics.getSendNanos(), NANOS_PER_MICRO);
+    }
+
+    @Override
+    public int getDiskQueueSegments() {
+        int segments = 0;
+        for (DiskQueue diskQueue : this.logSender.getDiskQueues()) {
+            segments += diskQueue.getSegmentCount();
+        }
+        return segments;
+    }
+
+    @Override
+    public long getDiskQueueReclaimableBytes() {
+        long bytes = 0L;
+        for (DiskQueue diskQueue : this.logSender.getDiskQueues()) {
+            bytes += diskQueue.getReclaimableBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public long getDiskQueueLiveBytes() {
+        long bytes = 0L;
+        for (DiskQueue diskQueue : this.logSender.getDiskQueues()) {
+            bytes += diskQueue.getLiveBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public long getDiskQueueFootprintBytes() {
+        long bytes = 0L;
+        for (DiskQueue diskQueue : this.logSender.getDiskQueues()) {
+            bytes += diskQueue.getFootprintBytes();
+        }
+        return bytes;
+    }
+}
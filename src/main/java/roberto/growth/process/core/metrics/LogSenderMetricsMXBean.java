@@ -0,0 +1,115 @@
+/**
+ * FileName: LogSenderMetricsMXBean
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 发送链路指标MBean.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.metrics;
+
+import java.util.Map;
+
+/**
+ * 〈发送链路指标MBean.〉
+ * <p>
+ * 计数类指标从Appender启动开始累计, 队列深度按 入队 - 入队时丢弃 - 离开队列 推算, 不包含启动前文件队列中遗留的日志
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public interface LogSenderMetricsMXBean {
+    /**
+     * 写入的日志条数
+     */
+    long getEnqueuedRecords();
+
+    /**
+     * 写入的日志字节数(编码后)
+     */
+    long getEnqueuedBytes();
+
+    /**
+     * 最近10~20秒的平均写入速率, 条/秒
+     */
+    double getEnqueueRatePerSecond();
+
+    /**
+     * 缓冲队列中的日志条数, 支持确认的队列包括已发出未确认的日志; 未启用缓冲队列时为0
+     */
+    long getQueueDepthRecords();
+
+    /**
+     * 缓冲队列中的日志字节数(编码后, 未压缩)
+     */
+    long getQueueDepthBytes();
+
+    /**
+     * 缓冲队列中最早一条日志的等待时间(按日志时间戳估算的上界), 队列为空时为0
+     */
+    long getOldestRecordAgeMs();
+
+    /**
+     * 发送缓冲中尚未确认的字节数
+     */
+    long getSendBufferBytes();
+
+    long getDroppedRecords();
+
+    long getDroppedBytes();
+
+    /**
+     * 按丢弃原因统计的条数
+     */
+    Map<String, Long> getDroppedRecordsByReason();
+
+    /**
+     * 按丢弃原因统计的字节数
+     */
+    Map<String, Long> getDroppedBytesByReason();
+
+    long getAcknowledgedBatches();
+
+    long getFailedBatches();
+
+    /**
+     * 每个批次的日志条数
+     */
+    HistogramSnapshot getBatchRecords();
+
+    /**
+     * 每个批次的字节数
+     */
+    HistogramSnapshot getBatchBytes();
+
+    /**
+     * 单条日志的编码耗时, 微秒
+     */
+    HistogramSnapshot getEncodeLatencyMicros();
+
+    /**
+     * 批次从交给发送通道到收到确认或失败的耗时, 微秒
+     */
+    HistogramSnapshot getSendLatencyMicros();
+
+    /**
+     * 文件队列的段文件数(各分区合计), 未使用文件队列时为0
+     */
+    int getDiskQueueSegments();
+
+    /**
+     * 文件队列中已提交、等待删除的字节数
+     */
+    long getDiskQueueReclaimableBytes();
+
+    /**
+     * 文件队列中尚未提交的字节数
+     */
+    long getDiskQueueLiveBytes();
+
+    /**
+     * 文件队列占用的磁盘字节数
+     */
+    long getDiskQueueFootprintBytes();
+}
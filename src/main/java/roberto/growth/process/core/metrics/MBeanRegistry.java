@@ -0,0 +1,96 @@
+/**
+ * FileName: MBeanRegistry
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: MBean注册.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.metrics;
+
+import roberto.growth.process.core.SenderStatusReporter;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * 〈MBean注册.〉
+ * <p>
+ * 按 type + appender名称 注册到平台MBeanServer. log4j2重新加载配置时新Appender先于旧Appender停止前启动,
+ * 同名MBean由新实例替换, 旧实例注销时不会移除新实例注册的MBean
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public final class MBeanRegistry {
+    public static final String DOMAIN = "roberto.growth.process";
+
+    // 当前注册的MBean实例, 只在持有该对象锁时访问
+    private static final Map<ObjectName, Object> REGISTERED = new HashMap<>();
+
+    private MBeanRegistry() {
+    }
+
+    /**
+     * 注册MBean, 已存在同名MBean时替换
+     *
+     * @param type     the type
+     * @param name     appender名称
+     * @param mbean    the mbean
+     * @param reporter the reporter
+     * @return 注册成功返回ObjectName, 失败返回null
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public static ObjectName register(final String type, final String name, final Object mbean, final SenderStatusReporter reporter) {
+        try {
+            final ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            synchronized (REGISTERED) {
+                if (mBeanServer.isRegistered(objectName)) {
+                    mBeanServer.unregisterMBean(objectName);
+                }
+                mBeanServer.registerMBean(mbean, objectName);
+                REGISTERED.put(objectName, mbean);
+            }
+            return objectName;
+        } catch (JMException e) {
+            reporter.warn(String.format("注册MBean失败: type=%s, name=%s", type, name), e);
+            return null;
+        }
+    }
+
+    /**
+     * 注销MBean, 只注销由该实例注册的MBean
+     *
+     * @param objectName the object name
+     * @param mbean      the mbean
+     * @param reporter   the reporter
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public static void unregister(final ObjectName objectName, final Object mbean, final SenderStatusReporter reporter) {
+        if (objectName == null) {
+            return;
+        }
+        synchronized (REGISTERED) {
+            if (REGISTERED.get(objectName) != mbean) {
+                return;
+            }
+            REGISTERED.remove(objectName);
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (InstanceNotFoundException e) {
+                // 已被其他方式注销
+            } catch (JMException e) {
+                reporter.warn(String.format("注销MBean失败: %s", objectName), e);
+            }
+        }
+    }
+}
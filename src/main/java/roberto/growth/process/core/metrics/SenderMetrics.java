@@ -0,0 +1,156 @@
+/**
+ * FileName: SenderMetrics
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 发送链路指标.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 〈发送链路指标.〉
+ * <p>
+ * 记录入队、出队、批次和耗时, 记录方法不加锁也不分配对象, 业务线程上的入队计数按线程分段累加.
+ * 入队速率按 {@link #RATE_WINDOW_MS} 滚动的窗口在读取时计算
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class SenderMetrics {
+    private static final long RATE_WINDOW_MS = 10000L;
+
+    private final StripedCounter enqueuedRecords = new StripedCounter();
+    private final StripedCounter enqueuedBytes = new StripedCounter();
+    // 离开缓冲队列的记录: 支持确认的队列在批次确认时计入, 其他队列在出队时计入
+    private final AtomicLong removedRecords = new AtomicLong();
+    private final AtomicLong removedBytes = new AtomicLong();
+
+    private final Histogram encodeNanos = new Histogram();
+    private final Histogram sendNanos = new Histogram();
+    private final Histogram batchRecords = new Histogram();
+    private final Histogram batchBytes = new Histogram();
+    private final AtomicLong acknowledgedBatches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    // 速率窗口, 只在读取时持有对象锁访问
+    private long previousWindowMs;
+    private long previousWindowRecords;
+    private long currentWindowMs;
+    private long currentWindowRecords;
+
+    public SenderMetrics() {
+        this.previousWindowMs = System.currentTimeMillis();
+        this.currentWindowMs = this.previousWindowMs;
+    }
+
+    /**
+     * 记录一条写入的日志
+     *
+     * @param bytes       编码后的字节数
+     * @param encodeNanos 编码耗时
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public void recordEnqueue(final int bytes, final long encodeNanos) {
+        this.enqueuedRecords.add(1L);
+        this.enqueuedBytes.add(bytes);
+        this.encodeNanos.record(encodeNanos);
+    }
+
+    /**
+     * 记录离开缓冲队列的日志
+     *
+     * @param records 条数
+     * @param bytes   字节数
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public void recordRemoved(final long records, final long bytes) {
+        this.removedRecords.addAndGet(records);
+        this.removedBytes.addAndGet(bytes);
+    }
+
+    /**
+     * 记录一个批次的发送结果
+     *
+     * @param records      条数
+     * @param bytes        字节数
+     * @param sendNanos    从交给发送通道到收到结果的耗时, 未发出时为负数, 不计入发送耗时
+     * @param acknowledged 是否确认
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public void recordBatch(final int records, final long bytes, final long sendNanos, final boolean acknowledged) {
+        this.batchRecords.record(records);
+        this.batchBytes.record(bytes);
+        if (sendNanos >= 0) {
+            this.sendNanos.record(sendNanos);
+        }
+        (acknowledged ? this.acknowledgedBatches : this.failedBatches).incrementAndGet();
+    }
+
+    public long getEnqueuedRecords() {
+        return this.enqueuedRecords.sum();
+    }
+
+    public long getEnqueuedBytes() {
+        return this.enqueuedBytes.sum();
+    }
+
+    public long getRemovedRecords() {
+        return this.removedRecords.get();
+    }
+
+    public long getRemovedBytes() {
+        return this.removedBytes.get();
+    }
+
+    public Histogram getEncodeNanos() {
+        return this.encodeNanos;
+    }
+
+    public Histogram getSendNanos() {
+        return this.sendNanos;
+    }
+
+    public Histogram getBatchRecords() {
+        return this.batchRecords;
+    }
+
+    public Histogram getBatchBytes() {
+        return this.batchBytes;
+    }
+
+    public long getAcknowledgedBatches() {
+        return this.acknowledgedBatches.get();
+    }
+
+    public long getFailedBatches() {
+        return this.failedBatches.get();
+    }
+
+    /**
+     * 最近一到两个窗口内的平均入队速率
+     *
+     * @return 条/秒
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:20:10
+     */
+    public synchronized double getEnqueueRate() {
+        final long now = System.currentTimeMillis();
+        final long records = this.enqueuedRecords.sum();
+        if (now - this.currentWindowMs >= RATE_WINDOW_MS) {
+            this.previousWindowMs = this.currentWindowMs;
+            this.previousWindowRecords = this.currentWindowRecords;
+            this.currentWindowMs = now;
+            this.currentWindowRecords = records;
+        }
+        final long elapsedMs = now - this.previousWindowMs;
+        return elapsedMs <= 0 ? 0D : (double) (records - this.previousWindowRecords) * TimeUnit.SECONDS.toMillis(1) / elapsedMs;
+    }
+}
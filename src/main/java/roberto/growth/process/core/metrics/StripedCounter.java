@@ -0,0 +1,50 @@
+/**
+ * FileName: StripedCounter
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 分段计数器.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 〈分段计数器.〉
+ * <p>
+ * 多个业务线程同时累加时按线程分散到不同的缓存行, 避免争用同一个原子变量; 读取时累加所有分段
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class StripedCounter {
+    private static final int STRIPES = 16;
+    // 每个分段占用一个缓存行(8个long)
+    private static final int PADDING = 8;
+
+    // 线程到分段的映射, 首次使用时按顺序分配
+    private static final AtomicInteger THREAD_PROBE_GENERATOR = new AtomicInteger();
+    private static final ThreadLocal<Integer> THREAD_PROBE = new ThreadLocal<Integer>() {
+        @Override
+        protected Integer initialValue() {
+            return THREAD_PROBE_GENERATOR.getAndIncrement() & (STRIPES - 1);
+        }
+    };
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+    public void add(final long delta) {
+        this.cells.addAndGet(THREAD_PROBE.get() * PADDING, delta);
+    }
+
+    public long sum() {
+        long sum = 0L;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += this.cells.get(i * PADDING);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * FileName: BlockingOverflowPolicy
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 阻塞调用线程的溢出策略.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.overflow;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.queue.LogDataQueue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 〈阻塞调用线程的溢出策略.〉
+ * <p>
+ * 队列已满时调用线程以指数退避的方式重试, 最多等待 timeoutMs, 超时后丢弃新日志. 以调用延迟换取日志完整性
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class BlockingOverflowPolicy implements OverflowPolicy {
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final long timeoutNanos;
+
+    public BlockingOverflowPolicy(final long timeoutMs) {
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    @Override
+    public void enqueue(final LogDataQueue queue, final byte[] data, final String level, final DropAccounting dropAccounting) {
+        if (queue.offer(data)) {
+            return;
+        }
+        final long deadline = System.nanoTime() + this.timeoutNanos;
+        long backoffNanos = MIN_BACKOFF_NANOS;
+        while (true) {
+            final long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                break;
+            }
+            LockSupport.parkNanos(this, Math.min(backoffNanos, remainingNanos));
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            if (queue.offer(data)) {
+                return;
+            }
+            backoffNanos = Math.min(backoffNanos << 1, MAX_BACKOFF_NANOS);
+        }
+        // 超时或被中断, 按队列原有逻辑丢弃并计入统计
+        queue.enqueue(data);
+    }
+}
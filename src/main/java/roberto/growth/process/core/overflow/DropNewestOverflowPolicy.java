@@ -0,0 +1,28 @@
+/**
+ * FileName: DropNewestOverflowPolicy
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 丢弃新日志的溢出策略.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.overflow;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.queue.LogDataQueue;
+
+/**
+ * 〈丢弃新日志的溢出策略.〉
+ * <p>
+ * 队列已满时直接丢弃新日志, 调用线程不等待. 默认策略
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class DropNewestOverflowPolicy implements OverflowPolicy {
+    @Override
+    public void enqueue(final LogDataQueue queue, final byte[] data, final String level, final DropAccounting dropAccounting) {
+        queue.enqueue(data);
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * FileName: DropOldestOverflowPolicy
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 移除最早日志的溢出策略.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.overflow;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.queue.LogDataQueue;
+
+/**
+ * 〈移除最早日志的溢出策略.〉
+ * <p>
+ * 队列已满时从队首移除日志为新日志腾出空间, 保留最新的日志. 只适用于出队能释放容量的内存队列
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class DropOldestOverflowPolicy implements OverflowPolicy {
+    // 单条新日志最多移除的旧日志条数, 新日志远大于旧日志时避免清空整个队列
+    private static final int MAX_EVICTIONS = 16;
+
+    @Override
+    public void enqueue(final LogDataQueue queue, final byte[] data, final String level, final DropAccounting dropAccounting) {
+        if (!offerEvictingOldest(queue, data, dropAccounting)) {
+            queue.enqueue(data);
+        }
+    }
+
+    /**
+     * 写入队列, 容量不足时移除队首日志后重试
+     *
+     * @param queue          the queue
+     * @param data           the data
+     * @param dropAccounting the drop accounting
+     * @return true :已写入;  false: 移除若干条后仍无法写入
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:52:10
+     */
+    static boolean offerEvictingOldest(final LogDataQueue queue, final byte[] data, final DropAccounting dropAccounting) {
+        for (int i = 0; i <= MAX_EVICTIONS; i++) {
+            if (queue.offer(data)) {
+                return true;
+            }
+            if (i == MAX_EVICTIONS || queue.isEmpty()) {
+                break;
+            }
+            final byte[] evicted = queue.dequeue();
+            if (evicted == null || evicted.length == 0) {
+                break;
+            }
+            dropAccounting.record(DropReasonEnum.EVICTED, evicted.length);
+        }
+        return false;
+    }
+}
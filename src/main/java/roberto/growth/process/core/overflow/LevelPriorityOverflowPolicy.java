@@ -0,0 +1,58 @@
+/**
+ * FileName: LevelPriorityOverflowPolicy
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 按日志级别优先的溢出策略.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.overflow;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.queue.LogDataQueue;
+import roberto.growth.process.core.utils.LevelUtils;
+
+/**
+ * 〈按日志级别优先的溢出策略.〉
+ * <p>
+ * 队列使用率达到 reserveRatio 后, 低于 priorityLevel 的日志直接舍弃, 剩余空间只留给 priorityLevel 及以上级别.
+ * 队列完全写满时, 高级别日志可以移除队首日志腾出空间(evictOldest)
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class LevelPriorityOverflowPolicy implements OverflowPolicy {
+    private final int priorityRank;
+    private final double reserveRatio;
+    private final boolean evictOldest;
+
+    /**
+     * 构造函数
+     *
+     * @param priorityLevel 优先保留的最低级别, 如 warn
+     * @param reserveRatio  队列使用率达到该比例后开始舍弃低级别日志
+     * @param evictOldest   队列写满时高级别日志是否移除队首日志
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:52:10
+     */
+    public LevelPriorityOverflowPolicy(final String priorityLevel, final double reserveRatio, final boolean evictOldest) {
+        this.priorityRank = LevelUtils.rank(priorityLevel);
+        this.reserveRatio = reserveRatio;
+        this.evictOldest = evictOldest;
+    }
+
+    @Override
+    public void enqueue(final LogDataQueue queue, final byte[] data, final String level, final DropAccounting dropAccounting) {
+        final boolean priority = LevelUtils.rank(level) >= this.priorityRank;
+        if (!priority && queue.fillRatio() >= this.reserveRatio) {
+            dropAccounting.record(DropReasonEnum.SHED, data.length);
+            return;
+        }
+        if (priority && this.evictOldest && DropOldestOverflowPolicy.offerEvictingOldest(queue, data, dropAccounting)) {
+            return;
+        }
+        queue.enqueue(data);
+    }
+}
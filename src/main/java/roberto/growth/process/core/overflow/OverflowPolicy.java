@@ -0,0 +1,35 @@
+/**
+ * FileName: OverflowPolicy
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 队列溢出策略.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.overflow;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.queue.LogDataQueue;
+
+/**
+ * 〈队列溢出策略.〉
+ * <p>
+ * 决定缓冲队列已满(或接近已满)时新日志如何处理, 在调用线程上执行
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public interface OverflowPolicy {
+    /**
+     * 写入队列, 队列容量不足时按策略处理, 被丢弃的日志计入 dropAccounting
+     *
+     * @param queue          the queue
+     * @param data           the data
+     * @param level          日志级别(小写), 可能为null
+     * @param dropAccounting the drop accounting
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:52:10
+     */
+    void enqueue(LogDataQueue queue, byte[] data, String level, DropAccounting dropAccounting);
+}
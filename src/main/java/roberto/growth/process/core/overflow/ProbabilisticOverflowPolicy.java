@@ -0,0 +1,45 @@
+/**
+ * FileName: ProbabilisticOverflowPolicy
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 按比例随机舍弃的溢出策略.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.overflow;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.queue.LogDataQueue;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 〈按比例随机舍弃的溢出策略.〉
+ * <p>
+ * 队列使用率超过 startRatio 后, 新日志的舍弃概率随使用率线性增长, 写满时为100%. 在队列写满之前平滑地降低写入量
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class ProbabilisticOverflowPolicy implements OverflowPolicy {
+    private final double startRatio;
+
+    public ProbabilisticOverflowPolicy(final double startRatio) {
+        this.startRatio = startRatio;
+    }
+
+    @Override
+    public void enqueue(final LogDataQueue queue, final byte[] data, final String level, final DropAccounting dropAccounting) {
+        final double fillRatio = queue.fillRatio();
+        if (fillRatio > this.startRatio) {
+            final double dropProbability = (fillRatio - this.startRatio) / (1D - this.startRatio);
+            if (ThreadLocalRandom.current().nextDouble() < dropProbability) {
+                dropAccounting.record(DropReasonEnum.SHED, data.length);
+                return;
+            }
+        }
+        queue.enqueue(data);
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * FileName: AcknowledgedQueue
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 支持确认消费位置的队列.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue;
+
+/**
+ * 〈支持确认消费位置的队列.〉
+ * <p>
+ * 出队只移动读位置, 记录仍保留在队列中, 调用方确认记录已送达后提交位置, 提交前的位置持久化, 重启后从已提交位置继续出队.
+ * 发送失败时回退到已提交位置重新出队, 同一条记录可能被发送多次(至少一次)
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public interface AcknowledgedQueue {
+    /**
+     * 不支持确认时 {@link #readPosition()} 的返回值
+     */
+    long NO_POSITION = -1L;
+
+    /**
+     * 已出队记录之后的位置, 提交该位置表示此前出队的记录都已送达
+     *
+     * @return 位置, 不支持确认时返回 {@link #NO_POSITION}
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    long readPosition();
+
+    /**
+     * 提交位置, 小于已提交位置时忽略
+     *
+     * @param position {@link #readPosition()} 返回的位置
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    void commit(long position);
+
+    /**
+     * 读位置回退到已提交位置, 尚未确认的记录将重新出队
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    void rewind();
+
+    /**
+     * 最近一次 drainTo 取出的记录中不支持确认的条数(来自内存通道), 这些记录排在取出结果的开头, 回退后不会重新出队
+     *
+     * @return the int
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    int untrackedDrainedCount();
+}
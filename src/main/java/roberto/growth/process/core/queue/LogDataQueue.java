@@ -10,6 +10,7 @@
 package roberto.growth.process.core.queue;
 
 import java.io.Closeable;
+import java.util.List;
 
 /**
  * 〈日志数据队列.〉
@@ -27,6 +28,25 @@ public interface LogDataQueue extends Closeable {
      */
     void enqueue(byte[] data);
 
+    /**
+     * 尝试写入队列, 容量不足时不写入也不计入丢弃统计, 由调用方的溢出策略处理
+     *
+     * @param data the data
+     * @return true :已写入;  false: 容量不足
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:40:18
+     */
+    boolean offer(byte[] data);
+
+    /**
+     * 队列使用率, 取各项容量限制中最高的比例, 未限制容量时返回0
+     *
+     * @return 0.0 ~ 1.0
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:40:18
+     */
+    double fillRatio();
+
     /**
      * 弹出队列
      *
@@ -36,6 +56,20 @@ public interface LogDataQueue extends Closeable {
      */
     byte[] dequeue();
 
+    /**
+     * 批量弹出队列, 一次性取走不超过 maxRecords 条且总大小不超过 maxBytes 的记录
+     * <p>
+     * 单条记录超过 maxBytes 时仍会被单独取出, 避免阻塞队列
+     *
+     * @param container  调用方提供的可复用容器, 取出的记录按队列顺序追加到末尾
+     * @param maxRecords 最大条数
+     * @param maxBytes   最大字节数
+     * @return 实际取出的条数
+     * @author HuangTaiHong
+     * @since 2026.10.18 13:05:12
+     */
+    int drainTo(List<byte[]> container, int maxRecords, long maxBytes);
+
     /**
      * 队列是否为空
      *
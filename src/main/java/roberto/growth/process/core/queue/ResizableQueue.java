@@ -0,0 +1,38 @@
+/**
+ * FileName: ResizableQueue
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 支持运行时调整容量的队列.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue;
+
+/**
+ * 〈支持运行时调整容量的队列.〉
+ * <p>
+ * 调整只影响之后的入队判断, 已在队列中的日志不会因容量调小而被丢弃
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public interface ResizableQueue {
+    /**
+     * 调整字节数上限
+     *
+     * @param capacityInBytes 上限, -1:不限制
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    void setCapacityInBytes(long capacityInBytes);
+
+    /**
+     * 调整日志条数上限
+     *
+     * @param logCountLimit 上限, -1:不限制
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    void setLogCountLimit(long logCountLimit);
+}
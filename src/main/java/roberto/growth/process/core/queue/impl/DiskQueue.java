@@ -9,53 +9,180 @@
  */
 package roberto.growth.process.core.queue.impl;
 
-import com.bluejeans.bigqueue.BigQueue;
+import roberto.growth.process.core.DropAccounting;
 import roberto.growth.process.core.LogSender;
 import roberto.growth.process.core.SenderStatusReporter;
+import roberto.growth.process.core.compress.CompressionCodec;
+import roberto.growth.process.core.compress.CompressionCodecs;
+import roberto.growth.process.core.enums.DropReasonEnum;
 import roberto.growth.process.core.exception.LogParameterErrorException;
+import roberto.growth.process.core.queue.AcknowledgedQueue;
 import roberto.growth.process.core.queue.LogDataQueue;
+import roberto.growth.process.core.queue.log.SegmentedLog;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 〈磁盘Queue.〉
+ * <p>
+ * 数据存放在 queueDir 下的 {@link SegmentedLog} 段文件中. 出队不删除数据, 调用方确认送达后 {@link #commit(long)},
+ * 提交位置越过的段达到 reclaimThresholdSegments 时立即提交回收任务整段删除, 定时任务按 gcQueueDataIntervalMs 兜底, 重启后从提交位置继续出队.
+ * 旧版本BigQueue留在 queueDir 中尚未出队的数据在首次打开时按顺序迁移到段文件, 刷盘后删除旧目录; 迁移中途进程退出时下次启动重新迁移, 已迁移的部分会重复发送.
+ * <p>
+ * 写入准入按队列自身占用的磁盘字节数判断: 达到 capacityInBytes 后拒绝写入, 回落到低水位(lowWatermarkPercent)以下才恢复, 避免在边界反复切换.
+ * 文件系统使用率由后台任务定期检查, 作为兜底, 同样在回落若干百分点后才恢复.
+ * <p>
+ * 启用分段压缩后, 写入的记录先在内存中聚合, 达到 segmentSizeBytes 或分段中第一条记录等待超过 segmentLingerMs 时整段压缩为一条日志文件记录:
+ * marker(byte) + compression(byte) + recordCount(int) + originalLength(int) + 压缩后的 [recordLength(int) + record]...
+ * <p>
+ * 消费速度跟得上时, 尚未落盘的分段直接被取走, 不经过压缩. 尚未写入日志文件的记录在进程崩溃时会丢失, 最长为 segmentLingerMs
+ * (加上后台任务的调度延迟); 已直接取走、尚未确认的分段同样只在内存中, 崩溃时一起丢失. 写入日志文件后进程崩溃不丢失, 掉电时还取决于按 gcQueueDataIntervalMs 的刷盘.
+ * 一个分段只有全部出队后才计入读位置, 部分出队时崩溃整段重新发送
+ * <p>
+ * 直接取走的分段在确认前保留在内存中, 并记下取走时的日志文件读位置: 回退后读到该位置时先于之后的日志重新出队, 关闭时写回日志文件.
+ * 压缩模式下 {@link #readPosition()} 返回的是位置编号, 对应(日志文件读位置, 已全部出队的内存分段), 回退后之前返回的编号失效
  *
  * @author HuangTaiHong
  * @since 2019-11-11
  */
-public class DiskQueue implements LogDataQueue {
+public class DiskQueue implements LogDataQueue, AcknowledgedQueue {
+    /**
+     * 默认低水位: 占用回落到上限的90%以下才恢复写入
+     */
+    public static final int DEFAULT_LOW_WATERMARK_PERCENT = 90;
+
+    /**
+     * 默认分段停留时间: 压缩模式下未满的分段最多在内存中等待200ms后写入日志文件
+     */
+    public static final long DEFAULT_SEGMENT_LINGER_MS = 200L;
+
+    /**
+     * 压缩分段首字节, JSON记录以'{'开头, 二进制记录以0xB1开头
+     */
+    private static final byte SEGMENT_MARKER = (byte) 0xC5;
+    // marker + compression + recordCount + originalLength
+    private static final int SEGMENT_HEADER_LENGTH = 1 + 1 + 4 + 4;
+    private static final int RECORD_HEADER_LENGTH = 4;
+    // 日志文件单个段文件的大小
+    private static final int LOG_SEGMENT_SIZE_BYTES = 32 * 1024 * 1024;
+    // 默认提交位置越过一个段即回收
+    private static final int DEFAULT_RECLAIM_THRESHOLD_SEGMENTS = 1;
+    // 文件系统使用率超过阈值后, 需回落到 阈值 - 该百分点 以下才恢复写入
+    private static final int FS_PERCENT_HYSTERESIS = 2;
+
     public static DiskQueue.Builder builder(final LogSender.Builder context, final ScheduledExecutorService diskSpaceTasks) {
         return new DiskQueue.Builder(context, diskSpaceTasks);
     }
 
-    private final BigQueue logDataQueue;
+    private final SegmentedLog logDataQueue;
 
     private final File queueDir;
-    private final int fsPercentThreshold;
+    private volatile int fsPercentThreshold;
     private volatile boolean isEnoughSpace;
-    private final boolean dontCheckEnoughDiskSpace;
+    // 最近一次检查得到的磁盘使用率
+    private volatile int usedFsPercent;
+    private volatile boolean dontCheckEnoughDiskSpace;
     private final SenderStatusReporter senderStatusReporter;
+    private final DropAccounting dropAccounting;
+
+    // 占用字节数上限及恢复写入的低水位, capacityInBytes为-1时不限制
+    private volatile long capacityInBytes;
+    private volatile long lowWatermarkBytes;
+    private volatile boolean withinCapacity = true;
+
+    // 消费驱动的回收: 等待删除的段数达到阈值时提交回收任务, 同一时刻只有一个待执行的回收任务
+    private final ScheduledExecutorService diskSpaceTasks;
+    private final int reclaimThresholdSegments;
+    private final AtomicBoolean reclaimScheduled = new AtomicBoolean();
+    private final Runnable reclaimTask = new Runnable() {
+        @Override
+        public void run() {
+            DiskQueue.this.reclaimScheduled.set(false);
+            DiskQueue.this.reclaimQueueData();
+        }
+    };
+
+    // 压缩模式下已展开但尚未出队的记录, 下次出队时优先返回. 以下字段都由carryOverRecords的锁保护
+    private final Deque<byte[]> carryOverRecords = new ArrayDeque<>();
+    // carryOverRecords是否来自日志文件, 以及展开前的读位置; 来自内存分段时carryOverSegment为该分段
+    private boolean carryOverFromLog;
+    private long carryOverStartPosition;
+    private TakenSegment carryOverSegment;
+    // 直接从内存取走、尚未确认的分段, 按取走顺序排列
+    private final Deque<TakenSegment> unacknowledgedSegments = new ArrayDeque<>();
+    private long takenSegmentSequence;
+    // 已全部出队和已确认的内存分段序号
+    private long deliveredSegmentSequence;
+    private long acknowledgedSegmentSequence;
+    // 已返回的位置编号: [编号, 日志文件读位置, 已全部出队的内存分段序号], 编号递增
+    private final Deque<long[]> positionMarks = new ArrayDeque<>();
+    private long positionSequence;
+
+    // 分段压缩, compressionCodec为null时不压缩
+    private final CompressionCodec compressionCodec;
+    private final int segmentSizeBytes;
+    private final long segmentLingerMs;
+    private final Object segmentLock = new Object();
+    private List<byte[]> pendingSegment = new ArrayList<>();
+    private int pendingSegmentBytes;
+    private volatile int pendingSegmentCount;
+    // 当前分段必须写入日志文件的时间, 由segmentLock保护
+    private long pendingSegmentDeadlineMs;
+    // 分段停留超时的写入任务, 同一时刻只有一个待执行的任务
+    private final AtomicBoolean lingerFlushScheduled = new AtomicBoolean();
+    private final Runnable lingerFlushTask = new Runnable() {
+        @Override
+        public void run() {
+            DiskQueue.this.lingerFlushScheduled.set(false);
+            DiskQueue.this.flushLingeringSegment();
+        }
+    };
 
     public DiskQueue(final File queueDir, final boolean dontCheckEnoughDiskSpace, final int fsPercentThreshold, final int gcQueueDataIntervalMs, final SenderStatusReporter senderStatusReporter, final int checkDiskSpaceInterval, final ScheduledExecutorService diskSpaceTasks) throws LogParameterErrorException {
+        this(queueDir, dontCheckEnoughDiskSpace, fsPercentThreshold, gcQueueDataIntervalMs, senderStatusReporter, checkDiskSpaceInterval, diskSpaceTasks, null, 0, DEFAULT_SEGMENT_LINGER_MS, new DropAccounting(senderStatusReporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS), DEFAULT_RECLAIM_THRESHOLD_SEGMENTS, -1L, DEFAULT_LOW_WATERMARK_PERCENT);
+    }
+
+    public DiskQueue(final File queueDir, final boolean dontCheckEnoughDiskSpace, final int fsPercentThreshold, final int gcQueueDataIntervalMs, final SenderStatusReporter senderStatusReporter, final int checkDiskSpaceInterval, final ScheduledExecutorService diskSpaceTasks, final CompressionCodec compressionCodec, final int segmentSizeBytes, final long segmentLingerMs, final DropAccounting dropAccounting, final int reclaimThresholdSegments, final long capacityInBytes, final int lowWatermarkPercent) throws LogParameterErrorException {
         this.queueDir = queueDir;
         this.senderStatusReporter = senderStatusReporter;
+        this.dropAccounting = dropAccounting;
+        this.capacityInBytes = capacityInBytes;
+        this.lowWatermarkBytes = capacityInBytes < 0 ? -1L : capacityInBytes * lowWatermarkPercent / 100;
+        this.diskSpaceTasks = diskSpaceTasks;
+        this.reclaimThresholdSegments = Math.max(1, reclaimThresholdSegments);
+        this.compressionCodec = compressionCodec;
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.segmentLingerMs = segmentLingerMs;
         this.validateParameters();
         final String dir = queueDir.getAbsoluteFile().getParent();
         final String queueDirName = queueDir.getName();
         if (dir != null && !queueDirName.isEmpty()) {
-            this.logDataQueue = new BigQueue(dir, queueDirName);
+            try {
+                this.logDataQueue = new SegmentedLog(queueDir, LOG_SEGMENT_SIZE_BYTES, senderStatusReporter, dropAccounting);
+            } catch (IOException e) {
+                throw new LogParameterErrorException(String.format("queueDir cannot be opened: %s, %s", queueDir.getAbsolutePath(), e.getMessage()));
+            }
+            this.migrateLegacyLayout();
             this.dontCheckEnoughDiskSpace = dontCheckEnoughDiskSpace;
             this.fsPercentThreshold = fsPercentThreshold;
             this.isEnoughSpace = true;
             diskSpaceTasks.scheduleWithFixedDelay(new Runnable() {
                 @Override
                 public void run() {
-                    DiskQueue.this.gcBigQueue();
+                    DiskQueue.this.gcQueueData();
                 }
-            }, 0L, gcQueueDataIntervalMs, TimeUnit.SECONDS);
+            }, 0L, gcQueueDataIntervalMs, TimeUnit.MILLISECONDS);
 
             diskSpaceTasks.scheduleWithFixedDelay(new Runnable() {
                 @Override
@@ -68,11 +195,108 @@ public class DiskQueue implements LogDataQueue {
         }
     }
 
-    void gcBigQueue() {
+    /**
+     * 将queueDir中残留的旧版本BigQueue数据按顺序迁移到段文件, 刷盘后删除旧目录. 读取失败时保留旧目录并告警, 已迁移的记录照常发送
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 04:30:15
+     */
+    private void migrateLegacyLayout() {
+        final List<String> legacyFolders = LegacyBigQueueReader.existingFolders(this.queueDir);
+        if (legacyFolders.isEmpty()) {
+            return;
+        }
+        long migratedCount = 0L;
+        try {
+            final LegacyBigQueueReader reader = new LegacyBigQueueReader(this.queueDir);
+            try {
+                byte[] data;
+                while ((data = reader.next()) != null) {
+                    this.write(data);
+                    migratedCount++;
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            this.gcQueueData();
+            this.senderStatusReporter.warn(String.format("旧版本BigQueue的数据迁移失败, 保留旧目录: 路径:%s, 目录:%s, 已迁移:%d条. 下次启动会重新迁移, 已迁移的部分会重复发送", this.queueDir.getAbsolutePath(), legacyFolders, migratedCount), e);
+            return;
+        }
+        // 迁移的记录刷盘后才删除旧数据
+        this.gcQueueData();
+        if (!LegacyBigQueueReader.deleteFolders(this.queueDir)) {
+            this.senderStatusReporter.warn(String.format("旧版本BigQueue的目录删除失败, 下次启动会重新迁移: 路径:%s, 目录:%s", this.queueDir.getAbsolutePath(), legacyFolders));
+            return;
+        }
+        this.senderStatusReporter.info(String.format("已迁移旧版本BigQueue的数据: 路径:%s, 迁移:%d条", this.queueDir.getAbsolutePath(), migratedCount));
+    }
+
+    void gcQueueData() {
         try {
-            this.logDataQueue.gc();
+            this.flushPendingSegment();
+            this.logDataQueue.maintain();
         } catch (Exception e) {
-            this.senderStatusReporter.error("Uncaught error from BigQueue.gc()", e);
+            this.senderStatusReporter.error("Uncaught error from gcQueueData()", e);
+        }
+    }
+
+    /**
+     * 压缩模式下立即将未满的分段写入日志文件, 并刷新提交位置
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    public void flush() {
+        this.gcQueueData();
+    }
+
+    /**
+     * 运行时调整文件系统使用率阈值, 立即按新阈值检查一次
+     *
+     * @param fsPercentThreshold 1 ~ 100, -1:不检查
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    public void setFsPercentThreshold(final int fsPercentThreshold) {
+        if (fsPercentThreshold == -1) {
+            this.dontCheckEnoughDiskSpace = true;
+            this.fsPercentThreshold = fsPercentThreshold;
+            this.isEnoughSpace = true;
+            return;
+        }
+        this.fsPercentThreshold = fsPercentThreshold;
+        this.dontCheckEnoughDiskSpace = false;
+        this.validateEnoughSpace();
+    }
+
+    /**
+     * 运行时调整占用字节数上限, 下次写入时按新上限判断
+     *
+     * @param capacityInBytes     上限, -1:不限制
+     * @param lowWatermarkPercent 低水位, 上限的百分比
+     * @author HuangTaiHong
+     * @since 2026.10.18 03:55:40
+     */
+    public void setCapacity(final long capacityInBytes, final int lowWatermarkPercent) {
+        this.lowWatermarkBytes = capacityInBytes < 0 ? -1L : capacityInBytes * lowWatermarkPercent / 100;
+        this.capacityInBytes = capacityInBytes;
+        if (capacityInBytes < 0) {
+            this.withinCapacity = true;
+        }
+    }
+
+    /**
+     * 消费驱动的回收: 只删除提交位置越过的段并预分配下一个段, 不触发压缩分段落盘
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 02:05:30
+     */
+    void reclaimQueueData() {
+        try {
+            this.logDataQueue.maintain();
+        } catch (Exception e) {
+            this.senderStatusReporter.error("Uncaught error from reclaimQueueData()", e);
         }
     }
 
@@ -83,13 +307,14 @@ public class DiskQueue implements LogDataQueue {
             }
             // 得到当前磁盘使用率
             final int actualUsedFsPercent = 100 - (int) ((double) this.queueDir.getUsableSpace() / (double) this.queueDir.getTotalSpace() * 100.00);
-            // 是否超过预设阈值
+            this.usedFsPercent = actualUsedFsPercent;
+            // 是否超过预设阈值, 超过后需回落到阈值以下若干百分点才恢复
             if (actualUsedFsPercent >= this.fsPercentThreshold) {
                 if (this.isEnoughSpace) {
                     this.senderStatusReporter.warn(String.format("磁盘空间紧张,路径:%s, 已经使用:%d 百分百, 当前设置的阈值: %d 百分百", this.queueDir.getAbsolutePath(), actualUsedFsPercent, this.fsPercentThreshold));
                 }
                 this.isEnoughSpace = false;
-            } else {
+            } else if (actualUsedFsPercent < this.fsPercentThreshold - FS_PERCENT_HYSTERESIS) {
                 this.isEnoughSpace = true;
             }
         } catch (Exception e) {
@@ -102,32 +327,528 @@ public class DiskQueue implements LogDataQueue {
             throw new LogParameterErrorException("queueDir不能为空");
         } else if (this.senderStatusReporter == null) {
             throw new LogParameterErrorException("reporter不能为空");
+        } else if (this.compressionCodec != null && this.segmentSizeBytes < 1) {
+            throw new LogParameterErrorException("segmentSizeBytes", "必须大于0");
+        } else if (this.compressionCodec != null && this.segmentLingerMs < 1) {
+            throw new LogParameterErrorException("segmentLingerMs", "必须大于0");
         }
     }
 
     @Override
     public boolean isEmpty() {
-        return logDataQueue.isEmpty();
+        synchronized (this.carryOverRecords) {
+            if (!this.carryOverRecords.isEmpty() || this.nextRedeliverySegment() != null) {
+                return false;
+            }
+        }
+        return logDataQueue.isEmpty() && this.pendingSegmentCount == 0;
     }
 
     @Override
     public void enqueue(final byte[] data) {
-        if (this.isEnoughSpace) {
-            this.logDataQueue.enqueue(data);
+        final DropReasonEnum dropReason = this.tryWrite(data);
+        if (dropReason != null) {
+            this.dropAccounting.record(dropReason, data.length);
         }
     }
 
+    @Override
+    public boolean offer(final byte[] data) {
+        return this.tryWrite(data) == null;
+    }
+
+    /**
+     * 空间足够时写入, 否则返回拒绝写入的原因: 磁盘使用率超过阈值为 DISK_THRESHOLD, 占用达到字节数上限为 BYTE_LIMIT
+     *
+     * @param data the data
+     * @return 已写入时返回null
+     * @author HuangTaiHong
+     * @since 2026.10.18 02:40:20
+     */
+    DropReasonEnum tryWrite(final byte[] data) {
+        if (!this.isEnoughSpace) {
+            return DropReasonEnum.DISK_THRESHOLD;
+        } else if (!this.isWithinCapacity()) {
+            return DropReasonEnum.BYTE_LIMIT;
+        }
+        this.write(data);
+        return null;
+    }
+
+    /**
+     * 占用字节数是否在上限内: 达到上限后拒绝写入, 回落到低水位后恢复
+     *
+     * @return the boolean
+     * @author HuangTaiHong
+     * @since 2026.10.18 02:40:20
+     */
+    private boolean isWithinCapacity() {
+        if (this.capacityInBytes < 0) {
+            return true;
+        }
+        final long footprintBytes = this.logDataQueue.footprintBytes();
+        if (this.withinCapacity) {
+            if (footprintBytes >= this.capacityInBytes) {
+                this.withinCapacity = false;
+                this.senderStatusReporter.warn(String.format("文件队列占用达到上限, 暂停写入: 路径:%s, 已占用:%d, 上限:%d, 低于%d后恢复", this.queueDir.getAbsolutePath(), footprintBytes, this.capacityInBytes, this.lowWatermarkBytes));
+            }
+        } else if (footprintBytes <= this.lowWatermarkBytes) {
+            this.withinCapacity = true;
+            this.senderStatusReporter.info(String.format("文件队列占用回落, 恢复写入: 路径:%s, 已占用:%d", this.queueDir.getAbsolutePath(), footprintBytes));
+        }
+        return this.withinCapacity;
+    }
+
+    /**
+     * 磁盘使用率相对阈值的比例, 磁盘空间由后台任务定期检查
+     *
+     * @return the double
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:40:18
+     */
+    @Override
+    public double fillRatio() {
+        double fillRatio = 0D;
+        if (!this.dontCheckEnoughDiskSpace && this.fsPercentThreshold > 0) {
+            fillRatio = this.isEnoughSpace ? Math.min(1D, (double) this.usedFsPercent / this.fsPercentThreshold) : 1D;
+        }
+        if (this.capacityInBytes > 0) {
+            fillRatio = Math.max(fillRatio, this.withinCapacity ? Math.min(1D, (double) this.logDataQueue.footprintBytes() / this.capacityInBytes) : 1D);
+        }
+        return fillRatio;
+    }
+
+    private void write(final byte[] data) {
+        if (this.compressionCodec == null) {
+            this.append(data);
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final boolean segmentOpened;
+        synchronized (this.segmentLock) {
+            segmentOpened = this.pendingSegment.isEmpty();
+            if (segmentOpened) {
+                this.pendingSegmentDeadlineMs = now + this.segmentLingerMs;
+            }
+            this.pendingSegment.add(data);
+            this.pendingSegmentBytes += RECORD_HEADER_LENGTH + data.length;
+            this.pendingSegmentCount++;
+            if (this.pendingSegmentBytes >= this.segmentSizeBytes || now >= this.pendingSegmentDeadlineMs) {
+                this.writePendingSegment();
+                return;
+            }
+        }
+        if (segmentOpened) {
+            this.scheduleLingerFlush(this.segmentLingerMs);
+        }
+    }
+
+    /**
+     * 没有新的写入时由后台任务在停留超时后写入分段
+     */
+    private void scheduleLingerFlush(final long delayMs) {
+        if (!this.lingerFlushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.diskSpaceTasks.schedule(this.lingerFlushTask, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 关闭过程中, 由close()写入
+            this.lingerFlushScheduled.set(false);
+        }
+    }
+
+    private void flushLingeringSegment() {
+        final long remainingMs;
+        synchronized (this.segmentLock) {
+            if (this.pendingSegment.isEmpty()) {
+                return;
+            }
+            remainingMs = this.pendingSegmentDeadlineMs - System.currentTimeMillis();
+            if (remainingMs <= 0) {
+                try {
+                    this.writePendingSegment();
+                } catch (Exception e) {
+                    this.senderStatusReporter.error("Uncaught error from flushLingeringSegment()", e);
+                }
+                return;
+            }
+        }
+        // 上一个分段已写入, 当前分段尚未超时
+        this.scheduleLingerFlush(remainingMs);
+    }
+
     @Override
     public byte[] dequeue() {
-        return this.logDataQueue.dequeue();
+        if (this.compressionCodec == null) {
+            final List<byte[]> items = new ArrayList<>(1);
+            return this.logDataQueue.read(items, 1, Long.MAX_VALUE) > 0 ? items.get(0) : null;
+        }
+        synchronized (this.carryOverRecords) {
+            if (this.carryOverRecords.isEmpty() && !this.refillCarryOverRecords()) {
+                return null;
+            }
+            return this.carryOverRecords.pollFirst();
+        }
+    }
+
+    @Override
+    public int drainTo(final List<byte[]> container, final int maxRecords, final long maxBytes) {
+        if (this.compressionCodec == null) {
+            return this.logDataQueue.read(container, maxRecords, maxBytes);
+        }
+        synchronized (this.carryOverRecords) {
+            int drainedCount = 0;
+            long drainedBytes = 0L;
+            while (true) {
+                while (drainedCount < maxRecords && !this.carryOverRecords.isEmpty()) {
+                    final byte[] record = this.carryOverRecords.peekFirst();
+                    if (drainedCount > 0 && drainedBytes + record.length > maxBytes) {
+                        return drainedCount;
+                    }
+                    container.add(this.carryOverRecords.pollFirst());
+                    drainedCount++;
+                    drainedBytes += record.length;
+                }
+                if (drainedCount == maxRecords || !this.refillCarryOverRecords()) {
+                    return drainedCount;
+                }
+            }
+        }
+    }
+
+    /**
+     * 读位置, 压缩分段尚未全部出队时取该分段之前的位置. 压缩模式下返回位置编号
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    @Override
+    public long readPosition() {
+        if (this.compressionCodec == null) {
+            return this.logDataQueue.readPosition();
+        }
+        synchronized (this.carryOverRecords) {
+            long segmentSequence = this.deliveredSegmentSequence;
+            final long logPosition;
+            if (this.carryOverRecords.isEmpty()) {
+                if (this.carryOverSegment != null) {
+                    segmentSequence = this.carryOverSegment.sequence;
+                }
+                logPosition = this.logDataQueue.readPosition();
+            } else {
+                logPosition = this.carryOverFromLog ? this.carryOverStartPosition : this.logDataQueue.readPosition();
+            }
+            final long[] last = this.positionMarks.peekLast();
+            if (last != null && last[1] == logPosition && last[2] == segmentSequence) {
+                return last[0];
+            }
+            this.positionMarks.addLast(new long[]{++this.positionSequence, logPosition, segmentSequence});
+            return this.positionSequence;
+        }
+    }
+
+    /**
+     * 提交位置, 压缩模式下同时释放已确认的内存分段
+     *
+     * @param position {@link #readPosition()} 返回的位置
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    @Override
+    public void commit(final long position) {
+        if (this.compressionCodec == null) {
+            this.commitLog(position);
+            return;
+        }
+        final long logPosition;
+        synchronized (this.carryOverRecords) {
+            long[] mark = null;
+            while (!this.positionMarks.isEmpty() && this.positionMarks.peekFirst()[0] <= position) {
+                mark = this.positionMarks.pollFirst();
+            }
+            if (mark == null) {
+                return;
+            }
+            logPosition = mark[1];
+            if (mark[2] > this.acknowledgedSegmentSequence) {
+                this.acknowledgedSegmentSequence = mark[2];
+                while (!this.unacknowledgedSegments.isEmpty() && this.unacknowledgedSegments.peekFirst().sequence <= mark[2]) {
+                    this.unacknowledgedSegments.pollFirst();
+                }
+            }
+        }
+        this.commitLog(logPosition);
+    }
+
+    private void commitLog(final long position) {
+        this.logDataQueue.commit(position);
+        if (this.logDataQueue.reclaimableSegmentCount() >= this.reclaimThresholdSegments && this.reclaimScheduled.compareAndSet(false, true)) {
+            try {
+                this.diskSpaceTasks.execute(this.reclaimTask);
+            } catch (RejectedExecutionException e) {
+                // 关闭过程中, 由close()完成回收
+                this.reclaimScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * 已消费确认、等待删除的段文件字节数
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 02:05:30
+     */
+    public long getReclaimableBytes() {
+        return this.logDataQueue.reclaimableBytes();
+    }
+
+    /**
+     * 尚未确认的数据在段文件中占用的字节数, 不含内存中未落盘的压缩分段
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 02:05:30
+     */
+    public long getLiveBytes() {
+        return this.logDataQueue.liveBytes();
+    }
+
+    public int getSegmentCount() {
+        return this.logDataQueue.segmentCount();
+    }
+
+    /**
+     * 队列占用的磁盘字节数, 用于写入准入
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 02:40:20
+     */
+    public long getFootprintBytes() {
+        return this.logDataQueue.footprintBytes();
+    }
+
+    /**
+     * 压缩模式下直接取走的内存分段同样在回退后重新出队, 所有记录都支持确认
+     */
+    @Override
+    public int untrackedDrainedCount() {
+        return 0;
+    }
+
+    /**
+     * 回退到已提交位置: 日志文件重新读取, 尚未确认的内存分段读到取走时的位置后重新出队
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    @Override
+    public void rewind() {
+        synchronized (this.carryOverRecords) {
+            this.carryOverRecords.clear();
+            this.carryOverSegment = null;
+            this.positionMarks.clear();
+            this.deliveredSegmentSequence = this.acknowledgedSegmentSequence;
+            this.logDataQueue.rewind();
+        }
     }
 
     @Override
     public void close() throws IOException {
-        this.gcBigQueue();
+        synchronized (this.carryOverRecords) {
+            this.carryOverRecords.clear();
+            this.carryOverSegment = null;
+            this.returnUnacknowledgedSegments();
+        }
+        this.gcQueueData();
         this.logDataQueue.close();
     }
 
+    /**
+     * 关闭时尚未确认的内存分段放回待落盘分段的开头, 随后一起写入日志文件, 下次启动重新发送.
+     * 这些记录排在关闭前已落盘的日志之后, 调用方需持有carryOverRecords的锁
+     */
+    private void returnUnacknowledgedSegments() {
+        if (this.unacknowledgedSegments.isEmpty()) {
+            return;
+        }
+        final List<byte[]> records = new ArrayList<>();
+        TakenSegment segment;
+        while ((segment = this.unacknowledgedSegments.pollFirst()) != null) {
+            records.addAll(segment.records);
+        }
+        synchronized (this.segmentLock) {
+            for (byte[] record : records) {
+                this.pendingSegmentBytes += RECORD_HEADER_LENGTH + record.length;
+            }
+            records.addAll(this.pendingSegment);
+            this.pendingSegment = records;
+            this.pendingSegmentCount = records.size();
+        }
+    }
+
+    /**
+     * 回退后第一个需要重新出队的内存分段, 调用方需持有carryOverRecords的锁
+     */
+    private TakenSegment nextRedeliverySegment() {
+        for (TakenSegment segment : this.unacknowledgedSegments) {
+            if (segment.sequence > this.deliveredSegmentSequence) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 从日志文件(或尚未落盘的分段)取出数据放入carryOverRecords, 调用方需持有carryOverRecords的锁
+     * <p>
+     * 压缩模式下每条数据是一个分段, 每次只取一个分段并在这里展开
+     *
+     * @return true :取到了数据;  false: 队列为空
+     */
+    private boolean refillCarryOverRecords() {
+        if (this.carryOverSegment != null) {
+            this.deliveredSegmentSequence = this.carryOverSegment.sequence;
+            this.carryOverSegment = null;
+        }
+        this.carryOverStartPosition = this.logDataQueue.readPosition();
+        // 回退后日志文件读到内存分段取走时的位置, 先重新发送该分段
+        final TakenSegment redelivery = this.nextRedeliverySegment();
+        if (redelivery != null && redelivery.position <= this.carryOverStartPosition) {
+            this.carryOverFromLog = false;
+            this.carryOverSegment = redelivery;
+            this.carryOverRecords.addAll(redelivery.records);
+            return true;
+        }
+        this.carryOverFromLog = true;
+        List<byte[]> items = new ArrayList<>(1);
+        this.logDataQueue.read(items, 1, Long.MAX_VALUE);
+        if (items.isEmpty()) {
+            items = this.takePendingSegment();
+            if (items.isEmpty()) {
+                return false;
+            }
+        }
+        for (byte[] item : items) {
+            if (item.length > 0 && item[0] == SEGMENT_MARKER) {
+                try {
+                    this.carryOverRecords.addAll(this.readSegment(item));
+                } catch (IOException e) {
+                    this.senderStatusReporter.error(String.format("压缩分段损坏, 丢弃%d字节", item.length), e);
+                }
+            } else {
+                this.carryOverRecords.addLast(item);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 日志文件已取空时直接取走内存中尚未落盘的分段
+     */
+    private List<byte[]> takePendingSegment() {
+        if (this.pendingSegmentCount == 0) {
+            return Collections.emptyList();
+        }
+        synchronized (this.segmentLock) {
+            // 持有segmentLock时不会有新分段落盘, 再次确认日志文件为空以保证顺序
+            if (this.pendingSegment.isEmpty() || !this.logDataQueue.isEmpty()) {
+                final List<byte[]> items = new ArrayList<>(1);
+                this.logDataQueue.read(items, 1, Long.MAX_VALUE);
+                return items;
+            }
+            this.carryOverFromLog = false;
+            final List<byte[]> segment = this.pendingSegment;
+            this.pendingSegment = new ArrayList<>();
+            this.pendingSegmentBytes = 0;
+            this.pendingSegmentCount = 0;
+            this.carryOverSegment = new TakenSegment(++this.takenSegmentSequence, this.logDataQueue.readPosition(), segment);
+            this.unacknowledgedSegments.addLast(this.carryOverSegment);
+            return segment;
+        }
+    }
+
+    private void flushPendingSegment() {
+        if (this.compressionCodec == null || this.pendingSegmentCount == 0) {
+            return;
+        }
+        synchronized (this.segmentLock) {
+            if (!this.pendingSegment.isEmpty()) {
+                this.writePendingSegment();
+            }
+        }
+    }
+
+    /**
+     * 压缩当前分段并写入日志文件, 调用方需持有segmentLock
+     */
+    private void writePendingSegment() {
+        final ByteBuffer segment = ByteBuffer.allocate(this.pendingSegmentBytes);
+        for (byte[] record : this.pendingSegment) {
+            segment.putInt(record.length);
+            segment.put(record);
+        }
+        final byte[] compressed = this.compressionCodec.compress(segment.array(), 0, segment.position());
+        final ByteBuffer item = ByteBuffer.allocate(SEGMENT_HEADER_LENGTH + compressed.length);
+        item.put(SEGMENT_MARKER);
+        item.put(this.compressionCodec.getType().getId());
+        item.putInt(this.pendingSegment.size());
+        item.putInt(segment.position());
+        item.put(compressed);
+        this.append(item.array());
+        this.pendingSegment.clear();
+        this.pendingSegmentBytes = 0;
+        this.pendingSegmentCount = 0;
+    }
+
+    private void append(final byte[] data) {
+        if (!this.logDataQueue.append(data)) {
+            this.dropAccounting.record(DropReasonEnum.BYTE_LIMIT, data.length);
+        }
+    }
+
+    private List<byte[]> readSegment(final byte[] item) throws IOException {
+        if (item.length < SEGMENT_HEADER_LENGTH) {
+            throw new IOException("压缩分段头不完整");
+        }
+        final ByteBuffer header = ByteBuffer.wrap(item);
+        header.get();
+        final CompressionCodec codec = CompressionCodecs.forDecompression(header.get());
+        final int recordCount = header.getInt();
+        final int originalLength = header.getInt();
+        final ByteBuffer segment = ByteBuffer.wrap(codec.decompress(item, SEGMENT_HEADER_LENGTH, item.length - SEGMENT_HEADER_LENGTH, originalLength));
+        final List<byte[]> records = new ArrayList<>(recordCount);
+        try {
+            for (int i = 0; i < recordCount; i++) {
+                final byte[] record = new byte[segment.getInt()];
+                segment.get(record);
+                records.add(record);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("压缩分段内容不完整", e);
+        }
+        return records;
+    }
+
+    /**
+     * 直接从内存取走的分段
+     */
+    private static final class TakenSegment {
+        private final long sequence;
+        // 取走时的日志文件读位置, 之前的日志都早于该分段
+        private final long position;
+        private final List<byte[]> records;
+
+        private TakenSegment(final long sequence, final long position, final List<byte[]> records) {
+            this.sequence = sequence;
+            this.position = position;
+            this.records = records;
+        }
+    }
+
     public static class Builder {
         private boolean dontCheckEnoughDiskSpace = false;
         private int fsPercentThreshold;
@@ -136,6 +857,13 @@ public class DiskQueue implements LogDataQueue {
         private File queueDir;
         private SenderStatusReporter reporter;
         private ScheduledExecutorService diskSpaceTasks;
+        private CompressionCodec compressionCodec;
+        private int segmentSizeBytes;
+        private long segmentLingerMs = DEFAULT_SEGMENT_LINGER_MS;
+        private int reclaimThresholdSegments = DEFAULT_RECLAIM_THRESHOLD_SEGMENTS;
+        private long capacityInBytes = -1L;
+        private int lowWatermarkPercent = DEFAULT_LOW_WATERMARK_PERCENT;
+        private DropAccounting dropAccounting;
         private final LogSender.Builder context;
 
         Builder(final LogSender.Builder context, final ScheduledExecutorService diskSpaceTasks) {
@@ -172,18 +900,80 @@ public class DiskQueue implements LogDataQueue {
             return this;
         }
 
+        public Builder dropAccounting(final DropAccounting dropAccounting) {
+            this.dropAccounting = dropAccounting;
+            return this;
+        }
+
         public Builder diskSpaceTasks(final ScheduledExecutorService diskSpaceTasks) {
             this.diskSpaceTasks = diskSpaceTasks;
             return this;
         }
 
+        /**
+         * 占用磁盘字节数上限及恢复写入的低水位
+         *
+         * @param capacityInBytes     上限, -1:不限制
+         * @param lowWatermarkPercent 低水位, 上限的百分比
+         * @return the builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 02:40:20
+         */
+        public Builder capacity(final long capacityInBytes, final int lowWatermarkPercent) {
+            this.capacityInBytes = capacityInBytes;
+            this.lowWatermarkPercent = lowWatermarkPercent;
+            return this;
+        }
+
+        /**
+         * 提交位置越过的段数达到阈值时立即回收, 段文件只能整段删除, 按字节计算时为 阈值 * 段大小(32MB)
+         *
+         * @param reclaimThresholdSegments the reclaim threshold segments
+         * @return the builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 02:05:30
+         */
+        public Builder reclaimThresholdSegments(final int reclaimThresholdSegments) {
+            this.reclaimThresholdSegments = reclaimThresholdSegments;
+            return this;
+        }
+
+        /**
+         * 启用分段压缩, compressionCodec为null时不压缩
+         *
+         * @param compressionCodec the compression codec
+         * @param segmentSizeBytes 压缩前单个分段的字节数
+         * @return the builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 18:41:07
+         */
+        public Builder compression(final CompressionCodec compressionCodec, final int segmentSizeBytes) {
+            this.compressionCodec = compressionCodec;
+            this.segmentSizeBytes = segmentSizeBytes;
+            return this;
+        }
+
+        /**
+         * 压缩模式下未满的分段在内存中的最长停留时间, 即进程崩溃时未写入日志文件的最长时间窗口
+         *
+         * @param segmentLingerMs the segment linger ms
+         * @return the builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 18:41:07
+         */
+        public Builder segmentLingerMs(final long segmentLingerMs) {
+            this.segmentLingerMs = segmentLingerMs;
+            return this;
+        }
+
         public LogSender.Builder endDiskQueue() {
             this.context.setDiskQueueBuilder(this);
             return this.context;
         }
 
         public DiskQueue build() throws LogParameterErrorException {
-            return new DiskQueue(this.queueDir, this.dontCheckEnoughDiskSpace, this.fsPercentThreshold, this.gcQueueDataIntervalMs, this.reporter, this.checkDiskSpaceInterval, this.diskSpaceTasks);
+            return new DiskQueue(this.queueDir, this.dontCheckEnoughDiskSpace, this.fsPercentThreshold, this.gcQueueDataIntervalMs, this.reporter, this.checkDiskSpaceInterval, this.diskSpaceTasks, this.compressionCodec, this.segmentSizeBytes, this.segmentLingerMs,
+                    this.dropAccounting != null ? this.dropAccounting : new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS), this.reclaimThresholdSegments, this.capacityInBytes, this.lowWatermarkPercent);
         }
     }
 }
@@ -0,0 +1,193 @@
+/**
+ * FileName: LegacyBigQueueReader
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 旧版本BigQueue数据读取.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IORuntimeException;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 〈旧版本BigQueue数据读取.〉
+ * <p>
+ * 按BigQueue(1.7.x)的文件格式从队首顺序读取尚未出队的记录, 不依赖BigQueue本身, 用于升级后把旧数据迁移到段文件:
+ * meta_data/page-0.dat 为 headIndex(long) + tailIndex(long), front_index/page-0.dat 为队首index(long),
+ * index/page-N.dat 每页 2^20 个索引项, 每项32字节: dataPageIndex(long) + itemOffset(int) + itemLength(int) + timestamp(long),
+ * data/page-N.dat 为数据页
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+final class LegacyBigQueueReader implements Closeable {
+    private static final String DATA_FOLDER = "data";
+    private static final String INDEX_FOLDER = "index";
+    private static final String META_DATA_FOLDER = "meta_data";
+    private static final String FRONT_INDEX_FOLDER = "front_index";
+    // 旧版本BigQueue在queueDir下创建的目录
+    private static final String[] FOLDERS = {DATA_FOLDER, INDEX_FOLDER, META_DATA_FOLDER, FRONT_INDEX_FOLDER};
+    private static final int INDEX_ITEMS_PER_PAGE_BITS = 20;
+    private static final long INDEX_ITEMS_PER_PAGE_MASK = (1L << INDEX_ITEMS_PER_PAGE_BITS) - 1;
+    private static final int INDEX_ITEM_LENGTH_BITS = 5;
+
+    private final File queueDir;
+    private final long headIndex;
+    private long nextIndex;
+
+    // 当前打开的索引页和数据页
+    private RandomAccessFile indexPage;
+    private long indexPageIndex = -1L;
+    private RandomAccessFile dataPage;
+    private long dataPageIndex = -1L;
+
+    /**
+     * 读取队首和队尾位置
+     *
+     * @param queueDir the queue dir
+     * @throws IOException 元数据不存在或损坏
+     * @author HuangTaiHong
+     * @since 2026.10.18 04:30:15
+     */
+    LegacyBigQueueReader(final File queueDir) throws IOException {
+        this.queueDir = queueDir;
+        final RandomAccessFile metaData = new RandomAccessFile(pageFile(queueDir, META_DATA_FOLDER, 0L), "r");
+        final long tailIndex;
+        try {
+            this.headIndex = metaData.readLong();
+            tailIndex = metaData.readLong();
+        } finally {
+            metaData.close();
+        }
+        final File frontIndexFile = pageFile(queueDir, FRONT_INDEX_FOLDER, 0L);
+        if (frontIndexFile.isFile()) {
+            final RandomAccessFile frontIndex = new RandomAccessFile(frontIndexFile, "r");
+            try {
+                this.nextIndex = frontIndex.readLong();
+            } finally {
+                frontIndex.close();
+            }
+        } else {
+            this.nextIndex = tailIndex;
+        }
+        if (tailIndex < 0 || this.nextIndex < tailIndex || this.nextIndex > this.headIndex) {
+            throw new IOException(String.format("BigQueue元数据损坏: head=%d, tail=%d, front=%d", this.headIndex, tailIndex, this.nextIndex));
+        }
+    }
+
+    /**
+     * queueDir中残留的旧版本BigQueue目录
+     *
+     * @param queueDir the queue dir
+     * @return 目录名, 没有时为空
+     * @author HuangTaiHong
+     * @since 2026.10.18 04:30:15
+     */
+    static List<String> existingFolders(final File queueDir) {
+        final List<String> folders = new ArrayList<>();
+        for (String folder : FOLDERS) {
+            if (new File(queueDir, folder).isDirectory()) {
+                folders.add(folder);
+            }
+        }
+        return folders;
+    }
+
+    /**
+     * 删除旧版本BigQueue的全部目录
+     *
+     * @param queueDir the queue dir
+     * @return true :全部删除;  false: 部分文件删除失败
+     * @author HuangTaiHong
+     * @since 2026.10.18 04:30:15
+     */
+    static boolean deleteFolders(final File queueDir) {
+        boolean deleted = true;
+        for (String folder : FOLDERS) {
+            try {
+                deleted &= FileUtil.del(new File(queueDir, folder));
+            } catch (IORuntimeException e) {
+                deleted = false;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * 读取下一条记录
+     *
+     * @return 记录, 读完返回null
+     * @throws IOException 页文件不存在或索引项损坏
+     * @author HuangTaiHong
+     * @since 2026.10.18 04:30:15
+     */
+    byte[] next() throws IOException {
+        if (this.nextIndex >= this.headIndex) {
+            return null;
+        }
+        final RandomAccessFile index = this.indexPage(this.nextIndex >>> INDEX_ITEMS_PER_PAGE_BITS);
+        index.seek((this.nextIndex & INDEX_ITEMS_PER_PAGE_MASK) << INDEX_ITEM_LENGTH_BITS);
+        final long itemPageIndex = index.readLong();
+        final int itemOffset = index.readInt();
+        final int itemLength = index.readInt();
+        final RandomAccessFile data = this.dataPage(itemPageIndex);
+        if (itemOffset < 0 || itemLength < 0 || itemOffset + (long) itemLength > data.length()) {
+            throw new IOException(String.format("BigQueue索引项损坏: index=%d, page=%d, offset=%d, length=%d", this.nextIndex, itemPageIndex, itemOffset, itemLength));
+        }
+        final byte[] item = new byte[itemLength];
+        data.seek(itemOffset);
+        data.readFully(item);
+        this.nextIndex++;
+        return item;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.indexPage != null) {
+            this.indexPage.close();
+            this.indexPage = null;
+        }
+        if (this.dataPage != null) {
+            this.dataPage.close();
+            this.dataPage = null;
+        }
+    }
+
+    private RandomAccessFile indexPage(final long pageIndex) throws IOException {
+        if (this.indexPageIndex != pageIndex) {
+            if (this.indexPage != null) {
+                this.indexPage.close();
+                this.indexPage = null;
+            }
+            this.indexPage = new RandomAccessFile(pageFile(this.queueDir, INDEX_FOLDER, pageIndex), "r");
+            this.indexPageIndex = pageIndex;
+        }
+        return this.indexPage;
+    }
+
+    private RandomAccessFile dataPage(final long pageIndex) throws IOException {
+        if (this.dataPageIndex != pageIndex) {
+            if (this.dataPage != null) {
+                this.dataPage.close();
+                this.dataPage = null;
+            }
+            this.dataPage = new RandomAccessFile(pageFile(this.queueDir, DATA_FOLDER, pageIndex), "r");
+            this.dataPageIndex = pageIndex;
+        }
+        return this.dataPage;
+    }
+
+    private static File pageFile(final File queueDir, final String folder, final long pageIndex) {
+        return new File(new File(queueDir, folder), "page-" + pageIndex + ".dat");
+    }
+}
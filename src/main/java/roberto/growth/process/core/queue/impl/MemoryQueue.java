@@ -9,10 +9,14 @@
  */
 package roberto.growth.process.core.queue.impl;
 
+import roberto.growth.process.core.DropAccounting;
 import roberto.growth.process.core.LogSender;
 import roberto.growth.process.core.SenderStatusReporter;
+import roberto.growth.process.core.enums.DropReasonEnum;
 import roberto.growth.process.core.queue.LogDataQueue;
+import roberto.growth.process.core.queue.ResizableQueue;
 
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicLong;
@@ -23,9 +27,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * @author HuangTaiHong
  * @since 2019-11-11
  */
-public class MemoryQueue implements LogDataQueue {
-    // 1MB
-    private static final int MB_IN_BYTES = 1024 * 1024;
+public class MemoryQueue implements LogDataQueue, ResizableQueue {
     private static final int DONT_LIMIT_QUEUE_SPACE = -1;
 
     /**
@@ -42,18 +44,19 @@ public class MemoryQueue implements LogDataQueue {
 
     private final ConcurrentLinkedDeque<byte[]> logBuffer;
 
-    private final boolean dontCheckLogsCountLimit;
-    private final boolean dontCheckEnoughMemorySpace;
+    private volatile boolean dontCheckLogsCountLimit;
+    private volatile boolean dontCheckEnoughMemorySpace;
 
     // 日志容量
-    private final long capacityInBytes;
+    private volatile long capacityInBytes;
     // 日志条数限制
-    private final long logCountLimit;
+    private volatile long logCountLimit;
 
     private final AtomicLong size;
     private final AtomicLong logCounter;
 
     private final SenderStatusReporter reporter;
+    private final DropAccounting dropAccounting;
 
     /**
      * 构造函数
@@ -65,9 +68,24 @@ public class MemoryQueue implements LogDataQueue {
      * @since 2019.11.11 22:31:00
      */
     public MemoryQueue(final long capacityInBytes, final long logCountLimit, final SenderStatusReporter reporter) {
+        this(capacityInBytes, logCountLimit, reporter, new DropAccounting(reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS));
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param capacityInBytes the capacity in bytes
+     * @param logCountLimit   the log count limit
+     * @param reporter        the reporter
+     * @param dropAccounting  丢弃统计
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:05:31
+     */
+    public MemoryQueue(final long capacityInBytes, final long logCountLimit, final SenderStatusReporter reporter, final DropAccounting dropAccounting) {
         this.capacityInBytes = capacityInBytes;
         this.logCountLimit = logCountLimit;
         this.reporter = reporter;
+        this.dropAccounting = dropAccounting;
         this.logBuffer = new ConcurrentLinkedDeque<>();
         this.dontCheckEnoughMemorySpace = capacityInBytes == DONT_LIMIT_QUEUE_SPACE;
         this.dontCheckLogsCountLimit = logCountLimit == DONT_LIMIT_QUEUE_SPACE;
@@ -77,13 +95,36 @@ public class MemoryQueue implements LogDataQueue {
 
     @Override
     public void enqueue(final byte[] logData) {
-        if (this.isEnoughSpace()) {
-            this.logBuffer.add(logData);
-            // 日志大小累加
-            this.size.addAndGet(logData.length);
-            // 日志条数累加
-            this.logCounter.incrementAndGet();
+        final DropReasonEnum dropReason = this.checkSpace();
+        if (dropReason != null) {
+            this.dropAccounting.record(dropReason, logData.length);
+            return;
         }
+        this.add(logData);
+    }
+
+    @Override
+    public boolean offer(final byte[] logData) {
+        if (this.checkSpace() != null) {
+            return false;
+        }
+        this.add(logData);
+        return true;
+    }
+
+    @Override
+    public double fillRatio() {
+        final double countRatio = this.dontCheckLogsCountLimit ? 0D : (double) this.logCounter.get() / this.logCountLimit;
+        final double bytesRatio = this.dontCheckEnoughMemorySpace ? 0D : (double) this.size.get() / this.capacityInBytes;
+        return Math.min(1D, Math.max(countRatio, bytesRatio));
+    }
+
+    private void add(final byte[] logData) {
+        this.logBuffer.add(logData);
+        // 日志大小累加
+        this.size.addAndGet(logData.length);
+        // 日志条数累加
+        this.logCounter.incrementAndGet();
     }
 
     @Override
@@ -100,6 +141,29 @@ public class MemoryQueue implements LogDataQueue {
         return new byte[0];
     }
 
+    @Override
+    public int drainTo(final List<byte[]> container, final int maxRecords, final long maxBytes) {
+        int drainedCount = 0;
+        long drainedBytes = 0L;
+        byte[] logData;
+        while (drainedCount < maxRecords && (logData = this.logBuffer.pollFirst()) != null) {
+            if (drainedCount > 0 && drainedBytes + logData.length > maxBytes) {
+                // 超出字节上限, 放回队首. 只有当前消费线程从队首取出后再放回, 期间溢出策略淘汰的是之后的日志, 不改变顺序
+                this.logBuffer.addFirst(logData);
+                break;
+            }
+            container.add(logData);
+            drainedCount++;
+            drainedBytes += logData.length;
+        }
+        if (drainedCount > 0) {
+            // 整批只更新一次计数器
+            this.size.addAndGet(-drainedBytes);
+            this.logCounter.addAndGet(-drainedCount);
+        }
+        return drainedCount;
+    }
+
     @Override
     public boolean isEmpty() {
         return this.logBuffer.isEmpty();
@@ -115,19 +179,40 @@ public class MemoryQueue implements LogDataQueue {
      * 1、内存阈值
      * 2、数量条数
      *
-     * @return boolean
+     * @return 空间不足时返回丢弃原因, 否则返回null
      * @author HuangTaiHong
      * @since 2019.11.11 22:31:00
      */
-    private boolean isEnoughSpace() {
+    private DropReasonEnum checkSpace() {
         if (!this.dontCheckLogsCountLimit && this.logCounter.get() >= this.logCountLimit) {
-            this.reporter.warn(String.format("日志条数超过阈值：%d 条, 丢弃日志", this.logCountLimit));
-            return false;
+            return DropReasonEnum.COUNT_LIMIT;
         } else if (!this.dontCheckEnoughMemorySpace && this.size.get() >= this.capacityInBytes) {
-            this.reporter.warn(String.format("内存容量超过阈值：%d MB, 丢弃日志", this.capacityInBytes / MB_IN_BYTES));
-            return false;
+            return DropReasonEnum.BYTE_LIMIT;
+        }
+        return null;
+    }
+
+    @Override
+    public void setCapacityInBytes(final long capacityInBytes) {
+        // 放开限制时先关闭检查, 启用限制时先设置上限, 切换过程中不会按-1判断已满
+        if (capacityInBytes == DONT_LIMIT_QUEUE_SPACE) {
+            this.dontCheckEnoughMemorySpace = true;
+            this.capacityInBytes = capacityInBytes;
+        } else {
+            this.capacityInBytes = capacityInBytes;
+            this.dontCheckEnoughMemorySpace = false;
+        }
+    }
+
+    @Override
+    public void setLogCountLimit(final long logCountLimit) {
+        if (logCountLimit == DONT_LIMIT_QUEUE_SPACE) {
+            this.dontCheckLogsCountLimit = true;
+            this.logCountLimit = logCountLimit;
+        } else {
+            this.logCountLimit = logCountLimit;
+            this.dontCheckLogsCountLimit = false;
         }
-        return true;
     }
 
     /**
@@ -138,6 +223,7 @@ public class MemoryQueue implements LogDataQueue {
         private long capacityInBytes;
         private long logCountLimit;
         private SenderStatusReporter reporter;
+        private DropAccounting dropAccounting;
         private final LogSender.Builder context;
 
         /**
@@ -191,6 +277,19 @@ public class MemoryQueue implements LogDataQueue {
             return this;
         }
 
+        /**
+         * Drop accounting.
+         *
+         * @param dropAccounting the drop accounting
+         * @return the memory queue . builder
+         * @author HuangTaiHong
+         * @since 2026.10.18 20:05:31
+         */
+        public MemoryQueue.Builder dropAccounting(final DropAccounting dropAccounting) {
+            this.dropAccounting = dropAccounting;
+            return this;
+        }
+
         /**
          * End memory queue.
          *
@@ -210,7 +309,10 @@ public class MemoryQueue implements LogDataQueue {
          * @since 2019.11.11 22:31:00
          */
         public MemoryQueue build() {
-            return new MemoryQueue(this.capacityInBytes, this.logCountLimit, this.reporter);
+            if (this.dropAccounting == null) {
+                return new MemoryQueue(this.capacityInBytes, this.logCountLimit, this.reporter);
+            }
+            return new MemoryQueue(this.capacityInBytes, this.logCountLimit, this.reporter, this.dropAccounting);
         }
     }
 }
@@ -0,0 +1,359 @@
+/**
+ * FileName: OffHeapMemoryQueue
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 堆外内存Queue.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.LogSender;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.queue.LogDataQueue;
+import roberto.growth.process.core.queue.ResizableQueue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 〈堆外内存Queue.〉
+ * <p>
+ * 日志数据以 长度(int) + 内容 的格式顺序写入DirectByteBuffer分片(slab), 积压期间数据不占用Java堆.
+ * 分片读完后回收到空闲池复用. 容量按 记录头 + 内容 精确计算字节数
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class OffHeapMemoryQueue implements LogDataQueue, ResizableQueue {
+    private static final int DONT_LIMIT_QUEUE_SPACE = -1;
+    private static final int RECORD_HEADER_LENGTH = 4;
+
+    /**
+     * Builder.
+     *
+     * @param context the context
+     * @return the off heap memory queue . builder
+     * @author HuangTaiHong
+     * @since 2026.10.18 15:02:47
+     */
+    public static OffHeapMemoryQueue.Builder builder(final LogSender.Builder context) {
+        return new OffHeapMemoryQueue.Builder(context);
+    }
+
+    private final int slabSizeBytes;
+    private volatile long capacityInBytes;
+    private volatile long logCountLimit;
+    private volatile boolean dontCheckEnoughMemorySpace;
+    private volatile boolean dontCheckLogsCountLimit;
+    private final DropAccounting dropAccounting;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // 按写入顺序排列的分片, 队首读、队尾写
+    private final Deque<Slab> slabs = new ArrayDeque<>();
+    private final Deque<Slab> freeSlabs = new ArrayDeque<>();
+    private final int maxFreeSlabs;
+
+    // 只在持有锁时修改, volatile保证isEmpty()和fillRatio()无需加锁
+    private volatile long usedBytes;
+    private volatile long logCount;
+
+    /**
+     * 构造函数
+     *
+     * @param slabSizeBytes   the slab size bytes
+     * @param capacityInBytes the capacity in bytes
+     * @param logCountLimit   the log count limit
+     * @param dropAccounting  丢弃统计
+     * @author HuangTaiHong
+     * @since 2026.10.18 15:02:47
+     */
+    public OffHeapMemoryQueue(final int slabSizeBytes, final long capacityInBytes, final long logCountLimit, final DropAccounting dropAccounting) {
+        this.slabSizeBytes = slabSizeBytes;
+        this.capacityInBytes = capacityInBytes;
+        this.logCountLimit = logCountLimit;
+        this.dropAccounting = dropAccounting;
+        this.dontCheckEnoughMemorySpace = capacityInBytes == DONT_LIMIT_QUEUE_SPACE;
+        this.dontCheckLogsCountLimit = logCountLimit == DONT_LIMIT_QUEUE_SPACE;
+        // 空闲池最多保留容量对应的分片数, 不限容量时只保留少量
+        this.maxFreeSlabs = this.dontCheckEnoughMemorySpace ? 4 : (int) Math.min(Integer.MAX_VALUE, capacityInBytes / slabSizeBytes + 1);
+    }
+
+    @Override
+    public void enqueue(final byte[] logData) {
+        final DropReasonEnum dropReason = this.tryEnqueue(logData);
+        if (dropReason != null) {
+            this.dropAccounting.record(dropReason, logData.length);
+        }
+    }
+
+    @Override
+    public boolean offer(final byte[] logData) {
+        return this.tryEnqueue(logData) == null;
+    }
+
+    @Override
+    public double fillRatio() {
+        final double countRatio = this.dontCheckLogsCountLimit ? 0D : (double) this.logCount / this.logCountLimit;
+        final double bytesRatio = this.dontCheckEnoughMemorySpace ? 0D : (double) this.usedBytes / this.capacityInBytes;
+        return Math.min(1D, Math.max(countRatio, bytesRatio));
+    }
+
+    private DropReasonEnum tryEnqueue(final byte[] logData) {
+        final int recordLength = RECORD_HEADER_LENGTH + logData.length;
+        this.lock.lock();
+        try {
+            final DropReasonEnum dropReason = this.checkSpace(recordLength);
+            if (dropReason != null) {
+                return dropReason;
+            }
+            Slab slab = this.slabs.peekLast();
+            if (slab == null || slab.writableBytes() < recordLength) {
+                slab = this.acquireSlab(recordLength);
+                this.slabs.addLast(slab);
+            }
+            slab.write(logData);
+            this.usedBytes += recordLength;
+            this.logCount++;
+            return null;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] dequeue() {
+        this.lock.lock();
+        try {
+            return this.readRecord();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(final List<byte[]> container, final int maxRecords, final long maxBytes) {
+        int drainedCount = 0;
+        long drainedBytes = 0L;
+        this.lock.lock();
+        try {
+            while (drainedCount < maxRecords) {
+                final Slab slab = this.readableSlab();
+                if (slab == null) {
+                    break;
+                }
+                final int nextLength = slab.peekLength();
+                if (drainedCount > 0 && drainedBytes + nextLength > maxBytes) {
+                    break;
+                }
+                container.add(this.readRecord());
+                drainedCount++;
+                drainedBytes += nextLength;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        return drainedCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.logCount == 0;
+    }
+
+    @Override
+    public void close() {
+        this.lock.lock();
+        try {
+            this.slabs.clear();
+            this.freeSlabs.clear();
+            this.usedBytes = 0L;
+            this.logCount = 0L;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public long getUsedBytes() {
+        this.lock.lock();
+        try {
+            return this.usedBytes;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private byte[] readRecord() {
+        final Slab slab = this.readableSlab();
+        if (slab == null) {
+            return null;
+        }
+        final byte[] logData = slab.read();
+        this.usedBytes -= RECORD_HEADER_LENGTH + logData.length;
+        this.logCount--;
+        if (this.logCount == 0 && this.slabs.size() == 1) {
+            // 队列已空, 当前分片从头开始写
+            slab.reset();
+        }
+        return logData;
+    }
+
+    /**
+     * 返回队首可读的分片, 已读完的分片回收复用
+     */
+    private Slab readableSlab() {
+        Slab slab = this.slabs.peekFirst();
+        while (slab != null && !slab.isReadable() && this.slabs.size() > 1) {
+            this.recycleSlab(this.slabs.pollFirst());
+            slab = this.slabs.peekFirst();
+        }
+        return slab != null && slab.isReadable() ? slab : null;
+    }
+
+    private Slab acquireSlab(final int recordLength) {
+        if (recordLength > this.slabSizeBytes) {
+            // 超大记录单独分配, 读完后直接释放
+            return new Slab(ByteBuffer.allocateDirect(recordLength));
+        }
+        final Slab slab = this.freeSlabs.pollFirst();
+        return slab != null ? slab : new Slab(ByteBuffer.allocateDirect(this.slabSizeBytes));
+    }
+
+    private void recycleSlab(final Slab slab) {
+        if (slab.capacity() == this.slabSizeBytes && this.freeSlabs.size() < this.maxFreeSlabs) {
+            slab.reset();
+            this.freeSlabs.addLast(slab);
+        }
+    }
+
+    private DropReasonEnum checkSpace(final int recordLength) {
+        if (!this.dontCheckLogsCountLimit && this.logCount >= this.logCountLimit) {
+            return DropReasonEnum.COUNT_LIMIT;
+        } else if (!this.dontCheckEnoughMemorySpace && this.usedBytes + recordLength > this.capacityInBytes) {
+            return DropReasonEnum.BYTE_LIMIT;
+        }
+        return null;
+    }
+
+    /**
+     * 一块DirectByteBuffer分片, 读写位置独立维护
+     */
+    private static class Slab {
+        private final ByteBuffer buffer;
+        private int readPosition;
+        private int writePosition;
+
+        Slab(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int capacity() {
+            return this.buffer.capacity();
+        }
+
+        int writableBytes() {
+            return this.buffer.capacity() - this.writePosition;
+        }
+
+        boolean isReadable() {
+            return this.readPosition < this.writePosition;
+        }
+
+        int peekLength() {
+            return this.buffer.getInt(this.readPosition);
+        }
+
+        void write(final byte[] logData) {
+            this.buffer.putInt(this.writePosition, logData.length);
+            this.buffer.position(this.writePosition + RECORD_HEADER_LENGTH);
+            this.buffer.put(logData);
+            this.writePosition += RECORD_HEADER_LENGTH + logData.length;
+        }
+
+        byte[] read() {
+            final byte[] logData = new byte[this.buffer.getInt(this.readPosition)];
+            this.buffer.position(this.readPosition + RECORD_HEADER_LENGTH);
+            this.buffer.get(logData);
+            this.readPosition += RECORD_HEADER_LENGTH + logData.length;
+            return logData;
+        }
+
+        void reset() {
+            this.readPosition = 0;
+            this.writePosition = 0;
+        }
+    }
+
+    @Override
+    public void setCapacityInBytes(final long capacityInBytes) {
+        // 放开限制时先关闭检查, 启用限制时先设置上限, 切换过程中不会按-1判断已满
+        if (capacityInBytes == DONT_LIMIT_QUEUE_SPACE) {
+            this.dontCheckEnoughMemorySpace = true;
+            this.capacityInBytes = capacityInBytes;
+        } else {
+            this.capacityInBytes = capacityInBytes;
+            this.dontCheckEnoughMemorySpace = false;
+        }
+    }
+
+    @Override
+    public void setLogCountLimit(final long logCountLimit) {
+        if (logCountLimit == DONT_LIMIT_QUEUE_SPACE) {
+            this.dontCheckLogsCountLimit = true;
+            this.logCountLimit = logCountLimit;
+        } else {
+            this.logCountLimit = logCountLimit;
+            this.dontCheckLogsCountLimit = false;
+        }
+    }
+
+    /**
+     * 构建类
+     */
+    public static class Builder {
+        private int slabSizeBytes;
+        private long capacityInBytes;
+        private long logCountLimit;
+        private DropAccounting dropAccounting;
+        private final LogSender.Builder context;
+
+        Builder(final LogSender.Builder context) {
+            this.context = context;
+            this.logCountLimit = OffHeapMemoryQueue.DONT_LIMIT_QUEUE_SPACE;
+        }
+
+        public OffHeapMemoryQueue.Builder slabSizeBytes(final int slabSizeBytes) {
+            this.slabSizeBytes = slabSizeBytes;
+            return this;
+        }
+
+        public OffHeapMemoryQueue.Builder capacityInBytes(final long capacityInBytes) {
+            this.capacityInBytes = capacityInBytes;
+            return this;
+        }
+
+        public OffHeapMemoryQueue.Builder logCountLimit(final long logCountLimit) {
+            this.logCountLimit = logCountLimit;
+            return this;
+        }
+
+        public OffHeapMemoryQueue.Builder dropAccounting(final DropAccounting dropAccounting) {
+            this.dropAccounting = dropAccounting;
+            return this;
+        }
+
+        public LogSender.Builder endOffHeapMemoryQueue() {
+            this.context.setOffHeapMemoryQueueBuilder(this);
+            return this.context;
+        }
+
+        public OffHeapMemoryQueue build() {
+            return new OffHeapMemoryQueue(this.slabSizeBytes, this.capacityInBytes, this.logCountLimit, this.dropAccounting);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * FileName: PartitionedQueue
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 按key分区的Queue.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import roberto.growth.process.core.LogSender;
+import roberto.growth.process.core.enums.PartitionKeyEnum;
+import roberto.growth.process.core.queue.LogDataQueue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 〈按key分区的Queue.〉
+ * <p>
+ * 日志按 traceId 或 logger 名称的哈希写入其中一个分区, 同一key的日志总在同一分区, 保持写入顺序. 各分区是独立的队列
+ * (文件队列可以分布在不同的磁盘上), 由 {@link LogSender} 为每个分区启动独立的消费线程, 分区之间不保证顺序
+ * <p>
+ * 作为普通队列使用时(不带key写入、批量出队)按分区顺序处理, 只用于关闭前的清理
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class PartitionedQueue implements LogDataQueue {
+    /**
+     * Builder.
+     *
+     * @param context the context
+     * @return the partitioned queue . builder
+     * @author HuangTaiHong
+     * @since 2026.10.18 00:40:15
+     */
+    public static PartitionedQueue.Builder builder(final LogSender.Builder context) {
+        return new PartitionedQueue.Builder(context);
+    }
+
+    private final LogDataQueue[] partitions;
+    private final PartitionKeyEnum partitionKey;
+
+    /**
+     * 构造函数
+     *
+     * @param partitions   各分区的队列
+     * @param partitionKey 分区维度
+     * @author HuangTaiHong
+     * @since 2026.10.18 00:40:15
+     */
+    public PartitionedQueue(final List<LogDataQueue> partitions, final PartitionKeyEnum partitionKey) {
+        this.partitions = partitions.toArray(new LogDataQueue[0]);
+        this.partitionKey = partitionKey;
+    }
+
+    /**
+     * 日志所在的分区号
+     *
+     * @param traceId    the trace id
+     * @param loggerName the logger name
+     * @return 0 ~ partitionCount - 1
+     * @author HuangTaiHong
+     * @since 2026.10.18 00:40:15
+     */
+    public int partitionOf(final String traceId, final String loggerName) {
+        return partitionOf(this.partitionKey, traceId, loggerName, this.partitions.length);
+    }
+
+    /**
+     * 按分区维度计算分区号
+     *
+     * @param partitionKey   分区维度
+     * @param traceId        the trace id
+     * @param loggerName     the logger name
+     * @param partitionCount 分区数
+     * @return 0 ~ partitionCount - 1
+     * @author HuangTaiHong
+     * @since 2026.10.18 01:25:10
+     */
+    public static int partitionOf(final PartitionKeyEnum partitionKey, final String traceId, final String loggerName, final int partitionCount) {
+        final String key = partitionKey == PartitionKeyEnum.TRACE_ID && traceId != null && !traceId.isEmpty() ? traceId : loggerName;
+        if (key == null || partitionCount < 2) {
+            return 0;
+        }
+        final int hash = key.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % partitionCount;
+    }
+
+    public LogDataQueue getPartition(final int partition) {
+        return this.partitions[partition];
+    }
+
+    public int getPartitionCount() {
+        return this.partitions.length;
+    }
+
+    @Override
+    public void enqueue(final byte[] data) {
+        this.partitions[0].enqueue(data);
+    }
+
+    @Override
+    public boolean offer(final byte[] data) {
+        return this.partitions[0].offer(data);
+    }
+
+    @Override
+    public double fillRatio() {
+        double fillRatio = 0D;
+        for (LogDataQueue partition : this.partitions) {
+            fillRatio = Math.max(fillRatio, partition.fillRatio());
+        }
+        return fillRatio;
+    }
+
+    @Override
+    public byte[] dequeue() {
+        // 内存队列为空时不返回null, 先判空再出队
+        for (LogDataQueue partition : this.partitions) {
+            if (!partition.isEmpty()) {
+                final byte[] logData = partition.dequeue();
+                if (logData != null) {
+                    return logData;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int drainTo(final List<byte[]> container, final int maxRecords, final long maxBytes) {
+        for (LogDataQueue partition : this.partitions) {
+            if (!partition.isEmpty()) {
+                return partition.drainTo(container, maxRecords, maxBytes);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (LogDataQueue partition : this.partitions) {
+            if (!partition.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (LogDataQueue partition : this.partitions) {
+            try {
+                partition.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 构建类, 文件队列的各分区使用DiskQueue的配置, 目录依次取 partitionDirs; JVM内存队列的各分区使用MemoryQueue的配置
+     */
+    public static class Builder {
+        private int partitionCount = 1;
+        private List<File> partitionDirs = Collections.emptyList();
+        private PartitionKeyEnum partitionKey = PartitionKeyEnum.TRACE_ID;
+        private final LogSender.Builder context;
+
+        Builder(final LogSender.Builder context) {
+            this.context = context;
+        }
+
+        public PartitionedQueue.Builder partitionCount(final int partitionCount) {
+            this.partitionCount = partitionCount;
+            return this;
+        }
+
+        public PartitionedQueue.Builder partitionDirs(final List<File> partitionDirs) {
+            this.partitionDirs = new ArrayList<>(partitionDirs);
+            this.partitionCount = partitionDirs.size();
+            return this;
+        }
+
+        public PartitionedQueue.Builder partitionKey(final PartitionKeyEnum partitionKey) {
+            this.partitionKey = partitionKey;
+            return this;
+        }
+
+        public LogSender.Builder endPartitionedQueue() {
+            this.context.setPartitionedQueueBuilder(this);
+            return this.context;
+        }
+
+        public int getPartitionCount() {
+            return this.partitionCount;
+        }
+
+        public List<File> getPartitionDirs() {
+            return this.partitionDirs;
+        }
+
+        /**
+         * Build.
+         *
+         * @param partitions 各分区的队列, 文件队列与 partitionDirs 一一对应
+         * @return the partitioned queue
+         * @author HuangTaiHong
+         * @since 2026.10.18 00:40:15
+         */
+        public PartitionedQueue build(final List<LogDataQueue> partitions) {
+            return new PartitionedQueue(partitions, this.partitionKey);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/**
+ * FileName: PriorityLaneQueue
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 按日志级别分道的Queue.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.LogSender;
+import roberto.growth.process.core.SenderStatusReporter;
+import roberto.growth.process.core.queue.AcknowledgedQueue;
+import roberto.growth.process.core.queue.LogDataQueue;
+import roberto.growth.process.core.utils.LevelUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 〈按日志级别分道的Queue.〉
+ * <p>
+ * priorityLevel 及以上级别的日志写入高优先级通道(独立容量的JVM内存队列), 其余写入普通通道(按 queueType 创建的队列).
+ * 积压时ERROR/WARN无需排在大量INFO之后.
+ * <p>
+ * 消费端按权重批量出队: 两个通道都有数据时, 高优先级通道最多占每次出队条数和字节数的 weight/(weight+1),
+ * 剩余额度留给普通通道, 普通通道不会被饿死. 通道之间不保证顺序
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class PriorityLaneQueue implements LogDataQueue, AcknowledgedQueue {
+    /**
+     * Builder.
+     *
+     * @param context the context
+     * @return the priority lane queue . builder
+     * @author HuangTaiHong
+     * @since 2026.10.18 21:10:44
+     */
+    public static PriorityLaneQueue.Builder builder(final LogSender.Builder context) {
+        return new PriorityLaneQueue.Builder(context);
+    }
+
+    private final LogDataQueue priorityLane;
+    private final LogDataQueue normalLane;
+    private final int priorityRank;
+    private final int priorityWeight;
+    // 普通通道不支持确认时为null
+    private final AcknowledgedQueue acknowledgedNormalLane;
+    // 最近一次drainTo取出的不支持确认的条数, 只由消费线程访问
+    private int untrackedDrainedCount;
+
+    /**
+     * 构造函数
+     *
+     * @param priorityLane   高优先级通道
+     * @param normalLane     普通通道
+     * @param priorityLevel  进入高优先级通道的最低级别
+     * @param priorityWeight 高优先级通道的出队权重, 普通通道为1
+     * @author HuangTaiHong
+     * @since 2026.10.18 21:10:44
+     */
+    public PriorityLaneQueue(final LogDataQueue priorityLane, final LogDataQueue normalLane, final String priorityLevel, final int priorityWeight) {
+        this.priorityLane = priorityLane;
+        this.normalLane = normalLane;
+        this.priorityRank = LevelUtils.rank(priorityLevel);
+        this.priorityWeight = Math.max(1, priorityWeight);
+        this.acknowledgedNormalLane = normalLane instanceof AcknowledgedQueue ? (AcknowledgedQueue) normalLane : null;
+    }
+
+    /**
+     * 日志级别对应的通道
+     *
+     * @param level the level
+     * @return the log data queue
+     * @author HuangTaiHong
+     * @since 2026.10.18 21:10:44
+     */
+    public LogDataQueue laneFor(final String level) {
+        return LevelUtils.rank(level) >= this.priorityRank ? this.priorityLane : this.normalLane;
+    }
+
+    /**
+     * 未知级别的日志写入普通通道
+     */
+    @Override
+    public void enqueue(final byte[] data) {
+        this.normalLane.enqueue(data);
+    }
+
+    @Override
+    public boolean offer(final byte[] data) {
+        return this.normalLane.offer(data);
+    }
+
+    @Override
+    public double fillRatio() {
+        return Math.max(this.priorityLane.fillRatio(), this.normalLane.fillRatio());
+    }
+
+    @Override
+    public byte[] dequeue() {
+        if (!this.priorityLane.isEmpty()) {
+            final byte[] logData = this.priorityLane.dequeue();
+            if (logData != null) {
+                return logData;
+            }
+        }
+        return this.normalLane.dequeue();
+    }
+
+    @Override
+    public int drainTo(final List<byte[]> container, final int maxRecords, final long maxBytes) {
+        if (this.normalLane.isEmpty()) {
+            this.untrackedDrainedCount = this.priorityLane.drainTo(container, maxRecords, maxBytes);
+            return this.untrackedDrainedCount;
+        } else if (this.priorityLane.isEmpty()) {
+            final int drainedCount = this.normalLane.drainTo(container, maxRecords, maxBytes);
+            this.untrackedDrainedCount = this.normalLaneUntrackedCount(drainedCount);
+            return drainedCount;
+        }
+        // 两个通道都有数据: 高优先级通道按权重取配额, 剩余额度给普通通道
+        final int start = container.size();
+        final int priorityRecords = Math.max(1, (int) ((long) maxRecords * this.priorityWeight / (this.priorityWeight + 1)));
+        final long priorityBytes = Math.max(1L, maxBytes / (this.priorityWeight + 1) * this.priorityWeight);
+        int drainedCount = this.priorityLane.drainTo(container, priorityRecords, priorityBytes);
+        this.untrackedDrainedCount = drainedCount;
+        final long remainingBytes = maxBytes - sizeInBytes(container, start);
+        if (drainedCount < maxRecords && remainingBytes > 0) {
+            final int normalCount = this.normalLane.drainTo(container, maxRecords - drainedCount, remainingBytes);
+            this.untrackedDrainedCount += this.normalLaneUntrackedCount(normalCount);
+            drainedCount += normalCount;
+        }
+        return drainedCount;
+    }
+
+    /**
+     * 高优先级通道的日志先取出, 普通通道中不支持确认的日志紧随其后, 两者合计仍排在取出结果的开头
+     */
+    @Override
+    public int untrackedDrainedCount() {
+        return this.untrackedDrainedCount;
+    }
+
+    private int normalLaneUntrackedCount(final int drainedCount) {
+        return this.acknowledgedNormalLane == null ? drainedCount : this.acknowledgedNormalLane.untrackedDrainedCount();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.priorityLane.isEmpty() && this.normalLane.isEmpty();
+    }
+
+    /**
+     * 高优先级通道是内存队列, 读位置和提交只针对普通通道
+     */
+    @Override
+    public long readPosition() {
+        return this.acknowledgedNormalLane == null ? NO_POSITION : this.acknowledgedNormalLane.readPosition();
+    }
+
+    @Override
+    public void commit(final long position) {
+        if (this.acknowledgedNormalLane != null) {
+            this.acknowledgedNormalLane.commit(position);
+        }
+    }
+
+    @Override
+    public void rewind() {
+        if (this.acknowledgedNormalLane != null) {
+            this.acknowledgedNormalLane.rewind();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.priorityLane.close();
+        } finally {
+            this.normalLane.close();
+        }
+    }
+
+    public LogDataQueue getPriorityLane() {
+        return this.priorityLane;
+    }
+
+    public LogDataQueue getNormalLane() {
+        return this.normalLane;
+    }
+
+    private static long sizeInBytes(final List<byte[]> container, final int fromIndex) {
+        long bytes = 0L;
+        for (int i = fromIndex; i < container.size(); i++) {
+            bytes += container.get(i).length;
+        }
+        return bytes;
+    }
+
+    /**
+     * 构建类
+     */
+    public static class Builder {
+        private String priorityLevel;
+        private int priorityWeight;
+        private long priorityCapacityInBytes;
+        private long priorityLogCountLimit;
+        private SenderStatusReporter reporter;
+        private DropAccounting dropAccounting;
+        private final LogSender.Builder context;
+
+        Builder(final LogSender.Builder context) {
+            this.context = context;
+        }
+
+        public PriorityLaneQueue.Builder priorityLevel(final String priorityLevel) {
+            this.priorityLevel = priorityLevel;
+            return this;
+        }
+
+        public PriorityLaneQueue.Builder priorityWeight(final int priorityWeight) {
+            this.priorityWeight = priorityWeight;
+            return this;
+        }
+
+        public PriorityLaneQueue.Builder priorityCapacityInBytes(final long priorityCapacityInBytes) {
+            this.priorityCapacityInBytes = priorityCapacityInBytes;
+            return this;
+        }
+
+        public PriorityLaneQueue.Builder priorityLogCountLimit(final long priorityLogCountLimit) {
+            this.priorityLogCountLimit = priorityLogCountLimit;
+            return this;
+        }
+
+        public PriorityLaneQueue.Builder reporter(final SenderStatusReporter reporter) {
+            this.reporter = reporter;
+            return this;
+        }
+
+        public PriorityLaneQueue.Builder dropAccounting(final DropAccounting dropAccounting) {
+            this.dropAccounting = dropAccounting;
+            return this;
+        }
+
+        public LogSender.Builder endPriorityLaneQueue() {
+            this.context.setPriorityLaneQueueBuilder(this);
+            return this.context;
+        }
+
+        /**
+         * Build.
+         *
+         * @param normalLane 普通通道
+         * @return the priority lane queue
+         * @author HuangTaiHong
+         * @since 2026.10.18 21:10:44
+         */
+        public PriorityLaneQueue build(final LogDataQueue normalLane) {
+            final MemoryQueue priorityLane = new MemoryQueue(this.priorityCapacityInBytes, this.priorityLogCountLimit, this.reporter, this.dropAccounting);
+            return new PriorityLaneQueue(priorityLane, normalLane, this.priorityLevel, this.priorityWeight);
+        }
+    }
+}
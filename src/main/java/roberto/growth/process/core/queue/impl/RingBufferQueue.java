@@ -0,0 +1,225 @@
+/**
+ * FileName: RingBufferQueue
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 预分配的无锁环形Queue.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.LogSender;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.queue.LogDataQueue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 〈预分配的无锁环形Queue.〉
+ * <p>
+ * 槽位数组在构造时一次性分配, 生产者通过CAS生产者游标认领序号, 每个槽位的序号标记该槽位是否可写/可读.
+ * 写入不分配节点, 也不更新任何全局计数器. 队列按槽位数限制容量, 不限制字节数
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class RingBufferQueue implements LogDataQueue {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Builder.
+     *
+     * @param context the context
+     * @return the ring buffer queue . builder
+     * @author HuangTaiHong
+     * @since 2026.10.18 14:21:08
+     */
+    public static RingBufferQueue.Builder builder(final LogSender.Builder context) {
+        return new RingBufferQueue.Builder(context);
+    }
+
+    private final int mask;
+    private final byte[][] slots;
+    // 槽位序号: 等于写入序号表示可写, 等于写入序号+1表示可读
+    private final AtomicLongArray sequences;
+
+    private final PaddedAtomicLong producerCursor = new PaddedAtomicLong();
+    private final PaddedAtomicLong consumerCursor = new PaddedAtomicLong();
+
+    private final DropAccounting dropAccounting;
+
+    /**
+     * 构造函数
+     *
+     * @param capacity       槽位数, 向上取整为2的幂
+     * @param dropAccounting 丢弃统计
+     * @author HuangTaiHong
+     * @since 2026.10.18 14:21:08
+     */
+    public RingBufferQueue(final int capacity, final DropAccounting dropAccounting) {
+        final int size = capacity <= 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new byte[size][];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+        this.dropAccounting = dropAccounting;
+    }
+
+    @Override
+    public void enqueue(final byte[] logData) {
+        if (!this.offer(logData)) {
+            this.dropAccounting.record(DropReasonEnum.COUNT_LIMIT, logData.length);
+        }
+    }
+
+    @Override
+    public boolean offer(final byte[] logData) {
+        long position = this.producerCursor.get();
+        while (true) {
+            final int index = (int) position & this.mask;
+            final long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.producerCursor.compareAndSet(position, position + 1)) {
+                    this.slots[index] = logData;
+                    // volatile写发布槽位数据
+                    this.sequences.set(index, position + 1);
+                    return true;
+                }
+                position = this.producerCursor.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = this.producerCursor.get();
+            }
+        }
+    }
+
+    @Override
+    public byte[] dequeue() {
+        long position = this.consumerCursor.get();
+        while (true) {
+            final int index = (int) position & this.mask;
+            final long difference = this.sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                // 正常只有一个消费线程, CAS只是为了容忍关闭时的并发消费
+                if (this.consumerCursor.compareAndSet(position, position + 1)) {
+                    return this.release(index, position);
+                }
+                position = this.consumerCursor.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = this.consumerCursor.get();
+            }
+        }
+    }
+
+    @Override
+    public int drainTo(final List<byte[]> container, final int maxRecords, final long maxBytes) {
+        while (true) {
+            final long start = this.consumerCursor.get();
+            // 先找出连续可读的槽位, 再一次CAS认领整批
+            long end = start;
+            long drainedBytes = 0L;
+            while (end - start < maxRecords) {
+                final int index = (int) end & this.mask;
+                if (this.sequences.get(index) != end + 1) {
+                    break;
+                }
+                final byte[] logData = this.slots[index];
+                if (logData == null) {
+                    // 已被并发的消费者取走
+                    break;
+                }
+                if (end > start && drainedBytes + logData.length > maxBytes) {
+                    break;
+                }
+                drainedBytes += logData.length;
+                end++;
+            }
+            if (end == start) {
+                return 0;
+            }
+            if (this.consumerCursor.compareAndSet(start, end)) {
+                for (long position = start; position < end; position++) {
+                    container.add(this.release((int) position & this.mask, position));
+                }
+                return (int) (end - start);
+            }
+        }
+    }
+
+    @Override
+    public double fillRatio() {
+        final long used = this.producerCursor.get() - this.consumerCursor.get();
+        return Math.min(1D, Math.max(0D, (double) used / this.slots.length));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        final long position = this.consumerCursor.get();
+        return this.sequences.get((int) position & this.mask) != position + 1;
+    }
+
+    @Override
+    public void close() {
+        while (this.dequeue() != null) {
+            // 清空队列
+        }
+    }
+
+    private byte[] release(final int index, final long position) {
+        final byte[] logData = this.slots[index];
+        this.slots[index] = null;
+        // 槽位交还给下一圈的生产者
+        this.sequences.set(index, position + this.slots.length);
+        return logData;
+    }
+
+    /**
+     * 游标独占缓存行, 避免生产者与消费者伪共享
+     */
+    @SuppressWarnings("unused")
+    private static class PaddedAtomicLong extends AtomicLong {
+        private static final long serialVersionUID = -3415778863941386253L;
+        public volatile long p1, p2, p3, p4, p5, p6 = 7L;
+    }
+
+    /**
+     * 构建类
+     */
+    public static class Builder {
+        private int capacity;
+        private DropAccounting dropAccounting;
+        private final LogSender.Builder context;
+
+        Builder(final LogSender.Builder context) {
+            this.context = context;
+        }
+
+        public RingBufferQueue.Builder capacity(final int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public RingBufferQueue.Builder dropAccounting(final DropAccounting dropAccounting) {
+            this.dropAccounting = dropAccounting;
+            return this;
+        }
+
+        public LogSender.Builder endRingBufferQueue() {
+            this.context.setRingBufferQueueBuilder(this);
+            return this.context;
+        }
+
+        public RingBufferQueue build() {
+            return new RingBufferQueue(Math.min(this.capacity, MAX_CAPACITY), this.dropAccounting);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/**
+ * FileName: SpilloverQueue
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 内存优先、满后溢写磁盘的Queue.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.LogSender;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.queue.AcknowledgedQueue;
+import roberto.growth.process.core.queue.LogDataQueue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 〈内存优先、满后溢写磁盘的Queue.〉
+ * <p>
+ * 正常情况下日志只经过内存层. 内存层写满后进入溢写状态, 之后的日志全部写入磁盘层, 直到消费端把磁盘层取空才回到内存层,
+ * 因此内存层中的日志总是早于磁盘层, 消费端先取内存层再取磁盘层即可保证先进先出. 启动时磁盘层有上次遗留的日志同样先进入溢写状态
+ * <p>
+ * 溢写状态下写入磁盘层时持有读锁, 消费端确认磁盘层为空并退出溢写状态时持有写锁, 同一线程先后写入的日志不会因层级切换而乱序.
+ * 内存层写入不加锁. 容量由磁盘层决定, 内存层已满不算溢出
+ * <p>
+ * 关闭时内存层剩余的日志写入磁盘层, 下次启动继续发送
+ * <p>
+ * 磁盘层支持确认时, 读位置和提交只针对磁盘层, 内存层的日志出队即视为送达, 所在批次发送失败时计入丢弃统计
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class SpilloverQueue implements LogDataQueue, AcknowledgedQueue {
+    /**
+     * Builder.
+     *
+     * @param context the context
+     * @return the spillover queue . builder
+     * @author HuangTaiHong
+     * @since 2026.10.18 22:50:14
+     */
+    public static SpilloverQueue.Builder builder(final LogSender.Builder context) {
+        return new SpilloverQueue.Builder(context);
+    }
+
+    private final LogDataQueue memoryTier;
+    private final LogDataQueue diskTier;
+    private final DropAccounting dropAccounting;
+    // 磁盘层不支持确认时为null
+    private final AcknowledgedQueue acknowledgedDiskTier;
+    private final ReadWriteLock spillLock = new ReentrantReadWriteLock();
+    private volatile boolean spilling;
+    // 最近一次drainTo从内存层取出的条数, 只由消费线程访问
+    private int untrackedDrainedCount;
+
+    /**
+     * 构造函数
+     *
+     * @param memoryTier     内存层
+     * @param diskTier       磁盘层
+     * @param dropAccounting 丢弃统计
+     * @author HuangTaiHong
+     * @since 2026.10.18 22:50:14
+     */
+    public SpilloverQueue(final LogDataQueue memoryTier, final LogDataQueue diskTier, final DropAccounting dropAccounting) {
+        this.memoryTier = memoryTier;
+        this.diskTier = diskTier;
+        this.dropAccounting = dropAccounting;
+        this.acknowledgedDiskTier = diskTier instanceof AcknowledgedQueue ? (AcknowledgedQueue) diskTier : null;
+        this.spilling = !diskTier.isEmpty();
+    }
+
+    @Override
+    public void enqueue(final byte[] data) {
+        final DropReasonEnum dropReason = this.tryWrite(data);
+        if (dropReason != null) {
+            this.dropAccounting.record(dropReason, data.length);
+        }
+    }
+
+    @Override
+    public boolean offer(final byte[] data) {
+        return this.tryWrite(data) == null;
+    }
+
+    /**
+     * 写入内存层或磁盘层, 磁盘层拒绝时返回磁盘层给出的原因(磁盘使用率阈值或字节数上限)
+     *
+     * @param data the data
+     * @return 已写入时返回null
+     * @author HuangTaiHong
+     * @since 2026.10.18 02:40:20
+     */
+    private DropReasonEnum tryWrite(final byte[] data) {
+        if (!this.spilling && this.memoryTier.offer(data)) {
+            return null;
+        }
+        this.spillLock.readLock().lock();
+        try {
+            this.spilling = true;
+            if (this.diskTier instanceof DiskQueue) {
+                return ((DiskQueue) this.diskTier).tryWrite(data);
+            }
+            return this.diskTier.offer(data) ? null : DropReasonEnum.DISK_THRESHOLD;
+        } finally {
+            this.spillLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double fillRatio() {
+        return this.diskTier.fillRatio();
+    }
+
+    @Override
+    public byte[] dequeue() {
+        if (!this.memoryTier.isEmpty()) {
+            return this.memoryTier.dequeue();
+        }
+        if (!this.spilling) {
+            return null;
+        }
+        final byte[] logData = this.diskTier.dequeue();
+        if (logData == null) {
+            this.tryLeaveSpilling();
+        }
+        return logData;
+    }
+
+    @Override
+    public int drainTo(final List<byte[]> container, final int maxRecords, final long maxBytes) {
+        final int start = container.size();
+        int drainedCount = this.memoryTier.drainTo(container, maxRecords, maxBytes);
+        this.untrackedDrainedCount = drainedCount;
+        if (!this.spilling || drainedCount == maxRecords || !this.memoryTier.isEmpty()) {
+            return drainedCount;
+        }
+        // 内存层已取空, 剩余额度从磁盘层取
+        final long remainingBytes = maxBytes - sizeInBytes(container, start);
+        if (drainedCount == 0 || remainingBytes > 0) {
+            drainedCount += this.diskTier.drainTo(container, maxRecords - drainedCount, drainedCount == 0 ? maxBytes : remainingBytes);
+        }
+        if (drainedCount < maxRecords) {
+            this.tryLeaveSpilling();
+        }
+        return drainedCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.memoryTier.isEmpty() && (!this.spilling || this.diskTier.isEmpty());
+    }
+
+    @Override
+    public long readPosition() {
+        return this.acknowledgedDiskTier == null ? NO_POSITION : this.acknowledgedDiskTier.readPosition();
+    }
+
+    @Override
+    public void commit(final long position) {
+        if (this.acknowledgedDiskTier != null) {
+            this.acknowledgedDiskTier.commit(position);
+        }
+    }
+
+    /**
+     * 磁盘层回退后重新进入溢写状态, 保证回退的日志先于之后写入的日志出队
+     */
+    @Override
+    public void rewind() {
+        if (this.acknowledgedDiskTier == null) {
+            return;
+        }
+        this.acknowledgedDiskTier.rewind();
+        if (!this.diskTier.isEmpty()) {
+            this.spilling = true;
+        }
+    }
+
+    /**
+     * 内存层的日志先于磁盘层取出, 排在取出结果的开头
+     */
+    @Override
+    public int untrackedDrainedCount() {
+        return this.untrackedDrainedCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            final List<byte[]> remaining = new ArrayList<>();
+            this.memoryTier.drainTo(remaining, Integer.MAX_VALUE, Long.MAX_VALUE);
+            for (byte[] logData : remaining) {
+                this.diskTier.enqueue(logData);
+            }
+            this.memoryTier.close();
+        } finally {
+            this.diskTier.close();
+        }
+    }
+
+    public boolean isSpilling() {
+        return this.spilling;
+    }
+
+    /**
+     * 磁盘层已取空时回到内存层, 持有写锁确认没有正在写入磁盘层的日志
+     */
+    private void tryLeaveSpilling() {
+        if (!this.diskTier.isEmpty()) {
+            return;
+        }
+        this.spillLock.writeLock().lock();
+        try {
+            if (this.diskTier.isEmpty()) {
+                this.spilling = false;
+            }
+        } finally {
+            this.spillLock.writeLock().unlock();
+        }
+    }
+
+    public LogDataQueue getMemoryTier() {
+        return this.memoryTier;
+    }
+
+    public LogDataQueue getDiskTier() {
+        return this.diskTier;
+    }
+
+    private static long sizeInBytes(final List<byte[]> container, final int fromIndex) {
+        long bytes = 0L;
+        for (int i = fromIndex; i < container.size(); i++) {
+            bytes += container.get(i).length;
+        }
+        return bytes;
+    }
+
+    /**
+     * 构建类, 内存层和磁盘层分别使用MemoryQueue和DiskQueue的配置
+     */
+    public static class Builder {
+        private DropAccounting dropAccounting;
+        private final LogSender.Builder context;
+
+        Builder(final LogSender.Builder context) {
+            this.context = context;
+        }
+
+        public SpilloverQueue.Builder dropAccounting(final DropAccounting dropAccounting) {
+            this.dropAccounting = dropAccounting;
+            return this;
+        }
+
+        public LogSender.Builder endSpilloverQueue() {
+            this.context.setSpilloverQueueBuilder(this);
+            return this.context;
+        }
+
+        /**
+         * Build.
+         *
+         * @param memoryTier 内存层
+         * @param diskTier   磁盘层
+         * @return the spillover queue
+         * @author HuangTaiHong
+         * @since 2026.10.18 22:50:14
+         */
+        public SpilloverQueue build(final LogDataQueue memoryTier, final LogDataQueue diskTier) {
+            return new SpilloverQueue(memoryTier, diskTier, this.dropAccounting);
+        }
+    }
+}
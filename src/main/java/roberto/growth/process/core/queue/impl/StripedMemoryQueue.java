@@ -0,0 +1,401 @@
+/**
+ * FileName: StripedMemoryQueue
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 分段内存Queue.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.LogSender;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.queue.LogDataQueue;
+import roberto.growth.process.core.queue.ResizableQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 〈分段内存Queue.〉
+ * <p>
+ * 生产线程按线程固定映射到某个分段(stripe), 记录先追加到分段的待发布批次, 攒满 {@link #PUBLISH_BATCH_RECORDS} 条
+ * 或 {@link #PUBLISH_BATCH_BYTES} 字节后一次性发布. 不同分段之间没有共享的写入点, 入队吞吐随核数扩展.
+ * <p>
+ * 容量由全局计数器在发布/消费时整批更新, 加上各分段待发布批次的本地计数, 误差不超过 分段数 * 单批容量.
+ * 消费端按分段轮询消费, 分段内保持写入顺序, 分段之间不保证全局顺序
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class StripedMemoryQueue implements LogDataQueue, ResizableQueue {
+    private static final int DONT_LIMIT_QUEUE_SPACE = -1;
+    private static final int PUBLISH_BATCH_RECORDS = 64;
+    private static final int PUBLISH_BATCH_BYTES = 16 * 1024;
+    private static final int MAX_STRIPES = 256;
+
+    // 线程到分段的映射, 首次入队时按顺序分配, 相邻线程落在不同分段
+    private static final AtomicInteger THREAD_PROBE_GENERATOR = new AtomicInteger();
+    private static final ThreadLocal<Integer> THREAD_PROBE = new ThreadLocal<Integer>() {
+        @Override
+        protected Integer initialValue() {
+            return THREAD_PROBE_GENERATOR.getAndIncrement();
+        }
+    };
+
+    /**
+     * Builder.
+     *
+     * @param context the context
+     * @return the striped memory queue . builder
+     * @author HuangTaiHong
+     * @since 2026.10.18 19:40:12
+     */
+    public static StripedMemoryQueue.Builder builder(final LogSender.Builder context) {
+        return new StripedMemoryQueue.Builder(context);
+    }
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    private volatile boolean dontCheckLogsCountLimit;
+    private volatile boolean dontCheckEnoughMemorySpace;
+    private volatile long capacityInBytes;
+    private volatile long logCountLimit;
+
+    // 已发布(含消费端正在读取)的日志字节数和条数, 整批更新
+    private final AtomicLong publishedSize = new AtomicLong(0L);
+    private final AtomicLong publishedLogCount = new AtomicLong(0L);
+
+    private final DropAccounting dropAccounting;
+
+    // 消费端状态, 只在持有consumerLock时访问
+    private final ReentrantLock consumerLock = new ReentrantLock();
+    private List<byte[]> currentBatch;
+    private int currentBatchIndex;
+    private int nextStripe;
+
+    /**
+     * 构造函数
+     *
+     * @param stripeCount     分段数, 向上取整为2的幂
+     * @param capacityInBytes the capacity in bytes
+     * @param logCountLimit   the log count limit
+     * @param dropAccounting  丢弃统计
+     * @author HuangTaiHong
+     * @since 2026.10.18 19:40:12
+     */
+    public StripedMemoryQueue(final int stripeCount, final long capacityInBytes, final long logCountLimit, final DropAccounting dropAccounting) {
+        final int size = ceilingPowerOfTwo(Math.max(1, Math.min(stripeCount, MAX_STRIPES)));
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.stripeMask = size - 1;
+        this.capacityInBytes = capacityInBytes;
+        this.logCountLimit = logCountLimit;
+        this.dropAccounting = dropAccounting;
+        this.dontCheckEnoughMemorySpace = capacityInBytes == DONT_LIMIT_QUEUE_SPACE;
+        this.dontCheckLogsCountLimit = logCountLimit == DONT_LIMIT_QUEUE_SPACE;
+    }
+
+    @Override
+    public void enqueue(final byte[] logData) {
+        final DropReasonEnum dropReason = this.tryEnqueue(logData);
+        if (dropReason != null) {
+            this.dropAccounting.record(dropReason, logData.length);
+        }
+    }
+
+    @Override
+    public boolean offer(final byte[] logData) {
+        return this.tryEnqueue(logData) == null;
+    }
+
+    @Override
+    public double fillRatio() {
+        // 不含各分段待发布批次, 与容量检查同样是近似值
+        final double countRatio = this.dontCheckLogsCountLimit ? 0D : (double) this.publishedLogCount.get() / this.logCountLimit;
+        final double bytesRatio = this.dontCheckEnoughMemorySpace ? 0D : (double) this.publishedSize.get() / this.capacityInBytes;
+        return Math.min(1D, Math.max(countRatio, bytesRatio));
+    }
+
+    /**
+     * 写入当前线程对应的分段
+     *
+     * @param logData the log data
+     * @return 空间不足时返回丢弃原因, 否则返回null
+     * @author HuangTaiHong
+     * @since 2026.10.18 20:40:18
+     */
+    private DropReasonEnum tryEnqueue(final byte[] logData) {
+        final Stripe stripe = this.stripes[THREAD_PROBE.get() & this.stripeMask];
+        stripe.lock.lock();
+        try {
+            final DropReasonEnum dropReason = this.checkSpace(stripe);
+            if (dropReason != null) {
+                return dropReason;
+            }
+            stripe.openBatch.add(logData);
+            stripe.openBatchBytes += logData.length;
+            stripe.openBatchCount = stripe.openBatch.size();
+            if (stripe.openBatchCount >= PUBLISH_BATCH_RECORDS || stripe.openBatchBytes >= PUBLISH_BATCH_BYTES) {
+                this.publish(stripe);
+            }
+            return null;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] dequeue() {
+        this.consumerLock.lock();
+        try {
+            if (!this.hasCurrentBatch() && !this.nextBatch()) {
+                return null;
+            }
+            final byte[] logData = this.currentBatch.get(this.currentBatchIndex++);
+            this.publishedSize.addAndGet(-logData.length);
+            this.publishedLogCount.decrementAndGet();
+            return logData;
+        } finally {
+            this.consumerLock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(final List<byte[]> container, final int maxRecords, final long maxBytes) {
+        int drainedCount = 0;
+        long drainedBytes = 0L;
+        this.consumerLock.lock();
+        try {
+            while (drainedCount < maxRecords && (this.hasCurrentBatch() || this.nextBatch())) {
+                final byte[] logData = this.currentBatch.get(this.currentBatchIndex);
+                if (drainedCount > 0 && drainedBytes + logData.length > maxBytes) {
+                    break;
+                }
+                container.add(logData);
+                this.currentBatchIndex++;
+                drainedCount++;
+                drainedBytes += logData.length;
+            }
+            if (drainedCount > 0) {
+                // 整批只更新一次计数器
+                this.publishedSize.addAndGet(-drainedBytes);
+                this.publishedLogCount.addAndGet(-drainedCount);
+            }
+        } finally {
+            this.consumerLock.unlock();
+        }
+        return drainedCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (this.publishedLogCount.get() > 0) {
+            return false;
+        }
+        for (Stripe stripe : this.stripes) {
+            if (stripe.openBatchCount > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        this.consumerLock.lock();
+        try {
+            for (Stripe stripe : this.stripes) {
+                stripe.lock.lock();
+                try {
+                    stripe.published.clear();
+                    stripe.openBatch = new ArrayList<>(PUBLISH_BATCH_RECORDS);
+                    stripe.openBatchBytes = 0L;
+                    stripe.openBatchCount = 0;
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            this.currentBatch = null;
+            this.publishedSize.set(0L);
+            this.publishedLogCount.set(0L);
+        } finally {
+            this.consumerLock.unlock();
+        }
+    }
+
+    public int getStripeCount() {
+        return this.stripes.length;
+    }
+
+    private boolean hasCurrentBatch() {
+        return this.currentBatch != null && this.currentBatchIndex < this.currentBatch.size();
+    }
+
+    /**
+     * 从下一个有数据的分段取一个批次: 优先取已发布的批次, 没有时直接取走生产端未攒满的批次
+     *
+     * @return 是否取到批次
+     * @author HuangTaiHong
+     * @since 2026.10.18 19:40:12
+     */
+    private boolean nextBatch() {
+        this.currentBatch = null;
+        this.currentBatchIndex = 0;
+        for (int i = 0; i < this.stripes.length; i++) {
+            final Stripe stripe = this.stripes[this.nextStripe];
+            this.nextStripe = (this.nextStripe + 1) & this.stripeMask;
+            List<byte[]> batch = stripe.published.poll();
+            if (batch == null && stripe.openBatchCount > 0) {
+                stripe.lock.lock();
+                try {
+                    // 加锁后重新检查, 保证分段内顺序: 已发布批次必须先于未发布批次
+                    batch = stripe.published.poll();
+                    if (batch == null && stripe.openBatchCount > 0) {
+                        this.publish(stripe);
+                        batch = stripe.published.poll();
+                    }
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            if (batch != null) {
+                this.currentBatch = batch;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 发布分段的待发布批次, 调用方需持有分段锁
+     *
+     * @param stripe the stripe
+     * @author HuangTaiHong
+     * @since 2026.10.18 19:40:12
+     */
+    private void publish(final Stripe stripe) {
+        this.publishedSize.addAndGet(stripe.openBatchBytes);
+        this.publishedLogCount.addAndGet(stripe.openBatchCount);
+        stripe.published.offer(stripe.openBatch);
+        stripe.openBatch = new ArrayList<>(PUBLISH_BATCH_RECORDS);
+        stripe.openBatchBytes = 0L;
+        stripe.openBatchCount = 0;
+    }
+
+    /**
+     * 空间容量检查, 调用方需持有分段锁
+     * 1、内存阈值
+     * 2、数量条数
+     *
+     * @param stripe the stripe
+     * @return 空间不足时返回丢弃原因, 否则返回null
+     * @author HuangTaiHong
+     * @since 2026.10.18 19:40:12
+     */
+    private DropReasonEnum checkSpace(final Stripe stripe) {
+        if (!this.dontCheckLogsCountLimit && this.publishedLogCount.get() + stripe.openBatchCount >= this.logCountLimit) {
+            return DropReasonEnum.COUNT_LIMIT;
+        } else if (!this.dontCheckEnoughMemorySpace && this.publishedSize.get() + stripe.openBatchBytes >= this.capacityInBytes) {
+            return DropReasonEnum.BYTE_LIMIT;
+        }
+        return null;
+    }
+
+    private static int ceilingPowerOfTwo(final int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * 一个分段: 待发布批次由分段锁保护, 已发布批次对消费端无锁可见
+     */
+    private static class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ConcurrentLinkedQueue<List<byte[]>> published = new ConcurrentLinkedQueue<>();
+        private List<byte[]> openBatch = new ArrayList<>(PUBLISH_BATCH_RECORDS);
+        private long openBatchBytes;
+        // 只在持有分段锁时修改, volatile保证消费端无需加锁即可判断
+        private volatile int openBatchCount;
+
+        // 缓存行填充, 避免相邻分段的锁和计数器伪共享
+        @SuppressWarnings("unused")
+        private long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    @Override
+    public void setCapacityInBytes(final long capacityInBytes) {
+        // 放开限制时先关闭检查, 启用限制时先设置上限, 切换过程中不会按-1判断已满
+        if (capacityInBytes == DONT_LIMIT_QUEUE_SPACE) {
+            this.dontCheckEnoughMemorySpace = true;
+            this.capacityInBytes = capacityInBytes;
+        } else {
+            this.capacityInBytes = capacityInBytes;
+            this.dontCheckEnoughMemorySpace = false;
+        }
+    }
+
+    @Override
+    public void setLogCountLimit(final long logCountLimit) {
+        if (logCountLimit == DONT_LIMIT_QUEUE_SPACE) {
+            this.dontCheckLogsCountLimit = true;
+            this.logCountLimit = logCountLimit;
+        } else {
+            this.logCountLimit = logCountLimit;
+            this.dontCheckLogsCountLimit = false;
+        }
+    }
+
+    /**
+     * 构建类
+     */
+    public static class Builder {
+        private int stripeCount;
+        private long capacityInBytes;
+        private long logCountLimit;
+        private DropAccounting dropAccounting;
+        private final LogSender.Builder context;
+
+        Builder(final LogSender.Builder context) {
+            this.context = context;
+            this.logCountLimit = StripedMemoryQueue.DONT_LIMIT_QUEUE_SPACE;
+        }
+
+        public StripedMemoryQueue.Builder stripeCount(final int stripeCount) {
+            this.stripeCount = stripeCount;
+            return this;
+        }
+
+        public StripedMemoryQueue.Builder capacityInBytes(final long capacityInBytes) {
+            this.capacityInBytes = capacityInBytes;
+            return this;
+        }
+
+        public StripedMemoryQueue.Builder logCountLimit(final long logCountLimit) {
+            this.logCountLimit = logCountLimit;
+            return this;
+        }
+
+        public StripedMemoryQueue.Builder dropAccounting(final DropAccounting dropAccounting) {
+            this.dropAccounting = dropAccounting;
+            return this;
+        }
+
+        public LogSender.Builder endStripedMemoryQueue() {
+            this.context.setStripedMemoryQueueBuilder(this);
+            return this.context;
+        }
+
+        public StripedMemoryQueue build() {
+            return new StripedMemoryQueue(this.stripeCount, this.capacityInBytes, this.logCountLimit, this.dropAccounting);
+        }
+    }
+}
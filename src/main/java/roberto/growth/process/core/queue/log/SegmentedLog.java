@@ -0,0 +1,735 @@
+/**
+ * FileName: SegmentedLog
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 分段追加日志文件.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.log;
+
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.SenderStatusReporter;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.utils.MappedBufferUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * 〈分段追加日志文件.〉
+ * <p>
+ * 日志按固定大小的段文件顺序追加, 段文件以段号命名, 创建时逐块写0预分配磁盘空间并整体内存映射:
+ * 记录格式: length(int) + crc32(int) + payload, length为0表示尚未写入, -1表示该段已封闭, 后续记录在下一个段
+ * <p>
+ * 写入采用组提交: 生产线程先把记录放入无锁暂存队列, 抢到写锁的线程把暂存队列中所有记录一次写入并发布写位置,
+ * 没抢到锁的线程直接返回, 记录由持锁线程写入. 消费端只读取已发布的位置, 不与生产线程竞争锁.
+ * 记录写入成功后才移出暂存队列, 切换段失败(如磁盘写满)时暂存队列中的记录计入 {@link DropReasonEnum#WRITE_FAILURE}
+ * <p>
+ * 消费端有两个位置(段号 + 段内偏移): 读位置只在内存中, 读取时前移; 提交位置由调用方在记录送达后 {@link #commit(long)},
+ * 保存在 consumer.offset 文件中, 重启或 {@link #rewind()} 后从提交位置继续. 提交位置越过的段在 {@link #maintain()} 时整段删除,
+ * 同时在后台预分配下一个段文件, 调用方可根据 {@link #reclaimableSegmentCount()} 及时触发. 启动时校验最后一个段的CRC, 截断进程崩溃时未写完的记录
+ * <p>
+ * consumer.offset 只记录已刷盘数据范围内的提交位置: {@link #maintain()} 先把已发布的数据刷盘再写入提交位置,
+ * 越过刷盘位置的提交在下次 {@link #maintain()} 时才写入, 断电或进程崩溃后这部分记录会重新发送, 不会出现提交位置指向未落盘数据的情况
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class SegmentedLog implements Closeable {
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String SPARE_FILE_NAME = "segment.spare";
+    private static final String SPARE_TMP_FILE_NAME = "segment.spare.tmp";
+    private static final String OFFSET_FILE_NAME = "consumer.offset";
+    private static final int OFFSET_FILE_LENGTH = 16;
+    private static final int RECORD_HEADER_LENGTH = 4 + 4;
+    private static final int EOF_MARKER = -1;
+    private static final int PREALLOCATE_CHUNK_BYTES = 64 * 1024;
+
+    private final File dir;
+    private final int segmentSizeBytes;
+    private final SenderStatusReporter reporter;
+    private final DropAccounting dropAccounting;
+
+    // 写入端, 只有持有writeLock的线程访问
+    private final ConcurrentLinkedQueue<byte[]> staging = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final CRC32 writeCrc = new CRC32();
+    private Segment writeSegment;
+    private int writePosition;
+
+    // 已发布的写位置: 段号 << 32 | 段内偏移
+    private volatile long published;
+    // 已刷盘的写位置, 持久化的提交位置不超过该位置. 只在maintain、close和构造时修改
+    private volatile long durablePosition;
+
+    // 消费端, 持有readLock访问, 关闭时解除映射前需等待正在进行的读取
+    private final Object readLock = new Object();
+    private final CRC32 readCrc = new CRC32();
+    private final FileChannel offsetChannel;
+    private final MappedByteBuffer offsetBuffer;
+    private Segment readSegment;
+    // 读位置和提交位置: 段号 << 32 | 段内偏移
+    private volatile long readPosition;
+    private volatile long committed;
+
+    // 最早一个尚未删除的段号, 只在maintain和构造时修改
+    private volatile long oldestSegmentId;
+    private volatile boolean closed;
+
+    /**
+     * 构造函数: 打开目录中已有的段文件并恢复写入位置和消费位置
+     *
+     * @param dir              the dir
+     * @param segmentSizeBytes 段文件大小
+     * @param reporter         the reporter
+     * @throws IOException the io exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:20:05
+     */
+    public SegmentedLog(final File dir, final int segmentSizeBytes, final SenderStatusReporter reporter) throws IOException {
+        this(dir, segmentSizeBytes, reporter, new DropAccounting(reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS));
+    }
+
+    /**
+     * 构造函数: 打开目录中已有的段文件并恢复写入位置和消费位置
+     *
+     * @param dir              the dir
+     * @param segmentSizeBytes 段文件大小
+     * @param reporter         the reporter
+     * @param dropAccounting   写入失败的记录计入的丢弃统计
+     * @throws IOException the io exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:20:05
+     */
+    public SegmentedLog(final File dir, final int segmentSizeBytes, final SenderStatusReporter reporter, final DropAccounting dropAccounting) throws IOException {
+        if (segmentSizeBytes <= RECORD_HEADER_LENGTH) {
+            throw new IllegalArgumentException("segmentSizeBytes过小: " + segmentSizeBytes);
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("无法创建目录: " + dir.getAbsolutePath());
+        }
+        this.dir = dir;
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.reporter = reporter;
+        this.dropAccounting = dropAccounting;
+        final RandomAccessFile offsetFile = new RandomAccessFile(new File(dir, OFFSET_FILE_NAME), "rw");
+        if (offsetFile.length() != OFFSET_FILE_LENGTH) {
+            // 与段文件一样写入0分配磁盘空间, 不使用稀疏文件
+            offsetFile.setLength(0L);
+            offsetFile.write(new byte[OFFSET_FILE_LENGTH]);
+        }
+        this.offsetChannel = offsetFile.getChannel();
+        this.offsetBuffer = this.offsetChannel.map(FileChannel.MapMode.READ_WRITE, 0, OFFSET_FILE_LENGTH);
+        this.recover();
+    }
+
+    /**
+     * 追加一条记录, 记录可能由其他生产线程代为写入
+     *
+     * @param data the data
+     * @return true :已接收, 之后写入失败时计入丢弃统计;  false: 单条记录超过段大小
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:20:05
+     */
+    public boolean append(final byte[] data) {
+        if (data.length > this.segmentSizeBytes - RECORD_HEADER_LENGTH) {
+            return false;
+        }
+        this.staging.add(data);
+        this.drainStaging();
+        return true;
+    }
+
+    /**
+     * 从读位置读取最多maxRecords条且总大小不超过maxBytes的记录, 第一条记录不受maxBytes限制. 只移动读位置, 不提交
+     *
+     * @param container  the container
+     * @param maxRecords the max records
+     * @param maxBytes   the max bytes
+     * @return 实际读取的条数
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:20:05
+     */
+    public int read(final List<byte[]> container, final int maxRecords, final long maxBytes) {
+        synchronized (this.readLock) {
+            return this.readLocked(container, maxRecords, maxBytes);
+        }
+    }
+
+    /**
+     * 读位置: 已读取记录之后的位置
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    public long readPosition() {
+        return this.readPosition;
+    }
+
+    /**
+     * 提交位置, 在已刷盘的范围内写入 consumer.offset. 不超过读位置, 小于已提交位置时忽略
+     *
+     * @param position {@link #readPosition()} 返回的位置
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    public void commit(final long position) {
+        synchronized (this.readLock) {
+            if (this.closed || position <= this.committed || position > this.readPosition) {
+                return;
+            }
+            this.committed = position;
+            this.persistOffset();
+        }
+    }
+
+    /**
+     * 读位置回退到提交位置
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    public void rewind() {
+        synchronized (this.readLock) {
+            this.readPosition = this.committed;
+        }
+    }
+
+    private int readLocked(final List<byte[]> container, final int maxRecords, final long maxBytes) {
+        long position = this.readPosition;
+        int readCount = 0;
+        long readBytes = 0L;
+        while (readCount < maxRecords && !this.closed) {
+            final long limit = this.published;
+            if (position >= limit) {
+                break;
+            }
+            final long segmentId = segmentIdOf(position);
+            final int offset = offsetOf(position);
+            final ByteBuffer buffer = this.readBuffer(segmentId);
+            if (buffer == null) {
+                position = this.nextSegmentPosition(segmentId, "段文件不存在");
+                continue;
+            }
+            final int length = offset + RECORD_HEADER_LENGTH > this.segmentSizeBytes ? EOF_MARKER : buffer.getInt(offset);
+            if (length == EOF_MARKER || length == 0) {
+                // 已封闭的段读完, 进入下一段
+                if (segmentId < segmentIdOf(limit)) {
+                    position = this.nextSegmentPosition(segmentId, null);
+                    continue;
+                }
+                break;
+            }
+            if (readCount > 0 && readBytes + length > maxBytes) {
+                break;
+            }
+            final byte[] data = this.readRecord(buffer, offset, length);
+            if (data == null) {
+                position = this.nextSegmentPosition(segmentId, String.format("记录校验失败, 跳过段剩余数据: offset=%d, length=%d", offset, length));
+                continue;
+            }
+            container.add(data);
+            readCount++;
+            readBytes += length;
+            position = position(segmentId, offset + RECORD_HEADER_LENGTH + length);
+        }
+        if (this.readSegment != null && this.readSegment.id < segmentIdOf(position)) {
+            // 已越过的段立即解除映射, 删除后才能释放磁盘空间
+            this.readSegment.close();
+            this.readSegment = null;
+        }
+        this.readPosition = position;
+        return readCount;
+    }
+
+    /**
+     * 是否没有未消费的记录
+     *
+     * @return the boolean
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:20:05
+     */
+    public boolean isEmpty() {
+        return this.staging.isEmpty() && this.readPosition >= this.published;
+    }
+
+    /**
+     * 后台维护: 已发布的数据刷盘后提交位置刷盘, 删除持久化的提交位置已越过的段, 预分配下一个段文件
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:20:05
+     */
+    public synchronized void maintain() {
+        if (this.closed) {
+            return;
+        }
+        this.forcePublished();
+        final long persisted;
+        synchronized (this.readLock) {
+            if (this.closed) {
+                return;
+            }
+            persisted = this.persistOffset();
+            this.offsetBuffer.force();
+        }
+        this.deletePassedSegments(persisted);
+        this.preallocateSpare();
+    }
+
+    /**
+     * 提交位置已越过、等待删除的段文件数
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 02:05:30
+     */
+    public long reclaimableSegmentCount() {
+        return Math.max(0L, segmentIdOf(this.committed) - this.oldestSegmentId);
+    }
+
+    /**
+     * 等待删除的段文件占用的字节数
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 02:05:30
+     */
+    public long reclaimableBytes() {
+        return this.reclaimableSegmentCount() * this.segmentSizeBytes;
+    }
+
+    /**
+     * 提交位置之后尚未确认的数据字节数(含已读取未提交的部分), 段尾未写满的空间按已使用计算
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 02:05:30
+     */
+    public long liveBytes() {
+        final long committed = this.committed;
+        final long published = this.published;
+        return Math.max(0L, (segmentIdOf(published) - segmentIdOf(committed)) * this.segmentSizeBytes + offsetOf(published) - offsetOf(committed));
+    }
+
+    /**
+     * 日志在磁盘上占用的字节数: 从最早未删除的段开头到写位置, 包括等待删除的段, 不含段尾和备用段的预分配空间.
+     * 只读取两个volatile字段, 可以在写入路径上调用
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 02:40:20
+     */
+    public long footprintBytes() {
+        final long published = this.published;
+        return Math.max(0L, (segmentIdOf(published) - this.oldestSegmentId) * this.segmentSizeBytes + offsetOf(published));
+    }
+
+    /**
+     * 当前磁盘上的段文件数
+     *
+     * @return the int
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:20:05
+     */
+    public int segmentCount() {
+        return (int) (segmentIdOf(this.published) - this.oldestSegmentId + 1);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.writeLock.lock();
+        try {
+            this.writeStaging();
+            this.closed = true;
+            this.writeSegment.force();
+            this.durablePosition = this.published;
+            this.writeSegment.close();
+        } finally {
+            this.writeLock.unlock();
+        }
+        synchronized (this.readLock) {
+            if (this.readSegment != null) {
+                this.readSegment.close();
+                this.readSegment = null;
+            }
+            this.persistOffset();
+            this.offsetBuffer.force();
+            MappedBufferUtils.unmap(this.offsetBuffer);
+            this.offsetChannel.close();
+        }
+    }
+
+    /**
+     * 组提交: 抢到写锁的线程写入暂存队列中的全部记录, 释放锁后再次检查, 避免记录滞留在暂存队列
+     */
+    private void drainStaging() {
+        while (!this.staging.isEmpty() && this.writeLock.tryLock()) {
+            try {
+                if (this.closed) {
+                    return;
+                }
+                this.writeStaging();
+            } finally {
+                this.writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 写入暂存队列中的全部记录并发布, 调用方需持有writeLock. 记录写入成功后才移出暂存队列,
+     * 写入失败时已写入的记录照常发布, 暂存队列中剩余的记录计入丢弃统计, 不会在append返回true后静默丢失
+     */
+    private void writeStaging() {
+        try {
+            byte[] data;
+            while ((data = this.staging.peek()) != null) {
+                this.write(data);
+                this.staging.poll();
+            }
+        } catch (IOException e) {
+            long droppedCount = 0L;
+            long droppedBytes = 0L;
+            byte[] data;
+            while ((data = this.staging.poll()) != null) {
+                droppedCount++;
+                droppedBytes += data.length;
+            }
+            this.dropAccounting.record(DropReasonEnum.WRITE_FAILURE, droppedCount, droppedBytes);
+            this.reporter.error(String.format("段文件写入失败, 丢弃暂存的%d条记录", droppedCount), e);
+        } finally {
+            this.publish();
+        }
+    }
+
+    /**
+     * 将上次刷盘之后发布的段文件刷盘, 之后已发布的位置都可以作为提交位置持久化.
+     * 通过单独打开的文件句柄刷盘(同一文件的页缓存, 包括映射写入的脏页), 不占用写锁, 也不受切换段时解除映射的影响
+     */
+    private void forcePublished() {
+        final long position = this.published;
+        for (long segmentId = segmentIdOf(this.durablePosition); segmentId <= segmentIdOf(position); segmentId++) {
+            final File file = this.segmentFile(segmentId);
+            try {
+                final RandomAccessFile raf = new RandomAccessFile(file, "r");
+                try {
+                    raf.getChannel().force(false);
+                } finally {
+                    raf.close();
+                }
+            } catch (IOException e) {
+                this.reporter.error("段文件刷盘失败: " + file.getAbsolutePath(), e);
+                return;
+            }
+        }
+        this.durablePosition = position;
+    }
+
+    /**
+     * 将已刷盘范围内的提交位置写入 consumer.offset 的映射, 调用方需持有readLock
+     *
+     * @return 写入的位置
+     */
+    private long persistOffset() {
+        final long position = Math.min(this.committed, this.durablePosition);
+        this.offsetBuffer.putLong(0, segmentIdOf(position));
+        this.offsetBuffer.putInt(8, offsetOf(position));
+        return position;
+    }
+
+    /**
+     * 写入一条记录, 调用方需持有writeLock. 长度最后写入, 读到非0长度即表示记录完整
+     */
+    private void write(final byte[] data) throws IOException {
+        if (this.writePosition + RECORD_HEADER_LENGTH + data.length > this.segmentSizeBytes) {
+            this.roll();
+        }
+        this.writeCrc.reset();
+        this.writeCrc.update(data, 0, data.length);
+        final ByteBuffer view = this.writeSegment.view;
+        view.putInt(this.writePosition + 4, (int) this.writeCrc.getValue());
+        view.position(this.writePosition + RECORD_HEADER_LENGTH);
+        view.put(data);
+        view.putInt(this.writePosition, data.length);
+        this.writePosition += RECORD_HEADER_LENGTH + data.length;
+    }
+
+    private void publish() {
+        this.published = position(this.writeSegment.id, this.writePosition);
+    }
+
+    /**
+     * 封闭当前段并切换到下一段, 调用方需持有writeLock
+     */
+    private void roll() throws IOException {
+        if (this.writePosition + 4 <= this.segmentSizeBytes) {
+            this.writeSegment.view.putInt(this.writePosition, EOF_MARKER);
+        }
+        final long nextId = this.writeSegment.id + 1;
+        final File spare = new File(this.dir, SPARE_FILE_NAME);
+        final File next = this.segmentFile(nextId);
+        if (!spare.isFile() || spare.length() != this.segmentSizeBytes || !spare.renameTo(next)) {
+            createSegmentFile(next, this.segmentSizeBytes);
+        }
+        final Segment nextSegment = Segment.open(nextId, next);
+        // 先发布封闭标记, 消费端读完当前段后再进入下一段
+        this.publish();
+        this.writeSegment.close();
+        this.writeSegment = nextSegment;
+        this.writePosition = 0;
+        this.publish();
+    }
+
+    private ByteBuffer readBuffer(final long segmentId) {
+        if (this.readSegment != null && this.readSegment.id == segmentId) {
+            return this.readSegment.view;
+        }
+        if (this.readSegment != null) {
+            this.readSegment.close();
+            this.readSegment = null;
+        }
+        final File file = this.segmentFile(segmentId);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            this.readSegment = Segment.open(segmentId, file);
+            return this.readSegment.view;
+        } catch (IOException e) {
+            this.reporter.error("段文件打开失败: " + file.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    private byte[] readRecord(final ByteBuffer buffer, final int offset, final int length) {
+        if (length < 0 || length > this.segmentSizeBytes - offset - RECORD_HEADER_LENGTH) {
+            return null;
+        }
+        final byte[] data = new byte[length];
+        final ByteBuffer view = buffer.duplicate();
+        view.position(offset + RECORD_HEADER_LENGTH);
+        view.get(data);
+        this.readCrc.reset();
+        this.readCrc.update(data, 0, length);
+        return (int) this.readCrc.getValue() == buffer.getInt(offset + 4) ? data : null;
+    }
+
+    private long nextSegmentPosition(final long segmentId, final String warning) {
+        if (warning != null) {
+            this.reporter.error(String.format("%s: segment=%d", warning, segmentId));
+        }
+        if (segmentId >= segmentIdOf(this.published)) {
+            // 当前写入段损坏, 跳到已发布的位置
+            return this.published;
+        }
+        return position(segmentId + 1, 0);
+    }
+
+    private void deletePassedSegments(final long persisted) {
+        final long firstLiveId = segmentIdOf(persisted);
+        while (this.oldestSegmentId < firstLiveId) {
+            final File file = this.segmentFile(this.oldestSegmentId);
+            if (file.exists() && !file.delete()) {
+                this.reporter.warn("段文件删除失败: " + file.getAbsolutePath());
+                return;
+            }
+            this.oldestSegmentId++;
+        }
+    }
+
+    private void preallocateSpare() {
+        final File spare = new File(this.dir, SPARE_FILE_NAME);
+        if (spare.isFile()) {
+            return;
+        }
+        final File tmp = new File(this.dir, SPARE_TMP_FILE_NAME);
+        try {
+            createSegmentFile(tmp, this.segmentSizeBytes);
+            if (!tmp.renameTo(spare)) {
+                this.reporter.warn("预分配段文件重命名失败: " + tmp.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            this.reporter.error("预分配段文件失败", e);
+        }
+    }
+
+    /**
+     * 恢复写入位置和消费位置
+     */
+    private void recover() throws IOException {
+        final List<Long> segmentIds = this.listSegmentIds();
+        long readSegmentId = this.offsetBuffer.getLong(0);
+        int readOffset = this.offsetBuffer.getInt(8);
+        if (segmentIds.isEmpty()) {
+            final long firstId = Math.max(0L, readSegmentId);
+            createSegmentFile(this.segmentFile(firstId), this.segmentSizeBytes);
+            segmentIds.add(firstId);
+        }
+        this.oldestSegmentId = segmentIds.get(0);
+        final long lastId = segmentIds.get(segmentIds.size() - 1);
+        if (readSegmentId < this.oldestSegmentId || readSegmentId > lastId || readOffset < 0) {
+            readSegmentId = this.oldestSegmentId;
+            readOffset = 0;
+        }
+        this.writeSegment = Segment.open(lastId, this.segmentFile(lastId));
+        this.writePosition = this.scanValidEnd(this.writeSegment.view, readSegmentId == lastId ? readOffset : 0);
+        if (readSegmentId == lastId && readOffset > this.writePosition) {
+            readOffset = this.writePosition;
+        }
+        this.committed = position(readSegmentId, readOffset);
+        this.readPosition = this.committed;
+        this.publish();
+        this.durablePosition = this.published;
+        if (this.writePosition + 4 <= this.segmentSizeBytes && this.writeSegment.view.getInt(this.writePosition) == EOF_MARKER) {
+            // 最后一个段已封闭
+            this.roll();
+        }
+        new File(this.dir, SPARE_TMP_FILE_NAME).delete();
+    }
+
+    /**
+     * 从from开始校验记录, 返回最后一条完整记录的结束位置. 遇到未写完的记录时清零其后的数据, 避免下次启动误读
+     */
+    private int scanValidEnd(final ByteBuffer buffer, final int from) {
+        int offset = from;
+        while (offset + RECORD_HEADER_LENGTH <= this.segmentSizeBytes) {
+            final int length = buffer.getInt(offset);
+            if (length == 0 || length == EOF_MARKER) {
+                return offset;
+            }
+            if (this.readRecord(buffer, offset, length) == null) {
+                this.reporter.warn(String.format("截断未写完的记录: segment=%d, offset=%d", this.writeSegment.id, offset));
+                for (int i = offset; i < this.segmentSizeBytes; i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                return offset;
+            }
+            offset += RECORD_HEADER_LENGTH + length;
+        }
+        return offset;
+    }
+
+    private List<Long> listSegmentIds() {
+        final String[] names = this.dir.list(new FilenameFilter() {
+            @Override
+            public boolean accept(final File parent, final String name) {
+                return name.endsWith(SEGMENT_SUFFIX);
+            }
+        });
+        final List<Long> segmentIds = new ArrayList<>();
+        if (names != null) {
+            for (String name : names) {
+                try {
+                    segmentIds.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    this.reporter.warn("忽略无法识别的段文件: " + name);
+                }
+            }
+        }
+        Collections.sort(segmentIds);
+        return segmentIds;
+    }
+
+    private File segmentFile(final long segmentId) {
+        return new File(this.dir, String.format("%020d%s", segmentId, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * 创建段文件: 逐块写0真正分配磁盘空间. 稀疏文件在磁盘写满时访问映射会触发SIGBUS, 预分配则在这里抛出IOException,
+     * 失败时删除写了一半的文件, 避免重启后被当作段文件映射
+     *
+     * @param file   the file
+     * @param length 文件大小
+     */
+    private static void createSegmentFile(final File file, final int length) throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        boolean allocated = false;
+        try {
+            raf.setLength(length);
+            final FileChannel channel = raf.getChannel();
+            final ByteBuffer zeros = ByteBuffer.allocate(PREALLOCATE_CHUNK_BYTES);
+            long position = 0L;
+            while (position < length) {
+                zeros.clear();
+                zeros.limit((int) Math.min(PREALLOCATE_CHUNK_BYTES, length - position));
+                position += channel.write(zeros, position);
+            }
+            allocated = true;
+        } finally {
+            raf.close();
+            if (!allocated) {
+                file.delete();
+            }
+        }
+    }
+
+    private static long position(final long segmentId, final int offset) {
+        return segmentId << 32 | (offset & 0xFFFFFFFFL);
+    }
+
+    private static long segmentIdOf(final long position) {
+        return position >>> 32;
+    }
+
+    private static int offsetOf(final long position) {
+        return (int) position;
+    }
+
+    /**
+     * 一个已映射的段文件
+     */
+    private static final class Segment {
+        private final long id;
+        private final RandomAccessFile file;
+        private final MappedByteBuffer buffer;
+        // 写入时使用的视图, 只使用绝对位置读写和position
+        private final ByteBuffer view;
+
+        private Segment(final long id, final RandomAccessFile file, final MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+            this.view = buffer.duplicate();
+        }
+
+        private static Segment open(final long id, final File file) throws IOException {
+            final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            try {
+                return new Segment(id, raf, raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, raf.length()));
+            } catch (IOException e) {
+                raf.close();
+                throw e;
+            }
+        }
+
+        private void force() {
+            this.buffer.force();
+        }
+
+        private void close() {
+            MappedBufferUtils.unmap(this.buffer);
+            try {
+                this.file.close();
+            } catch (IOException e) {
+                // 关闭失败不影响数据
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * FileName: BatchCallback
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 批次发送结果回调.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.transport;
+
+/**
+ * 〈批次发送结果回调.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public interface BatchCallback {
+    /**
+     * 服务端确认收到批次
+     *
+     * @param batch the batch
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:04:37
+     */
+    void onAcknowledged(LogBatch batch);
+
+    /**
+     * 批次发送失败
+     *
+     * @param batch     the batch
+     * @param throwable the throwable
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:04:37
+     */
+    void onFailure(LogBatch batch, Throwable throwable);
+}
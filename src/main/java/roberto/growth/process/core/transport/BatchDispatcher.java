@@ -0,0 +1,178 @@
+/**
+ * FileName: BatchDispatcher
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 批次发送线程.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.transport;
+
+import roberto.growth.process.core.SenderStatusReporter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 〈批次发送线程.〉
+ * <p>
+ * 从 {@link RecordAccumulator} 取出就绪批次交给 {@link LogTransport}, 连接失败时按退避时间重试.
+ * 可以服务多个聚合器(每个分区一个), 轮流取出各聚合器的批次, 同一聚合器的批次按顺序发送
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class BatchDispatcher implements Runnable {
+    private static final long POLL_TIMEOUT_MS = 100L;
+    private static final long MAX_RETRY_BACKOFF_MS = 5000L;
+
+    // 聚合器及其批次的发送结果回调, 下标一一对应
+    private final List<RecordAccumulator> accumulators = new ArrayList<>();
+    private final List<BatchCallback> callbacks = new ArrayList<>();
+    private final BatchReadySignal readySignal = new BatchReadySignal();
+    private final LogTransport transport;
+    private final SenderStatusReporter reporter;
+    private final long retryBackoffMs;
+    private final int retries;
+
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private volatile boolean running = true;
+
+    /**
+     * Instantiates a new Batch dispatcher, 启动前通过 {@link #register(RecordAccumulator, BatchCallback)} 登记聚合器
+     *
+     * @param transport      the transport
+     * @param reporter       the reporter
+     * @param retries        连接失败时单个批次的最大重试次数
+     * @param retryBackoffMs the retry backoff ms
+     * @author HuangTaiHong
+     * @since 2026.10.18 01:25:10
+     */
+    public BatchDispatcher(final LogTransport transport, final SenderStatusReporter reporter, final int retries, final long retryBackoffMs) {
+        this.transport = transport;
+        this.reporter = reporter;
+        this.retries = retries;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    /**
+     * 登记由当前发送线程发送的聚合器, 需在启动前调用
+     *
+     * @param accumulator the accumulator
+     * @param callback    该聚合器批次的发送结果回调
+     * @author HuangTaiHong
+     * @since 2026.10.18 01:25:10
+     */
+    public void register(final RecordAccumulator accumulator, final BatchCallback callback) {
+        this.accumulators.add(accumulator);
+        this.callbacks.add(callback);
+        if (this.accumulators.size() > 1) {
+            for (RecordAccumulator registered : this.accumulators) {
+                registered.setReadySignal(this.readySignal);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (this.accumulators.size() == 1) {
+                final RecordAccumulator accumulator = this.accumulators.get(0);
+                while (this.running || accumulator.hasPendingBatches()) {
+                    final LogBatch batch = accumulator.poll(POLL_TIMEOUT_MS);
+                    if (batch != null) {
+                        this.sendWithRetry(batch, this.callbacks.get(0));
+                    }
+                }
+            } else {
+                this.runMultiplexed();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.terminated.countDown();
+        }
+    }
+
+    /**
+     * 轮流从各聚合器取出一个就绪批次, 都没有就绪批次时等待到最早的 lingerMs 到期或有新的批次
+     *
+     * @throws InterruptedException the interrupted exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 01:25:10
+     */
+    private void runMultiplexed() throws InterruptedException {
+        while (this.running || this.hasPendingBatches()) {
+            final long version = this.readySignal.version();
+            long waitMs = POLL_TIMEOUT_MS;
+            boolean sent = false;
+            for (int i = 0; i < this.accumulators.size(); i++) {
+                final RecordAccumulator accumulator = this.accumulators.get(i);
+                final LogBatch batch = accumulator.poll(0L);
+                if (batch != null) {
+                    this.sendWithRetry(batch, this.callbacks.get(i));
+                    sent = true;
+                } else {
+                    waitMs = Math.min(waitMs, accumulator.readyDelayMs());
+                }
+            }
+            if (!sent) {
+                this.readySignal.await(version, waitMs);
+            }
+        }
+    }
+
+    private boolean hasPendingBatches() {
+        for (RecordAccumulator accumulator : this.accumulators) {
+            if (accumulator.hasPendingBatches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 停止接收新批次, 并在超时时间内发送完剩余批次
+     *
+     * @param timeoutMs the timeout ms
+     * @return true :全部发送并确认;  false: 超时
+     * @throws InterruptedException the interrupted exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:48:52
+     */
+    public boolean shutdown(final long timeoutMs) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMs;
+        for (RecordAccumulator accumulator : this.accumulators) {
+            accumulator.close();
+        }
+        this.running = false;
+        this.readySignal.signal();
+        if (!this.terminated.await(timeoutMs, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        return this.transport.flush(Math.max(0L, deadline - System.currentTimeMillis()));
+    }
+
+    private void sendWithRetry(final LogBatch batch, final BatchCallback callback) throws InterruptedException {
+        long backoffMs = this.retryBackoffMs;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                batch.markSent();
+                this.transport.send(batch, callback);
+                return;
+            } catch (IOException e) {
+                if (attempt >= this.retries || !this.running) {
+                    callback.onFailure(batch, e);
+                    return;
+                }
+                this.reporter.warn(String.format("批次发送失败, %d ms后第%d次重试: %s", backoffMs, attempt + 1, batch), e);
+                TimeUnit.MILLISECONDS.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * FileName: BatchReadySignal
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 批次就绪通知.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.transport;
+
+/**
+ * 〈批次就绪通知.〉
+ * <p>
+ * 一个发送线程服务多个 {@link RecordAccumulator} 时共用, 任一聚合器创建或封装批次后通知发送线程重新检查.
+ * 等待前先读取版本号, 版本号变化说明期间有新的通知, 不会丢失唤醒
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+final class BatchReadySignal {
+    private long version;
+
+    synchronized long version() {
+        return this.version;
+    }
+
+    synchronized void signal() {
+        this.version++;
+        this.notifyAll();
+    }
+
+    /**
+     * 版本号未变化时最多等待 maxWaitMs
+     *
+     * @param version   等待前读取的版本号
+     * @param maxWaitMs the max wait ms
+     * @throws InterruptedException the interrupted exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 01:25:10
+     */
+    synchronized void await(final long version, final long maxWaitMs) throws InterruptedException {
+        if (this.version == version && maxWaitMs > 0) {
+            this.wait(maxWaitMs);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * FileName: LogBatch
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志发送批次.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 〈日志发送批次.〉
+ * <p>
+ * 由 {@link RecordAccumulator} 按大小和等待时间聚合而成, 作为一次网络请求的发送单位
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class LogBatch {
+    private final long batchId;
+    private final long createdMs;
+    private final List<byte[]> records;
+    private long sizeInBytes;
+    // 失败后无法从缓冲队列重新出队的记录(来自不支持确认的内存通道)
+    private int untrackedRecordCount;
+    private long untrackedSizeInBytes;
+    // 最近一次交给发送通道的时间, 未发出时为0
+    private volatile long sentNanos;
+
+    /**
+     * Instantiates a new Log batch.
+     *
+     * @param batchId   the batch id
+     * @param createdMs the created ms
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:02:11
+     */
+    public LogBatch(final long batchId, final long createdMs) {
+        this.batchId = batchId;
+        this.createdMs = createdMs;
+        this.records = new ArrayList<>();
+    }
+
+    /**
+     * 追加一条记录
+     *
+     * @param record  the record
+     * @param tracked 失败后能否从缓冲队列重新出队
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:02:11
+     */
+    void add(final byte[] record, final boolean tracked) {
+        this.records.add(record);
+        this.sizeInBytes += record.length;
+        if (!tracked) {
+            this.untrackedRecordCount++;
+            this.untrackedSizeInBytes += record.length;
+        }
+    }
+
+    void markSent() {
+        this.sentNanos = System.nanoTime();
+    }
+
+    public long getSentNanos() {
+        return sentNanos;
+    }
+
+    public long getBatchId() {
+        return batchId;
+    }
+
+    public long getCreatedMs() {
+        return createdMs;
+    }
+
+    public List<byte[]> getRecords() {
+        return records;
+    }
+
+    public int getRecordCount() {
+        return records.size();
+    }
+
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    public int getUntrackedRecordCount() {
+        return untrackedRecordCount;
+    }
+
+    public long getUntrackedSizeInBytes() {
+        return untrackedSizeInBytes;
+    }
+
+    public boolean isEmpty() {
+        return records.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "LogBatch{" + "batchId=" + batchId + ", records=" + records.size() + ", sizeInBytes=" + sizeInBytes + '}';
+    }
+}
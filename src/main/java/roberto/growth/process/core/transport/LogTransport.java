@@ -0,0 +1,46 @@
+/**
+ * FileName: LogTransport
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志传输通道.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 〈日志传输通道.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public interface LogTransport extends Closeable {
+    /**
+     * 异步发送一个批次, 结果通过回调通知
+     * <p>
+     * 在途请求数达到上限时会阻塞调用方, 直到有批次被确认. 只有批次未被受理时才抛出异常, 受理之后的失败一律通过回调通知
+     *
+     * @param batch    the batch
+     * @param callback the callback
+     * @throws IOException          建立连接失败, 批次未被受理
+     * @throws InterruptedException 等待在途请求时被中断
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:06:02
+     */
+    void send(LogBatch batch, BatchCallback callback) throws IOException, InterruptedException;
+
+    /**
+     * 等待所有在途批次得到确认
+     *
+     * @param timeoutMs the timeout ms
+     * @return true :全部确认;  false: 超时
+     * @throws InterruptedException the interrupted exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:06:02
+     */
+    boolean flush(long timeoutMs) throws InterruptedException;
+}
@@ -0,0 +1,263 @@
+/**
+ * FileName: RecordAccumulator
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志批次聚合器.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.transport;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 〈日志批次聚合器.〉
+ * <p>
+ * 将单条日志按 batchSizeBytes 和 lingerMs 聚合成批次, 并通过 bufferMemoryBytes 限制尚未确认的数据总量
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class RecordAccumulator {
+    private final int batchSizeBytes;
+    private final long lingerMs;
+    private final long bufferMemoryBytes;
+
+    private final Deque<LogBatch> sealedBatches = new ArrayDeque<>();
+    private LogBatch currentBatch;
+    private long nextBatchId;
+
+    // 已聚合但尚未被确认的字节数
+    private long bufferedBytes;
+    private boolean closed;
+    // 发送线程服务多个聚合器时的就绪通知, 只服务当前聚合器时为null
+    private BatchReadySignal readySignal;
+
+    /**
+     * Instantiates a new Record accumulator.
+     *
+     * @param batchSizeBytes    the batch size bytes
+     * @param lingerMs          the linger ms
+     * @param bufferMemoryBytes the buffer memory bytes
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:11:45
+     */
+    public RecordAccumulator(final int batchSizeBytes, final long lingerMs, final long bufferMemoryBytes) {
+        this.batchSizeBytes = batchSizeBytes;
+        this.lingerMs = lingerMs;
+        this.bufferMemoryBytes = bufferMemoryBytes;
+    }
+
+    /**
+     * 追加一条记录, 缓冲区已满时最多等待 maxBlockMs
+     *
+     * @param record     the record
+     * @param maxBlockMs the max block ms
+     * @return true :追加成功;  false: 缓冲区已满或已关闭
+     * @throws InterruptedException the interrupted exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:11:45
+     */
+    public boolean append(final byte[] record, final long maxBlockMs) throws InterruptedException {
+        return this.append(record, maxBlockMs, false);
+    }
+
+    /**
+     * 追加一条记录, 缓冲区已满时最多等待 maxBlockMs
+     *
+     * @param record     the record
+     * @param maxBlockMs the max block ms
+     * @param tracked    失败后能否从缓冲队列重新出队
+     * @return true :追加成功;  false: 缓冲区已满或已关闭
+     * @throws InterruptedException the interrupted exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    public synchronized boolean append(final byte[] record, final long maxBlockMs, final boolean tracked) throws InterruptedException {
+        long remainingMs = maxBlockMs;
+        final long deadline = System.currentTimeMillis() + maxBlockMs;
+        while (!this.closed && this.bufferedBytes > 0 && this.bufferedBytes + record.length > this.bufferMemoryBytes) {
+            if (remainingMs <= 0) {
+                return false;
+            }
+            this.wait(remainingMs);
+            remainingMs = deadline - System.currentTimeMillis();
+        }
+        if (this.closed) {
+            return false;
+        }
+        if (this.currentBatch != null && this.currentBatch.getSizeInBytes() + record.length > this.batchSizeBytes) {
+            this.sealCurrentBatch();
+        }
+        if (this.currentBatch == null) {
+            this.currentBatch = new LogBatch(this.nextBatchId++, System.currentTimeMillis());
+            // 唤醒发送线程开始计算 lingerMs
+            this.notifyAll();
+            this.signalReady();
+        }
+        this.currentBatch.add(record, tracked);
+        this.bufferedBytes += record.length;
+        if (this.currentBatch.getSizeInBytes() >= this.batchSizeBytes) {
+            this.sealCurrentBatch();
+        }
+        return true;
+    }
+
+    /**
+     * 获取一个可发送的批次: 已满的批次, 或等待超过 lingerMs 的批次
+     *
+     * @param maxWaitMs the max wait ms
+     * @return 可发送的批次, 超时返回null
+     * @throws InterruptedException the interrupted exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:11:45
+     */
+    public synchronized LogBatch poll(final long maxWaitMs) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + maxWaitMs;
+        while (true) {
+            if (!this.sealedBatches.isEmpty()) {
+                return this.sealedBatches.pollFirst();
+            }
+            final long now = System.currentTimeMillis();
+            long waitMs = deadline - now;
+            if (this.currentBatch != null) {
+                final long lingerRemainingMs = this.currentBatch.getCreatedMs() + this.lingerMs - now;
+                if (lingerRemainingMs <= 0 || this.closed) {
+                    this.sealCurrentBatch();
+                    continue;
+                }
+                waitMs = Math.min(waitMs, lingerRemainingMs);
+            }
+            if (deadline - now <= 0) {
+                return null;
+            }
+            this.wait(waitMs);
+        }
+    }
+
+    /**
+     * 批次发送结束(确认或失败)后释放其占用的缓冲额度
+     *
+     * @param batch the batch
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:11:45
+     */
+    public synchronized void release(final LogBatch batch) {
+        this.bufferedBytes -= batch.getSizeInBytes();
+        this.notifyAll();
+    }
+
+    /**
+     * 立即封装当前批次, 不再等待 lingerMs
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:11:45
+     */
+    public synchronized void flush() {
+        if (this.currentBatch != null) {
+            this.sealCurrentBatch();
+        }
+    }
+
+    /**
+     * 丢弃尚未被取出的批次(包括当前批次)并释放其缓冲额度, 已取出的批次不受影响
+     *
+     * @return 丢弃的批次
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    public synchronized List<LogBatch> discardUnsentBatches() {
+        if (this.currentBatch != null) {
+            this.sealedBatches.addLast(this.currentBatch);
+            this.currentBatch = null;
+        }
+        final List<LogBatch> discarded = new ArrayList<>(this.sealedBatches);
+        this.sealedBatches.clear();
+        for (LogBatch batch : discarded) {
+            this.bufferedBytes -= batch.getSizeInBytes();
+        }
+        this.notifyAll();
+        return discarded;
+    }
+
+    /**
+     * 关闭后不再接收新记录, 剩余批次仍可被取出
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:11:45
+     */
+    public synchronized void close() {
+        this.closed = true;
+        this.flush();
+        this.notifyAll();
+        this.signalReady();
+    }
+
+    /**
+     * 是否还有未取出的批次
+     *
+     * @return true :是;  false: 否
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:11:45
+     */
+    public synchronized boolean hasPendingBatches() {
+        return this.currentBatch != null || !this.sealedBatches.isEmpty();
+    }
+
+    public synchronized boolean isClosed() {
+        return this.closed;
+    }
+
+    public synchronized long getBufferedBytes() {
+        return this.bufferedBytes;
+    }
+
+    /**
+     * 下一个分配的批次号, 减1即最近一条记录所在的批次
+     *
+     * @return the long
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:58:40
+     */
+    public synchronized long getNextBatchId() {
+        return this.nextBatchId;
+    }
+
+    /**
+     * 距离下一个批次可发送还需等待的时间
+     *
+     * @return 0: 已有可发送的批次; Long.MAX_VALUE: 没有批次
+     * @author HuangTaiHong
+     * @since 2026.10.18 01:25:10
+     */
+    synchronized long readyDelayMs() {
+        if (!this.sealedBatches.isEmpty()) {
+            return 0L;
+        }
+        if (this.currentBatch == null) {
+            return Long.MAX_VALUE;
+        }
+        return this.closed ? 0L : Math.max(0L, this.currentBatch.getCreatedMs() + this.lingerMs - System.currentTimeMillis());
+    }
+
+    synchronized void setReadySignal(final BatchReadySignal readySignal) {
+        this.readySignal = readySignal;
+    }
+
+    private void sealCurrentBatch() {
+        this.sealedBatches.addLast(this.currentBatch);
+        this.currentBatch = null;
+        this.notifyAll();
+        this.signalReady();
+    }
+
+    private void signalReady() {
+        if (this.readySignal != null) {
+            this.readySignal.signal();
+        }
+    }
+}
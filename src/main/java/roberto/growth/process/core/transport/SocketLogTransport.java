@@ -0,0 +1,364 @@
+/**
+ * FileName: SocketLogTransport
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 基于TCP长连接的日志传输通道.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.transport;
+
+import cn.hutool.core.thread.NamedThreadFactory;
+import org.apache.commons.lang3.StringUtils;
+import roberto.growth.process.core.LogSender;
+import roberto.growth.process.core.SenderStatusReporter;
+import roberto.growth.process.core.codec.LogBatchCodec;
+import roberto.growth.process.core.compress.CompressionCodec;
+import roberto.growth.process.core.enums.RecordFormatEnum;
+import roberto.growth.process.core.exception.LogParameterErrorException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 〈基于TCP长连接的日志传输通道.〉
+ * <p>
+ * 同一连接上最多允许 maxInFlightRequests 个批次未确认(管线化), 服务端按请求顺序返回确认
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class SocketLogTransport implements LogTransport {
+    private static final int SOCKET_BUFFER_SIZE = 64 * 1024;
+    private static final String READER_THREAD_NAME = "log-appender-transport";
+
+    /**
+     * Builder.
+     *
+     * @param context the context
+     * @return the socket log transport . builder
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:31:20
+     */
+    public static SocketLogTransport.Builder builder(final LogSender.Builder context) {
+        return new SocketLogTransport.Builder(context);
+    }
+
+    private final String host;
+    private final int port;
+    private final String topic;
+    private final int maxInFlightRequests;
+    private final int connectTimeoutMs;
+    private final int requestTimeoutMs;
+    private final SenderStatusReporter reporter;
+    private final RecordFormatEnum recordFormat;
+    // 只在持有writeLock时使用
+    private final LogBatchCodec batchCodec;
+    private final CompressionCodec compressionCodec;
+
+    private final Semaphore inFlightPermits;
+    private final ThreadFactory readerThreadFactory;
+    private final Object writeLock = new Object();
+
+    private volatile Connection connection;
+    private volatile boolean closed = false;
+
+    public SocketLogTransport(final String host, final int port, final String topic, final int maxInFlightRequests, final int connectTimeoutMs, final int requestTimeoutMs, final SenderStatusReporter reporter, final RecordFormatEnum recordFormat, final LogBatchCodec batchCodec, final CompressionCodec compressionCodec) {
+        this.host = host;
+        this.port = port;
+        this.topic = topic;
+        this.maxInFlightRequests = maxInFlightRequests;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.requestTimeoutMs = requestTimeoutMs;
+        this.reporter = reporter;
+        this.recordFormat = recordFormat;
+        this.batchCodec = batchCodec;
+        this.compressionCodec = compressionCodec;
+        this.inFlightPermits = new Semaphore(maxInFlightRequests);
+        this.readerThreadFactory = new NamedThreadFactory(READER_THREAD_NAME, true);
+    }
+
+    @Override
+    public void send(final LogBatch batch, final BatchCallback callback) throws IOException, InterruptedException {
+        this.inFlightPermits.acquire();
+        synchronized (this.writeLock) {
+            final Connection conn;
+            try {
+                conn = this.ensureConnected();
+            } catch (IOException e) {
+                this.inFlightPermits.release();
+                throw e;
+            }
+            // 先登记再写出, 保证读线程收到确认时一定能找到对应批次
+            synchronized (conn) {
+                if (conn.failed) {
+                    this.inFlightPermits.release();
+                    throw new IOException("connection already failed");
+                }
+                conn.inFlightBatches.add(new InFlightBatch(batch, callback));
+            }
+            try {
+                TransportProtocol.writeBatch(conn.out, batch, this.recordFormat, this.batchCodec, this.compressionCodec);
+                conn.out.flush();
+            } catch (IOException e) {
+                // 批次已登记, 失败结果统一由回调通知
+                conn.fail(e);
+            }
+        }
+    }
+
+    @Override
+    public boolean flush(final long timeoutMs) throws InterruptedException {
+        if (!this.inFlightPermits.tryAcquire(this.maxInFlightRequests, timeoutMs, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        this.inFlightPermits.release(this.maxInFlightRequests);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        final Connection conn = this.connection;
+        if (conn != null) {
+            conn.fail(new IOException("transport closed"));
+        }
+    }
+
+    private Connection ensureConnected() throws IOException {
+        if (this.closed) {
+            throw new IOException("transport closed");
+        }
+        Connection conn = this.connection;
+        if (conn != null && !conn.failed) {
+            return conn;
+        }
+        final Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.setSendBufferSize(SOCKET_BUFFER_SIZE);
+            socket.setSoTimeout(this.requestTimeoutMs);
+            socket.connect(new InetSocketAddress(this.host, this.port), this.connectTimeoutMs);
+            conn = new Connection(socket);
+            TransportProtocol.writeHandshake(conn.out, this.topic);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        this.connection = conn;
+        this.readerThreadFactory.newThread(conn).start();
+        this.reporter.info(String.format("已连接日志服务端: %s:%d, topic=%s", this.host, this.port, this.topic));
+        return conn;
+    }
+
+    private static class InFlightBatch {
+        private final LogBatch batch;
+        private final BatchCallback callback;
+
+        InFlightBatch(final LogBatch batch, final BatchCallback callback) {
+            this.batch = batch;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * 一条连接及其确认读取线程
+     */
+    private class Connection implements Runnable {
+        private final Socket socket;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+        private final ConcurrentLinkedQueue<InFlightBatch> inFlightBatches = new ConcurrentLinkedQueue<>();
+        private volatile boolean failed = false;
+
+        Connection(final Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), SOCKET_BUFFER_SIZE));
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        }
+
+        @Override
+        public void run() {
+            while (!this.failed) {
+                try {
+                    final long batchId = this.in.readLong();
+                    final byte errorCode = this.in.readByte();
+                    // 与fail()在同一把锁下取走队首批次, 连接失效后在途批次只由fail()回调
+                    final InFlightBatch inFlight;
+                    synchronized (this) {
+                        if (this.failed) {
+                            return;
+                        }
+                        inFlight = this.inFlightBatches.poll();
+                    }
+                    if (inFlight == null) {
+                        throw new IOException(String.format("收到无法匹配的批次确认: batchId=%d", batchId));
+                    }
+                    SocketLogTransport.this.inFlightPermits.release();
+                    if (inFlight.batch.getBatchId() != batchId) {
+                        final IOException cause = new IOException(String.format("收到无法匹配的批次确认: batchId=%d, 期望batchId=%d", batchId, inFlight.batch.getBatchId()));
+                        inFlight.callback.onFailure(inFlight.batch, cause);
+                        throw cause;
+                    }
+                    if (errorCode == TransportProtocol.ERROR_NONE) {
+                        inFlight.callback.onAcknowledged(inFlight.batch);
+                    } else {
+                        inFlight.callback.onFailure(inFlight.batch, new IOException(String.format("服务端拒绝批次: batchId=%d, errorCode=%d", batchId, errorCode)));
+                    }
+                } catch (SocketTimeoutException e) {
+                    if (!this.inFlightBatches.isEmpty()) {
+                        this.fail(new IOException(String.format("等待批次确认超时: %d ms", SocketLogTransport.this.requestTimeoutMs), e));
+                    }
+                } catch (EOFException e) {
+                    this.fail(new IOException("服务端关闭了连接", e));
+                } catch (IOException e) {
+                    this.fail(e);
+                }
+            }
+        }
+
+        /**
+         * 连接失效: 关闭socket并让所有在途批次失败. 置位failed后读线程不再取走批次, 剩余批次只在这里回调一次
+         */
+        void fail(final IOException cause) {
+            synchronized (this) {
+                if (this.failed) {
+                    return;
+                }
+                this.failed = true;
+            }
+            try {
+                this.socket.close();
+            } catch (IOException e) {
+                // ignore
+            }
+            if (!SocketLogTransport.this.closed) {
+                SocketLogTransport.this.reporter.warn(String.format("日志服务端连接断开: %s:%d", SocketLogTransport.this.host, SocketLogTransport.this.port), cause);
+            }
+            InFlightBatch inFlight;
+            while ((inFlight = this.inFlightBatches.poll()) != null) {
+                SocketLogTransport.this.inFlightPermits.release();
+                inFlight.callback.onFailure(inFlight.batch, cause);
+            }
+        }
+    }
+
+    public static class Builder {
+        private String bootstrapServers;
+        private String topic;
+        private int maxInFlightRequests;
+        private int connectTimeoutMs;
+        private int requestTimeoutMs;
+        private SenderStatusReporter reporter;
+        private RecordFormatEnum recordFormat = RecordFormatEnum.JSON;
+        private LogBatchCodec batchCodec;
+        private CompressionCodec compressionCodec;
+        private final LogSender.Builder context;
+
+        Builder(final LogSender.Builder context) {
+            this.context = context;
+        }
+
+        public Builder bootstrapServers(final String bootstrapServers) {
+            this.bootstrapServers = bootstrapServers;
+            return this;
+        }
+
+        public Builder topic(final String topic) {
+            this.topic = topic;
+            return this;
+        }
+
+        public Builder maxInFlightRequests(final int maxInFlightRequests) {
+            this.maxInFlightRequests = maxInFlightRequests;
+            return this;
+        }
+
+        public Builder connectTimeoutMs(final int connectTimeoutMs) {
+            this.connectTimeoutMs = connectTimeoutMs;
+            return this;
+        }
+
+        public Builder requestTimeoutMs(final int requestTimeoutMs) {
+            this.requestTimeoutMs = requestTimeoutMs;
+            return this;
+        }
+
+        public Builder reporter(final SenderStatusReporter reporter) {
+            this.reporter = reporter;
+            return this;
+        }
+
+        public Builder recordFormat(final RecordFormatEnum recordFormat) {
+            this.recordFormat = recordFormat;
+            return this;
+        }
+
+        public Builder batchCodec(final LogBatchCodec batchCodec) {
+            this.batchCodec = batchCodec;
+            return this;
+        }
+
+        public Builder compressionCodec(final CompressionCodec compressionCodec) {
+            this.compressionCodec = compressionCodec;
+            return this;
+        }
+
+        public LogSender.Builder endTransport() {
+            this.context.setTransportBuilder(this);
+            return this.context;
+        }
+
+        /**
+         * Build.
+         * <p>
+         * bootstrapServers 格式为 host:port[,host:port], 当前只使用第一个地址
+         *
+         * @return the socket log transport
+         * @throws LogParameterErrorException the log parameter error exception
+         * @author HuangTaiHong
+         * @since 2026.10.18 10:31:20
+         */
+        public SocketLogTransport build() throws LogParameterErrorException {
+            if (StringUtils.isBlank(this.bootstrapServers)) {
+                throw new LogParameterErrorException("bootstrapServers", "不能为空");
+            } else if (StringUtils.isBlank(this.topic)) {
+                throw new LogParameterErrorException("topic", "不能为空");
+            } else if (this.maxInFlightRequests < 1) {
+                throw new LogParameterErrorException("maxInFlightRequests", "必须大于0");
+            } else if (this.reporter == null) {
+                throw new LogParameterErrorException("reporter不能为空");
+            } else if (this.recordFormat == null) {
+                throw new LogParameterErrorException("recordFormat不能为空");
+            } else if (this.batchCodec == null) {
+                throw new LogParameterErrorException("batchCodec不能为空");
+            }
+            final String server = StringUtils.trim(StringUtils.split(this.bootstrapServers, ',')[0]);
+            final int separator = server.lastIndexOf(':');
+            if (separator <= 0 || separator == server.length() - 1) {
+                throw new LogParameterErrorException("bootstrapServers", "格式必须为host:port");
+            }
+            final int port;
+            try {
+                port = Integer.parseInt(server.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                throw new LogParameterErrorException("bootstrapServers", "端口不是数字");
+            }
+            // 同一个Builder可以构建多个通道(每个发送线程一个), 批次编码器不能共用
+            return new SocketLogTransport(server.substring(0, separator), port, this.topic, this.maxInFlightRequests, this.connectTimeoutMs, this.requestTimeoutMs, this.reporter, this.recordFormat, this.batchCodec.copy(), this.compressionCodec);
+        }
+    }
+}
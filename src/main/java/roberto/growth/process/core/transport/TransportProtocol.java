@@ -0,0 +1,175 @@
+/**
+ * FileName: TransportProtocol
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 传输协议编解码.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.transport;
+
+import roberto.growth.process.core.LogMessage;
+import roberto.growth.process.core.codec.LogBatchCodec;
+import roberto.growth.process.core.codec.LogBatchDecoder;
+import roberto.growth.process.core.codec.LogMessageEncoder;
+import roberto.growth.process.core.compress.CompressionCodec;
+import roberto.growth.process.core.compress.CompressionCodecs;
+import roberto.growth.process.core.enums.CompressionTypeEnum;
+import roberto.growth.process.core.enums.RecordFormatEnum;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 〈传输协议编解码.〉
+ * <p>
+ * 握手: magic(int) + version(short) + topic(UTF)
+ * <p>
+ * 请求: frameLength(int) + batchId(long) + format(byte) + compression(byte) + [originalLength(int)] + payload
+ * <p>
+ * payload 见 {@link LogBatchCodec}, 压缩时 originalLength 为压缩前的payload字节数
+ * <p>
+ * 响应: batchId(long) + errorCode(byte)
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public final class TransportProtocol {
+    public static final int MAGIC = 0x52475041;
+    public static final short VERSION = 3;
+
+    public static final byte FORMAT_JSON = 0;
+    public static final byte FORMAT_BINARY = 1;
+
+    public static final byte ERROR_NONE = 0;
+    public static final byte ERROR_UNKNOWN = 1;
+
+    // batchId + format + compression
+    private static final int BATCH_HEADER_LENGTH = 8 + 1 + 1;
+    // 压缩前的payload字节数
+    private static final int ORIGINAL_LENGTH_LENGTH = 4;
+
+    private TransportProtocol() {
+
+    }
+
+    public static void writeHandshake(final DataOutputStream out, final String topic) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeUTF(topic);
+        out.flush();
+    }
+
+    /**
+     * 读取握手信息
+     *
+     * @param in the in
+     * @return topic
+     * @throws IOException the io exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:20:16
+     */
+    public static String readHandshake(final DataInputStream in) throws IOException {
+        final int magic = in.readInt();
+        final short version = in.readShort();
+        if (magic != MAGIC || version != VERSION) {
+            throw new IOException(String.format("不支持的协议: magic=%x, version=%d", magic, version));
+        }
+        return in.readUTF();
+    }
+
+    /**
+     * 写出一个请求批次
+     *
+     * @param out              the out
+     * @param batch            the batch
+     * @param recordFormat     批次格式
+     * @param batchCodec       批次编码器
+     * @param compressionCodec 压缩编解码器, null表示不压缩
+     * @throws IOException the io exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 17:36:12
+     */
+    public static void writeBatch(final DataOutputStream out, final LogBatch batch, final RecordFormatEnum recordFormat, final LogBatchCodec batchCodec, final CompressionCodec compressionCodec) throws IOException {
+        final int payloadLength = recordFormat == RecordFormatEnum.BINARY ? batchCodec.encode(batch.getRecords()) : batchCodec.encodeJson(batch.getRecords());
+        if (compressionCodec == null) {
+            out.writeInt(BATCH_HEADER_LENGTH + payloadLength);
+            out.writeLong(batch.getBatchId());
+            out.writeByte(recordFormat == RecordFormatEnum.BINARY ? FORMAT_BINARY : FORMAT_JSON);
+            out.writeByte(CompressionTypeEnum.NONE.getId());
+            batchCodec.writeTo(out);
+            return;
+        }
+        final byte[] compressed = compressionCodec.compress(batchCodec.buffer(), 0, payloadLength);
+        out.writeInt(BATCH_HEADER_LENGTH + ORIGINAL_LENGTH_LENGTH + compressed.length);
+        out.writeLong(batch.getBatchId());
+        out.writeByte(recordFormat == RecordFormatEnum.BINARY ? FORMAT_BINARY : FORMAT_JSON);
+        out.writeByte(compressionCodec.getType().getId());
+        out.writeInt(payloadLength);
+        out.write(compressed);
+    }
+
+    /**
+     * 读取一个请求批次, 返回批次内的JSON记录并把批次ID写入batchIdHolder[0]
+     * <p>
+     * 二进制批次通过 {@link LogBatchDecoder} 解码后重新编码为JSON
+     *
+     * @param in            the in
+     * @param batchIdHolder the batch id holder
+     * @return the list
+     * @throws IOException the io exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 10:20:16
+     */
+    public static List<byte[]> readBatch(final DataInputStream in, final long[] batchIdHolder) throws IOException {
+        final int frameLength = in.readInt();
+        batchIdHolder[0] = in.readLong();
+        final byte format = in.readByte();
+        final byte compression = in.readByte();
+        byte[] payload;
+        if (compression == CompressionTypeEnum.NONE.getId()) {
+            payload = new byte[frameLength - BATCH_HEADER_LENGTH];
+            in.readFully(payload);
+        } else {
+            final int originalLength = in.readInt();
+            final byte[] compressed = new byte[frameLength - BATCH_HEADER_LENGTH - ORIGINAL_LENGTH_LENGTH];
+            in.readFully(compressed);
+            payload = CompressionCodecs.forDecompression(compression).decompress(compressed, 0, compressed.length, originalLength);
+        }
+        if (format == FORMAT_BINARY) {
+            final List<LogMessage> logMessages;
+            try {
+                logMessages = LogBatchDecoder.decode(payload);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("二进制批次解码失败", e);
+            }
+            final List<byte[]> records = new ArrayList<>(logMessages.size());
+            for (LogMessage logMessage : logMessages) {
+                records.add(LogMessageEncoder.encode(logMessage));
+            }
+            return records;
+        } else if (format != FORMAT_JSON) {
+            throw new IOException(String.format("不支持的批次格式: %d", format));
+        }
+        final DataInputStream payloadIn = new DataInputStream(new ByteArrayInputStream(payload));
+        final int recordCount = payloadIn.readInt();
+        final List<byte[]> records = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            final byte[] record = new byte[payloadIn.readInt()];
+            payloadIn.readFully(record);
+            records.add(record);
+        }
+        return records;
+    }
+
+    public static void writeAck(final DataOutputStream out, final long batchId, final byte errorCode) throws IOException {
+        out.writeLong(batchId);
+        out.writeByte(errorCode);
+        out.flush();
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * FileName: LevelUtils
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志级别工具类.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.utils;
+
+/**
+ * 〈日志级别工具类.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class LevelUtils {
+    private static final String[] LEVEL_NAMES = {"trace", "debug", "info", "warn", "error", "fatal"};
+    private static final int DEFAULT_LEVEL_RANK = 2;
+
+    /**
+     * 日志级别的优先级, 数值越大越重要, 未知级别按info处理
+     *
+     * @param level 级别名称, 不区分大小写
+     * @return the int
+     * @author HuangTaiHong
+     * @since 2026.10.18 21:10:44
+     */
+    public static int rank(final String level) {
+        if (level != null) {
+            for (int i = 0; i < LEVEL_NAMES.length; i++) {
+                if (LEVEL_NAMES[i].equalsIgnoreCase(level)) {
+                    return i;
+                }
+            }
+        }
+        return DEFAULT_LEVEL_RANK;
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * FileName: MappedBufferUtils
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 内存映射缓冲区工具类.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * 〈内存映射缓冲区工具类.〉
+ * <p>
+ * JDK没有公开的解除映射接口, 映射要等到缓冲区被GC才释放, 已删除的文件在此之前仍占用磁盘空间.
+ * JDK9及以上通过 Unsafe.invokeCleaner 释放, JDK8通过 DirectBuffer.cleaner() 释放, 都不可用时只能等待GC
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public final class MappedBufferUtils {
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+        } catch (Exception e) {
+            // JDK8没有invokeCleaner
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private MappedBufferUtils() {
+
+    }
+
+    /**
+     * 立即解除映射, 调用后不能再访问该缓冲区
+     *
+     * @param buffer the buffer
+     * @author HuangTaiHong
+     * @since 2026.10.18 23:20:05
+     */
+    public static void unmap(final ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) {
+            return;
+        }
+        try {
+            if (INVOKE_CLEANER != null && UNSAFE != null) {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+                return;
+            }
+            final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            final Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (Exception e) {
+            // 释放失败时等待GC回收
+        }
+    }
+}
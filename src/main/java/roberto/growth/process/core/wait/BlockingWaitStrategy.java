@@ -0,0 +1,66 @@
+/**
+ * FileName: BlockingWaitStrategy
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 阻塞等待策略.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.wait;
+
+import roberto.growth.process.core.queue.LogDataQueue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 〈阻塞等待策略.〉
+ * <p>
+ * 消费线程park挂起, 生产者写入后unpark唤醒. 空闲时不占用CPU, 唤醒延迟取决于线程调度
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+    private final AtomicReference<Thread> waiter = new AtomicReference<>();
+
+    @Override
+    public void waitFor(final LogDataQueue queue, final long maxWaitMs) throws InterruptedException {
+        final Thread current = Thread.currentThread();
+        this.waiter.set(current);
+        try {
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+            // 先登记再检查队列, 保证与signal()之间不会丢失唤醒
+            while (queue.isEmpty() && this.waiter.get() == current) {
+                final long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return;
+                }
+                LockSupport.parkNanos(this, remainingNanos);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            this.waiter.compareAndSet(current, null);
+        }
+    }
+
+    @Override
+    public void signal() {
+        // 绝大多数情况下消费线程未挂起, 只有一次volatile读
+        if (this.waiter.get() != null) {
+            final Thread thread = this.waiter.getAndSet(null);
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    @Override
+    public WaitStrategy copy() {
+        return new BlockingWaitStrategy();
+    }
+}
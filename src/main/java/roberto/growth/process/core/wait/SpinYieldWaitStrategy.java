@@ -0,0 +1,55 @@
+/**
+ * FileName: SpinYieldWaitStrategy
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 自旋后让出CPU的等待策略.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.wait;
+
+import roberto.growth.process.core.queue.LogDataQueue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 〈自旋后让出CPU的等待策略.〉
+ * <p>
+ * 先忙等自旋, 再循环Thread.yield(). 延迟最低, 但空闲时会持续占用一个CPU核心
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class SpinYieldWaitStrategy implements WaitStrategy {
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public void waitFor(final LogDataQueue queue, final long maxWaitMs) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        int counter = SPIN_TRIES;
+        while (queue.isEmpty()) {
+            if (counter > 0) {
+                counter--;
+                continue;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return;
+            }
+            Thread.yield();
+        }
+    }
+
+    @Override
+    public void signal() {
+        // 消费线程始终处于运行状态, 无需唤醒
+    }
+
+    @Override
+    public WaitStrategy copy() {
+        return new SpinYieldWaitStrategy();
+    }
+}
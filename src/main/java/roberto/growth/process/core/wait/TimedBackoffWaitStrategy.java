@@ -0,0 +1,60 @@
+/**
+ * FileName: TimedBackoffWaitStrategy
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 指数退避的定时等待策略.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.wait;
+
+import roberto.growth.process.core.queue.LogDataQueue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 〈指数退避的定时等待策略.〉
+ * <p>
+ * 队列持续为空时休眠时间从 minBackoffNanos 倍增到 maxBackoffNanos, 生产者无需通知. 适合不希望在写入路径上有任何额外开销的场景
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class TimedBackoffWaitStrategy implements WaitStrategy {
+    private final long minBackoffNanos;
+    private final long maxBackoffNanos;
+
+    public TimedBackoffWaitStrategy(final long minBackoffNanos, final long maxBackoffNanos) {
+        this.minBackoffNanos = minBackoffNanos;
+        this.maxBackoffNanos = maxBackoffNanos;
+    }
+
+    @Override
+    public void waitFor(final LogDataQueue queue, final long maxWaitMs) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        long backoffNanos = this.minBackoffNanos;
+        while (queue.isEmpty()) {
+            final long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(this, Math.min(backoffNanos, remainingNanos));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            backoffNanos = Math.min(backoffNanos << 1, this.maxBackoffNanos);
+        }
+    }
+
+    @Override
+    public void signal() {
+        // 依靠定时检查, 不需要唤醒
+    }
+
+    @Override
+    public WaitStrategy copy() {
+        return new TimedBackoffWaitStrategy(this.minBackoffNanos, this.maxBackoffNanos);
+    }
+}
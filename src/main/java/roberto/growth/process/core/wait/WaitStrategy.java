@@ -0,0 +1,50 @@
+/**
+ * FileName: WaitStrategy
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 消费线程等待策略.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.wait;
+
+import roberto.growth.process.core.queue.LogDataQueue;
+
+/**
+ * 〈消费线程等待策略.〉
+ * <p>
+ * 队列为空时决定消费线程如何等待新数据, 生产者写入后通过 {@link #signal()} 通知
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public interface WaitStrategy {
+    /**
+     * 等待队列中出现新数据, 最多等待 maxWaitMs
+     *
+     * @param queue     the queue
+     * @param maxWaitMs the max wait ms
+     * @throws InterruptedException the interrupted exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 13:40:22
+     */
+    void waitFor(LogDataQueue queue, long maxWaitMs) throws InterruptedException;
+
+    /**
+     * 生产者写入队列后调用, 唤醒正在等待的消费线程
+     *
+     * @author HuangTaiHong
+     * @since 2026.10.18 13:40:22
+     */
+    void signal();
+
+    /**
+     * 创建相同配置的新实例, 多个消费线程时每个线程使用独立的实例
+     *
+     * @return the wait strategy
+     * @author HuangTaiHong
+     * @since 2026.10.18 00:40:15
+     */
+    WaitStrategy copy();
+}
@@ -0,0 +1,108 @@
+/**
+ * FileName: AsyncEventEncoderTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 异步日志事件编码测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.appender;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈异步日志事件编码测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class AsyncEventEncoderTest {
+    private final RecordingAppender appender = new RecordingAppender();
+
+    @Test
+    public void singleEncoderKeepsOrderAndSampleRate() throws InterruptedException {
+        final AsyncEventEncoder encoder = new AsyncEventEncoder(this.appender, 1, 1000);
+        encoder.start();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(encoder.offer(event("message-" + i), i % 10 == 0 ? 10 : 1));
+        }
+        this.appender.awaitFormatted(100);
+        assertTrue(encoder.stop(5000L));
+        final List<RecordingAppender.Formatted> formatted = this.appender.getFormatted();
+        for (int i = 0; i < 100; i++) {
+            assertEquals("message-" + i, formatted.get(i).message());
+            assertEquals(i % 10 == 0 ? 10 : 1, formatted.get(i).sampleRate);
+        }
+    }
+
+    @Test
+    public void fullHandoffQueueIsRejected() throws InterruptedException {
+        final AsyncEventEncoder encoder = new AsyncEventEncoder(this.appender, 1, 2);
+        this.appender.block();
+        encoder.start();
+        // 编码线程阻塞在第一条上, 交接队列再放2条后已满
+        assertTrue(encoder.offer(event("message-0"), 1));
+        final long deadline = System.currentTimeMillis() + 5000L;
+        int accepted = 1;
+        while (accepted < 3 && System.currentTimeMillis() < deadline) {
+            if (encoder.offer(event("message-" + accepted), 1)) {
+                accepted++;
+            }
+        }
+        assertEquals(3, accepted);
+        assertFalse(encoder.offer(event("message-3"), 1));
+        this.appender.unblock();
+        this.appender.awaitFormatted(3);
+        assertTrue(encoder.stop(5000L));
+        assertEquals(3, this.appender.getFormatted().size());
+    }
+
+    @Test
+    public void stopEncodesQueuedEventsAndRejectsNewOnes() throws InterruptedException {
+        final AsyncEventEncoder encoder = new AsyncEventEncoder(this.appender, 2, 1000);
+        encoder.start();
+        for (int i = 0; i < 500; i++) {
+            assertTrue(encoder.offer(event("message-" + i), 1));
+        }
+        assertTrue(encoder.stop(5000L));
+        assertEquals(500, this.appender.getFormatted().size());
+        assertFalse(encoder.offer(event("late"), 1));
+    }
+
+    @Test
+    public void mutableEventIsSnapshotBeforeHandoff() throws InterruptedException {
+        final AsyncEventEncoder encoder = new AsyncEventEncoder(this.appender, 1, 10);
+        this.appender.block();
+        encoder.start();
+        // log4j复用的可变事件在返回后会被下一条日志覆盖
+        final MutableLogEvent mutable = new MutableLogEvent();
+        mutable.setLoggerName("roberto.growth.process.Demo");
+        mutable.setLevel(Level.INFO);
+        mutable.setMessage(new SimpleMessage("first"));
+        assertTrue(encoder.offer(mutable, 1));
+        mutable.setMessage(new SimpleMessage("second"));
+        this.appender.unblock();
+        this.appender.awaitFormatted(1);
+        assertTrue(encoder.stop(5000L));
+        assertEquals("first", this.appender.getFormatted().get(0).message());
+    }
+
+    private static LogEvent event(final String message) {
+        final MutableLogEvent event = new MutableLogEvent();
+        event.setLoggerName("roberto.growth.process.Demo");
+        event.setLevel(Level.INFO);
+        event.setMessage(new SimpleMessage(message));
+        return event;
+    }
+}
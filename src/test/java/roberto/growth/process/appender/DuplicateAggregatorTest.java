@@ -0,0 +1,126 @@
+/**
+ * FileName: DuplicateAggregatorTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 重复日志聚合测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.appender;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈重复日志聚合测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class DuplicateAggregatorTest {
+    private static final String LOGGER_NAME = "roberto.growth.process.Demo";
+    private static final String TEMPLATE = "user {} login failed";
+
+    private final RecordingAppender appender = new RecordingAppender();
+
+    @Test
+    public void duplicatesAreCollapsedIntoOneEvent() {
+        final DuplicateAggregator aggregator = new DuplicateAggregator(this.appender, 60000L, 100);
+        // 窗口内第一条照常写入, 之后的重复日志只计数, 参数不同但模板相同视为重复
+        assertFalse(aggregator.absorb(event(LOGGER_NAME, Level.WARN, TEMPLATE, 0, 1000L)));
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(aggregator.absorb(event(LOGGER_NAME, Level.WARN, TEMPLATE, i, 1000L + i)));
+        }
+        assertTrue(this.appender.getFormatted().isEmpty());
+        aggregator.stop();
+
+        final List<RecordingAppender.Formatted> formatted = this.appender.getFormatted();
+        assertEquals(1, formatted.size());
+        assertEquals(5, formatted.get(0).repeatCount);
+        assertEquals(1001L, formatted.get(0).firstTimestamp);
+        assertEquals(1005L, formatted.get(0).lastTimestamp);
+        assertEquals("user 1 login failed", formatted.get(0).message());
+    }
+
+    @Test
+    public void differentKeysAreAggregatedSeparately() {
+        final DuplicateAggregator aggregator = new DuplicateAggregator(this.appender, 60000L, 100);
+        assertFalse(aggregator.absorb(event(LOGGER_NAME, Level.WARN, TEMPLATE, 0, 1000L)));
+        assertFalse(aggregator.absorb(event(LOGGER_NAME, Level.ERROR, TEMPLATE, 0, 1000L)));
+        assertFalse(aggregator.absorb(event("roberto.growth.process.Other", Level.WARN, TEMPLATE, 0, 1000L)));
+        assertFalse(aggregator.absorb(event(LOGGER_NAME, Level.WARN, "order {} timeout", 0, 1000L)));
+        assertTrue(aggregator.absorb(event(LOGGER_NAME, Level.ERROR, TEMPLATE, 1, 1001L)));
+        assertTrue(aggregator.absorb(event(LOGGER_NAME, Level.ERROR, TEMPLATE, 2, 1002L)));
+        assertTrue(aggregator.absorb(event(LOGGER_NAME, Level.WARN, "order {} timeout", 1, 1001L)));
+        aggregator.stop();
+
+        // 没有重复日志的key不产生聚合日志
+        final List<RecordingAppender.Formatted> formatted = this.appender.getFormatted();
+        assertEquals(2, formatted.size());
+        int total = 0;
+        for (RecordingAppender.Formatted entry : formatted) {
+            total += entry.repeatCount;
+            if (entry.event.getLevel() == Level.ERROR) {
+                assertEquals(2, entry.repeatCount);
+            } else {
+                assertEquals("order 1 timeout", entry.message());
+            }
+        }
+        assertEquals(3, total);
+    }
+
+    @Test
+    public void expiredWindowIsFlushedAndNewWindowOpened() throws InterruptedException {
+        final DuplicateAggregator aggregator = new DuplicateAggregator(this.appender, 100L, 100);
+        aggregator.start();
+        try {
+            assertFalse(aggregator.absorb(event(LOGGER_NAME, Level.WARN, TEMPLATE, 0, 1000L)));
+            assertTrue(aggregator.absorb(event(LOGGER_NAME, Level.WARN, TEMPLATE, 1, 1001L)));
+            assertTrue(aggregator.absorb(event(LOGGER_NAME, Level.WARN, TEMPLATE, 2, 1002L)));
+            this.appender.awaitFormatted(1);
+            assertEquals(2, this.appender.getFormatted().get(0).repeatCount);
+
+            // 窗口结束后的重复日志打开新窗口, 照常写入
+            assertFalse(aggregator.absorb(event(LOGGER_NAME, Level.WARN, TEMPLATE, 3, 2000L)));
+            assertTrue(aggregator.absorb(event(LOGGER_NAME, Level.WARN, TEMPLATE, 4, 2001L)));
+            this.appender.awaitFormatted(2);
+            assertEquals(1, this.appender.getFormatted().get(1).repeatCount);
+            assertEquals("user 4 login failed", this.appender.getFormatted().get(1).message());
+        } finally {
+            aggregator.stop();
+        }
+        assertEquals(2, this.appender.getFormatted().size());
+    }
+
+    @Test
+    public void keysBeyondLimitAreNotAggregated() {
+        final DuplicateAggregator aggregator = new DuplicateAggregator(this.appender, 60000L, 1);
+        assertFalse(aggregator.absorb(event(LOGGER_NAME, Level.WARN, TEMPLATE, 0, 1000L)));
+        for (int i = 0; i < 3; i++) {
+            assertFalse(aggregator.absorb(event(LOGGER_NAME, Level.WARN, "order {} timeout", i, 1000L)));
+        }
+        assertTrue(aggregator.absorb(event(LOGGER_NAME, Level.WARN, TEMPLATE, 1, 1001L)));
+        aggregator.stop();
+        assertEquals(1, this.appender.getFormatted().size());
+        assertEquals(1, this.appender.getFormatted().get(0).repeatCount);
+    }
+
+    private static LogEvent event(final String loggerName, final Level level, final String template, final int argument, final long timeMillis) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(loggerName)
+                .setLevel(level)
+                .setMessage(new ParameterizedMessage(template, argument))
+                .setTimeMillis(timeMillis)
+                .build();
+    }
+}
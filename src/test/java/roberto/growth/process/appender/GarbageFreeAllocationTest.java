@@ -0,0 +1,134 @@
+/**
+ * FileName: GarbageFreeAllocationTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 无GC模式的内存分配测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.appender;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import roberto.growth.process.core.ReusableLogMessage;
+import roberto.growth.process.core.codec.BinaryLogMessageCodec;
+import roberto.growth.process.core.codec.LogMessageEncoder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈无GC模式的内存分配测试.〉
+ * <p>
+ * 使用线程分配字节数统计: 重复日志计数不分配对象, 编码只分配交给队列的结果数组
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class GarbageFreeAllocationTest {
+    private static final int WARMUP_ITERATIONS = 20000;
+    private static final int ITERATIONS = 10000;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+
+    @Before
+    public void setUp() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        this.threadMXBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(this.threadMXBean.isThreadAllocatedMemorySupported());
+        this.threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void duplicateAbsorbDoesNotAllocate() {
+        final DuplicateAggregator aggregator = new DuplicateAggregator(null, 60000L, 16);
+        final LogEvent event = Log4jLogEvent.newBuilder()
+                .setLoggerName("roberto.growth.process.Demo")
+                .setLevel(Level.INFO)
+                .setMessage(new ParameterizedMessage("order {} failed", "1"))
+                .setTimeMillis(1571795365123L)
+                .build();
+        // 第一条打开窗口, 之后的重复日志被聚合
+        assertFalse(aggregator.absorb(event));
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertTrue(aggregator.absorb(event));
+        }
+        final long before = this.allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            aggregator.absorb(event);
+        }
+        final long allocated = this.allocatedBytes() - before;
+        assertTrue("allocated " + allocated + " bytes", allocated < ITERATIONS);
+    }
+
+    @Test
+    public void jsonEncodingOnlyAllocatesResult() {
+        final ReusableLogMessage logMessage = newReusableLogMessage();
+        final int resultBytes = arrayBytes(LogMessageEncoder.encode(logMessage).length);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            LogMessageEncoder.encode(logMessage);
+        }
+        final long before = this.allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            LogMessageEncoder.encode(logMessage);
+        }
+        this.assertOnlyResultAllocated(this.allocatedBytes() - before, resultBytes);
+    }
+
+    @Test
+    public void binaryEncodingOnlyAllocatesResult() {
+        final ReusableLogMessage logMessage = newReusableLogMessage();
+        final int resultBytes = arrayBytes(BinaryLogMessageCodec.encode(logMessage).length);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            BinaryLogMessageCodec.encode(logMessage);
+        }
+        final long before = this.allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            BinaryLogMessageCodec.encode(logMessage);
+        }
+        this.assertOnlyResultAllocated(this.allocatedBytes() - before, resultBytes);
+    }
+
+    private void assertOnlyResultAllocated(final long allocated, final int resultBytes) {
+        // 一个装箱对象至少16字节
+        final long perRecord = allocated / ITERATIONS;
+        assertTrue("allocated " + perRecord + " bytes per record, result array is " + resultBytes, perRecord < resultBytes + 16);
+    }
+
+    private long allocatedBytes() {
+        return this.threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 字节数组占用的堆大小上限: 数组头最多16字节, 按8字节对齐
+     */
+    private static int arrayBytes(final int length) {
+        return (16 + length + 7) & ~7;
+    }
+
+    /**
+     * 采样率和重复次数超出Integer缓存范围, 装箱时一定会分配
+     */
+    private static ReusableLogMessage newReusableLogMessage() {
+        final ReusableLogMessage logMessage = new ReusableLogMessage();
+        logMessage.setTimestamp(1571795365123L);
+        logMessage.setLogger("roberto.growth.process.Demo");
+        logMessage.setLevel("INFO");
+        logMessage.setThreadName("main");
+        logMessage.getMessageBuffer().append("order 1 failed");
+        logMessage.getFullMessageBuffer().append("2019-10-23 09:49:25 [main] INFO roberto.growth.process.Demo - order 1 failed");
+        logMessage.setSampleRateValue(1000);
+        logMessage.setRepetition(1000, 1571795365000L, 1571795365123L);
+        return logMessage;
+    }
+}
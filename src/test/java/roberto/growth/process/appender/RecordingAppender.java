@@ -0,0 +1,111 @@
+/**
+ * FileName: RecordingAppender
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 记录编码调用的Appender, 仅用于测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.appender;
+
+import org.apache.logging.log4j.core.LogEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈记录编码调用的Appender, 仅用于测试.〉
+ * <p>
+ * 不启动LogSender, 只记录交给formatMessage和formatRepeatedMessage的事件; 可通过 {@link #block()} 阻塞编码线程
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+class RecordingAppender extends CustomLog4j2Appender {
+    private final List<Formatted> formatted = new ArrayList<>();
+    private volatile CountDownLatch gate;
+
+    RecordingAppender() {
+        super("recording", null, null, true, null);
+    }
+
+    @Override
+    void formatMessage(final LogEvent logEvent, final int sampleRate) {
+        this.record(new Formatted(logEvent, sampleRate, 1, 0L, 0L));
+    }
+
+    @Override
+    void formatRepeatedMessage(final LogEvent logEvent, final int repeatCount, final long firstTimestamp, final long lastTimestamp) {
+        this.record(new Formatted(logEvent, 1, repeatCount, firstTimestamp, lastTimestamp));
+    }
+
+    /**
+     * 之后的编码调用阻塞, 直到 {@link #unblock()}
+     */
+    void block() {
+        this.gate = new CountDownLatch(1);
+    }
+
+    void unblock() {
+        final CountDownLatch current = this.gate;
+        if (current != null) {
+            current.countDown();
+        }
+    }
+
+    synchronized List<Formatted> getFormatted() {
+        return new ArrayList<>(this.formatted);
+    }
+
+    synchronized void awaitFormatted(final int expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000L;
+        while (this.formatted.size() < expected) {
+            final long remainingMs = deadline - System.currentTimeMillis();
+            assertTrue("timed out waiting for " + expected + " events", remainingMs > 0);
+            this.wait(remainingMs);
+        }
+    }
+
+    private void record(final Formatted entry) {
+        final CountDownLatch current = this.gate;
+        if (current != null) {
+            try {
+                current.await(5000L, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            this.formatted.add(entry);
+            this.notifyAll();
+        }
+    }
+
+    /**
+     * 一次编码调用
+     */
+    static final class Formatted {
+        final LogEvent event;
+        final int sampleRate;
+        final int repeatCount;
+        final long firstTimestamp;
+        final long lastTimestamp;
+
+        Formatted(final LogEvent event, final int sampleRate, final int repeatCount, final long firstTimestamp, final long lastTimestamp) {
+            this.event = event;
+            this.sampleRate = sampleRate;
+            this.repeatCount = repeatCount;
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = lastTimestamp;
+        }
+
+        String message() {
+            return this.event.getMessage().getFormattedMessage();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * FileName: DropAccountingTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志丢弃统计测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core;
+
+import org.junit.Test;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.queue.impl.MemoryQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈日志丢弃统计测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class DropAccountingTest {
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+
+    @Test
+    public void countsAndBytesAreKeptPerReason() {
+        final DropAccounting dropAccounting = new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+        dropAccounting.record(DropReasonEnum.COUNT_LIMIT, 10L);
+        dropAccounting.record(DropReasonEnum.COUNT_LIMIT, 20L);
+        dropAccounting.record(DropReasonEnum.SEND_FAILURE, 5L, 500L);
+        assertEquals(2L, dropAccounting.getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+        assertEquals(30L, dropAccounting.getDroppedBytes(DropReasonEnum.COUNT_LIMIT));
+        assertEquals(5L, dropAccounting.getDroppedCount(DropReasonEnum.SEND_FAILURE));
+        assertEquals(0L, dropAccounting.getDroppedCount(DropReasonEnum.BYTE_LIMIT));
+        assertEquals(7L, dropAccounting.getDroppedCount());
+        assertEquals(530L, dropAccounting.getDroppedBytes());
+    }
+
+    @Test
+    public void dropsWithinIntervalAreNotReportedPerRecord() {
+        final DropAccounting dropAccounting = new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+        final MemoryQueue queue = new MemoryQueue(100, -1, this.reporter, dropAccounting);
+        for (int i = 0; i < 1000; i++) {
+            queue.enqueue(new byte[10]);
+        }
+        assertEquals(990L, dropAccounting.getDroppedCount(DropReasonEnum.BYTE_LIMIT));
+        assertTrue(this.reporter.getWarnings().isEmpty());
+    }
+
+    @Test
+    public void reportContainsOnlyNewDrops() {
+        final DropAccounting dropAccounting = new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+        dropAccounting.record(DropReasonEnum.COUNT_LIMIT, 3L, 30L);
+        dropAccounting.report();
+        assertEquals(1, this.reporter.getWarnings().size());
+        assertTrue(this.reporter.getWarnings().get(0), this.reporter.getWarnings().get(0).contains("COUNT_LIMIT=3(30字节)"));
+        // 没有新增时不输出
+        dropAccounting.report();
+        assertEquals(1, this.reporter.getWarnings().size());
+
+        dropAccounting.record(DropReasonEnum.SHUTDOWN, 4L);
+        dropAccounting.report();
+        assertEquals(2, this.reporter.getWarnings().size());
+        final String second = this.reporter.getWarnings().get(1);
+        assertTrue(second, second.contains("丢弃日志 1 条") && second.contains("SHUTDOWN=1(4字节)") && second.contains("累计丢弃 4 条"));
+        assertTrue(second, !second.contains("COUNT_LIMIT"));
+    }
+
+    @Test
+    public void reportIsEmittedOncePerInterval() throws InterruptedException {
+        final DropAccounting dropAccounting = new DropAccounting(this.reporter, 500L);
+        for (int i = 0; i < 1000; i++) {
+            dropAccounting.record(DropReasonEnum.BYTE_LIMIT, 1L);
+        }
+        assertTrue(this.reporter.getWarnings().isEmpty());
+        Thread.sleep(550L);
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 1000; i++) {
+                        dropAccounting.record(DropReasonEnum.BYTE_LIMIT, 1L);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // 到期后只有一个线程输出汇总, 后续丢弃留到下一个间隔
+        assertEquals(1, this.reporter.getWarnings().size());
+        assertEquals(5000L, dropAccounting.getDroppedCount(DropReasonEnum.BYTE_LIMIT));
+    }
+}
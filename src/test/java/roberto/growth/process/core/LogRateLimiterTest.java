@@ -0,0 +1,109 @@
+/**
+ * FileName: LogRateLimiterTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 按key限流和自适应采样测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈按key限流和自适应采样测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class LogRateLimiterTest {
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveRateIsRejected() {
+        new LogRateLimiter(0D, 1, false, 10);
+    }
+
+    @Test
+    public void burstIsAllowedThenLimited() {
+        final LogRateLimiter limiter = new LogRateLimiter(10D, 5, false, 10);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(LogRateLimiter.NOT_SAMPLED, limiter.acquire("a"));
+        }
+        assertEquals(LogRateLimiter.REJECTED, limiter.acquire("a"));
+        // key之间互不影响
+        assertEquals(LogRateLimiter.NOT_SAMPLED, limiter.acquire("b"));
+    }
+
+    @Test
+    public void burstDefaultsToRate() {
+        final LogRateLimiter limiter = new LogRateLimiter(3D, 0, false, 10);
+        assertEquals(3, countAccepted(limiter, "a", 10));
+    }
+
+    @Test
+    public void permitsRefillOverTime() throws InterruptedException {
+        final LogRateLimiter limiter = new LogRateLimiter(20D, 1, false, 10);
+        assertEquals(1, countAccepted(limiter, "a", 10));
+        // 每50ms补充一个令牌, 突发容量为1
+        Thread.sleep(120L);
+        assertEquals(1, countAccepted(limiter, "a", 10));
+    }
+
+    @Test
+    public void adaptiveSamplingFollowsPreviousWindowRate() throws InterruptedException {
+        final LogRateLimiter limiter = new LogRateLimiter(100D, 100, true, 10);
+        // 第一个窗口还没有采样率, 由令牌桶限流
+        assertEquals(100, countAccepted(limiter, "a", 1000));
+
+        // 上一窗口约1000条/秒, 下一窗口按约1/10采样, 放行的日志携带采样率
+        Thread.sleep(1100L);
+        int accepted = 0;
+        int sampleRate = 0;
+        for (int i = 0; i < 1000; i++) {
+            final int result = limiter.acquire("a");
+            if (result != LogRateLimiter.REJECTED) {
+                assertTrue("sample rate " + result, result >= 5 && result <= 10);
+                assertTrue(sampleRate == 0 || sampleRate == result);
+                sampleRate = result;
+                accepted++;
+            }
+        }
+        assertEquals(1000 / sampleRate, accepted);
+
+        // 速率回落后恢复为不采样
+        Thread.sleep(1100L);
+        limiter.acquire("a");
+        Thread.sleep(1100L);
+        assertEquals(LogRateLimiter.NOT_SAMPLED, limiter.acquire("a"));
+    }
+
+    @Test
+    public void keysBeyondLimitShareOverflowBucket() throws InterruptedException {
+        final LogRateLimiter limiter = new LogRateLimiter(10D, 1, false, 2);
+        assertEquals(LogRateLimiter.NOT_SAMPLED, limiter.acquire("a"));
+        assertEquals(LogRateLimiter.NOT_SAMPLED, limiter.acquire("b"));
+        assertEquals(LogRateLimiter.NOT_SAMPLED, limiter.acquire("c"));
+        assertEquals(LogRateLimiter.REJECTED, limiter.acquire("d"));
+        assertEquals(2, limiter.keyCount());
+
+        // 超过两个窗口无日志的key被清理, 新key重新获得独立的桶
+        Thread.sleep(2100L);
+        assertEquals(LogRateLimiter.NOT_SAMPLED, limiter.acquire("c"));
+        assertEquals(1, limiter.keyCount());
+        assertEquals(LogRateLimiter.NOT_SAMPLED, limiter.acquire("d"));
+        assertEquals(2, limiter.keyCount());
+    }
+
+    private static int countAccepted(final LogRateLimiter limiter, final String key, final int attempts) {
+        int accepted = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.acquire(key) != LogRateLimiter.REJECTED) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * FileName: LogSenderControlTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志发送器管理接口测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.enums.QueueTypeEnum;
+import roberto.growth.process.core.queue.impl.DiskQueue;
+import roberto.growth.process.core.transport.LocalLogBroker;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 〈日志发送器管理接口测试.〉
+ * <p>
+ * 使用JVM内存队列, 发送到本地模拟的日志服务端
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class LogSenderControlTest {
+    private static final long WAIT_MS = 5000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+    private LocalLogBroker broker;
+    private LogSender logSender;
+
+    @Before
+    public void setUp() throws Exception {
+        this.broker = new LocalLogBroker();
+        final LogSender.Builder builder = LogSender.builder().logContext(this.newLogContext()).reporter(this.reporter);
+        assertTrue(CommonOps.initQueue(builder));
+        assertTrue(CommonOps.initTransport(builder));
+        this.logSender = builder.build();
+        this.logSender.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.logSender.stop();
+        this.broker.close();
+    }
+
+    @Test
+    public void pausedDrainHoldsRecordsUntilResumed() throws Exception {
+        assertTrue(this.logSender.pauseDrain());
+        assertTrue(this.logSender.isDrainPaused());
+        this.write(0, 100);
+        Thread.sleep(200L);
+        assertEquals(0, this.broker.getReceivedRecordCount());
+        assertEquals(100L, this.logSender.getQueueDepthRecords());
+        // 暂停时缓冲队列中仍有日志, flush不等待
+        assertFalse(this.logSender.flush(WAIT_MS));
+
+        this.logSender.resumeDrain();
+        assertFalse(this.logSender.isDrainPaused());
+        assertTrue(this.logSender.flush(WAIT_MS));
+        assertEquals(100, this.broker.getReceivedRecordCount());
+        assertEquals(0L, this.logSender.getQueueDepthRecords());
+        assertEquals(0L, this.logSender.getDropAccounting().getDroppedCount());
+    }
+
+    @Test
+    public void drainRateLimitsDelivery() throws Exception {
+        this.logSender.setDrainRatePerSecond(200D);
+        assertEquals(200D, this.logSender.getDrainRatePerSecond(), 0D);
+        final long startNanos = System.nanoTime();
+        this.write(0, 300);
+        assertTrue(this.logSender.flush(WAIT_MS));
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        assertTrue("delivered 300 records in " + elapsedMs + "ms", elapsedMs >= 1000L);
+        assertEquals(300, this.broker.getReceivedRecordCount());
+
+        // 小于等于0表示不限制
+        this.logSender.setDrainRatePerSecond(-1D);
+        assertEquals(0D, this.logSender.getDrainRatePerSecond(), 0D);
+        try {
+            this.logSender.setDrainRatePerSecond(Double.NaN);
+            fail("NaN accepted");
+        } catch (IllegalArgumentException e) {
+            assertEquals(0D, this.logSender.getDrainRatePerSecond(), 0D);
+        }
+    }
+
+    @Test
+    public void shrinkingCapacityDropsOnlyNewRecords() throws Exception {
+        assertTrue(this.logSender.pauseDrain());
+        this.write(0, 60);
+        this.logSender.setMemoryLogCountCapacity(50L);
+        assertEquals(50L, this.logSender.getMemoryLogCountCapacity());
+        // 已在队列中的日志不因容量调小而丢弃, 之后的日志按新容量判断
+        assertEquals(60L, this.logSender.getQueueDepthRecords());
+        this.write(60, 80);
+        assertEquals(20L, this.logSender.getDropAccounting().getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+
+        this.logSender.setMemoryLogCountCapacity(-1L);
+        this.logSender.resumeDrain();
+        assertTrue(this.logSender.flush(WAIT_MS));
+        assertEquals(60, this.broker.getReceivedRecordCount());
+    }
+
+    @Test
+    public void invalidSettingsAreRejected() {
+        try {
+            this.logSender.setMemoryLogCountCapacity(0L);
+            fail("0 accepted");
+        } catch (IllegalArgumentException e) {
+            assertEquals(-1L, this.logSender.getMemoryLogCountCapacity());
+        }
+        try {
+            this.logSender.setMemoryQueueCapacityBytes(-2L);
+            fail("-2 accepted");
+        } catch (IllegalArgumentException e) {
+            assertEquals(10L * 1024 * 1024, this.logSender.getMemoryQueueCapacityBytes());
+        }
+        // JVM内存队列没有文件队列
+        try {
+            this.logSender.setFsPercentThreshold(90);
+            fail("fsPercentThreshold accepted without a disk queue");
+        } catch (IllegalStateException e) {
+            assertEquals(85, this.logSender.getFsPercentThreshold());
+        }
+    }
+
+    @Test
+    public void operationsAreExposedThroughJmx() throws Exception {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName("roberto.growth.process:type=LogSender,name=" + ObjectName.quote("control-test"));
+        this.logSender.registerMBeans("control-test");
+        assertTrue(mBeanServer.isRegistered(objectName));
+        assertEquals(Boolean.TRUE, mBeanServer.invoke(objectName, "pauseDrain", new Object[0], new String[0]));
+        assertEquals(Boolean.TRUE, mBeanServer.getAttribute(objectName, "DrainPaused"));
+        mBeanServer.invoke(objectName, "resumeDrain", new Object[0], new String[0]);
+        assertFalse(this.logSender.isDrainPaused());
+
+        // 停止后注销
+        this.logSender.stop();
+        assertFalse(mBeanServer.isRegistered(objectName));
+    }
+
+    private LogContext newLogContext() {
+        final LogContext logContext = new LogContext();
+        logContext.setProjectName("demo");
+        logContext.setBootstrapServers(this.broker.getBootstrapServers());
+        logContext.setTopic("TEST-TOPIC");
+        logContext.setEnabledBufferQueue(true);
+        logContext.setUsedMemoryQueue(true);
+        logContext.setQueueType(QueueTypeEnum.MEMORY);
+        logContext.setQueueDir(this.temporaryFolder.getRoot().getAbsolutePath());
+        logContext.setQueuePartitions(1);
+        logContext.setMemoryQueueCapacityBytes(10L * 1024 * 1024);
+        logContext.setMemoryLogCountCapacity(-1L);
+        logContext.setFsPercentThreshold(85);
+        logContext.setDiskQueueCapacityBytes(-1L);
+        logContext.setDiskQueueLowWatermarkPercent(DiskQueue.DEFAULT_LOW_WATERMARK_PERCENT);
+        logContext.setGcQueueDataIntervalMs(3000);
+        logContext.setCheckDiskSpaceIntervalMs(1000);
+        logContext.setOverflowBlockTimeoutMs(100L);
+        logContext.setOverflowShedRatio(0.8D);
+        logContext.setOverflowPriorityLevel("warn");
+        logContext.setDropReportIntervalMs(DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+        logContext.setBatchSizeBytes(16 * 1024);
+        logContext.setLingerMs(5);
+        logContext.setMaxInFlightRequests(5);
+        logContext.setSendBufferMemoryBytes(1024L * 1024);
+        return logContext;
+    }
+
+    private void write(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final LogMessage logMessage = new LogMessage();
+            logMessage.setLogger("roberto.growth.process.Demo");
+            logMessage.setLevel("info");
+            logMessage.setMessage("message-" + i);
+            logMessage.setTimestamp(System.currentTimeMillis());
+            this.logSender.writeQueue(logMessage);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * FileName: RecordingStatusReporter
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 记录上报内容的状态上报器, 测试用.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 〈记录上报内容的状态上报器, 测试用.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class RecordingStatusReporter implements SenderStatusReporter {
+    private final List<String> warnings = new CopyOnWriteArrayList<>();
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void info(final String msg) {
+    }
+
+    @Override
+    public void info(final String msg, final Throwable throwable) {
+    }
+
+    @Override
+    public void warn(final String msg) {
+        this.warnings.add(msg);
+    }
+
+    @Override
+    public void warn(final String msg, final Throwable throwable) {
+        this.warnings.add(msg);
+    }
+
+    @Override
+    public void error(final String msg) {
+        this.errors.add(msg);
+    }
+
+    @Override
+    public void error(final String msg, final Throwable throwable) {
+        this.errors.add(msg);
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
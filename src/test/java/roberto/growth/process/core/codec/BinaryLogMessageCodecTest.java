@@ -0,0 +1,221 @@
+/**
+ * FileName: BinaryLogMessageCodecTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 二进制记录和批次编解码测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.codec;
+
+import org.junit.Test;
+import roberto.growth.process.core.LogMessage;
+import roberto.growth.process.core.ReusableLogMessage;
+import roberto.growth.process.core.enums.LogTypeEnum;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈二进制记录和批次编解码测试.〉
+ * <p>
+ * 解码结果通过JSON编码比较, 与直接编码完整日志消息的结果逐字节一致
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class BinaryLogMessageCodecTest {
+    private static final String ENV = "prod";
+    private static final String IP = "192.168.0.1";
+    private static final String HOSTNAME = "host-1";
+    private static final String PROJECT_NAME = "demo";
+
+    private final LogBatchCodec batchCodec = new LogBatchCodec(ENV, IP, HOSTNAME, PROJECT_NAME, LogTypeEnum.JAVA);
+
+    @Test
+    public void recordRoundTripKeepsAllFields() {
+        final LogMessage logMessage = newLogMessage(0);
+        logMessage.setTags(Arrays.asList("a", null, "中文"));
+        logMessage.setSampleRate(10);
+        logMessage.setRepeatCount(3);
+        logMessage.setFirstTimestamp(Long.MIN_VALUE);
+        logMessage.setLastTimestamp(Long.MAX_VALUE);
+        final byte[] record = BinaryLogMessageCodec.encode(logMessage);
+        assertTrue(BinaryLogMessageCodec.isBinaryRecord(record));
+        assertSameMessage(withoutBatchFields(logMessage), BinaryLogMessageCodec.decode(record));
+    }
+
+    @Test
+    public void optionalFieldsAreOmittedWhenNull() {
+        final LogMessage logMessage = new LogMessage();
+        final byte[] record = BinaryLogMessageCodec.encode(logMessage);
+        final LogMessage decoded = BinaryLogMessageCodec.decode(record);
+        assertNull(decoded.getMessage());
+        assertNull(decoded.getTags());
+        assertNull(decoded.getSampleRate());
+        assertNull(decoded.getRepeatCount());
+        assertSameMessage(logMessage, decoded);
+
+        // 可选字段整段省略, 加上采样率后记录变长
+        logMessage.setSampleRate(2);
+        assertTrue(BinaryLogMessageCodec.encode(logMessage).length > record.length);
+    }
+
+    @Test
+    public void reusableMessageEncodesSameAsPlainMessage() {
+        final LogMessage plain = newLogMessage(0);
+        plain.setSampleRate(1000);
+        plain.setRepeatCount(5);
+        plain.setFirstTimestamp(1L);
+        plain.setLastTimestamp(2L);
+        final ReusableLogMessage reusable = new ReusableLogMessage();
+        copyFields(plain, reusable);
+        reusable.setSampleRateValue(1000);
+        reusable.setRepetition(5, 1L, 2L);
+        assertArrayEquals(BinaryLogMessageCodec.encode(plain), BinaryLogMessageCodec.encode(reusable));
+    }
+
+    @Test
+    public void readTimestampSkipsLeadingFields() {
+        final LogMessage logMessage = newLogMessage(0);
+        logMessage.setTimestamp(-1571795365123L);
+        assertEquals(-1571795365123L, BinaryLogMessageCodec.readTimestamp(BinaryLogMessageCodec.encode(logMessage)));
+        assertEquals(-1L, BinaryLogMessageCodec.readTimestamp(LogMessageEncoder.encode(logMessage)));
+        assertEquals(-1L, BinaryLogMessageCodec.readTimestamp(new byte[]{BinaryLogMessageCodec.RECORD_MARKER, 5}));
+        assertFalse(BinaryLogMessageCodec.isBinaryRecord(LogMessageEncoder.encode(logMessage)));
+    }
+
+    @Test
+    public void batchRoundTripRestoresHeaderFieldsAndOrder() {
+        final List<byte[]> records = new ArrayList<>();
+        final List<LogMessage> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final LogMessage logMessage = newLogMessage(i);
+            expected.add(logMessage);
+            // 切换格式前写入队列的JSON记录与二进制记录混合在同一批次中
+            records.add(i % 5 == 0 ? LogMessageEncoder.encode(logMessage) : BinaryLogMessageCodec.encode(withoutBatchFields(logMessage)));
+        }
+        final int length = this.batchCodec.encode(records);
+        final List<LogMessage> decoded = LogBatchDecoder.decode(Arrays.copyOf(this.batchCodec.buffer(), length));
+        assertEquals(expected.size(), decoded.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSameMessage(expected.get(i), decoded.get(i));
+        }
+    }
+
+    @Test
+    public void repeatedStaticFieldsAreWrittenOnce() {
+        final List<byte[]> records = new ArrayList<>();
+        int recordBytes = 0;
+        for (int i = 0; i < 100; i++) {
+            final byte[] record = BinaryLogMessageCodec.encode(withoutBatchFields(newLogMessage(i)));
+            records.add(record);
+            recordBytes += record.length;
+        }
+        final int loggerBytes = "roberto.growth.process.Demo".length() + "main".length() + "INFO".length();
+        // 第一条之后logger、threadName、level都是字典引用, 每条至少节省字典值的长度
+        final int length = this.batchCodec.encode(records);
+        assertTrue(length + " >= " + recordBytes, length < recordBytes - 99 * (loggerBytes - 3));
+    }
+
+    @Test
+    public void jsonBatchConvertsBinaryRecords() {
+        final LogMessage logMessage = newLogMessage(0);
+        final List<byte[]> records = Arrays.asList(BinaryLogMessageCodec.encode(withoutBatchFields(logMessage)), LogMessageEncoder.encode(logMessage));
+        final int length = this.batchCodec.encodeJson(records);
+        final ByteBuffer batch = ByteBuffer.wrap(this.batchCodec.buffer(), 0, length);
+        assertEquals(2, batch.getInt());
+        final byte[] expected = LogMessageEncoder.encode(logMessage);
+        for (int i = 0; i < 2; i++) {
+            final byte[] record = new byte[batch.getInt()];
+            batch.get(record);
+            assertArrayEquals(new String(record, StandardCharsets.UTF_8), expected, record);
+        }
+        assertFalse(batch.hasRemaining());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedBatchVersionIsRejected() {
+        final int length = this.batchCodec.encode(new ArrayList<byte[]>());
+        final byte[] payload = Arrays.copyOf(this.batchCodec.buffer(), length);
+        payload[0] = LogBatchCodec.VERSION + 1;
+        LogBatchDecoder.decode(payload);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedBatchIsRejected() {
+        final int length = this.batchCodec.encode(Arrays.asList(BinaryLogMessageCodec.encode(newLogMessage(0))));
+        LogBatchDecoder.decode(Arrays.copyOf(this.batchCodec.buffer(), length - 3));
+    }
+
+    private static LogMessage newLogMessage(final int sequence) {
+        final LogMessage logMessage = new LogMessage();
+        logMessage.setTimestamp(1571795365123L + sequence);
+        logMessage.setEnv(ENV);
+        logMessage.setIp(IP);
+        logMessage.setHostname(HOSTNAME);
+        logMessage.setProjectName(PROJECT_NAME);
+        logMessage.setLogType(LogTypeEnum.JAVA);
+        logMessage.setLogger("roberto.growth.process.Demo");
+        logMessage.setLevel("INFO");
+        logMessage.setThreadName("main");
+        logMessage.setMessage("hello 日志 " + sequence);
+        logMessage.setFullMessage("2019-10-23 09:49:25 [main] INFO roberto.growth.process.Demo - hello 日志 " + sequence);
+        logMessage.setTraceId("trace-" + sequence);
+        logMessage.setLogId("log-" + sequence);
+        logMessage.setFileName("Demo.java");
+        logMessage.setLineNum(sequence - 10);
+        return logMessage;
+    }
+
+    /**
+     * 批次头中的字段不写入二进制记录
+     */
+    private static LogMessage withoutBatchFields(final LogMessage logMessage) {
+        final LogMessage copy = new LogMessage();
+        copyFields(logMessage, copy);
+        copy.setEnv(null);
+        copy.setIp(null);
+        copy.setHostname(null);
+        copy.setProjectName(null);
+        copy.setLogType(null);
+        return copy;
+    }
+
+    private static void copyFields(final LogMessage from, final LogMessage to) {
+        to.setTimestamp(from.getTimestamp());
+        to.setEnv(from.getEnv());
+        to.setIp(from.getIp());
+        to.setHostname(from.getHostname());
+        to.setProjectName(from.getProjectName());
+        to.setLogType(from.getLogType());
+        to.setLogger(from.getLogger());
+        to.setLevel(from.getLevel());
+        to.setThreadName(from.getThreadName());
+        to.setMessage(from.getMessage());
+        to.setFullMessage(from.getFullMessage());
+        to.setTraceId(from.getTraceId());
+        to.setLogId(from.getLogId());
+        to.setFileName(from.getFileName());
+        to.setLineNum(from.getLineNum());
+        to.setTags(from.getTags());
+        to.setSampleRate(from.getSampleRate());
+        to.setRepeatCount(from.getRepeatCount());
+        to.setFirstTimestamp(from.getFirstTimestamp());
+        to.setLastTimestamp(from.getLastTimestamp());
+    }
+
+    private static void assertSameMessage(final LogMessage expected, final LogMessage actual) {
+        assertEquals(new String(LogMessageEncoder.encode(expected), StandardCharsets.UTF_8), new String(LogMessageEncoder.encode(actual), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,218 @@
+/**
+ * FileName: LogMessageEncoderTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 日志消息JSON编码器与fastjson的兼容性测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.codec;
+
+import com.alibaba.fastjson.JSON;
+import org.junit.Test;
+import roberto.growth.process.core.LogMessage;
+import roberto.growth.process.core.ReusableLogMessage;
+import roberto.growth.process.core.enums.LogTypeEnum;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 〈日志消息JSON编码器与fastjson的兼容性测试.〉
+ * <p>
+ * 编码结果必须与 JSON.toJSONString(logMessage) 的UTF-8字节逐字节一致, 下游无需感知编码器的替换
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class LogMessageEncoderTest {
+    private static final int FUZZ_ITERATIONS = 50000;
+    // 引号、反斜杠、控制字符、DEL及JavaScript中的行分隔符
+    private static final String SPECIAL_CHARS = "\"\\/\b\f\n\r\t\u0000\u0001\u001f\u007f  ";
+
+    @Test
+    public void allFieldsNull() {
+        assertSameAsFastjson(new LogMessage());
+    }
+
+    @Test
+    public void reusableMessageWithEmptyBuffers() {
+        assertSameAsFastjson(new ReusableLogMessage());
+    }
+
+    @Test
+    public void allFieldsSet() {
+        final LogMessage logMessage = new LogMessage();
+        logMessage.setTimestamp(1571795365123L);
+        logMessage.setEnv("prod");
+        logMessage.setLogger("roberto.growth.process.Demo");
+        logMessage.setLevel("INFO");
+        logMessage.setThreadName("main");
+        logMessage.setMessage("hello world");
+        logMessage.setFullMessage("2019-10-23 09:49:25 [main] INFO roberto.growth.process.Demo - hello world");
+        logMessage.setTraceId("trace-1");
+        logMessage.setLogId("log-1");
+        logMessage.setIp("192.168.0.1");
+        logMessage.setHostname("host-1");
+        logMessage.setLogType(LogTypeEnum.JAVA);
+        logMessage.setProjectName("demo");
+        logMessage.setFileName("Demo.java");
+        logMessage.setLineNum(-42);
+        logMessage.setTags(Arrays.asList("a", "b"));
+        logMessage.setSampleRate(10);
+        logMessage.setRepeatCount(3);
+        logMessage.setFirstTimestamp(Long.MIN_VALUE);
+        logMessage.setLastTimestamp(Long.MAX_VALUE);
+        assertSameAsFastjson(logMessage);
+    }
+
+    @Test
+    public void reusableMessageWithPrimitiveFields() {
+        final ReusableLogMessage logMessage = new ReusableLogMessage();
+        logMessage.setMessage("hello world");
+        logMessage.setSampleRateValue(1000);
+        logMessage.setRepetition(1000, Long.MIN_VALUE, 1571795365123L);
+        assertSameAsFastjson(logMessage);
+        logMessage.clear();
+        assertSameAsFastjson(logMessage);
+    }
+
+    @Test
+    public void controlCharacters() {
+        final StringBuilder builder = new StringBuilder();
+        for (char c = 0; c < 0x100; c++) {
+            builder.append(c);
+        }
+        builder.append(SPECIAL_CHARS);
+        final LogMessage logMessage = new LogMessage();
+        logMessage.setMessage(builder.toString());
+        logMessage.setTags(Arrays.asList(builder.toString(), null, ""));
+        assertSameAsFastjson(logMessage);
+    }
+
+    @Test
+    public void unicode() {
+        final LogMessage logMessage = new ReusableLogMessage();
+        // 中文、补充平面字符(代理对)以及单独出现的高、低代理项
+        logMessage.setMessage("日志消息 😀 \uD800 \uDFFF 􏿿 é");
+        logMessage.setFullMessage("\uD83D");
+        logMessage.setThreadName("线程-1");
+        assertSameAsFastjson(logMessage);
+    }
+
+    @Test
+    public void largeMessageAndBufferReuse() {
+        final char[] chars = new char[300 * 1024];
+        Arrays.fill(chars, '中');
+        final LogMessage large = new LogMessage();
+        large.setMessage(new String(chars));
+        assertSameAsFastjson(large);
+        // 超长日志之后缓冲区重置, 后续编码不受影响
+        final LogMessage small = new LogMessage();
+        small.setMessage("small");
+        assertSameAsFastjson(small);
+    }
+
+    @Test
+    public void fuzz() {
+        final Random random = new Random(42L);
+        final ReusableLogMessage reusable = new ReusableLogMessage();
+        for (int i = 0; i < FUZZ_ITERATIONS; i++) {
+            final LogMessage logMessage;
+            if (i % 2 == 0) {
+                logMessage = new LogMessage();
+                logMessage.setMessage(randomString(random));
+                logMessage.setFullMessage(randomString(random));
+            } else {
+                // 复用的消息对象, 与appender中的用法一致
+                reusable.clear();
+                logMessage = reusable;
+                logMessage.setMessage(nonNull(randomString(random)));
+                logMessage.setFullMessage(nonNull(randomString(random)));
+            }
+            logMessage.setTimestamp(random.nextLong());
+            logMessage.setEnv(randomString(random));
+            logMessage.setLogger(randomString(random));
+            logMessage.setLevel(randomString(random));
+            logMessage.setThreadName(randomString(random));
+            logMessage.setTraceId(randomString(random));
+            logMessage.setLogId(randomString(random));
+            logMessage.setIp(randomString(random));
+            logMessage.setHostname(randomString(random));
+            logMessage.setProjectName(randomString(random));
+            logMessage.setFileName(randomString(random));
+            logMessage.setLineNum(random.nextInt());
+            logMessage.setLogType(random.nextBoolean() ? null : LogTypeEnum.values()[random.nextInt(LogTypeEnum.values().length)]);
+            if (random.nextBoolean()) {
+                final List<String> tags = new ArrayList<>();
+                for (int j = random.nextInt(4); j > 0; j--) {
+                    tags.add(randomString(random));
+                }
+                logMessage.setTags(tags);
+            }
+            logMessage.setSampleRate(random.nextBoolean() ? null : random.nextInt());
+            logMessage.setRepeatCount(random.nextBoolean() ? null : random.nextInt());
+            logMessage.setFirstTimestamp(random.nextBoolean() ? null : random.nextLong());
+            logMessage.setLastTimestamp(random.nextBoolean() ? null : random.nextLong());
+            assertSameAsFastjson(logMessage);
+        }
+    }
+
+    @Test
+    public void readTimestamp() {
+        final LogMessage logMessage = new LogMessage();
+        logMessage.setTimestamp(1571795365123L);
+        logMessage.setMessage("\"timestamp\":1");
+        logMessage.setTraceId("\"timestamp\":2");
+        assertEquals(1571795365123L, LogMessageEncoder.readTimestamp(LogMessageEncoder.encode(logMessage)));
+    }
+
+    private static void assertSameAsFastjson(final LogMessage logMessage) {
+        final byte[] expected = JSON.toJSONString(logMessage).getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(JSON.toJSONString(logMessage), expected, LogMessageEncoder.encode(logMessage));
+    }
+
+    private static String nonNull(final String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * 随机字符串: 约1/6为null, 混合ASCII、Latin-1、BMP、单独的代理项、特殊字符和代理对
+     */
+    private static String randomString(final Random random) {
+        if (random.nextInt(6) == 0) {
+            return null;
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (int i = random.nextInt(40); i > 0; i--) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    builder.append((char) random.nextInt(0x100));
+                    break;
+                case 1:
+                    builder.append((char) random.nextInt(0x10000));
+                    break;
+                case 2:
+                    builder.append((char) (0xD800 + random.nextInt(0x800)));
+                    break;
+                case 3:
+                    builder.append(SPECIAL_CHARS.charAt(random.nextInt(SPECIAL_CHARS.length())));
+                    break;
+                default:
+                    builder.append((char) (' ' + random.nextInt(95)));
+                    break;
+            }
+        }
+        if (random.nextInt(4) == 0) {
+            builder.append("😀");
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * FileName: HistogramTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 无锁直方图测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈无锁直方图测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class HistogramTest {
+    @Test
+    public void emptyHistogramReportsZero() {
+        final Histogram histogram = new Histogram();
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0D, histogram.getMean(), 0D);
+        assertEquals(0L, histogram.getPercentile(0.99D));
+        assertEquals(0L, histogram.getMax());
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        final Histogram histogram = new Histogram();
+        histogram.record(0L);
+        histogram.record(1L);
+        histogram.record(2L);
+        histogram.record(3L);
+        // 负数按0记录
+        histogram.record(-5L);
+        assertEquals(5L, histogram.getCount());
+        assertEquals(6L, histogram.getSum());
+        assertEquals(0L, histogram.getPercentile(0.4D));
+        assertEquals(1L, histogram.getPercentile(0.6D));
+        assertEquals(3L, histogram.getPercentile(1D));
+        assertEquals(3L, histogram.getMax());
+    }
+
+    @Test
+    public void percentilesStayWithinRelativeError() {
+        final Histogram histogram = new Histogram();
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(100000L, histogram.getCount());
+        assertEquals(50000.5D, histogram.getMean(), 0.001D);
+        assertEquals(100000L, histogram.getMax());
+        final double[] quantiles = {0.5D, 0.9D, 0.99D};
+        for (double quantile : quantiles) {
+            final long exact = (long) (quantile * 100000);
+            final long estimate = histogram.getPercentile(quantile);
+            // 返回桶的上界, 不小于真实值, 相对误差不超过25%
+            assertTrue(quantile + ": " + estimate, estimate >= exact && estimate <= exact * 1.25D);
+        }
+        // 上界不超过最大值
+        assertEquals(100000L, histogram.getPercentile(1D));
+        final long huge = Long.MAX_VALUE - 1;
+        histogram.record(huge);
+        assertEquals(huge, histogram.getPercentile(1D));
+    }
+
+    @Test
+    public void concurrentRecordsAreAllCounted() throws InterruptedException {
+        final Histogram histogram = new Histogram();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final long offset = t * 1000L;
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 100000; i++) {
+                        histogram.record(offset + i % 1000);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(400000L, histogram.getCount());
+        assertEquals(3999L, histogram.getMax());
+    }
+
+    @Test
+    public void snapshotConvertsUnits() {
+        final Histogram histogram = new Histogram();
+        for (int i = 0; i < 100; i++) {
+            histogram.record(2000L);
+        }
+        histogram.record(40000L);
+        final HistogramSnapshot snapshot = HistogramSnapshot.of(histogram, 1000L);
+        assertEquals(101L, snapshot.getCount());
+        assertEquals(2L, snapshot.getP50());
+        assertEquals(2L, snapshot.getP99());
+        assertEquals(40L, snapshot.getMax());
+        assertEquals((100 * 2000D + 40000D) / 101 / 1000, snapshot.getMean(), 0.0001D);
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * FileName: SenderMetricsTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 发送链路指标测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.metrics;
+
+import org.junit.Test;
+import roberto.growth.process.core.RecordingStatusReporter;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈发送链路指标测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class SenderMetricsTest {
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+
+    @Test
+    public void enqueueCountsFromManyThreadsAreSummed() throws InterruptedException {
+        final SenderMetrics metrics = new SenderMetrics();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 10000; i++) {
+                        metrics.recordEnqueue(100, 1000L);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80000L, metrics.getEnqueuedRecords());
+        assertEquals(8000000L, metrics.getEnqueuedBytes());
+        assertEquals(80000L, metrics.getEncodeNanos().getCount());
+        assertTrue(metrics.getEnqueueRate() > 0D);
+    }
+
+    @Test
+    public void batchesAndRemovalsAreRecorded() {
+        final SenderMetrics metrics = new SenderMetrics();
+        metrics.recordRemoved(10L, 1000L);
+        metrics.recordRemoved(5L, 500L);
+        metrics.recordBatch(10, 1000L, 2000000L, true);
+        // 未发出的批次不计入发送耗时
+        metrics.recordBatch(5, 500L, -1L, false);
+        assertEquals(15L, metrics.getRemovedRecords());
+        assertEquals(1500L, metrics.getRemovedBytes());
+        assertEquals(1L, metrics.getAcknowledgedBatches());
+        assertEquals(1L, metrics.getFailedBatches());
+        assertEquals(2L, metrics.getBatchRecords().getCount());
+        assertEquals(10L, metrics.getBatchRecords().getMax());
+        assertEquals(1500L, metrics.getBatchBytes().getSum());
+        assertEquals(1L, metrics.getSendNanos().getCount());
+    }
+
+    @Test
+    public void registryReplacesAndUnregistersOnlyOwnInstance() throws Exception {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final Counter first = new Counter(1L);
+        final Counter second = new Counter(2L);
+        final ObjectName objectName = MBeanRegistry.register("TestCounter", "registry-test", first, this.reporter);
+        assertNotNull(objectName);
+        assertEquals(1L, mBeanServer.getAttribute(objectName, "Value"));
+
+        // 同名MBean由新实例替换, 旧实例注销时不影响新实例
+        assertEquals(objectName, MBeanRegistry.register("TestCounter", "registry-test", second, this.reporter));
+        assertEquals(2L, mBeanServer.getAttribute(objectName, "Value"));
+        MBeanRegistry.unregister(objectName, first, this.reporter);
+        assertTrue(mBeanServer.isRegistered(objectName));
+        MBeanRegistry.unregister(objectName, second, this.reporter);
+        assertFalse(mBeanServer.isRegistered(objectName));
+        assertTrue(this.reporter.getWarnings().isEmpty());
+    }
+
+    /**
+     * 测试用MXBean
+     */
+    public interface CounterMXBean {
+        long getValue();
+    }
+
+    private static class Counter implements CounterMXBean {
+        private final long value;
+
+        Counter(final long value) {
+            this.value = value;
+        }
+
+        @Override
+        public long getValue() {
+            return this.value;
+        }
+    }
+}
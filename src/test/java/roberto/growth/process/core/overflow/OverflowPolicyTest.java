@@ -0,0 +1,198 @@
+/**
+ * FileName: OverflowPolicyTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 队列溢出策略测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.overflow;
+
+import org.junit.Test;
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.queue.impl.MemoryQueue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈队列溢出策略测试.〉
+ * <p>
+ * 使用按条数限制的内存队列, 每条记录10字节
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class OverflowPolicyTest {
+    private static final int CAPACITY = 10;
+
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+    private final DropAccounting dropAccounting = new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+    private final MemoryQueue queue = new MemoryQueue(-1, CAPACITY, this.reporter, this.dropAccounting);
+
+    @Test
+    public void dropNewestKeepsOldestRecords() {
+        final OverflowPolicy policy = new DropNewestOverflowPolicy();
+        for (int i = 0; i < 15; i++) {
+            policy.enqueue(this.queue, record(i), "info", this.dropAccounting);
+        }
+        assertEquals(5L, this.dropAccounting.getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+        assertEquals(range(0, 10), this.drain());
+    }
+
+    @Test
+    public void dropOldestKeepsNewestRecords() {
+        final OverflowPolicy policy = new DropOldestOverflowPolicy();
+        for (int i = 0; i < 15; i++) {
+            policy.enqueue(this.queue, record(i), "info", this.dropAccounting);
+        }
+        assertEquals(5L, this.dropAccounting.getDroppedCount(DropReasonEnum.EVICTED));
+        assertEquals(50L, this.dropAccounting.getDroppedBytes(DropReasonEnum.EVICTED));
+        assertEquals(0L, this.dropAccounting.getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+        assertEquals(range(5, 15), this.drain());
+    }
+
+    @Test
+    public void blockingWaitsForConsumer() throws InterruptedException {
+        this.fill();
+        final Thread consumer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100L));
+                OverflowPolicyTest.this.queue.dequeue();
+            }
+        });
+        consumer.start();
+        final long startNanos = System.nanoTime();
+        new BlockingOverflowPolicy(5000L).enqueue(this.queue, record(CAPACITY), "info", this.dropAccounting);
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        consumer.join();
+        assertTrue("returned after " + elapsedMs + "ms", elapsedMs >= 50L && elapsedMs < 5000L);
+        assertEquals(0L, this.dropAccounting.getDroppedCount());
+        assertEquals(range(1, CAPACITY + 1), this.drain());
+    }
+
+    @Test
+    public void blockingDropsAfterTimeout() {
+        this.fill();
+        final long startNanos = System.nanoTime();
+        new BlockingOverflowPolicy(100L).enqueue(this.queue, record(CAPACITY), "info", this.dropAccounting);
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        assertTrue("returned after " + elapsedMs + "ms", elapsedMs >= 100L && elapsedMs < 2000L);
+        assertEquals(1L, this.dropAccounting.getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+        assertEquals(range(0, CAPACITY), this.drain());
+    }
+
+    @Test
+    public void blockingReturnsWhenInterrupted() {
+        this.fill();
+        Thread.currentThread().interrupt();
+        try {
+            final long startNanos = System.nanoTime();
+            new BlockingOverflowPolicy(5000L).enqueue(this.queue, record(CAPACITY), "info", this.dropAccounting);
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) < 1000L);
+            assertEquals(1L, this.dropAccounting.getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void levelPriorityReservesSpaceForHighLevels() {
+        final OverflowPolicy policy = new LevelPriorityOverflowPolicy("warn", 0.8D, false);
+        for (int i = 0; i < 10; i++) {
+            policy.enqueue(this.queue, record(i), "info", this.dropAccounting);
+        }
+        // 使用率达到80%后info被舍弃, 剩余空间留给warn及以上
+        assertEquals(2L, this.dropAccounting.getDroppedCount(DropReasonEnum.SHED));
+        policy.enqueue(this.queue, record(10), "WARN", this.dropAccounting);
+        policy.enqueue(this.queue, record(11), "error", this.dropAccounting);
+        policy.enqueue(this.queue, record(12), "error", this.dropAccounting);
+        assertEquals(1L, this.dropAccounting.getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+        final List<Integer> expected = range(0, 8);
+        expected.add(10);
+        expected.add(11);
+        assertEquals(expected, this.drain());
+    }
+
+    @Test
+    public void levelPriorityEvictsOldestForHighLevelsWhenFull() {
+        final OverflowPolicy policy = new LevelPriorityOverflowPolicy("warn", 0.8D, true);
+        this.fill();
+        policy.enqueue(this.queue, record(CAPACITY), "info", this.dropAccounting);
+        policy.enqueue(this.queue, record(CAPACITY + 1), "error", this.dropAccounting);
+        assertEquals(1L, this.dropAccounting.getDroppedCount(DropReasonEnum.SHED));
+        assertEquals(1L, this.dropAccounting.getDroppedCount(DropReasonEnum.EVICTED));
+        final List<Integer> expected = range(1, CAPACITY);
+        expected.add(CAPACITY + 1);
+        assertEquals(expected, this.drain());
+    }
+
+    @Test
+    public void probabilisticShedsInProportionToFillRatio() {
+        final OverflowPolicy policy = new ProbabilisticOverflowPolicy(0.5D);
+        final MemoryQueue large = new MemoryQueue(-1, 100000, this.reporter, this.dropAccounting);
+        // 使用率不超过起始比例时不舍弃
+        for (int i = 0; i < 50000; i++) {
+            policy.enqueue(large, record(i), "info", this.dropAccounting);
+        }
+        assertEquals(0L, this.dropAccounting.getDroppedCount());
+        for (int i = 0; i < 25000; i++) {
+            large.enqueue(record(i));
+        }
+        // 使用率约75%, 舍弃概率约50%
+        final int attempts = 4000;
+        for (int i = 0; i < attempts; i++) {
+            policy.enqueue(large, record(i), "info", this.dropAccounting);
+        }
+        final long shed = this.dropAccounting.getDroppedCount(DropReasonEnum.SHED);
+        assertTrue("shed " + shed + " of " + attempts, shed > attempts * 0.4D && shed < attempts * 0.65D);
+    }
+
+    @Test
+    public void probabilisticShedsEverythingWhenFull() {
+        final OverflowPolicy policy = new ProbabilisticOverflowPolicy(0.5D);
+        this.fill();
+        for (int i = 0; i < 100; i++) {
+            policy.enqueue(this.queue, record(i), "info", this.dropAccounting);
+        }
+        assertEquals(100L, this.dropAccounting.getDroppedCount(DropReasonEnum.SHED));
+    }
+
+    private void fill() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(this.queue.offer(record(i)));
+        }
+    }
+
+    private List<Integer> drain() {
+        final List<byte[]> records = new ArrayList<>();
+        this.queue.drainTo(records, 1000, Long.MAX_VALUE);
+        final List<Integer> sequences = new ArrayList<>();
+        for (byte[] record : records) {
+            sequences.add(ByteBuffer.wrap(record).getInt());
+        }
+        return sequences;
+    }
+
+    private static byte[] record(final int sequence) {
+        return ByteBuffer.allocate(10).putInt(sequence).array();
+    }
+
+    private static List<Integer> range(final int from, final int to) {
+        final List<Integer> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            result.add(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * FileName: DiskQueueBenchmark
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 磁盘Queue与旧版本BigQueue的对比压测.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import com.bluejeans.bigqueue.BigQueue;
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.compress.CompressionCodecs;
+import roberto.growth.process.core.enums.CompressionTypeEnum;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * 〈磁盘Queue与旧版本BigQueue的对比压测.〉
+ * <p>
+ * 多个生产线程并发写入, 写完后单个消费线程按批出队, 分别统计每条记录的平均耗时, 并校验每个生产线程的记录按顺序完整出队.
+ * 不是单元测试, 不会被surefire执行, 通过main方法运行:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/classes:target/test-classes:$(cat cp.txt) roberto.growth.process.core.queue.impl.DiskQueueBenchmark [生产线程数] [每个线程的记录数] [记录字节数] [轮数]
+ * </pre>
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class DiskQueueBenchmark {
+    private static final int DRAIN_BATCH = 1000;
+    private static final int COMPRESSED_SEGMENT_SIZE_BYTES = 64 * 1024;
+
+    public static void main(final String[] args) throws Exception {
+        final int producers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        final int recordsPerProducer = args.length > 1 ? Integer.parseInt(args[1]) : 250000;
+        final int recordSize = args.length > 2 ? Integer.parseInt(args[2]) : 300;
+        final int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+        System.out.printf("producers=%d, recordsPerProducer=%d, recordSize=%d, drainBatch=%d%n", producers, recordsPerProducer, recordSize, DRAIN_BATCH);
+        final ScheduledExecutorService diskSpaceTasks = Executors.newSingleThreadScheduledExecutor();
+        try {
+            for (int round = 1; round <= rounds; round++) {
+                for (String name : Arrays.asList("BigQueue", "DiskQueue", "DiskQueue(LZ4)")) {
+                    final File dir = Files.createTempDirectory("disk-queue-benchmark").toFile();
+                    try {
+                        final BenchmarkQueue queue = open(name, dir, diskSpaceTasks);
+                        try {
+                            run(round, name, queue, producers, recordsPerProducer, recordSize);
+                        } finally {
+                            queue.close();
+                        }
+                    } finally {
+                        delete(dir);
+                    }
+                }
+            }
+        } finally {
+            diskSpaceTasks.shutdownNow();
+        }
+    }
+
+    private static void run(final int round, final String name, final BenchmarkQueue queue, final int producers, final int recordsPerProducer, final int recordSize) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < recordsPerProducer; i++) {
+                        final ByteBuffer record = ByteBuffer.allocate(recordSize);
+                        record.putInt(producer);
+                        record.putInt(i);
+                        queue.enqueue(record.array());
+                    }
+                }
+            }, "benchmark-producer-" + p);
+            thread.start();
+            threads.add(thread);
+        }
+        final long enqueueStart = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        final long enqueueNanos = System.nanoTime() - enqueueStart;
+
+        final int total = producers * recordsPerProducer;
+        final int[] nextSequence = new int[producers];
+        final List<byte[]> container = new ArrayList<>(DRAIN_BATCH);
+        int received = 0;
+        int outOfOrder = 0;
+        final long drainStart = System.nanoTime();
+        while (received < total) {
+            container.clear();
+            if (queue.drain(container, DRAIN_BATCH) == 0) {
+                break;
+            }
+            for (byte[] record : container) {
+                final ByteBuffer buffer = ByteBuffer.wrap(record);
+                final int producer = buffer.getInt();
+                if (buffer.getInt() != nextSequence[producer]++) {
+                    outOfOrder++;
+                }
+            }
+            received += container.size();
+        }
+        final long drainNanos = System.nanoTime() - drainStart;
+        System.out.printf("round %d %-15s enqueue %6d ns/rec, drain %6d ns/rec, received %d/%d, out of order %d%n",
+                round, name, enqueueNanos / total, drainNanos / total, received, total, outOfOrder);
+    }
+
+    private static BenchmarkQueue open(final String name, final File dir, final ScheduledExecutorService diskSpaceTasks) throws Exception {
+        if ("BigQueue".equals(name)) {
+            final BigQueue bigQueue = new BigQueue(dir.getAbsolutePath(), "queue");
+            return new BenchmarkQueue() {
+                @Override
+                public void enqueue(final byte[] record) {
+                    bigQueue.enqueue(record);
+                }
+
+                @Override
+                public int drain(final List<byte[]> container, final int maxRecords) {
+                    final List<byte[]> records = bigQueue.dequeueMulti(maxRecords);
+                    container.addAll(records);
+                    return records.size();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    bigQueue.close();
+                }
+            };
+        }
+        final RecordingStatusReporter reporter = new RecordingStatusReporter();
+        final DiskQueue diskQueue = new DiskQueue(new File(dir, "queue"), true, 100, 1000, reporter, 60000, diskSpaceTasks,
+                "DiskQueue".equals(name) ? null : CompressionCodecs.create(CompressionTypeEnum.LZ4, 1), COMPRESSED_SEGMENT_SIZE_BYTES, DiskQueue.DEFAULT_SEGMENT_LINGER_MS,
+                new DropAccounting(reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS), 1, -1L, 100);
+        return new BenchmarkQueue() {
+            @Override
+            public void enqueue(final byte[] record) {
+                diskQueue.enqueue(record);
+            }
+
+            @Override
+            public int drain(final List<byte[]> container, final int maxRecords) {
+                final int drained = diskQueue.drainTo(container, maxRecords, Long.MAX_VALUE);
+                // 与发送端一致, 每批确认一次
+                diskQueue.commit(diskQueue.readPosition());
+                return drained;
+            }
+
+            @Override
+            public void close() throws IOException {
+                diskQueue.close();
+            }
+        };
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * 被压测的队列
+     */
+    private interface BenchmarkQueue {
+        void enqueue(byte[] record);
+
+        int drain(List<byte[]> container, int maxRecords);
+
+        void close() throws IOException;
+    }
+}
@@ -0,0 +1,247 @@
+/**
+ * FileName: DiskQueueTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 磁盘Queue的确认消费与重启测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import com.bluejeans.bigqueue.BigQueue;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.compress.CompressionCodecs;
+import roberto.growth.process.core.enums.CompressionTypeEnum;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈磁盘Queue的确认消费与重启测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class DiskQueueTest {
+    private static final int SEGMENT_SIZE_BYTES = 64;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+    private final ScheduledExecutorService diskSpaceTasks = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void tearDown() {
+        this.diskSpaceTasks.shutdownNow();
+    }
+
+    @Test
+    public void restartResumesFromCommittedPosition() throws Exception {
+        final File queueDir = new File(this.temporaryFolder.getRoot(), "queue");
+        DiskQueue queue = this.open(queueDir, false);
+        enqueue(queue, 0, 20);
+        assertEquals(range(0, 5), drain(queue, 5));
+        queue.commit(queue.readPosition());
+        assertEquals(range(5, 10), drain(queue, 5));
+        queue.close();
+
+        queue = this.open(queueDir, false);
+        assertEquals(range(5, 20), drain(queue, 100));
+        queue.close();
+        assertTrue(this.reporter.getWarnings().isEmpty());
+    }
+
+    @Test
+    public void compressedRestartResumesFromCommittedPosition() throws Exception {
+        final File queueDir = new File(this.temporaryFolder.getRoot(), "queue");
+        DiskQueue queue = this.open(queueDir, true);
+        enqueue(queue, 0, 20);
+        queue.flush();
+        // 每个分段5条记录, 最后2条留在内存中尚未落盘
+        enqueue(queue, 20, 32);
+        final List<String> delivered = drain(queue, 12);
+        queue.commit(queue.readPosition());
+        // 读过提交位置但不提交, 包括尚未落盘直接从内存取走的分段
+        delivered.addAll(drain(queue, 100));
+        assertEquals(range(0, 32), delivered);
+        queue.close();
+
+        queue = this.open(queueDir, true);
+        final List<String> redelivered = drain(queue, 100);
+        // 压缩模式按分段确认, 未确认的分段整段重新发送
+        assertTrue(redelivered.containsAll(range(12, 32)));
+        assertEquals(range(32 - redelivered.size(), 32), redelivered);
+        queue.close();
+    }
+
+    @Test
+    public void lingeringSegmentIsWrittenBeforeCrash() throws Exception {
+        final File queueDir = new File(this.temporaryFolder.getRoot(), "queue");
+        final DiskQueue queue = this.open(queueDir, true, 300L);
+        // 2条记录不足一个分段
+        enqueue(queue, 0, 2);
+        assertEquals(0L, queue.getFootprintBytes());
+        final long deadline = System.currentTimeMillis() + 5000L;
+        while (queue.getFootprintBytes() == 0L) {
+            assertTrue("segment not written within linger", System.currentTimeMillis() < deadline);
+            Thread.sleep(10L);
+        }
+
+        // 不关闭原队列, 模拟进程崩溃后重启
+        final DiskQueue restarted = this.open(queueDir, true);
+        assertEquals(range(0, 2), drain(restarted, 100));
+        restarted.close();
+        queue.close();
+    }
+
+    @Test
+    public void segmentIsWrittenOnceLingerExpiresUnderSteadyWrites() throws Exception {
+        final DiskQueue queue = this.open(new File(this.temporaryFolder.getRoot(), "queue"), true, 50L);
+        // 定时任务不可用时, 持续写入同样在停留超时后写入分段
+        this.diskSpaceTasks.shutdownNow();
+        enqueue(queue, 0, 1);
+        Thread.sleep(100L);
+        enqueue(queue, 1, 2);
+        assertTrue(queue.getFootprintBytes() > 0L);
+        assertEquals(range(0, 2), drain(queue, 100));
+        queue.close();
+    }
+
+    @Test
+    public void rewindRedeliversUncommittedRecords() throws Exception {
+        final DiskQueue queue = this.open(new File(this.temporaryFolder.getRoot(), "queue"), true);
+        enqueue(queue, 0, 10);
+        drain(queue, 3);
+        queue.commit(queue.readPosition());
+        drain(queue, 100);
+        queue.rewind();
+        final List<String> redelivered = drain(queue, 100);
+        assertTrue(redelivered.containsAll(range(3, 10)));
+        assertEquals(range(10 - redelivered.size(), 10), redelivered);
+        queue.close();
+    }
+
+    @Test
+    public void commitReclaimsPassedSegmentsOnceThresholdIsReached() throws Exception {
+        final DiskQueue queue = new DiskQueue(new File(this.temporaryFolder.getRoot(), "queue"), true, 100, 60000, this.reporter, 60000, this.diskSpaceTasks,
+                null, 0, DiskQueue.DEFAULT_SEGMENT_LINGER_MS, new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS), 2, -1L, 100);
+        // 每条1MB, 每个32MB的段文件容纳31条, 70条占3个段
+        final byte[] record = new byte[1024 * 1024];
+        for (int i = 0; i < 70; i++) {
+            queue.enqueue(record);
+        }
+        assertEquals(3, queue.getSegmentCount());
+        assertEquals(40, queue.drainTo(new ArrayList<byte[]>(), 40, Long.MAX_VALUE));
+        queue.commit(queue.readPosition());
+        // 越过的段数未达到阈值, 不立即回收
+        Thread.sleep(200L);
+        assertEquals(3, queue.getSegmentCount());
+        assertEquals(32L * 1024 * 1024, queue.getReclaimableBytes());
+
+        assertEquals(30, queue.drainTo(new ArrayList<byte[]>(), 100, Long.MAX_VALUE));
+        queue.commit(queue.readPosition());
+        final long deadline = System.currentTimeMillis() + 5000L;
+        while (queue.getSegmentCount() > 1) {
+            assertTrue("segments not reclaimed after commit", System.currentTimeMillis() < deadline);
+            Thread.sleep(10L);
+        }
+        assertEquals(0L, queue.getReclaimableBytes());
+        assertEquals(0L, queue.getLiveBytes());
+        queue.close();
+    }
+
+    @Test
+    public void legacyBigQueueDataIsMigrated() throws Exception {
+        final BigQueue bigQueue = new BigQueue(this.temporaryFolder.getRoot().getAbsolutePath(), "queue");
+        for (int i = 0; i < 5; i++) {
+            bigQueue.enqueue(("legacy-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        // 旧版本已出队的记录不迁移
+        bigQueue.dequeue();
+        bigQueue.dequeue();
+        bigQueue.close();
+
+        final File queueDir = new File(this.temporaryFolder.getRoot(), "queue");
+        DiskQueue queue = this.open(queueDir, false);
+        assertTrue(this.reporter.getWarnings().isEmpty());
+        assertFalse(new File(queueDir, "data").exists());
+        assertFalse(new File(queueDir, "index").exists());
+        enqueue(queue, 0, 2);
+        final List<String> delivered = drain(queue, 100);
+        assertEquals(Arrays.asList("legacy-2", "legacy-3", "legacy-4", "record-0", "record-1"), delivered);
+        queue.commit(queue.readPosition());
+        queue.close();
+
+        // 迁移只做一次
+        queue = this.open(queueDir, false);
+        assertNull(queue.dequeue());
+        queue.close();
+    }
+
+    @Test
+    public void corruptLegacyBigQueueIsKept() throws Exception {
+        final File queueDir = new File(this.temporaryFolder.getRoot(), "queue");
+        assertTrue(new File(queueDir, "meta_data").mkdirs());
+
+        final DiskQueue queue = this.open(queueDir, false);
+        assertEquals(1, this.reporter.getWarnings().size());
+        assertTrue(this.reporter.getWarnings().get(0).contains("BigQueue"));
+        assertTrue(new File(queueDir, "meta_data").isDirectory());
+        // 新队列正常使用
+        enqueue(queue, 0, 3);
+        assertEquals(range(0, 3), drain(queue, 100));
+        queue.close();
+    }
+
+    private DiskQueue open(final File queueDir, final boolean compressed) throws Exception {
+        // 分段只在大小达到上限或显式flush时写入日志文件
+        return this.open(queueDir, compressed, 60000L);
+    }
+
+    private DiskQueue open(final File queueDir, final boolean compressed, final long segmentLingerMs) throws Exception {
+        return new DiskQueue(queueDir, true, 100, 60000, this.reporter, 60000, this.diskSpaceTasks,
+                compressed ? CompressionCodecs.create(CompressionTypeEnum.LZ4, 1) : null, SEGMENT_SIZE_BYTES, segmentLingerMs,
+                new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS), 1, -1L, 100);
+    }
+
+    private static void enqueue(final DiskQueue queue, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            queue.enqueue(("record-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static List<String> drain(final DiskQueue queue, final int maxRecords) {
+        final List<byte[]> records = new ArrayList<>();
+        queue.drainTo(records, maxRecords, Long.MAX_VALUE);
+        final List<String> result = new ArrayList<>();
+        for (byte[] record : records) {
+            result.add(new String(record, StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    private static List<String> range(final int from, final int to) {
+        final List<String> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            result.add("record-" + i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * FileName: MemoryQueueTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 内存Queue批量出队测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import org.junit.Test;
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.overflow.DropOldestOverflowPolicy;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈内存Queue批量出队测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class MemoryQueueTest {
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+    private final DropAccounting dropAccounting = new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+
+    @Test
+    public void drainStopsAtMaxRecords() {
+        final MemoryQueue queue = new MemoryQueue(-1, -1, this.reporter, this.dropAccounting);
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(record(i, 10));
+        }
+        final List<byte[]> container = new ArrayList<>();
+        assertEquals(4, queue.drainTo(container, 4, Long.MAX_VALUE));
+        assertEquals(6, queue.drainTo(container, 100, Long.MAX_VALUE));
+        assertSequence(container, 0, 10);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void drainKeepsRecordBeyondByteBudgetAtHead() {
+        final MemoryQueue queue = new MemoryQueue(1000, -1, this.reporter, this.dropAccounting);
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(record(i, 100));
+        }
+        final List<byte[]> container = new ArrayList<>();
+        assertEquals(2, queue.drainTo(container, 100, 250));
+        assertEquals(0.3D, queue.fillRatio(), 0.0001D);
+        assertEquals(3, queue.drainTo(container, 100, 300));
+        assertSequence(container, 0, 5);
+        assertEquals(0D, queue.fillRatio(), 0.0001D);
+    }
+
+    @Test
+    public void oversizedHeadRecordIsDrainedAlone() {
+        final MemoryQueue queue = new MemoryQueue(-1, -1, this.reporter, this.dropAccounting);
+        queue.enqueue(record(0, 500));
+        queue.enqueue(record(1, 10));
+        final List<byte[]> container = new ArrayList<>();
+        assertEquals(1, queue.drainTo(container, 100, 100));
+        assertEquals(1, queue.drainTo(container, 100, 100));
+        assertSequence(container, 0, 2);
+    }
+
+    @Test
+    public void drainKeepsOrderUnderConcurrentEviction() throws InterruptedException {
+        final int total = 200000;
+        final MemoryQueue queue = new MemoryQueue(4000, -1, this.reporter, this.dropAccounting);
+        final DropOldestOverflowPolicy overflowPolicy = new DropOldestOverflowPolicy();
+        final AtomicBoolean produced = new AtomicBoolean();
+        final Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < total; i++) {
+                    overflowPolicy.enqueue(queue, record(i, 100), null, MemoryQueueTest.this.dropAccounting);
+                }
+                produced.set(true);
+            }
+        });
+        producer.start();
+        final List<byte[]> container = new ArrayList<>();
+        int received = 0;
+        int last = -1;
+        while (!produced.get() || !queue.isEmpty()) {
+            container.clear();
+            queue.drainTo(container, 100, 350);
+            for (byte[] record : container) {
+                final int sequence = ByteBuffer.wrap(record).getInt();
+                assertTrue("out of order: " + sequence + " after " + last, sequence > last);
+                last = sequence;
+            }
+            received += container.size();
+        }
+        producer.join();
+        assertEquals(total, received + this.dropAccounting.getDroppedCount(DropReasonEnum.EVICTED) + this.dropAccounting.getDroppedCount(DropReasonEnum.BYTE_LIMIT));
+        assertEquals(0D, queue.fillRatio(), 0.0001D);
+    }
+
+    private static byte[] record(final int sequence, final int length) {
+        return ByteBuffer.allocate(length).putInt(sequence).array();
+    }
+
+    private static void assertSequence(final List<byte[]> records, final int from, final int to) {
+        assertEquals(to - from, records.size());
+        for (int i = from; i < to; i++) {
+            assertEquals(i, ByteBuffer.wrap(records.get(i - from)).getInt());
+        }
+    }
+}
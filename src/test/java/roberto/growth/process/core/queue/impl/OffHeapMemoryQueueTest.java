@@ -0,0 +1,164 @@
+/**
+ * FileName: OffHeapMemoryQueueTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 堆外内存Queue测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import org.junit.Test;
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.enums.DropReasonEnum;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈堆外内存Queue测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class OffHeapMemoryQueueTest {
+    private static final int SLAB_SIZE_BYTES = 256;
+
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+    private final DropAccounting dropAccounting = new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+
+    @Test
+    public void recordsSpanningSlabsKeepOrderAndContent() {
+        final OffHeapMemoryQueue queue = new OffHeapMemoryQueue(SLAB_SIZE_BYTES, -1L, -1L, this.dropAccounting);
+        // 每个分片放不下整数条记录, 写满后换新分片
+        for (int i = 0; i < 50; i++) {
+            queue.enqueue(record(i, 30 + i % 7));
+        }
+        final List<byte[]> container = new ArrayList<>();
+        assertEquals(50, queue.drainTo(container, 100, Long.MAX_VALUE));
+        for (int i = 0; i < 50; i++) {
+            assertArrayEquals(record(i, 30 + i % 7), container.get(i));
+        }
+        assertTrue(queue.isEmpty());
+        assertNull(queue.dequeue());
+    }
+
+    @Test
+    public void usedBytesCountsHeaderAndPayload() {
+        final OffHeapMemoryQueue queue = new OffHeapMemoryQueue(SLAB_SIZE_BYTES, 1000L, -1L, this.dropAccounting);
+        queue.enqueue(record(0, 10));
+        queue.enqueue(record(1, 20));
+        assertEquals(4 + 10 + 4 + 20, queue.getUsedBytes());
+        assertEquals(0.038D, queue.fillRatio(), 0.0001D);
+        assertEquals(0, ByteBuffer.wrap(queue.dequeue()).getInt());
+        assertEquals(4 + 20, queue.getUsedBytes());
+        queue.dequeue();
+        assertEquals(0L, queue.getUsedBytes());
+        assertEquals(0D, queue.fillRatio(), 0.0001D);
+    }
+
+    @Test
+    public void byteAndCountLimitsDropNewRecords() {
+        final OffHeapMemoryQueue byteLimited = new OffHeapMemoryQueue(SLAB_SIZE_BYTES, 100L, -1L, this.dropAccounting);
+        // 4 + 46 = 50字节, 第三条超出100字节上限
+        assertTrue(byteLimited.offer(record(0, 46)));
+        assertTrue(byteLimited.offer(record(1, 46)));
+        assertFalse(byteLimited.offer(record(2, 46)));
+        byteLimited.enqueue(record(3, 46));
+        assertEquals(1L, this.dropAccounting.getDroppedCount(DropReasonEnum.BYTE_LIMIT));
+        assertEquals(46L, this.dropAccounting.getDroppedBytes(DropReasonEnum.BYTE_LIMIT));
+
+        final OffHeapMemoryQueue countLimited = new OffHeapMemoryQueue(SLAB_SIZE_BYTES, -1L, 3L, this.dropAccounting);
+        for (int i = 0; i < 5; i++) {
+            countLimited.enqueue(record(i, 10));
+        }
+        assertEquals(2L, this.dropAccounting.getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+        final List<byte[]> container = new ArrayList<>();
+        countLimited.drainTo(container, 100, Long.MAX_VALUE);
+        assertSequence(container, 0, 3);
+    }
+
+    @Test
+    public void oversizedRecordGetsDedicatedSlab() {
+        final OffHeapMemoryQueue queue = new OffHeapMemoryQueue(SLAB_SIZE_BYTES, -1L, -1L, this.dropAccounting);
+        queue.enqueue(record(0, 10));
+        queue.enqueue(record(1, SLAB_SIZE_BYTES * 3));
+        queue.enqueue(record(2, 10));
+        final List<byte[]> container = new ArrayList<>();
+        assertEquals(3, queue.drainTo(container, 100, Long.MAX_VALUE));
+        assertArrayEquals(record(1, SLAB_SIZE_BYTES * 3), container.get(1));
+        assertSequence(container, 0, 3);
+    }
+
+    @Test
+    public void drainKeepsRecordBeyondByteBudgetAtHead() {
+        final OffHeapMemoryQueue queue = new OffHeapMemoryQueue(SLAB_SIZE_BYTES, -1L, -1L, this.dropAccounting);
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(record(i, 100));
+        }
+        final List<byte[]> container = new ArrayList<>();
+        assertEquals(2, queue.drainTo(container, 100, 250));
+        assertEquals(1, queue.drainTo(container, 100, 50));
+        assertEquals(2, queue.drainTo(container, 100, Long.MAX_VALUE));
+        assertSequence(container, 0, 5);
+    }
+
+    @Test
+    public void slabsAreReusedAfterDraining() {
+        final OffHeapMemoryQueue queue = new OffHeapMemoryQueue(SLAB_SIZE_BYTES, 1024L, -1L, this.dropAccounting);
+        int next = 0;
+        // 多轮写满后清空, 回收的分片继续使用, 容量按记录精确释放
+        for (int round = 0; round < 20; round++) {
+            final int from = next;
+            while (queue.offer(record(next, 60))) {
+                next++;
+            }
+            final List<byte[]> container = new ArrayList<>();
+            queue.drainTo(container, 1000, Long.MAX_VALUE);
+            assertSequence(container, from, next);
+            assertEquals(1024 / 64, container.size());
+            assertEquals(0L, queue.getUsedBytes());
+        }
+    }
+
+    @Test
+    public void capacityCanBeChangedAtRuntime() {
+        final OffHeapMemoryQueue queue = new OffHeapMemoryQueue(SLAB_SIZE_BYTES, 100L, -1L, this.dropAccounting);
+        assertTrue(queue.offer(record(0, 46)));
+        assertTrue(queue.offer(record(1, 46)));
+        assertFalse(queue.offer(record(2, 46)));
+        queue.setCapacityInBytes(-1L);
+        assertTrue(queue.offer(record(2, 46)));
+        queue.setLogCountLimit(3L);
+        assertFalse(queue.offer(record(3, 46)));
+        queue.setLogCountLimit(-1L);
+        assertTrue(queue.offer(record(3, 46)));
+        final List<byte[]> container = new ArrayList<>();
+        queue.drainTo(container, 100, Long.MAX_VALUE);
+        assertSequence(container, 0, 4);
+    }
+
+    private static byte[] record(final int sequence, final int length) {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).putInt(sequence);
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) (sequence + buffer.position()));
+        }
+        return buffer.array();
+    }
+
+    private static void assertSequence(final List<byte[]> records, final int from, final int to) {
+        assertEquals(to - from, records.size());
+        for (int i = from; i < to; i++) {
+            assertEquals(i, ByteBuffer.wrap(records.get(i - from)).getInt());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * FileName: PartitionedQueueTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 按key分区的Queue测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import org.junit.Test;
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.enums.DropReasonEnum;
+import roberto.growth.process.core.enums.PartitionKeyEnum;
+import roberto.growth.process.core.queue.LogDataQueue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈按key分区的Queue测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class PartitionedQueueTest {
+    private static final int PARTITION_COUNT = 4;
+
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+    private final DropAccounting dropAccounting = new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+
+    @Test
+    public void sameKeyAlwaysMapsToSamePartition() {
+        final PartitionedQueue queue = this.newQueue(PartitionKeyEnum.TRACE_ID, 100);
+        final int[] counts = new int[PARTITION_COUNT];
+        for (int i = 0; i < 1000; i++) {
+            final int partition = queue.partitionOf("trace-" + i, "roberto.growth.process.Demo");
+            assertTrue(partition >= 0 && partition < PARTITION_COUNT);
+            assertEquals(partition, queue.partitionOf("trace-" + i, "roberto.growth.process.Other"));
+            counts[partition]++;
+        }
+        // 不同traceId大致均匀分布
+        for (int count : counts) {
+            assertTrue("partition count " + count, count > 150);
+        }
+    }
+
+    @Test
+    public void partitionKeySelectsTraceIdOrLogger() {
+        final String loggerName = "roberto.growth.process.Demo";
+        final int loggerPartition = PartitionedQueue.partitionOf(PartitionKeyEnum.LOGGER, null, loggerName, PARTITION_COUNT);
+        // 没有traceId时按logger名称分区
+        assertEquals(loggerPartition, PartitionedQueue.partitionOf(PartitionKeyEnum.TRACE_ID, null, loggerName, PARTITION_COUNT));
+        assertEquals(loggerPartition, PartitionedQueue.partitionOf(PartitionKeyEnum.TRACE_ID, "", loggerName, PARTITION_COUNT));
+        // 按logger分区时忽略traceId
+        for (int i = 0; i < 100; i++) {
+            assertEquals(loggerPartition, PartitionedQueue.partitionOf(PartitionKeyEnum.LOGGER, "trace-" + i, loggerName, PARTITION_COUNT));
+        }
+        assertEquals(0, PartitionedQueue.partitionOf(PartitionKeyEnum.TRACE_ID, null, null, PARTITION_COUNT));
+        assertEquals(0, PartitionedQueue.partitionOf(PartitionKeyEnum.TRACE_ID, "trace-1", loggerName, 1));
+    }
+
+    @Test
+    public void eachKeyKeepsWriteOrderWithinItsPartition() {
+        final PartitionedQueue queue = this.newQueue(PartitionKeyEnum.TRACE_ID, 1000);
+        for (int i = 0; i < 200; i++) {
+            final String traceId = "trace-" + (i % 10);
+            queue.getPartition(queue.partitionOf(traceId, null)).enqueue(record(traceId, i));
+        }
+        final Map<String, List<Integer>> received = new HashMap<>();
+        for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+            final List<byte[]> records = new ArrayList<>();
+            queue.getPartition(partition).drainTo(records, 1000, Long.MAX_VALUE);
+            for (byte[] record : records) {
+                final String[] parts = new String(record, StandardCharsets.UTF_8).split(":");
+                assertEquals(partition, queue.partitionOf(parts[0], null));
+                List<Integer> sequences = received.get(parts[0]);
+                if (sequences == null) {
+                    sequences = new ArrayList<>();
+                    received.put(parts[0], sequences);
+                }
+                sequences.add(Integer.parseInt(parts[1]));
+            }
+        }
+        assertEquals(10, received.size());
+        for (Map.Entry<String, List<Integer>> entry : received.entrySet()) {
+            final int key = Integer.parseInt(entry.getKey().substring("trace-".length()));
+            final List<Integer> expected = new ArrayList<>();
+            for (int i = key; i < 200; i += 10) {
+                expected.add(i);
+            }
+            assertEquals(expected, entry.getValue());
+        }
+    }
+
+    @Test
+    public void partitionsHaveIndependentCapacity() {
+        final PartitionedQueue queue = this.newQueue(PartitionKeyEnum.TRACE_ID, 3);
+        for (int i = 0; i < 5; i++) {
+            queue.getPartition(1).enqueue(record("trace", i));
+        }
+        assertEquals(2L, this.dropAccounting.getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+        assertEquals(1D, queue.fillRatio(), 0.0001D);
+        queue.getPartition(2).enqueue(record("trace", 5));
+        assertEquals(2L, this.dropAccounting.getDroppedCount());
+    }
+
+    @Test
+    public void keylessAccessWalksPartitionsInOrder() {
+        final PartitionedQueue queue = this.newQueue(PartitionKeyEnum.TRACE_ID, 100);
+        // 不带key写入的日志进入第一个分区
+        queue.enqueue(record("none", 0));
+        assertEquals(1, queue.getPartition(0).drainTo(new ArrayList<byte[]>(), 100, Long.MAX_VALUE));
+        queue.getPartition(2).enqueue(record("trace", 1));
+        queue.getPartition(3).enqueue(record("trace", 2));
+        queue.getPartition(3).enqueue(record("trace", 3));
+        // 前面的分区为空时从后面的分区取
+        assertEquals("trace:1", new String(queue.dequeue(), StandardCharsets.UTF_8));
+        final List<byte[]> records = new ArrayList<>();
+        assertEquals(2, queue.drainTo(records, 100, Long.MAX_VALUE));
+        assertTrue(queue.isEmpty());
+        assertNull(queue.dequeue());
+        assertTrue(this.reporter.getWarnings().isEmpty());
+    }
+
+    private PartitionedQueue newQueue(final PartitionKeyEnum partitionKey, final int logCountLimit) {
+        final List<LogDataQueue> partitions = new ArrayList<>();
+        for (int i = 0; i < PARTITION_COUNT; i++) {
+            partitions.add(new MemoryQueue(-1, logCountLimit, this.reporter, this.dropAccounting));
+        }
+        return new PartitionedQueue(partitions, partitionKey);
+    }
+
+    private static byte[] record(final String key, final int sequence) {
+        return (key + ":" + sequence).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * FileName: PriorityLaneQueueTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 按日志级别分道的Queue测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import org.junit.Test;
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.enums.DropReasonEnum;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈按日志级别分道的Queue测试.〉
+ * <p>
+ * 高优先级通道的记录序号从1000开始, 便于区分
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class PriorityLaneQueueTest {
+    private static final int PRIORITY_BASE = 1000;
+
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+    private final DropAccounting dropAccounting = new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+    private final MemoryQueue priorityLane = new MemoryQueue(-1, 5, this.reporter, this.dropAccounting);
+    private final MemoryQueue normalLane = new MemoryQueue(-1, 100, this.reporter, this.dropAccounting);
+    private final PriorityLaneQueue queue = new PriorityLaneQueue(this.priorityLane, this.normalLane, "warn", 3);
+
+    @Test
+    public void levelsAreRoutedToLanes() {
+        assertSame(this.normalLane, this.queue.laneFor("info"));
+        assertSame(this.normalLane, this.queue.laneFor("DEBUG"));
+        assertSame(this.normalLane, this.queue.laneFor("unknown"));
+        assertSame(this.priorityLane, this.queue.laneFor("warn"));
+        assertSame(this.priorityLane, this.queue.laneFor("ERROR"));
+        assertSame(this.priorityLane, this.queue.laneFor("fatal"));
+        // 不带级别写入的日志进入普通通道
+        this.queue.enqueue(record(0));
+        assertTrue(this.priorityLane.isEmpty());
+        assertEquals(0, ByteBuffer.wrap(this.normalLane.dequeue()).getInt());
+    }
+
+    @Test
+    public void dequeueServesPriorityLaneFirst() {
+        this.fillNormal(3);
+        this.fillPriority(2);
+        final List<Integer> sequences = new ArrayList<>();
+        while (!this.queue.isEmpty()) {
+            sequences.add(ByteBuffer.wrap(this.queue.dequeue()).getInt());
+        }
+        assertEquals(sequences(PRIORITY_BASE, PRIORITY_BASE + 2, 0, 3), sequences);
+    }
+
+    @Test
+    public void drainSplitsRecordsByWeight() {
+        this.fillNormal(10);
+        this.fillPriority(5);
+        final List<byte[]> container = new ArrayList<>();
+        // 权重3: 8条中高优先级最多6条, 只有5条时剩余额度给普通通道
+        assertEquals(8, this.queue.drainTo(container, 8, Long.MAX_VALUE));
+        assertEquals(sequences(PRIORITY_BASE, PRIORITY_BASE + 5, 0, 3), toSequences(container));
+        assertEquals(8, this.queue.untrackedDrainedCount());
+    }
+
+    @Test
+    public void normalLaneIsNotStarved() {
+        final MemoryQueue largePriorityLane = new MemoryQueue(-1, 100, this.reporter, this.dropAccounting);
+        final PriorityLaneQueue weighted = new PriorityLaneQueue(largePriorityLane, this.normalLane, "warn", 3);
+        for (int i = 0; i < 10; i++) {
+            this.normalLane.enqueue(record(i));
+            largePriorityLane.enqueue(record(PRIORITY_BASE + i));
+        }
+        final List<byte[]> container = new ArrayList<>();
+        assertEquals(4, weighted.drainTo(container, 4, Long.MAX_VALUE));
+        assertEquals(sequences(PRIORITY_BASE, PRIORITY_BASE + 3, 0, 1), toSequences(container));
+        // 字节额度同样按权重划分: 每条10字节, 40字节中高优先级最多30字节
+        container.clear();
+        assertEquals(4, weighted.drainTo(container, 100, 40L));
+        assertEquals(sequences(PRIORITY_BASE + 3, PRIORITY_BASE + 6, 1, 2), toSequences(container));
+    }
+
+    @Test
+    public void drainKeepsOrderWithinEachLane() {
+        this.fillNormal(20);
+        this.fillPriority(5);
+        final List<Integer> priority = new ArrayList<>();
+        final List<Integer> normal = new ArrayList<>();
+        final List<byte[]> container = new ArrayList<>();
+        while (!this.queue.isEmpty()) {
+            container.clear();
+            this.queue.drainTo(container, 3, Long.MAX_VALUE);
+            for (Integer sequence : toSequences(container)) {
+                (sequence >= PRIORITY_BASE ? priority : normal).add(sequence);
+            }
+        }
+        assertEquals(sequences(PRIORITY_BASE, PRIORITY_BASE + 5, 0, 0), priority);
+        assertEquals(sequences(0, 20, 0, 0), normal);
+    }
+
+    @Test
+    public void lanesHaveIndependentCapacity() {
+        this.fillNormal(50);
+        for (int i = 0; i < 8; i++) {
+            this.queue.laneFor("error").enqueue(record(PRIORITY_BASE + i));
+        }
+        // 高优先级通道满时只丢弃高优先级日志, 普通通道不受影响
+        assertEquals(3L, this.dropAccounting.getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+        assertEquals(1D, this.queue.fillRatio(), 0.0001D);
+        this.queue.laneFor("info").enqueue(record(50));
+        assertEquals(3L, this.dropAccounting.getDroppedCount());
+        final List<byte[]> container = new ArrayList<>();
+        assertEquals(4, this.queue.drainTo(container, 4, Long.MAX_VALUE));
+        assertEquals(sequences(PRIORITY_BASE, PRIORITY_BASE + 3, 0, 1), toSequences(container));
+    }
+
+    private void fillNormal(final int count) {
+        for (int i = 0; i < count; i++) {
+            this.queue.laneFor("info").enqueue(record(i));
+        }
+    }
+
+    private void fillPriority(final int count) {
+        for (int i = 0; i < count; i++) {
+            this.queue.laneFor("warn").enqueue(record(PRIORITY_BASE + i));
+        }
+    }
+
+    private static byte[] record(final int sequence) {
+        return ByteBuffer.allocate(10).putInt(sequence).array();
+    }
+
+    private static List<Integer> toSequences(final List<byte[]> records) {
+        final List<Integer> sequences = new ArrayList<>();
+        for (byte[] record : records) {
+            sequences.add(ByteBuffer.wrap(record).getInt());
+        }
+        return sequences;
+    }
+
+    private static List<Integer> sequences(final int priorityFrom, final int priorityTo, final int normalFrom, final int normalTo) {
+        final List<Integer> sequences = new ArrayList<>();
+        for (int i = priorityFrom; i < priorityTo; i++) {
+            sequences.add(i);
+        }
+        for (int i = normalFrom; i < normalTo; i++) {
+            sequences.add(i);
+        }
+        return sequences;
+    }
+}
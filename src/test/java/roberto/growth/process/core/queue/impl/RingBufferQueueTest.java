@@ -0,0 +1,147 @@
+/**
+ * FileName: RingBufferQueueTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 无锁环形Queue测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import org.junit.Test;
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.enums.DropReasonEnum;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈无锁环形Queue测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class RingBufferQueueTest {
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+    private final DropAccounting dropAccounting = new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+
+    @Test
+    public void capacityIsRoundedUpToPowerOfTwo() {
+        final RingBufferQueue queue = new RingBufferQueue(5, this.dropAccounting);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(queue.offer(record(i, 10)));
+        }
+        assertFalse(queue.offer(record(8, 10)));
+        assertEquals(1D, queue.fillRatio(), 0.0001D);
+    }
+
+    @Test
+    public void fullQueueDropsAndAccountsRecords() {
+        final RingBufferQueue queue = new RingBufferQueue(4, this.dropAccounting);
+        for (int i = 0; i < 6; i++) {
+            queue.enqueue(record(i, 10));
+        }
+        assertEquals(2L, this.dropAccounting.getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+        assertEquals(20L, this.dropAccounting.getDroppedBytes(DropReasonEnum.COUNT_LIMIT));
+        // 写满时丢弃新记录, 已入队的记录保持不变
+        final List<byte[]> container = new ArrayList<>();
+        assertEquals(4, queue.drainTo(container, 100, Long.MAX_VALUE));
+        assertSequence(container, 0, 4);
+    }
+
+    @Test
+    public void orderIsKeptAcrossWrapAround() {
+        final RingBufferQueue queue = new RingBufferQueue(4, this.dropAccounting);
+        int next = 0;
+        for (int round = 0; round < 10; round++) {
+            assertTrue(queue.offer(record(next++, 10)));
+            assertTrue(queue.offer(record(next++, 10)));
+            assertTrue(queue.offer(record(next++, 10)));
+            assertEquals(next - 3, ByteBuffer.wrap(queue.dequeue()).getInt());
+            final List<byte[]> container = new ArrayList<>();
+            assertEquals(2, queue.drainTo(container, 100, Long.MAX_VALUE));
+            assertSequence(container, next - 2, next);
+            assertTrue(queue.isEmpty());
+        }
+        assertNull(queue.dequeue());
+        assertEquals(0D, queue.fillRatio(), 0.0001D);
+    }
+
+    @Test
+    public void drainStopsAtRecordAndByteLimits() {
+        final RingBufferQueue queue = new RingBufferQueue(16, this.dropAccounting);
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(record(i, 100));
+        }
+        final List<byte[]> container = new ArrayList<>();
+        assertEquals(3, queue.drainTo(container, 3, Long.MAX_VALUE));
+        assertEquals(2, queue.drainTo(container, 100, 250));
+        // 单条记录超过字节上限时单独出队
+        assertEquals(1, queue.drainTo(container, 100, 50));
+        assertEquals(4, queue.drainTo(container, 100, Long.MAX_VALUE));
+        assertSequence(container, 0, 10);
+    }
+
+    @Test
+    public void concurrentProducersKeepPerProducerOrder() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 50000;
+        final RingBufferQueue queue = new RingBufferQueue(1024, this.dropAccounting);
+        final AtomicInteger finished = new AtomicInteger();
+        final Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads[p] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.enqueue(ByteBuffer.allocate(8).putInt(producer).putInt(i).array());
+                    }
+                    finished.incrementAndGet();
+                }
+            });
+            threads[p].start();
+        }
+        final int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        long received = 0;
+        final List<byte[]> container = new ArrayList<>();
+        while (finished.get() < producers || !queue.isEmpty()) {
+            container.clear();
+            queue.drainTo(container, 64, Long.MAX_VALUE);
+            for (byte[] record : container) {
+                final ByteBuffer buffer = ByteBuffer.wrap(record);
+                final int producer = buffer.getInt();
+                final int sequence = buffer.getInt();
+                assertTrue("producer " + producer + " out of order: " + sequence + " after " + last[producer], sequence > last[producer]);
+                last[producer] = sequence;
+            }
+            received += container.size();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals((long) producers * perProducer, received + this.dropAccounting.getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+    }
+
+    private static byte[] record(final int sequence, final int length) {
+        return ByteBuffer.allocate(length).putInt(sequence).array();
+    }
+
+    private static void assertSequence(final List<byte[]> records, final int from, final int to) {
+        assertEquals(to - from, records.size());
+        for (int i = from; i < to; i++) {
+            assertEquals(i, ByteBuffer.wrap(records.get(i - from)).getInt());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * FileName: SpilloverQueueTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 内存优先、满后溢写磁盘的Queue测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.enums.DropReasonEnum;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈内存优先、满后溢写磁盘的Queue测试.〉
+ * <p>
+ * 内存层最多5条
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class SpilloverQueueTest {
+    private static final int MEMORY_LIMIT = 5;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+    private final DropAccounting dropAccounting = new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+    private final ScheduledExecutorService diskSpaceTasks = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void tearDown() {
+        this.diskSpaceTasks.shutdownNow();
+    }
+
+    @Test
+    public void recordsStayInMemoryUntilFull() throws Exception {
+        final SpilloverQueue queue = this.open(new File(this.temporaryFolder.getRoot(), "queue"), -1L);
+        enqueue(queue, 0, MEMORY_LIMIT);
+        assertFalse(queue.isSpilling());
+        assertTrue(queue.getDiskTier().isEmpty());
+        assertEquals(range(0, MEMORY_LIMIT), drain(queue, 100));
+        assertEquals(MEMORY_LIMIT, queue.untrackedDrainedCount());
+        queue.close();
+    }
+
+    @Test
+    public void spillKeepsFifoUntilDiskTierIsDrained() throws Exception {
+        final SpilloverQueue queue = this.open(new File(this.temporaryFolder.getRoot(), "queue"), -1L);
+        enqueue(queue, 0, 8);
+        assertTrue(queue.isSpilling());
+        // 内存层腾出空间后, 溢写状态下的日志仍写入磁盘层
+        assertEquals(range(0, 3), drain(queue, 3));
+        enqueue(queue, 8, 10);
+        assertTrue(queue.getMemoryTier().fillRatio() < 1D);
+        assertEquals(range(3, 10), drain(queue, 100));
+        assertEquals(2, queue.untrackedDrainedCount());
+        queue.commit(queue.readPosition());
+
+        // 磁盘层取空后回到内存层
+        assertFalse(queue.isSpilling());
+        assertTrue(queue.isEmpty());
+        enqueue(queue, 10, 12);
+        assertTrue(queue.getDiskTier().isEmpty());
+        assertEquals(range(10, 12), drain(queue, 100));
+        assertEquals(0L, this.dropAccounting.getDroppedCount());
+        queue.close();
+    }
+
+    @Test
+    public void diskTierCapacityRejectionIsAccountedAsByteLimit() throws Exception {
+        final SpilloverQueue queue = this.open(new File(this.temporaryFolder.getRoot(), "queue"), 200L);
+        enqueue(queue, 0, 100);
+        final long dropped = this.dropAccounting.getDroppedCount(DropReasonEnum.BYTE_LIMIT);
+        assertTrue(dropped > 0L);
+        assertEquals(dropped, this.dropAccounting.getDroppedCount());
+        final List<String> delivered = drain(queue, 1000);
+        assertEquals(100L, delivered.size() + dropped);
+        // 被拒绝的是后写入的日志, 已写入的保持顺序
+        assertEquals(range(0, delivered.size()), delivered);
+        queue.close();
+    }
+
+    @Test
+    public void closeMovesMemoryTierToDiskAndRestartReplaysInOrder() throws Exception {
+        final File queueDir = new File(this.temporaryFolder.getRoot(), "queue");
+        SpilloverQueue queue = this.open(queueDir, -1L);
+        enqueue(queue, 0, 3);
+        queue.close();
+
+        // 磁盘层有遗留日志时先进入溢写状态, 新日志排在遗留日志之后
+        queue = this.open(queueDir, -1L);
+        assertTrue(queue.isSpilling());
+        enqueue(queue, 3, 5);
+        assertEquals(range(0, 5), drain(queue, 100));
+        queue.commit(queue.readPosition());
+        queue.close();
+    }
+
+    @Test
+    public void rewindRedeliversDiskTierBeforeNewRecords() throws Exception {
+        final SpilloverQueue queue = this.open(new File(this.temporaryFolder.getRoot(), "queue"), -1L);
+        enqueue(queue, 0, 8);
+        assertEquals(range(0, 8), drain(queue, 100));
+        assertFalse(queue.isSpilling());
+        // 磁盘层的日志未确认, 回退后重新进入溢写状态
+        queue.rewind();
+        assertTrue(queue.isSpilling());
+        enqueue(queue, 8, 10);
+        assertEquals(range(5, 10), drain(queue, 100));
+        assertEquals(0, queue.untrackedDrainedCount());
+        queue.close();
+    }
+
+    private SpilloverQueue open(final File queueDir, final long diskCapacityInBytes) throws Exception {
+        final MemoryQueue memoryTier = new MemoryQueue(-1, MEMORY_LIMIT, this.reporter, this.dropAccounting);
+        final DiskQueue diskTier = new DiskQueue(queueDir, true, 100, 60000, this.reporter, 60000, this.diskSpaceTasks,
+                null, 0, DiskQueue.DEFAULT_SEGMENT_LINGER_MS, this.dropAccounting, 1, diskCapacityInBytes, 100);
+        return new SpilloverQueue(memoryTier, diskTier, this.dropAccounting);
+    }
+
+    private static void enqueue(final SpilloverQueue queue, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            queue.enqueue(("record-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static List<String> drain(final SpilloverQueue queue, final int maxRecords) {
+        final List<byte[]> records = new ArrayList<>();
+        queue.drainTo(records, maxRecords, Long.MAX_VALUE);
+        final List<String> result = new ArrayList<>();
+        for (byte[] record : records) {
+            result.add(new String(record, StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    private static List<String> range(final int from, final int to) {
+        final List<String> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            result.add("record-" + i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * FileName: StripedMemoryQueueTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 分段内存Queue测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.impl;
+
+import org.junit.Test;
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.enums.DropReasonEnum;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈分段内存Queue测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class StripedMemoryQueueTest {
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+    private final DropAccounting dropAccounting = new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+
+    @Test
+    public void singleThreadKeepsOrderAcrossPublishedBatches() {
+        final StripedMemoryQueue queue = new StripedMemoryQueue(4, -1L, -1L, this.dropAccounting);
+        // 超过单批条数, 部分已发布, 最后一批仍在分段中
+        for (int i = 0; i < 200; i++) {
+            queue.enqueue(record(0, i, 10));
+        }
+        final List<byte[]> container = new ArrayList<>();
+        assertEquals(150, queue.drainTo(container, 150, Long.MAX_VALUE));
+        assertEquals(50, queue.drainTo(container, 150, Long.MAX_VALUE));
+        assertSequence(container, 0, 200);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.dequeue());
+    }
+
+    @Test
+    public void unpublishedBatchIsVisibleToConsumer() {
+        final StripedMemoryQueue queue = new StripedMemoryQueue(4, -1L, -1L, this.dropAccounting);
+        queue.enqueue(record(0, 0, 10));
+        assertFalse(queue.isEmpty());
+        assertEquals(0, ByteBuffer.wrap(queue.dequeue()).getInt(4));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void countAndByteLimitsDropNewRecords() {
+        final StripedMemoryQueue countLimited = new StripedMemoryQueue(1, -1L, 10L, this.dropAccounting);
+        for (int i = 0; i < 15; i++) {
+            countLimited.enqueue(record(0, i, 10));
+        }
+        assertEquals(5L, this.dropAccounting.getDroppedCount(DropReasonEnum.COUNT_LIMIT));
+        final List<byte[]> container = new ArrayList<>();
+        countLimited.drainTo(container, 100, Long.MAX_VALUE);
+        assertSequence(container, 0, 10);
+
+        final StripedMemoryQueue byteLimited = new StripedMemoryQueue(1, 100L, -1L, this.dropAccounting);
+        for (int i = 0; i < 12; i++) {
+            byteLimited.enqueue(record(0, i, 10));
+        }
+        assertEquals(2L, this.dropAccounting.getDroppedCount(DropReasonEnum.BYTE_LIMIT));
+        assertEquals(20L, this.dropAccounting.getDroppedBytes(DropReasonEnum.BYTE_LIMIT));
+        // 消费后释放容量
+        container.clear();
+        assertEquals(10, byteLimited.drainTo(container, 100, Long.MAX_VALUE));
+        assertEquals(0D, byteLimited.fillRatio(), 0.0001D);
+        assertTrue(byteLimited.offer(record(0, 12, 10)));
+    }
+
+    @Test
+    public void drainKeepsRecordBeyondByteBudgetAtHead() {
+        final StripedMemoryQueue queue = new StripedMemoryQueue(1, -1L, -1L, this.dropAccounting);
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(record(0, i, 100));
+        }
+        final List<byte[]> container = new ArrayList<>();
+        assertEquals(2, queue.drainTo(container, 100, 250));
+        assertEquals(1, queue.drainTo(container, 100, 50));
+        assertEquals(2, queue.drainTo(container, 100, Long.MAX_VALUE));
+        assertSequence(container, 0, 5);
+    }
+
+    @Test
+    public void concurrentProducersKeepPerThreadOrder() throws InterruptedException {
+        final int producers = 8;
+        final int perProducer = 20000;
+        final StripedMemoryQueue queue = new StripedMemoryQueue(4, -1L, -1L, this.dropAccounting);
+        final AtomicInteger finished = new AtomicInteger();
+        final Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads[p] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.enqueue(record(producer, i, 10));
+                    }
+                    finished.incrementAndGet();
+                }
+            });
+            threads[p].start();
+        }
+        final int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        int received = 0;
+        final List<byte[]> container = new ArrayList<>();
+        while (finished.get() < producers || !queue.isEmpty()) {
+            container.clear();
+            queue.drainTo(container, 100, Long.MAX_VALUE);
+            for (byte[] record : container) {
+                final ByteBuffer buffer = ByteBuffer.wrap(record);
+                final int producer = buffer.getInt();
+                final int sequence = buffer.getInt();
+                assertTrue("producer " + producer + " out of order: " + sequence + " after " + last[producer], sequence > last[producer]);
+                last[producer] = sequence;
+            }
+            received += container.size();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(producers * perProducer, received);
+        for (int p = 0; p < producers; p++) {
+            assertEquals(perProducer - 1, last[p]);
+        }
+    }
+
+    private static byte[] record(final int producer, final int sequence, final int length) {
+        return ByteBuffer.allocate(length).putInt(producer).putInt(sequence).array();
+    }
+
+    private static void assertSequence(final List<byte[]> records, final int from, final int to) {
+        assertEquals(to - from, records.size());
+        for (int i = from; i < to; i++) {
+            assertEquals(i, ByteBuffer.wrap(records.get(i - from)).getInt(4));
+        }
+    }
+}
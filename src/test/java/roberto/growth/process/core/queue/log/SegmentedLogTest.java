@@ -0,0 +1,285 @@
+/**
+ * FileName: SegmentedLogTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 分段日志文件的重启恢复测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.queue.log;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.enums.DropReasonEnum;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈分段日志文件的重启恢复测试.〉
+ * <p>
+ * 记录固定为8字节("record-N", N为0~9), 加上8字节记录头每条占16字节, 便于直接定位段文件中的记录
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class SegmentedLogTest {
+    private static final int RECORD_LENGTH = 8 + 8;
+    private static final int LARGE_SEGMENT_SIZE = 64 * 1024;
+    // 每段正好容纳4条记录
+    private static final int SMALL_SEGMENT_SIZE = 4 * RECORD_LENGTH;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+
+    @Test
+    public void restartResumesFromCommittedPosition() throws IOException {
+        final File dir = this.temporaryFolder.newFolder();
+        SegmentedLog log = new SegmentedLog(dir, SMALL_SEGMENT_SIZE, this.reporter);
+        appendRecords(log, 0, 10);
+        assertEquals(Arrays.asList("record-0", "record-1", "record-2"), read(log, 3));
+        log.commit(log.readPosition());
+        // 读过提交位置但不提交, 模拟发送中途进程退出
+        assertEquals(Arrays.asList("record-3", "record-4", "record-5"), read(log, 3));
+        log.close();
+
+        log = new SegmentedLog(dir, SMALL_SEGMENT_SIZE, this.reporter);
+        assertEquals(Arrays.asList("record-3", "record-4", "record-5", "record-6", "record-7", "record-8", "record-9"), read(log, 100));
+        assertTrue(log.isEmpty());
+        log.close();
+        assertTrue(this.reporter.getErrors().isEmpty());
+    }
+
+    @Test
+    public void rewindRedeliversUncommittedRecords() throws IOException {
+        final SegmentedLog log = new SegmentedLog(this.temporaryFolder.newFolder(), SMALL_SEGMENT_SIZE, this.reporter);
+        appendRecords(log, 0, 6);
+        read(log, 2);
+        log.commit(log.readPosition());
+        read(log, 3);
+        log.rewind();
+        assertEquals(Arrays.asList("record-2", "record-3", "record-4", "record-5"), read(log, 100));
+        log.close();
+    }
+
+    @Test
+    public void commitBeyondReadPositionIsIgnored() throws IOException {
+        final File dir = this.temporaryFolder.newFolder();
+        SegmentedLog log = new SegmentedLog(dir, LARGE_SEGMENT_SIZE, this.reporter);
+        appendRecords(log, 0, 4);
+        final long start = log.readPosition();
+        read(log, 2);
+        final long position = log.readPosition();
+        log.rewind();
+        log.commit(position);
+        log.commit(start);
+        log.close();
+
+        log = new SegmentedLog(dir, LARGE_SEGMENT_SIZE, this.reporter);
+        assertEquals(4, read(log, 100).size());
+        log.close();
+    }
+
+    @Test
+    public void tornTailRecordIsTruncated() throws IOException {
+        final File dir = this.temporaryFolder.newFolder();
+        SegmentedLog log = new SegmentedLog(dir, LARGE_SEGMENT_SIZE, this.reporter);
+        appendRecords(log, 0, 5);
+        log.close();
+        // 最后一条记录只写入了长度和部分数据
+        final RandomAccessFile segment = new RandomAccessFile(segmentFile(dir, 0), "rw");
+        try {
+            segment.seek(4 * RECORD_LENGTH + 8 + 4);
+            segment.write(new byte[4]);
+        } finally {
+            segment.close();
+        }
+
+        log = new SegmentedLog(dir, LARGE_SEGMENT_SIZE, this.reporter);
+        assertEquals(1, this.reporter.getWarnings().size());
+        assertEquals(Arrays.asList("record-0", "record-1", "record-2", "record-3"), read(log, 100));
+        // 截断位置之后继续写入
+        appendRecords(log, 5, 2);
+        assertEquals(Arrays.asList("record-5", "record-6"), read(log, 100));
+        log.commit(log.readPosition());
+        log.close();
+
+        log = new SegmentedLog(dir, LARGE_SEGMENT_SIZE, this.reporter);
+        assertTrue(log.isEmpty());
+        assertEquals(1, this.reporter.getWarnings().size());
+        log.close();
+    }
+
+    @Test
+    public void tornLengthIsTruncated() throws IOException {
+        final File dir = this.temporaryFolder.newFolder();
+        SegmentedLog log = new SegmentedLog(dir, LARGE_SEGMENT_SIZE, this.reporter);
+        appendRecords(log, 0, 3);
+        log.close();
+        // 长度超出段文件
+        final RandomAccessFile segment = new RandomAccessFile(segmentFile(dir, 0), "rw");
+        try {
+            segment.seek(2 * RECORD_LENGTH);
+            segment.writeInt(Integer.MAX_VALUE);
+        } finally {
+            segment.close();
+        }
+
+        log = new SegmentedLog(dir, LARGE_SEGMENT_SIZE, this.reporter);
+        assertEquals(Arrays.asList("record-0", "record-1"), read(log, 100));
+        assertTrue(log.isEmpty());
+        log.close();
+    }
+
+    @Test
+    public void corruptRecordInSealedSegmentSkipsRestOfSegment() throws IOException {
+        final File dir = this.temporaryFolder.newFolder();
+        SegmentedLog log = new SegmentedLog(dir, SMALL_SEGMENT_SIZE, this.reporter);
+        appendRecords(log, 0, 8);
+        log.close();
+        // 第0段第2条记录的CRC损坏
+        final RandomAccessFile segment = new RandomAccessFile(segmentFile(dir, 0), "rw");
+        try {
+            segment.seek(RECORD_LENGTH + 4);
+            segment.writeInt(segment.readInt() ^ 1);
+        } finally {
+            segment.close();
+        }
+
+        log = new SegmentedLog(dir, SMALL_SEGMENT_SIZE, this.reporter);
+        assertEquals(Arrays.asList("record-0", "record-4", "record-5", "record-6", "record-7"), read(log, 100));
+        assertEquals(1, this.reporter.getErrors().size());
+        log.close();
+    }
+
+    @Test
+    public void commitIsPersistedOnlyWithinForcedData() throws IOException {
+        final File dir = this.temporaryFolder.newFolder();
+        final SegmentedLog log = new SegmentedLog(dir, SMALL_SEGMENT_SIZE, this.reporter);
+        appendRecords(log, 0, 10);
+        assertEquals(6, read(log, 6).size());
+        log.commit(log.readPosition());
+        // 不关闭直接重新打开, 模拟进程崩溃: 数据尚未刷盘, 提交位置不持久化
+        assertEquals(10, reopenAndRead(dir).size());
+        log.maintain();
+        assertEquals(Arrays.asList("record-6", "record-7", "record-8", "record-9"), reopenAndRead(dir));
+
+        appendRecords(log, 10, 2);
+        read(log, 100);
+        log.commit(log.readPosition());
+        // 新写入的记录尚未刷盘, 越过刷盘位置的提交不持久化
+        assertEquals(Arrays.asList("record-10", "record-11"), reopenAndRead(dir));
+        log.maintain();
+        assertTrue(reopenAndRead(dir).isEmpty());
+        log.close();
+    }
+
+    @Test
+    public void failedRollIsAccountedAsDropped() throws IOException {
+        final File dir = this.temporaryFolder.newFolder();
+        final DropAccounting dropAccounting = new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS);
+        final SegmentedLog log = new SegmentedLog(dir, SMALL_SEGMENT_SIZE, this.reporter, dropAccounting);
+        appendRecords(log, 0, 4);
+        // 下一个段文件无法创建, 模拟磁盘写满
+        final File blocker = segmentFile(dir, 1);
+        assertTrue(blocker.mkdir());
+        assertTrue(log.append("record-4".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1L, dropAccounting.getDroppedCount(DropReasonEnum.WRITE_FAILURE));
+        assertEquals(8L, dropAccounting.getDroppedBytes(DropReasonEnum.WRITE_FAILURE));
+        assertEquals(1, this.reporter.getErrors().size());
+        assertEquals(Arrays.asList("record-0", "record-1", "record-2", "record-3"), read(log, 100));
+
+        assertTrue(blocker.delete());
+        appendRecords(log, 5, 1);
+        assertEquals(Arrays.asList("record-5"), read(log, 100));
+        assertTrue(log.isEmpty());
+        log.close();
+    }
+
+    @Test
+    public void passedSegmentsAreReclaimedOnlyAfterCommit() throws IOException {
+        final File dir = this.temporaryFolder.newFolder();
+        final SegmentedLog log = new SegmentedLog(dir, SMALL_SEGMENT_SIZE, this.reporter);
+        appendRecords(log, 0, 10);
+        assertEquals(3, log.segmentCount());
+        assertEquals(2 * SMALL_SEGMENT_SIZE + 2 * RECORD_LENGTH, log.footprintBytes());
+        assertEquals(log.footprintBytes(), log.liveBytes());
+
+        // 只读取不提交时不回收
+        assertEquals(6, read(log, 6).size());
+        assertEquals(0L, log.reclaimableSegmentCount());
+        log.maintain();
+        assertTrue(segmentFile(dir, 0L).isFile());
+
+        log.commit(log.readPosition());
+        assertEquals(1L, log.reclaimableSegmentCount());
+        assertEquals(SMALL_SEGMENT_SIZE, log.reclaimableBytes());
+        assertEquals(SMALL_SEGMENT_SIZE, log.liveBytes());
+        log.maintain();
+        assertFalse(segmentFile(dir, 0L).exists());
+        assertEquals(0L, log.reclaimableSegmentCount());
+        assertEquals(2, log.segmentCount());
+        assertEquals(SMALL_SEGMENT_SIZE + 2 * RECORD_LENGTH, log.footprintBytes());
+
+        assertEquals(Arrays.asList("record-6", "record-7", "record-8", "record-9"), read(log, 100));
+        log.commit(log.readPosition());
+        assertEquals(0L, log.liveBytes());
+        assertEquals(1L, log.reclaimableSegmentCount());
+        log.maintain();
+        assertEquals(1, log.segmentCount());
+        assertFalse(segmentFile(dir, 1L).exists());
+        log.close();
+    }
+
+    @Test
+    public void oversizedRecordIsRejected() throws IOException {
+        final SegmentedLog log = new SegmentedLog(this.temporaryFolder.newFolder(), SMALL_SEGMENT_SIZE, this.reporter);
+        assertFalse(log.append(new byte[SMALL_SEGMENT_SIZE]));
+        assertTrue(log.isEmpty());
+        log.close();
+    }
+
+    private List<String> reopenAndRead(final File dir) throws IOException {
+        final SegmentedLog log = new SegmentedLog(dir, SMALL_SEGMENT_SIZE, this.reporter);
+        try {
+            return read(log, 100);
+        } finally {
+            log.close();
+        }
+    }
+
+    private static void appendRecords(final SegmentedLog log, final int from, final int count) {
+        for (int i = from; i < from + count; i++) {
+            assertTrue(log.append(("record-" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static List<String> read(final SegmentedLog log, final int maxRecords) {
+        final List<byte[]> records = new ArrayList<>();
+        log.read(records, maxRecords, Long.MAX_VALUE);
+        final List<String> result = new ArrayList<>();
+        for (byte[] record : records) {
+            result.add(new String(record, StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    private static File segmentFile(final File dir, final long segmentId) {
+        return new File(dir, String.format("%020d.seg", segmentId));
+    }
+}
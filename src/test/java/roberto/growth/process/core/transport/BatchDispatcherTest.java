@@ -0,0 +1,252 @@
+/**
+ * FileName: BatchDispatcherTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 批次发送线程测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.transport;
+
+import org.junit.Test;
+import roberto.growth.process.core.RecordingStatusReporter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈批次发送线程测试.〉
+ * <p>
+ * 每条记录10字节, 前4字节为分区号, 后4字节为分区内序号
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class BatchDispatcherTest {
+    private static final long WAIT_MS = 5000L;
+
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+
+    @Test
+    public void multiplexedAccumulatorsKeepPerPartitionOrder() throws Exception {
+        final int partitions = 3;
+        final int recordsPerPartition = 1000;
+        final RecordingTransport transport = new RecordingTransport(0);
+        final BatchDispatcher dispatcher = new BatchDispatcher(transport, this.reporter, 0, 1L);
+        final RecordAccumulator[] accumulators = new RecordAccumulator[partitions];
+        final RecordingCallback[] callbacks = new RecordingCallback[partitions];
+        for (int i = 0; i < partitions; i++) {
+            accumulators[i] = new RecordAccumulator(50, 5L, 1000);
+            callbacks[i] = new RecordingCallback(accumulators[i]);
+            dispatcher.register(accumulators[i], callbacks[i]);
+        }
+        final Thread dispatcherThread = new Thread(dispatcher);
+        dispatcherThread.start();
+        // 每个分区一个写入线程, 缓冲区只有1000字节, 写入线程会等待批次确认
+        final List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            final int partition = i;
+            final Thread producer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int sequence = 0; sequence < recordsPerPartition; sequence++) {
+                            assertTrue(accumulators[partition].append(record(partition, sequence), WAIT_MS));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(dispatcher.shutdown(WAIT_MS));
+
+        for (int i = 0; i < partitions; i++) {
+            final List<LogBatch> acknowledged = callbacks[i].getAcknowledged();
+            int expectedSequence = 0;
+            for (int batch = 0; batch < acknowledged.size(); batch++) {
+                assertEquals(batch, acknowledged.get(batch).getBatchId());
+                for (byte[] record : acknowledged.get(batch).getRecords()) {
+                    final ByteBuffer buffer = ByteBuffer.wrap(record);
+                    assertEquals(i, buffer.getInt());
+                    assertEquals(expectedSequence++, buffer.getInt());
+                }
+            }
+            assertEquals(recordsPerPartition, expectedSequence);
+            assertEquals(0L, accumulators[i].getBufferedBytes());
+        }
+        assertTrue(this.reporter.getWarnings().isEmpty());
+    }
+
+    @Test
+    public void lingeringBatchOfAnyAccumulatorIsSent() throws Exception {
+        final RecordingTransport transport = new RecordingTransport(0);
+        final BatchDispatcher dispatcher = new BatchDispatcher(transport, this.reporter, 0, 1L);
+        final RecordAccumulator idle = new RecordAccumulator(1000, 20L, 10000);
+        final RecordAccumulator active = new RecordAccumulator(1000, 20L, 10000);
+        final RecordingCallback idleCallback = new RecordingCallback(idle);
+        final RecordingCallback activeCallback = new RecordingCallback(active);
+        dispatcher.register(idle, idleCallback);
+        dispatcher.register(active, activeCallback);
+        new Thread(dispatcher).start();
+        // 未满的批次在 lingerMs 到期后发送
+        assertTrue(active.append(record(1, 0), WAIT_MS));
+        activeCallback.awaitAcknowledged(1);
+        assertTrue(dispatcher.shutdown(WAIT_MS));
+        assertEquals(1, activeCallback.getAcknowledged().get(0).getRecordCount());
+        assertTrue(idleCallback.getAcknowledged().isEmpty());
+    }
+
+    @Test
+    public void failedSendIsRetried() throws Exception {
+        final RecordingTransport transport = new RecordingTransport(2);
+        final BatchDispatcher dispatcher = new BatchDispatcher(transport, this.reporter, 3, 1L);
+        final RecordAccumulator accumulator = new RecordAccumulator(1000, 0L, 10000);
+        final RecordingCallback callback = new RecordingCallback(accumulator);
+        dispatcher.register(accumulator, callback);
+        new Thread(dispatcher).start();
+        assertTrue(accumulator.append(record(0, 0), WAIT_MS));
+        callback.awaitAcknowledged(1);
+        assertTrue(dispatcher.shutdown(WAIT_MS));
+        assertEquals(3, transport.getAttempts());
+        assertEquals(2, this.reporter.getWarnings().size());
+        assertTrue(callback.getFailed().isEmpty());
+    }
+
+    @Test
+    public void batchFailsOnceRetriesAreExhausted() throws Exception {
+        final RecordingTransport transport = new RecordingTransport(2);
+        final BatchDispatcher dispatcher = new BatchDispatcher(transport, this.reporter, 1, 1L);
+        final RecordAccumulator accumulator = new RecordAccumulator(10, 0L, 10000);
+        final RecordingCallback callback = new RecordingCallback(accumulator);
+        dispatcher.register(accumulator, callback);
+        new Thread(dispatcher).start();
+        // 第一个批次两次都失败, 之后的批次照常发送
+        assertTrue(accumulator.append(record(0, 0), WAIT_MS));
+        assertTrue(accumulator.append(record(0, 1), WAIT_MS));
+        callback.awaitAcknowledged(1);
+        assertTrue(dispatcher.shutdown(WAIT_MS));
+        assertEquals(1, callback.getFailed().size());
+        assertEquals(0L, callback.getFailed().get(0).getBatchId());
+        assertEquals(1L, callback.getAcknowledged().get(0).getBatchId());
+        assertEquals(0L, accumulator.getBufferedBytes());
+    }
+
+    @Test
+    public void shutdownSendsRemainingBatchesAndRejectsNewRecords() throws Exception {
+        final RecordingTransport transport = new RecordingTransport(0);
+        final BatchDispatcher dispatcher = new BatchDispatcher(transport, this.reporter, 0, 1L);
+        final RecordAccumulator first = new RecordAccumulator(1000, 60000L, 10000);
+        final RecordAccumulator second = new RecordAccumulator(1000, 60000L, 10000);
+        final RecordingCallback firstCallback = new RecordingCallback(first);
+        final RecordingCallback secondCallback = new RecordingCallback(second);
+        dispatcher.register(first, firstCallback);
+        dispatcher.register(second, secondCallback);
+        new Thread(dispatcher).start();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(first.append(record(0, i), WAIT_MS));
+            assertTrue(second.append(record(1, i), WAIT_MS));
+        }
+        assertTrue(dispatcher.shutdown(WAIT_MS));
+        assertEquals(5, firstCallback.getAcknowledged().get(0).getRecordCount());
+        assertEquals(5, secondCallback.getAcknowledged().get(0).getRecordCount());
+        assertFalse(first.append(record(0, 5), 0L));
+    }
+
+    private static byte[] record(final int partition, final int sequence) {
+        return ByteBuffer.allocate(10).putInt(partition).putInt(sequence).array();
+    }
+
+    /**
+     * 同步确认的传输通道, 前 failures 次发送抛出异常
+     */
+    private static class RecordingTransport implements LogTransport {
+        private int remainingFailures;
+        private int attempts;
+
+        RecordingTransport(final int failures) {
+            this.remainingFailures = failures;
+        }
+
+        @Override
+        public void send(final LogBatch batch, final BatchCallback callback) throws IOException {
+            synchronized (this) {
+                this.attempts++;
+                if (this.remainingFailures > 0) {
+                    this.remainingFailures--;
+                    throw new IOException("connection refused");
+                }
+            }
+            callback.onAcknowledged(batch);
+        }
+
+        @Override
+        public boolean flush(final long timeoutMs) {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        synchronized int getAttempts() {
+            return this.attempts;
+        }
+    }
+
+    /**
+     * 记录发送结果并释放缓冲额度
+     */
+    private static class RecordingCallback implements BatchCallback {
+        private final RecordAccumulator accumulator;
+        private final List<LogBatch> acknowledged = new ArrayList<>();
+        private final List<LogBatch> failed = new ArrayList<>();
+
+        RecordingCallback(final RecordAccumulator accumulator) {
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        public synchronized void onAcknowledged(final LogBatch batch) {
+            this.acknowledged.add(batch);
+            this.accumulator.release(batch);
+            this.notifyAll();
+        }
+
+        @Override
+        public synchronized void onFailure(final LogBatch batch, final Throwable throwable) {
+            this.failed.add(batch);
+            this.accumulator.release(batch);
+            this.notifyAll();
+        }
+
+        synchronized void awaitAcknowledged(final int expected) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + WAIT_MS;
+            while (this.acknowledged.size() < expected) {
+                final long remainingMs = deadline - System.currentTimeMillis();
+                assertTrue("timed out waiting for " + expected + " batches", remainingMs > 0);
+                this.wait(remainingMs);
+            }
+        }
+
+        synchronized List<LogBatch> getAcknowledged() {
+            return new ArrayList<>(this.acknowledged);
+        }
+
+        synchronized List<LogBatch> getFailed() {
+            return new ArrayList<>(this.failed);
+        }
+    }
+}
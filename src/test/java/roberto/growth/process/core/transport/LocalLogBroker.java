@@ -0,0 +1,184 @@
+/**
+ * FileName: LocalLogBroker
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 进程内的日志服务端替身.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.transport;
+
+import cn.hutool.core.thread.NamedThreadFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 〈进程内的日志服务端替身.〉
+ * <p>
+ * 实现与 {@link SocketLogTransport} 相同的协议, 仅用于测试: 把 bootstrapServers 指向 {@link #getBootstrapServers()} 即可
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class LocalLogBroker implements Closeable {
+    private final ServerSocket serverSocket;
+    private final ThreadFactory threadFactory;
+    private final BlockingQueue<byte[]> receivedRecords = new LinkedBlockingQueue<>();
+    private final List<Socket> clients = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong receivedBatches = new AtomicLong();
+    private final AtomicInteger rejectNextBatches = new AtomicInteger();
+    private volatile long ackDelayMs = 0L;
+    private volatile boolean closed = false;
+
+    /**
+     * 在本机随机端口上启动
+     *
+     * @throws IOException the io exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 11:02:40
+     */
+    public LocalLogBroker() throws IOException {
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        this.threadFactory = new NamedThreadFactory("local-log-broker", true);
+        this.threadFactory.newThread(new Runnable() {
+            @Override
+            public void run() {
+                LocalLogBroker.this.acceptLoop();
+            }
+        }).start();
+    }
+
+    public String getBootstrapServers() {
+        return this.serverSocket.getInetAddress().getHostAddress() + ":" + this.serverSocket.getLocalPort();
+    }
+
+    /**
+     * 等待并取出一条已收到的记录
+     *
+     * @param timeoutMs the timeout ms
+     * @return 记录, 超时返回null
+     * @throws InterruptedException the interrupted exception
+     * @author HuangTaiHong
+     * @since 2026.10.18 11:02:40
+     */
+    public byte[] pollRecord(final long timeoutMs) throws InterruptedException {
+        return this.receivedRecords.poll(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    public int getReceivedRecordCount() {
+        return this.receivedRecords.size();
+    }
+
+    public long getReceivedBatchCount() {
+        return this.receivedBatches.get();
+    }
+
+    /**
+     * 每个批次确认前的延迟, 用于模拟高RTT
+     */
+    public void setAckDelayMs(final long ackDelayMs) {
+        this.ackDelayMs = ackDelayMs;
+    }
+
+    /**
+     * 拒绝接下来的若干个批次, 用于模拟服务端错误
+     */
+    public void rejectNextBatches(final int count) {
+        this.rejectNextBatches.set(count);
+    }
+
+    /**
+     * 断开所有客户端连接, 用于模拟网络故障
+     */
+    public void disconnectClients() {
+        for (Socket client : this.clients) {
+            closeQuietly(client);
+        }
+        this.clients.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        this.serverSocket.close();
+        this.disconnectClients();
+    }
+
+    private void acceptLoop() {
+        while (!this.closed) {
+            try {
+                final Socket client = this.serverSocket.accept();
+                client.setTcpNoDelay(true);
+                this.clients.add(client);
+                this.threadFactory.newThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        LocalLogBroker.this.serve(client);
+                    }
+                }).start();
+            } catch (IOException e) {
+                if (!this.closed) {
+                    closeQuietly(this.serverSocket);
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(final Socket client) {
+        final long[] batchIdHolder = new long[1];
+        try {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(client.getInputStream()));
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(client.getOutputStream()));
+            TransportProtocol.readHandshake(in);
+            while (!this.closed) {
+                final List<byte[]> records = TransportProtocol.readBatch(in, batchIdHolder);
+                if (this.ackDelayMs > 0) {
+                    TimeUnit.MILLISECONDS.sleep(this.ackDelayMs);
+                }
+                if (this.rejectNextBatches.get() > 0 && this.rejectNextBatches.getAndDecrement() > 0) {
+                    TransportProtocol.writeAck(out, batchIdHolder[0], TransportProtocol.ERROR_UNKNOWN);
+                    continue;
+                }
+                this.receivedRecords.addAll(records);
+                this.receivedBatches.incrementAndGet();
+                TransportProtocol.writeAck(out, batchIdHolder[0], TransportProtocol.ERROR_NONE);
+            }
+        } catch (IOException e) {
+            // 客户端断开
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.clients.remove(client);
+            closeQuietly(client);
+        }
+    }
+
+    private static void closeQuietly(final Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+}
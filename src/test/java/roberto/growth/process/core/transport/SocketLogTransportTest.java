@@ -0,0 +1,253 @@
+/**
+ * FileName: SocketLogTransportTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: TCP日志传输通道测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.transport;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.codec.LogBatchCodec;
+import roberto.growth.process.core.enums.LogTypeEnum;
+import roberto.growth.process.core.enums.RecordFormatEnum;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈TCP日志传输通道测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class SocketLogTransportTest {
+    private static final long WAIT_MS = 5000L;
+
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+    private LocalLogBroker broker;
+
+    @Before
+    public void setUp() throws IOException {
+        this.broker = new LocalLogBroker();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.broker.close();
+    }
+
+    @Test
+    public void accumulatorBatchesBySizeAndLinger() throws Exception {
+        final SocketLogTransport transport = this.newTransport(4, 5000);
+        final RecordAccumulator accumulator = new RecordAccumulator(100, 50L, 1024 * 1024);
+        final RecordingCallback callback = new RecordingCallback() {
+            @Override
+            public void onAcknowledged(final LogBatch batch) {
+                accumulator.release(batch);
+                super.onAcknowledged(batch);
+            }
+        };
+        final BatchDispatcher dispatcher = new BatchDispatcher(transport, this.reporter, 0, 10L);
+        dispatcher.register(accumulator, callback);
+        new Thread(dispatcher).start();
+        // 每条10字节, 前100条按大小封装成10个批次, 剩余3条等待lingerMs后封装
+        for (int i = 0; i < 103; i++) {
+            assertTrue(accumulator.append(record(i), 1000L));
+        }
+        callback.awaitCallbacks(11);
+        assertTrue(dispatcher.shutdown(WAIT_MS));
+        transport.close();
+
+        assertEquals(11, callback.getAcknowledged().size());
+        assertEquals(0, callback.getFailed().size());
+        assertEquals(11L, this.broker.getReceivedBatchCount());
+        this.assertReceived(0, 103);
+        assertEquals(0L, accumulator.getBufferedBytes());
+    }
+
+    @Test
+    public void pipelinedBatchesAreAcknowledgedInOrder() throws Exception {
+        final SocketLogTransport transport = this.newTransport(4, 5000);
+        final RecordingCallback callback = new RecordingCallback();
+        for (int i = 0; i < 20; i++) {
+            transport.send(batch(i, i * 3, 3), callback);
+        }
+        callback.awaitCallbacks(20);
+        assertTrue(transport.flush(WAIT_MS));
+        transport.close();
+
+        final List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, callback.getAcknowledged());
+        assertEquals(0, callback.getFailed().size());
+        this.assertReceived(0, 60);
+    }
+
+    @Test
+    public void rejectedBatchFailsWithoutDroppingConnection() throws Exception {
+        final SocketLogTransport transport = this.newTransport(4, 5000);
+        final RecordingCallback callback = new RecordingCallback();
+        this.broker.rejectNextBatches(1);
+        transport.send(batch(0, 0, 2), callback);
+        transport.send(batch(1, 2, 2), callback);
+        transport.send(batch(2, 4, 2), callback);
+        callback.awaitCallbacks(3);
+        assertTrue(transport.flush(WAIT_MS));
+        transport.close();
+
+        assertEquals(1, callback.getFailed().size());
+        assertEquals(Long.valueOf(0L), callback.getFailed().get(0));
+        assertEquals(2, callback.getAcknowledged().size());
+        this.assertReceived(2, 6);
+        assertTrue(this.reporter.getWarnings().isEmpty());
+    }
+
+    @Test
+    public void unacknowledgedBatchesFailAfterRequestTimeout() throws Exception {
+        final SocketLogTransport transport = this.newTransport(4, 200);
+        final RecordingCallback callback = new RecordingCallback();
+        this.broker.setAckDelayMs(2000L);
+        transport.send(batch(0, 0, 1), callback);
+        transport.send(batch(1, 1, 1), callback);
+        callback.awaitCallbacks(2);
+        assertEquals(2, callback.getFailed().size());
+        assertTrue(transport.flush(WAIT_MS));
+
+        // 超时后重新建立连接继续发送
+        this.broker.setAckDelayMs(0L);
+        transport.send(batch(2, 2, 1), callback);
+        callback.awaitCallbacks(3);
+        transport.close();
+        assertEquals(Long.valueOf(2L), callback.getAcknowledged().get(0));
+    }
+
+    @Test
+    public void reconnectsAfterServerDisconnect() throws Exception {
+        final SocketLogTransport transport = this.newTransport(4, 5000);
+        final RecordingCallback callback = new RecordingCallback();
+        transport.send(batch(0, 0, 1), callback);
+        callback.awaitCallbacks(1);
+        this.broker.disconnectClients();
+
+        // 断开尚未被读线程发现时发出的批次会失败, 之后的批次应在新连接上被确认
+        long batchId = 1;
+        while (callback.getAcknowledged().size() < 2 && batchId < 50) {
+            transport.send(batch(batchId, (int) batchId, 1), callback);
+            callback.awaitCallbacks((int) batchId + 1);
+            batchId++;
+        }
+        assertTrue(transport.flush(WAIT_MS));
+        transport.close();
+        assertEquals(2, callback.getAcknowledged().size());
+        assertEquals(batchId, callback.getAcknowledged().size() + callback.getFailed().size());
+        callback.assertSingleCallbackPerBatch();
+    }
+
+    @Test
+    public void closeCallsBackEveryInFlightBatchOnce() throws Exception {
+        final int maxInFlight = 8;
+        for (int round = 0; round < 50; round++) {
+            final SocketLogTransport transport = this.newTransport(maxInFlight, 5000);
+            final RecordingCallback callback = new RecordingCallback();
+            for (int i = 0; i < maxInFlight; i++) {
+                transport.send(batch(i, i, 1), callback);
+            }
+            transport.close();
+            callback.awaitCallbacks(maxInFlight);
+            assertTrue(transport.flush(WAIT_MS));
+            callback.assertSingleCallbackPerBatch();
+            assertEquals(maxInFlight, callback.getAcknowledged().size() + callback.getFailed().size());
+        }
+    }
+
+    private SocketLogTransport newTransport(final int maxInFlightRequests, final int requestTimeoutMs) {
+        final String[] hostAndPort = this.broker.getBootstrapServers().split(":");
+        return new SocketLogTransport(hostAndPort[0], Integer.parseInt(hostAndPort[1]), "test", maxInFlightRequests, 1000, requestTimeoutMs, this.reporter, RecordFormatEnum.JSON, new LogBatchCodec("test", "127.0.0.1", "localhost", "demo", LogTypeEnum.JAVA), null);
+    }
+
+    private void assertReceived(final int from, final int to) throws InterruptedException {
+        for (int i = from; i < to; i++) {
+            assertArrayEquals(record(i), this.broker.pollRecord(WAIT_MS));
+        }
+        assertNull(this.broker.pollRecord(50L));
+    }
+
+    private static LogBatch batch(final long batchId, final int firstRecord, final int recordCount) {
+        final LogBatch batch = new LogBatch(batchId, System.currentTimeMillis());
+        for (int i = firstRecord; i < firstRecord + recordCount; i++) {
+            batch.add(record(i), false);
+        }
+        return batch;
+    }
+
+    private static byte[] record(final int sequence) {
+        return String.format("record%04d", sequence).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 按回调顺序记录批次号
+     */
+    private static class RecordingCallback implements BatchCallback {
+        private final List<Long> acknowledged = new ArrayList<>();
+        private final List<Long> failed = new ArrayList<>();
+        private final Map<Long, Integer> callbackCounts = new HashMap<>();
+
+        @Override
+        public synchronized void onAcknowledged(final LogBatch batch) {
+            this.acknowledged.add(batch.getBatchId());
+            this.count(batch);
+        }
+
+        @Override
+        public synchronized void onFailure(final LogBatch batch, final Throwable throwable) {
+            this.failed.add(batch.getBatchId());
+            this.count(batch);
+        }
+
+        private void count(final LogBatch batch) {
+            final Integer count = this.callbackCounts.get(batch.getBatchId());
+            this.callbackCounts.put(batch.getBatchId(), count == null ? 1 : count + 1);
+            this.notifyAll();
+        }
+
+        synchronized void awaitCallbacks(final int expected) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + WAIT_MS;
+            while (this.acknowledged.size() + this.failed.size() < expected) {
+                final long remainingMs = deadline - System.currentTimeMillis();
+                assertTrue("timed out waiting for " + expected + " callbacks", remainingMs > 0);
+                this.wait(remainingMs);
+            }
+        }
+
+        synchronized void assertSingleCallbackPerBatch() {
+            for (Map.Entry<Long, Integer> entry : this.callbackCounts.entrySet()) {
+                assertEquals("callbacks for batch " + entry.getKey(), Integer.valueOf(1), entry.getValue());
+            }
+        }
+
+        synchronized List<Long> getAcknowledged() {
+            return new ArrayList<>(this.acknowledged);
+        }
+
+        synchronized List<Long> getFailed() {
+            return new ArrayList<>(this.failed);
+        }
+    }
+}
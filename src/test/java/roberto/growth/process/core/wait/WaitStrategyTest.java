@@ -0,0 +1,154 @@
+/**
+ * FileName: WaitStrategyTest
+ * Author:   HuangTaiHong
+ * Date:     2026-10-18
+ * Description: 消费线程等待策略测试.
+ * History:
+ * <author>          <time>          <version>          <desc>
+ * 作者姓名           修改时间           版本号              描述
+ */
+package roberto.growth.process.core.wait;
+
+import org.junit.Test;
+import roberto.growth.process.core.DropAccounting;
+import roberto.growth.process.core.RecordingStatusReporter;
+import roberto.growth.process.core.queue.impl.MemoryQueue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 〈消费线程等待策略测试.〉
+ *
+ * @author HuangTaiHong
+ * @since 2026-10-18
+ */
+public class WaitStrategyTest {
+    private static final long LONG_WAIT_MS = 10000L;
+
+    private final RecordingStatusReporter reporter = new RecordingStatusReporter();
+
+    @Test
+    public void nonEmptyQueueReturnsImmediately() throws InterruptedException {
+        for (WaitStrategy strategy : strategies()) {
+            final MemoryQueue queue = this.newQueue();
+            queue.enqueue(new byte[1]);
+            final long startNanos = System.nanoTime();
+            strategy.waitFor(queue, LONG_WAIT_MS);
+            assertTrue(strategy.getClass().getSimpleName(), elapsedMs(startNanos) < 1000L);
+        }
+    }
+
+    @Test
+    public void emptyQueueWaitsAtMostMaxWait() throws InterruptedException {
+        for (WaitStrategy strategy : strategies()) {
+            final long startNanos = System.nanoTime();
+            strategy.waitFor(this.newQueue(), 50L);
+            final long elapsedMs = elapsedMs(startNanos);
+            assertTrue(strategy.getClass().getSimpleName() + " returned after " + elapsedMs + "ms", elapsedMs >= 45L && elapsedMs < 1000L);
+        }
+    }
+
+    @Test
+    public void enqueueWakesWaitingConsumer() throws Exception {
+        for (WaitStrategy strategy : strategies()) {
+            final MemoryQueue queue = this.newQueue();
+            final WaitingConsumer consumer = new WaitingConsumer(strategy, queue);
+            consumer.start();
+            consumer.awaitWaiting();
+            Thread.sleep(20L);
+            queue.enqueue(new byte[1]);
+            strategy.signal();
+            consumer.join(5000L);
+            assertFalse(strategy.getClass().getSimpleName() + " still waiting", consumer.isAlive());
+            assertNull(consumer.failure.get());
+            assertTrue(strategy.getClass().getSimpleName() + " woke after " + consumer.waitedMs + "ms", consumer.waitedMs < 1000L);
+        }
+    }
+
+    @Test
+    public void blockingSignalBeforeWaitIsNotLost() throws InterruptedException {
+        final BlockingWaitStrategy strategy = new BlockingWaitStrategy();
+        final MemoryQueue queue = this.newQueue();
+        // 消费线程登记前写入并通知, 登记后检查队列时发现数据
+        queue.enqueue(new byte[1]);
+        strategy.signal();
+        final long startNanos = System.nanoTime();
+        strategy.waitFor(queue, LONG_WAIT_MS);
+        assertTrue(elapsedMs(startNanos) < 1000L);
+    }
+
+    @Test
+    public void interruptStopsWaiting() throws Exception {
+        for (WaitStrategy strategy : strategies()) {
+            final WaitingConsumer consumer = new WaitingConsumer(strategy, this.newQueue());
+            consumer.start();
+            consumer.awaitWaiting();
+            Thread.sleep(20L);
+            consumer.interrupt();
+            consumer.join(5000L);
+            assertFalse(consumer.isAlive());
+            assertTrue(strategy.getClass().getSimpleName(), consumer.failure.get() instanceof InterruptedException);
+        }
+    }
+
+    @Test
+    public void copyCreatesIndependentInstance() {
+        for (WaitStrategy strategy : strategies()) {
+            final WaitStrategy copy = strategy.copy();
+            assertTrue(copy != strategy);
+            assertEquals(strategy.getClass(), copy.getClass());
+        }
+    }
+
+    private MemoryQueue newQueue() {
+        return new MemoryQueue(-1, -1, this.reporter, new DropAccounting(this.reporter, DropAccounting.DEFAULT_REPORT_INTERVAL_MS));
+    }
+
+    private static WaitStrategy[] strategies() {
+        return new WaitStrategy[]{new BlockingWaitStrategy(), new SpinYieldWaitStrategy(),
+                new TimedBackoffWaitStrategy(TimeUnit.MICROSECONDS.toNanos(100), TimeUnit.MILLISECONDS.toNanos(20))};
+    }
+
+    private static long elapsedMs(final long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 在独立线程中等待, 记录等待时长和异常
+     */
+    private static class WaitingConsumer extends Thread {
+        private final WaitStrategy strategy;
+        private final MemoryQueue queue;
+        private final CountDownLatch waiting = new CountDownLatch(1);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile long waitedMs;
+
+        WaitingConsumer(final WaitStrategy strategy, final MemoryQueue queue) {
+            this.strategy = strategy;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            final long startNanos = System.nanoTime();
+            this.waiting.countDown();
+            try {
+                this.strategy.waitFor(this.queue, LONG_WAIT_MS);
+            } catch (Throwable e) {
+                this.failure.set(e);
+            }
+            this.waitedMs = elapsedMs(startNanos);
+        }
+
+        void awaitWaiting() throws InterruptedException {
+            assertTrue(this.waiting.await(5000L, TimeUnit.MILLISECONDS));
+        }
+    }
+}